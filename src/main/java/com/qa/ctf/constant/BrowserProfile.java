@@ -0,0 +1,81 @@
+package com.qa.ctf.constant;
+
+import org.openqa.selenium.PageLoadStrategy;
+
+/**
+ * Enum representing the browser performance profiles for test execution.
+ * <p>
+ * This enum defines constants for the option sets applied to the browser on
+ * startup, from the standard headed browser to a lean headless browser, and the
+ * page load strategy each of them uses by default.
+ * It also provides a generic "BrowserProfile" type for flexibility.
+ * </p>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.1
+ */
+public enum BrowserProfile {
+
+    /** Generic profile type, used as a key for environment variable. */
+    PROFILE("BrowserProfile"),
+
+    /** Represents the maximized headed browser with the default page load strategy. */
+    STANDARD("Standard", PageLoadStrategy.NORMAL),
+
+    /** Represents the headed browser with eager page load, no images, no extensions,
+     *  fixed window size, no background throttling and its own disk cache. */
+    FAST("Fast", PageLoadStrategy.EAGER),
+
+    /** Represents the {@link #FAST} option set on a new headless browser. */
+    HEADLESS("Headless", PageLoadStrategy.EAGER);
+
+    // Holds the string representation of the browser profile
+    private final String browserProfile;
+
+    // Holds the page load strategy of the profile, unless the configuration overrides it
+    private final PageLoadStrategy pageLoadStrategy;
+
+    /**
+     * Constructor to initialize the generic browser profile type.
+     *
+     * @param browserProfile The string representation of the browser profile.
+     * @throws IllegalArgumentException If the provided browser profile is null or empty.
+     */
+    BrowserProfile(String browserProfile) {
+        this(browserProfile, null);
+    }
+
+    /**
+     * Constructor to initialize the browser profile and its page load strategy.
+     *
+     * @param browserProfile   The string representation of the browser profile.
+     * @param pageLoadStrategy The default page load strategy of the profile.
+     * @throws IllegalArgumentException If the provided browser profile is null or empty.
+     */
+    BrowserProfile(String browserProfile, PageLoadStrategy pageLoadStrategy) {
+        if (browserProfile == null || browserProfile.isEmpty()) {
+            throw new IllegalArgumentException("Browser Profile cannot be null or empty.");
+        }
+        this.browserProfile = browserProfile;
+        this.pageLoadStrategy = pageLoadStrategy;
+    }
+
+    /**
+     * Retrieves the string representation of the browser profile.
+     *
+     * @return The browser profile as a string.
+     */
+    public String getBrowserProfile() {
+        return browserProfile;
+    }
+
+    /**
+     * Retrieves the default page load strategy of the browser profile.
+     *
+     * @return The page load strategy, or {@code null} for the generic profile type.
+     */
+    public PageLoadStrategy getPageLoadStrategy() {
+        return pageLoadStrategy;
+    }
+
+}
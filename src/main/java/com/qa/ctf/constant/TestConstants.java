@@ -44,12 +44,46 @@ public class TestConstants {
 	public static final String EDGE_PRIVATE = "-inprivate";
 	public static final String FIREFOX_PRIVATE = "--private";
 
+	// Browser Profile Details
+	public static final String PROFILE_STANDARD = "STANDARD";
+	public static final String PROFILE_FAST = "FAST";
+	public static final String PROFILE_HEADLESS = "HEADLESS";
+	public static final String PAGE_LOAD_STRATEGY = "PageLoadStrategy";
+	public static final String CHROMIUM_HEADLESS = "--headless=new";
+	public static final String FIREFOX_HEADLESS = "-headless";
+	public static final String CHROMIUM_DISABLE_IMAGES = "--blink-settings=imagesEnabled=false";
+	public static final String CHROMIUM_DISABLE_EXTENSIONS = "--disable-extensions";
+	public static final String CHROMIUM_WINDOW_SIZE = "--window-size=1920,1080";
+	public static final String FIREFOX_WINDOW_WIDTH = "--width=1920";
+	public static final String FIREFOX_WINDOW_HEIGHT = "--height=1080";
+	public static final String CHROMIUM_DISABLE_TIMER_THROTTLING = "--disable-background-timer-throttling";
+	public static final String CHROMIUM_DISABLE_WINDOW_BACKGROUNDING = "--disable-backgrounding-occluded-windows";
+	public static final String CHROMIUM_DISABLE_RENDERER_BACKGROUNDING = "--disable-renderer-backgrounding";
+	public static final String CHROMIUM_DISK_CACHE_DIR = "--disk-cache-dir=";
+	public static final String FIREFOX_IMAGE_PREF = "permissions.default.image";
+	public static final String FIREFOX_EXTENSION_SCOPES_PREF = "extensions.enabledScopes";
+	public static final String FIREFOX_TIMER_THROTTLING_PREF = "dom.timeout.enable_budget_timer_throttling";
+	public static final String FIREFOX_CACHE_DIR_PREF = "browser.cache.disk.parent_directory";
+	public static final String BROWSER_CACHE_PATH = "/target/browser-cache/";
+
 	// User Directory
 	public static final String CWD = System.getProperty("user.dir");
 
 	// File Path Details
 	public static final String CONFIG_FILE_PATH = "/src/test/resources/config/$.properties";
+	public static final String CONFIG_WATCH = "ConfigWatch";
 	public static final String EXCEL_FILE_PATH = "/src/test/resources/data/testData.xlsx";
+	public static final String TEST_DATA_PATH = "/src/test/resources/data/";
+	public static final String EXCEL_STREAMING = "ExcelStreaming";
+	public static final String TEST_DATA_COLUMN_TYPES = "TestDataColumnTypes";
+	public static final String SHEET_CACHE_SIZE = "SheetCacheSize";
+	public static final int DEFAULT_SHEET_CACHE_SIZE = 32;
+	public static final String TEST_DATA_SNAPSHOT = "TestDataSnapshot";
+	public static final String TEST_DATA_SNAPSHOT_PATH = "/target/test-data/";
+	public static final String PRELOAD_TEST_DATA = "PreloadTestData";
+	public static final String DRIVER_RESOLUTION_PATH = "/target/driver-resolution.properties";
+	public static final String STARTUP_SUMMARY_PATH = "/target/driver-startup-summary.txt";
+	public static final String GRID_LATENCY_SUMMARY_PATH = "/target/grid-latency-summary.txt";
 
 	// App URL
 	public static final String APP_URL = "AppUrl";
@@ -57,6 +91,13 @@ public class TestConstants {
 
 	// Grid URL
 	public static final String GRID_URL = "RemoteUrl";
+	public static final String GRID_CONNECT_TIMEOUT = "GridConnectTimeout";
+	public static final String GRID_READ_TIMEOUT = "GridReadTimeout";
+	public static final String GRID_HTTP2 = "GridHttp2";
+	public static final String GRID_SESSION_REUSE = "GridSessionReuse";
+	public static final int DEFAULT_GRID_CONNECT_TIMEOUT = 10;
+	public static final int DEFAULT_GRID_READ_TIMEOUT = 180;
+	public static final String HTTP_2 = "HTTP_2";
 
 	// Wait Time Details
 	public static final int EXPLICIT_WAIT_TIME = 5;
@@ -71,9 +112,81 @@ public class TestConstants {
 	public static final String ALGORITHM = "AES";
 	public static final String SECRET_KEY = "MySecretKeyForSecurity25";
 
+	// Driver Pool Details
+	public static final String DRIVER_POOL = "DriverPool";
+	public static final String DRIVER_POOL_SIZE = "DriverPoolSize";
+	public static final String DRIVER_POOL_IDLE_TIMEOUT = "DriverPoolIdleTimeout";
+	public static final int DEFAULT_POOL_IDLE_TIMEOUT = 300;
+	public static final int POOL_LEASE_TIMEOUT = 120;
+	public static final String BLANK_PAGE = "about:blank";
+	public static final String DRIVER_RECYCLE_SCENARIOS = "DriverRecycleScenarios";
+	public static final String DRIVER_RECYCLE_AGE = "DriverRecycleAge";
+	public static final String DRIVER_RECYCLE_HEAP_MB = "DriverRecycleHeapMb";
+	public static final String PERSIST_DRIVER_RESOLUTION = "PersistDriverResolution";
+
+	// Browser Matrix Details
+	public static final String BROWSER_MATRIX = "BrowserMatrix";
+
+	// Worker Scheduling Details
+	public static final String WORKERS = "Workers";
+	public static final String BROWSER_MEMORY_MB = "BrowserMemoryMb";
+	public static final long DEFAULT_BROWSER_MEMORY_MB = 500;
+	public static final int WORKER_MONITOR_INTERVAL = 5;
+	public static final double WORKER_CPU_LOAD_HIGH = 0.9;
+	public static final double WORKER_CPU_LOAD_LOW = 0.6;
+
+	// Scenario Ordering Details
+	public static final String DURATION_ORDERING = "DurationOrdering";
+	public static final String DURATION_HISTORY_PATH = "/target/scenario-durations.properties";
+	public static final long DEFAULT_STEP_MILLIS = 1000;
+
+	// Sharding Details
+	public static final String SHARD_INDEX = "ShardIndex";
+	public static final String SHARD_TOTAL = "ShardTotal";
+	public static final String SHARD_BALANCE = "ShardBalance";
+	public static final String SHARD_BALANCE_HASH = "Hash";
+	public static final String SHARD_BALANCE_HISTORY = "History";
+	public static final String SHARD_HISTORY = "ShardHistory";
+	public static final String SHARD_HISTORY_FILE = "shard-durations.properties";
+	public static final String SHARD_REPORT_PATH = "/target/shards/";
+	public static final String MERGED_SHARD_DIR = "merged";
+	public static final String CUCUMBER_JSON_REPORT = "target/cucumber/report/report.json";
+	public static final String CUCUMBER_JUNIT_REPORT = "target/cucumber/report/report.xml";
+	public static final String CUCUMBER_RERUN_FILE = "target/failedRerun.txt";
+	public static final String EXTENT_JSON_ARCHIVE = "ExtentJson.json";
+	public static final String MERGED_EXTENT_REPORT = "ExtentSpark.html";
+
+	// Browserless Scenario Details
+	public static final String BROWSERLESS_TAG = "@browserless";
+	public static final String SERVICE_CONCURRENCY = "ServiceConcurrency";
+	public static final int DEFAULT_SERVICE_CONCURRENCY = 64;
+
+	// Scenario Retry Details
+	public static final String RETRIES_PER_SCENARIO = "RetriesPerScenario";
+	public static final String RETRY_BUDGET = "RetryBudget";
+	public static final String QUARANTINE_FLAKE_RATE = "QuarantineFlakeRate";
+	public static final String QUARANTINE_MIN_RUNS = "QuarantineMinRuns";
+	public static final int DEFAULT_RETRIES_PER_SCENARIO = 1;
+	public static final int DEFAULT_RETRY_BUDGET = 10;
+	public static final double DEFAULT_QUARANTINE_FLAKE_RATE = 0.3;
+	public static final int DEFAULT_QUARANTINE_MIN_RUNS = 5;
+	public static final String FLAKE_HISTORY_PATH = "/target/scenario-flakes.properties";
+	public static final String RETRY_SUMMARY_PATH = "/target/scenario-retry-summary.txt";
+
+	// Driver Pre-warm Details
+	public static final String PREWARM_DRIVERS = "PrewarmDrivers";
+	public static final String PREWARM_THREADS = "PrewarmThreads";
+	public static final int DEFAULT_PREWARM_THREADS = 2;
+
+	// Request Blocking Details
+	public static final String REQUEST_BLOCKING = "RequestBlocking";
+	public static final String BLOCKED_URLS = "BlockedUrls";
+	public static final String WEB_SOCKET_URL = "webSocketUrl";
+
 	// Screenshot Details
 	public static final String SNAPSHOT_PATH = "//src//test//resources//screenshots//";
 	public static final String FULL_PAGE_SCREENSHOT = "FullPageScreenShot";
 	public static final String IMG_PNG_FORMAT = "image/png";
+	public static final String TEXT_PLAIN_FORMAT = "text/plain";
 
 }
@@ -0,0 +1,260 @@
+package com.qa.ctf.execution;
+
+import com.qa.ctf.constant.BrowserType;
+import com.qa.ctf.factory.BrowserFactory;
+import com.qa.ctf.util.ExceptionHub;
+import io.cucumber.testng.PickleWrapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static com.qa.ctf.constant.TestConstants.*;
+
+/**
+ * The BrowserMatrix class schedules the scenarios of a single run against several
+ * browsers at once, so that Chrome, Firefox and Edge are covered by one JVM instead
+ * of one Maven invocation per browser.
+ *
+ * <p>Features:
+ * <ul>
+ *     <li>Expand every scenario into one run per browser of the matrix.</li>
+ *     <li>Interleave the browsers, so that all of them are busy from the start.</li>
+ *     <li>Run the scenarios of each browser on workers of their own, as many as the
+ *     concurrency limit of the browser, so that a saturated browser never holds back
+ *     the runs of another one.</li>
+ *     <li>Run each scenario with its browser in place of the configured one, so that
+ *     the driver factory starts or leases a session of that browser.</li>
+ *     <li>Wait for a single run and report its own outcome.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>An {@link ExceptionHub.ConfigTypeException} is thrown for an unknown browser or
+ *   an invalid concurrency limit.</li>
+ *   <li>The failure of a run is rethrown unchanged by {@link #await}, and an
+ *   {@link ExceptionHub} is thrown when the wait is interrupted or the run was never
+ *   started.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * The matrix is read from the {@code BrowserMatrix} system property as comma separated
+ * browsers, each with an optional concurrency limit, e.g. {@code Chrome:3,Firefox:2,Edge}.
+ * Browsers without a limit may run as many scenarios as there are processors. The runs
+ * are started as soon as they are provided, so the threads that wait for them only
+ * collect the outcomes and their number does not limit the browsers.
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * BrowserMatrix browserMatrix = BrowserMatrix.fromSystemProperties();
+ * Object[][] runs = browserMatrix.expand(testNGCucumberRunner.provideScenarios());
+ * browserMatrix.start(runs, pickleWrapper -> testNGCucumberRunner.runScenario(pickleWrapper.getPickle()));
+ * browserMatrix.await("Firefox", pickleWrapper);
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class BrowserMatrix implements AutoCloseable {
+
+    // Logger instance for the BrowserMatrix class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(BrowserMatrix.class);
+
+    // Workers per browser, as many as its concurrency limit, in the order of the matrix
+    private final Map<String, ExecutorService> browserWorkers;
+
+    // Started runs that were not awaited yet
+    private final Map<Run, Future<?>> startedRuns = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a BrowserMatrix with the given concurrency limit per browser.
+     *
+     * @param browserLimits The maximum number of scenarios running at the same time per
+     *                      browser, in the order the browsers are scheduled.
+     */
+    public BrowserMatrix(Map<String, Integer> browserLimits) {
+        Map<String, ExecutorService> workers = new LinkedHashMap<>();
+        browserLimits.forEach((browser, limit) -> workers.put(browser, Executors.newFixedThreadPool(limit,
+                Thread.ofPlatform().name("matrix-" + browser.toLowerCase(Locale.ROOT) + "-", 0)
+                        .daemon().factory())));
+        this.browserWorkers = Collections.unmodifiableMap(workers);
+    }
+
+    /**
+     * Checks whether a browser matrix is set for the test execution.
+     *
+     * @return {@code true} if the {@code BrowserMatrix} system property is set, otherwise
+     * {@code false}.
+     */
+    public static boolean isEnabled() {
+        String matrix = System.getProperty(BROWSER_MATRIX);
+        return matrix != null && !matrix.isBlank();
+    }
+
+    /**
+     * Creates a BrowserMatrix from the {@code BrowserMatrix} system property.
+     *
+     * @return The BrowserMatrix configured for the test execution.
+     * @throws ExceptionHub.ConfigTypeException If a browser or a limit is invalid.
+     */
+    public static BrowserMatrix fromSystemProperties() {
+        Map<String, Integer> browserLimits = new LinkedHashMap<>();
+        for (String entry : System.getProperty(BROWSER_MATRIX, "").split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split(":");
+            String browser = toBrowserName(parts[0].strip());
+            int limit = Runtime.getRuntime().availableProcessors();
+            if (parts.length > 1) {
+                try {
+                    limit = Integer.parseInt(parts[1].strip());
+                } catch (NumberFormatException ex) {
+                    throw new ExceptionHub.ConfigTypeException(entry, ex);
+                }
+            }
+            if (limit <= 0) {
+                throw new ExceptionHub.ConfigTypeException(entry);
+            }
+            browserLimits.put(browser, limit);
+        }
+        if (browserLimits.isEmpty()) {
+            throw new ExceptionHub.ConfigTypeException(BROWSER_MATRIX);
+        }
+        log.info("Browser matrix with concurrency limits: {}", browserLimits);
+        return new BrowserMatrix(browserLimits);
+    }
+
+    /**
+     * Returns the browsers of the matrix in scheduling order.
+     *
+     * @return The browser names.
+     */
+    public List<String> getBrowsers() {
+        return List.copyOf(browserWorkers.keySet());
+    }
+
+    /**
+     * Expands every scenario into one run per browser.
+     * <p>
+     * The browser is prepended to the parameters of each scenario. The runs of a
+     * scenario are kept next to each other, so that the browsers take turns instead
+     * of one browser getting all the scenarios first.
+     * </p>
+     *
+     * @param scenarios The scenario parameters provided by the Cucumber runner.
+     * @return The scenario parameters with the browser of each run first.
+     */
+    public Object[][] expand(Object[][] scenarios) {
+        List<Object[]> runs = new ArrayList<>();
+        for (Object[] scenario : scenarios) {
+            for (String browser : browserWorkers.keySet()) {
+                Object[] run = new Object[scenario.length + 1];
+                run[0] = browser;
+                System.arraycopy(scenario, 0, run, 1, scenario.length);
+                runs.add(run);
+            }
+        }
+        return runs.toArray(new Object[0][]);
+    }
+
+    /**
+     * Starts every run on the workers of its browser.
+     * <p>
+     * Each browser takes its runs in the given order, independently of the other
+     * browsers, and runs them with the browser in place of the configured one.
+     * </p>
+     *
+     * @param runs     The runs expanded by {@link #expand}, with the browser first and the
+     *                 {@link PickleWrapper} second.
+     * @param scenario The action that runs a scenario on the current thread.
+     */
+    public void start(Object[][] runs, Consumer<PickleWrapper> scenario) {
+        for (Object[] run : runs) {
+            String browser = (String) run[0];
+            PickleWrapper pickleWrapper = (PickleWrapper) run[1];
+            startedRuns.put(new Run(browser, pickleWrapper), browserWorkers.get(browser).submit(() ->
+                    BrowserFactory.withBrowser(browser, () -> {
+                        scenario.accept(pickleWrapper);
+                        return null;
+                    })));
+        }
+    }
+
+    /**
+     * Waits until the run of the scenario with the given browser is finished.
+     *
+     * @param browser       The browser of the run.
+     * @param pickleWrapper The scenario of the run.
+     * @throws ExceptionHub If the run was never started or the wait is interrupted,
+     *                      besides the failure of the run itself.
+     */
+    public void await(String browser, PickleWrapper pickleWrapper) {
+        Future<?> run = startedRuns.remove(new Run(browser, pickleWrapper));
+        if (run == null) {
+            throw new ExceptionHub("No " + browser + " run started for scenario '"
+                    + pickleWrapper.getPickle().getName() + "'");
+        }
+        try {
+            run.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            if (ex.getCause() instanceof Error failure) {
+                throw failure;
+            }
+            throw new ExceptionHub("The " + browser + " run of scenario '"
+                    + pickleWrapper.getPickle().getName() + "' failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ExceptionHub("Interrupted while waiting for the " + browser + " run", ex);
+        }
+    }
+
+    /**
+     * Stops the workers of every browser, interrupting the runs that are still running.
+     */
+    @Override
+    public void close() {
+        browserWorkers.values().forEach(ExecutorService::shutdownNow);
+    }
+
+    /**
+     * Returns the configured name of the given browser, ignoring the case.
+     *
+     * @param browser The browser name from the matrix.
+     * @return The browser name as used in the configuration file.
+     * @throws ExceptionHub.ConfigTypeException If the browser is not supported.
+     */
+    private static String toBrowserName(String browser) {
+        return Arrays.stream(BrowserType.values())
+                .filter(type -> type != BrowserType.BROWSER)
+                .map(BrowserType::getBrowserType)
+                .filter(name -> name.equalsIgnoreCase(browser))
+                .findFirst()
+                .orElseThrow(() -> new ExceptionHub.ConfigTypeException(browser));
+    }
+
+    /**
+     * A run of a scenario with a browser, identified by the browser name and the
+     * {@link PickleWrapper} instance provided by the Cucumber runner.
+     */
+    private record Run(String browser, PickleWrapper pickleWrapper) {
+    }
+
+}
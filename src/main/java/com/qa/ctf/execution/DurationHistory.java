@@ -0,0 +1,368 @@
+package com.qa.ctf.execution;
+
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.qa.ctf.constant.TestConstants.*;
+
+/**
+ * The DurationHistory class keeps the duration of every scenario across runs, so that
+ * the next run starts the longest scenarios first and no worker is left waiting on one
+ * long scenario at the end of the run.
+ *
+ * <p>Features:
+ * <ul>
+ *     <li>Record the duration of each scenario and keep it in a history file under
+ *     {@code /target/}, smoothed over the runs.</li>
+ *     <li>Order the scenarios longest first, which is the longest processing time
+ *     schedule when the workers take them in order.</li>
+ *     <li>Estimate the scenarios without history from their step count and the
+ *     average step duration of the history.</li>
+ *     <li>Report the predicted and the actual makespan of the ordered scenarios, apart
+ *     from the span of the scenarios that were not ordered, e.g. the browserless
+ *     ones.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>A history file or a feature file that cannot be read is logged as a warning,
+ *   and the scenarios keep their estimates or their feature order.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * A scenario is identified by its feature file and line, so that every example of a
+ * scenario outline has its own duration. Ordering can be turned off with the
+ * {@code DurationOrdering} system property, the durations are recorded anyway.
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * DurationHistory durationHistory = DurationHistory.load();
+ * Object[][] scenarios = durationHistory.order(testNGCucumberRunner.provideScenarios(), 4);
+ * durationHistory.record(pickle, () -> testNGCucumberRunner.runScenario(pickle));
+ * durationHistory.finish();
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.1
+ */
+public class DurationHistory {
+
+    // Logger instance for the DurationHistory class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(DurationHistory.class);
+
+    // Keywords that start the steps of a scenario
+    private static final List<String> STEP_KEYWORDS = List.of("Given ", "When ", "Then ", "And ", "But ", "* ");
+
+    // Keywords that end the steps of a scenario
+    private static final List<String> BLOCK_KEYWORDS =
+            List.of("Scenario", "Example", "Examples:", "Scenarios:", "Rule:", "Background:", "Feature:", "@");
+
+    // Durations of the previous runs in milliseconds, by scenario
+    private final Map<String, Long> history = new ConcurrentHashMap<>();
+
+    // Durations of the current run in milliseconds, by scenario
+    private final Map<String, Long> durations = new ConcurrentHashMap<>();
+
+    // File the durations are kept in
+    private final Path historyFile;
+
+    // Scenarios ordered for the current run, which the predicted makespan covers
+    private final Set<String> orderedKeys = ConcurrentHashMap.newKeySet();
+
+    // Span of the ordered scenarios and of the other scenarios of the current run
+    private final Span orderedSpan = new Span();
+    private final Span otherSpan = new Span();
+
+    // Makespan predicted for the current run in milliseconds, or -1 if not ordered
+    private volatile long predictedMakespan = -1;
+
+    /**
+     * Constructs a DurationHistory and loads the durations of the history file, if any.
+     *
+     * @param historyFile The file the durations are kept in.
+     */
+    public DurationHistory(Path historyFile) {
+        this.historyFile = historyFile;
+        if (Files.isRegularFile(historyFile)) {
+            loadHistory();
+        }
+    }
+
+    /**
+     * Creates a DurationHistory kept in the default history file.
+     *
+     * @return The DurationHistory of the test execution.
+     */
+    public static DurationHistory load() {
+        return new DurationHistory(Path.of(CWD + DURATION_HISTORY_PATH));
+    }
+
+    /**
+     * Orders the scenarios longest first and logs the predicted makespan.
+     *
+     * @param scenarios The scenario parameters provided by the Cucumber runner, with
+     *                  the {@link PickleWrapper} first.
+     * @param workers   The number of scenarios running at the same time.
+     * @return The scenario parameters, longest first, or in feature order if ordering
+     * is turned off.
+     */
+    public Object[][] order(Object[][] scenarios, int workers) {
+        Map<Object[], Long> estimates = estimate(scenarios);
+        Object[][] ordered = scenarios.clone();
+        boolean enabled = System.getProperty(DURATION_ORDERING, OPTION_YES).equalsIgnoreCase(OPTION_YES);
+        if (enabled) {
+            Arrays.sort(ordered, Comparator.comparing(estimates::get, Comparator.reverseOrder()));
+        }
+        PriorityQueue<Long> workerEnds = new PriorityQueue<>();
+        for (int index = 0; index < Math.max(workers, 1); index++) {
+            workerEnds.add(0L);
+        }
+        for (Object[] scenario : ordered) {
+            workerEnds.add(workerEnds.poll() + estimates.get(scenario));
+            orderedKeys.add(key(((PickleWrapper) scenario[0]).getPickle()));
+        }
+        predictedMakespan = workerEnds.stream().mapToLong(Long::longValue).max().orElse(0);
+        log.info("Scheduled {} scenarios {} on {} workers, predicted makespan {} ms", ordered.length,
+                enabled ? "longest first" : "in feature order", workers, predictedMakespan);
+        return ordered;
+    }
+
+    /**
+     * Runs the scenario and records its duration.
+     *
+     * @param pickle   The scenario to run.
+     * @param scenario The run of the scenario.
+     */
+    public void record(Pickle pickle, Runnable scenario) {
+        String key = key(pickle);
+        Span span = orderedKeys.contains(key) ? orderedSpan : otherSpan;
+        long startedAt = System.nanoTime();
+        span.start(startedAt);
+        try {
+            scenario.run();
+        } finally {
+            long endedAt = System.nanoTime();
+            span.end(endedAt);
+            durations.put(key, (endedAt - startedAt) / 1_000_000);
+        }
+    }
+
+    /**
+     * Keeps the durations of the run in the history file and logs the predicted and
+     * the actual makespan of the ordered scenarios, and the span of the others, if any.
+     */
+    public synchronized void finish() {
+        if (durations.isEmpty()) {
+            return;
+        }
+        if (orderedSpan.count() > 0) {
+            log.info("Makespan of {} ordered scenarios: predicted {} ms, actual {} ms", orderedSpan.count(),
+                    predictedMakespan, orderedSpan.millis());
+        }
+        if (otherSpan.count() > 0) {
+            log.info("Span of {} scenarios run apart from the ordered ones: {} ms", otherSpan.count(),
+                    otherSpan.millis());
+        }
+        Properties properties = new Properties();
+        history.forEach((key, millis) -> properties.setProperty(key, String.valueOf(millis)));
+        durations.forEach((key, millis) -> {
+            Long previous = history.get(key);
+            long smoothed = previous == null ? millis : (previous + millis) / 2;
+            properties.setProperty(key, String.valueOf(smoothed));
+            history.put(key, smoothed);
+        });
+        durations.clear();
+        try {
+            Files.createDirectories(historyFile.getParent());
+            try (OutputStream outputStream = Files.newOutputStream(historyFile)) {
+                properties.store(outputStream, "Scenario durations in milliseconds");
+            }
+        } catch (IOException ex) {
+            log.warn("Unable to keep the scenario durations: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns the actual makespan of the ordered scenarios of the current run.
+     *
+     * @return The time from the start of the first ordered scenario to the end of the
+     * last one in milliseconds, or 0 if none was recorded.
+     */
+    long actualMakespan() {
+        return orderedSpan.millis();
+    }
+
+    /**
+     * Returns the expected duration of every scenario, from the history, or from the
+     * step count times the average step duration for the scenarios without history.
+     *
+     * @param scenarios The scenario parameters.
+     * @return The expected duration in milliseconds, by scenario parameters.
+     */
+    Map<Object[], Long> estimate(Object[][] scenarios) {
+        Map<Object[], Long> estimates = new HashMap<>();
+        Map<URI, List<String>> features = new HashMap<>();
+        List<Object[]> unknown = new ArrayList<>();
+        Map<Object[], Integer> stepCounts = new HashMap<>();
+        long knownMillis = 0;
+        long knownSteps = 0;
+        for (Object[] scenario : scenarios) {
+            Pickle pickle = ((PickleWrapper) scenario[0]).getPickle();
+            int steps = stepCount(features.computeIfAbsent(pickle.getUri(), DurationHistory::readFeature),
+                    pickle.getScenarioLine());
+            Long millis = history.get(key(pickle));
+            if (millis != null) {
+                estimates.put(scenario, millis);
+                knownMillis += millis;
+                knownSteps += steps;
+            } else {
+                unknown.add(scenario);
+                stepCounts.put(scenario, steps);
+            }
+        }
+        long stepMillis = knownSteps > 0 ? Math.max(knownMillis / knownSteps, 1) : DEFAULT_STEP_MILLIS;
+        for (Object[] scenario : unknown) {
+            estimates.put(scenario, stepCounts.get(scenario) * stepMillis);
+        }
+        return estimates;
+    }
+
+    /**
+     * Counts the steps of the scenario starting at the given line, together with the
+     * steps of the background of the feature.
+     *
+     * @param lines        The lines of the feature file.
+     * @param scenarioLine The line of the scenario, starting at 1.
+     * @return The number of steps, at least 1.
+     */
+    private static int stepCount(List<String> lines, int scenarioLine) {
+        int steps = 0;
+        boolean inSteps = false;
+        for (int index = 0; index < lines.size(); index++) {
+            String line = lines.get(index).strip();
+            if (line.startsWith("Background:") || index == scenarioLine - 1) {
+                inSteps = true;
+            } else if (BLOCK_KEYWORDS.stream().anyMatch(line::startsWith)) {
+                inSteps = false;
+            } else if (inSteps && STEP_KEYWORDS.stream().anyMatch(line::startsWith)) {
+                steps++;
+            }
+        }
+        return Math.max(steps, 1);
+    }
+
+    /**
+     * Reads the lines of a feature file from the file system or the classpath.
+     *
+     * @param uri The URI of the feature file.
+     * @return The lines of the feature file, or none if it cannot be read.
+     */
+    private static List<String> readFeature(URI uri) {
+        try {
+            if ("classpath".equals(uri.getScheme())) {
+                String resource = uri.getSchemeSpecificPart().replaceFirst("^/", "");
+                try (InputStream inputStream = DurationHistory.class.getClassLoader().getResourceAsStream(resource)) {
+                    if (inputStream == null) {
+                        throw new IOException("Resource not found: " + resource);
+                    }
+                    return new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))
+                            .lines().toList();
+                }
+            }
+            return Files.readAllLines(Path.of(uri));
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Unable to count the steps of '{}': {}", uri, ex.getMessage());
+            return List.of();
+        }
+    }
+
+    private void loadHistory() {
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(historyFile)) {
+            properties.load(inputStream);
+        } catch (IOException ex) {
+            log.warn("Unable to load the scenario durations: {}", ex.getMessage());
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                history.put(key, Long.parseLong(properties.getProperty(key)));
+            } catch (NumberFormatException ex) {
+                log.warn("Ignoring the invalid duration of '{}'", key);
+            }
+        }
+        log.info("Loaded the durations of {} scenarios from '{}'", history.size(), historyFile);
+    }
+
+    /**
+     * Returns the key of the scenario, with the feature files relative to the working
+     * directory, so that the key is the same on every machine.
+     *
+     * @param pickle The scenario.
+     * @return The feature file and the line of the scenario.
+     */
+    static String key(Pickle pickle) {
+        URI uri = pickle.getUri();
+        String feature = uri.toString();
+        if ("file".equals(uri.getScheme())) {
+            feature = Path.of(CWD).toAbsolutePath().relativize(Path.of(uri)).toString().replace('\\', '/');
+        }
+        return feature + ":" + pickle.getLine();
+    }
+
+    /**
+     * The span of a group of scenarios, from the start of the first one to the end of
+     * the last one.
+     */
+    private static final class Span {
+
+        private final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong lastEnd = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicInteger count = new AtomicInteger();
+
+        private void start(long startedAt) {
+            firstStart.accumulateAndGet(startedAt, Math::min);
+            count.incrementAndGet();
+        }
+
+        private void end(long endedAt) {
+            lastEnd.accumulateAndGet(endedAt, Math::max);
+        }
+
+        private int count() {
+            return count.get();
+        }
+
+        private long millis() {
+            return count.get() == 0 ? 0 : (lastEnd.get() - firstStart.get()) / 1_000_000;
+        }
+
+    }
+
+}
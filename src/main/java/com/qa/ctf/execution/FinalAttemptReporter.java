@@ -0,0 +1,330 @@
+package com.qa.ctf.execution;
+
+import com.qa.ctf.util.ExceptionHub;
+import io.cucumber.core.options.PluginOption;
+import io.cucumber.messages.types.Attachment;
+import io.cucumber.messages.types.Envelope;
+import io.cucumber.messages.types.TestCaseFinished;
+import io.cucumber.messages.types.TestStepFinished;
+import io.cucumber.messages.types.TestStepStarted;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.EventListener;
+import io.cucumber.plugin.Plugin;
+import io.cucumber.plugin.event.Event;
+import io.cucumber.plugin.event.EventHandler;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseEvent;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+
+/**
+ * The FinalAttemptReporter class is a Cucumber plugin that hands only the last attempt
+ * of every scenario to the report plugin it wraps, so that a scenario retried by the
+ * {@link ScenarioRetrier} is reported once, with its final status.
+ *
+ * <p>Features:
+ * <ul>
+ *     <li>Create the wrapped plugin from its plugin string, e.g.
+ *     {@code json:target/cucumber/report/report.json}.</li>
+ *     <li>Keep the events and messages of every attempt until the run of the
+ *     {@link ScenarioRetrier} ends, then drop the attempts that were followed by another
+ *     attempt of the same scenario.</li>
+ *     <li>Hand the last attempt of a run to a concurrent plugin as soon as the run ends,
+ *     e.g. the JUnit, rerun and Extent reports.</li>
+ *     <li>Keep only the last attempts for a plugin that is not concurrent, e.g. the JSON
+ *     report, and hand them over in the canonical order once the test run is finished,
+ *     like Cucumber does for such plugins.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>An {@link ExceptionHub} is thrown when the wrapped plugin cannot be created or
+ *   its output file cannot be opened.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * The attempts of a scenario are recognized by the run of the {@link ScenarioRetrier}
+ * on the thread that starts them, so that the runs of a scenario with several browsers
+ * are all kept, and the last one is the one that started last, since the retries of a
+ * run follow one another. A scenario run without the retrier is always kept, and handed
+ * to the wrapped plugin once the test run is finished. The plugins that show every
+ * attempt, like the HTML and timeline reports, are not wrapped.
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * @CucumberOptions(plugin = {
+ *         "com.qa.ctf.execution.FinalAttemptReporter:json:target/cucumber/report/report.json",
+ *         "com.qa.ctf.execution.FinalAttemptReporter:rerun:target/failedRerun.txt"})
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.1
+ */
+public class FinalAttemptReporter implements ConcurrentEventListener {
+
+    // Logger instance for the FinalAttemptReporter class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(FinalAttemptReporter.class);
+
+    // Order of the test case events of different scenarios, like the canonical order of Cucumber
+    private static final Comparator<TestCase> SCENARIO_ORDER = Comparator
+            .comparing((TestCase testCase) -> testCase.getUri().toString())
+            .thenComparing(testCase -> testCase.getLocation().getLine());
+
+    // Plugin string of the wrapped plugin, for the log
+    private final String pluginString;
+
+    // Event handlers registered by the wrapped plugin, by event type
+    private final Map<Class<?>, List<EventHandler<?>>> handlers = new HashMap<>();
+
+    // Whether the wrapped plugin takes the events of the scenarios in any order
+    private final boolean concurrent;
+
+    // Listener of the end of the runs of the retrier
+    private final LongConsumer runListener = this::finishRun;
+
+    // Events and messages that belong to no test case, in the order they were published,
+    // until the test run is finished, for a plugin that is not concurrent
+    private final List<Object> runItems = new ArrayList<>();
+
+    // Events and messages of every attempt, by test case, in the order they were published
+    private final Map<String, List<Object>> attemptItems = new HashMap<>();
+
+    // Test case of every started attempt, by the identifier of the attempt in the messages
+    private final Map<String, String> startedTestCases = new HashMap<>();
+
+    // Started attempts of every run that has not ended, by the run of the retrier or by test case
+    private final Map<Object, List<TestCase>> runAttempts = new HashMap<>();
+
+    // Last attempts of the ended runs, until the test run is finished, for a plugin that is
+    // not concurrent
+    private final List<TestCase> finalAttempts = new ArrayList<>();
+
+    // Number of earlier attempts left out
+    private int droppedAttempts;
+
+    // Whether the kept attempts were handed to the wrapped plugin
+    private boolean runFinished;
+
+    /**
+     * Constructs a FinalAttemptReporter that wraps the plugin of the given plugin string.
+     *
+     * @param pluginString The plugin string of the wrapped plugin, as it would be given
+     *                     in the {@code plugin} option of Cucumber.
+     * @throws ExceptionHub If the wrapped plugin cannot be created.
+     */
+    public FinalAttemptReporter(String pluginString) {
+        this.pluginString = pluginString;
+        Plugin plugin = createPlugin(PluginOption.parse(pluginString));
+        EventPublisher recorder = new EventPublisher() {
+            @Override
+            public <T> void registerHandlerFor(Class<T> eventType, EventHandler<T> handler) {
+                handlers.computeIfAbsent(eventType, type -> new ArrayList<>()).add(handler);
+            }
+
+            @Override
+            public <T> void removeHandlerFor(Class<T> eventType, EventHandler<T> handler) {
+                handlers.getOrDefault(eventType, new ArrayList<>()).remove(handler);
+            }
+        };
+        if (plugin instanceof ConcurrentEventListener listener) {
+            listener.setEventPublisher(recorder);
+            concurrent = true;
+        } else if (plugin instanceof EventListener listener) {
+            listener.setEventPublisher(recorder);
+            concurrent = false;
+        } else {
+            throw new ExceptionHub("Not an event listener plugin: " + pluginString);
+        }
+    }
+
+    /**
+     * Registers the plugin for every event and message of the run, and for the end of
+     * the runs of the retrier.
+     *
+     * @param publisher The event publisher of the Cucumber run.
+     */
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(Event.class, this::receive);
+        publisher.registerHandlerFor(Envelope.class, this::receive);
+        ScenarioRetrier.addRunListener(runListener);
+    }
+
+    /**
+     * Keeps an event or message of an attempt until the run of the attempt ends, and
+     * hands the kept last attempts to the wrapped plugin once the test run is finished.
+     */
+    private synchronized void receive(Object item) {
+        if (runFinished) {
+            publish(item);
+            return;
+        }
+        String testCaseId = testCaseIdOf(item);
+        if (testCaseId != null) {
+            attemptItems.computeIfAbsent(testCaseId, id -> new ArrayList<>()).add(item);
+        } else if (item instanceof TestRunFinished
+                || item instanceof Envelope envelope && envelope.getTestRunFinished().isPresent()) {
+            finishTestRun(item);
+        } else if (concurrent) {
+            publish(item);
+        } else {
+            runItems.add(item);
+        }
+    }
+
+    /**
+     * Drops the earlier attempts of a run of the retrier once it has ended, and hands
+     * its last attempt to a concurrent plugin, or keeps it for the end of the test run.
+     *
+     * @param run The identifier of the ended run.
+     */
+    private synchronized void finishRun(long run) {
+        List<TestCase> attempts = runAttempts.remove(run);
+        if (attempts != null && !runFinished) {
+            keepLastAttempt(attempts);
+        }
+    }
+
+    private void keepLastAttempt(List<TestCase> attempts) {
+        for (TestCase earlierAttempt : attempts.subList(0, attempts.size() - 1)) {
+            takeItems(earlierAttempt);
+            droppedAttempts++;
+        }
+        TestCase lastAttempt = attempts.getLast();
+        if (concurrent) {
+            takeItems(lastAttempt).forEach(this::publish);
+        } else {
+            finalAttempts.add(lastAttempt);
+        }
+    }
+
+    /**
+     * Hands the runs that were not ended by the retrier and the kept last attempts to
+     * the wrapped plugin, followed by the end of the test run.
+     */
+    private void finishTestRun(Object item) {
+        runFinished = true;
+        ScenarioRetrier.removeRunListener(runListener);
+        runAttempts.values().forEach(this::keepLastAttempt);
+        runItems.forEach(this::publish);
+        finalAttempts.stream()
+                .sorted(SCENARIO_ORDER)
+                .forEach(testCase -> takeItems(testCase).forEach(this::publish));
+        publish(item);
+        if (droppedAttempts > 0) {
+            log.info("{} earlier attempts of retried scenarios left out of '{}'", droppedAttempts, pluginString);
+        }
+        runItems.clear();
+        attemptItems.clear();
+        startedTestCases.clear();
+        runAttempts.clear();
+        finalAttempts.clear();
+    }
+
+    /**
+     * Removes the kept events and messages of an attempt.
+     *
+     * @return The events and messages of the attempt, in the order they were published.
+     */
+    private List<Object> takeItems(TestCase testCase) {
+        String testCaseId = testCase.getId().toString();
+        startedTestCases.values().removeIf(testCaseId::equals);
+        List<Object> items = attemptItems.remove(testCaseId);
+        return items != null ? items : List.of();
+    }
+
+    /**
+     * Returns the test case an event or message belongs to, and adds the attempt to its
+     * run when it starts.
+     *
+     * @return The test case identifier, or {@code null} if the item belongs to no test
+     * case.
+     */
+    private String testCaseIdOf(Object item) {
+        if (item instanceof TestCaseEvent testCaseEvent) {
+            TestCase testCase = testCaseEvent.getTestCase();
+            if (item instanceof TestCaseStarted) {
+                Long run = ScenarioRetrier.currentRun();
+                runAttempts.computeIfAbsent(run != null ? run : testCase.getId(), key -> new ArrayList<>())
+                        .add(testCase);
+            }
+            return testCase.getId().toString();
+        }
+        if (!(item instanceof Envelope envelope)) {
+            return null;
+        }
+        if (envelope.getTestCase().isPresent()) {
+            return envelope.getTestCase().get().getId();
+        }
+        if (envelope.getTestCaseStarted().isPresent()) {
+            io.cucumber.messages.types.TestCaseStarted started = envelope.getTestCaseStarted().get();
+            startedTestCases.put(started.getId(), started.getTestCaseId());
+            return started.getTestCaseId();
+        }
+        Optional<String> testCaseStartedId = envelope.getTestStepStarted().map(TestStepStarted::getTestCaseStartedId)
+                .or(() -> envelope.getTestStepFinished().map(TestStepFinished::getTestCaseStartedId))
+                .or(() -> envelope.getTestCaseFinished().map(TestCaseFinished::getTestCaseStartedId))
+                .or(() -> envelope.getAttachment().flatMap(Attachment::getTestCaseStartedId));
+        return testCaseStartedId.map(startedTestCases::get).orElse(null);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void publish(Object item) {
+        List<EventHandler<?>> itemHandlers = new ArrayList<>(handlers.getOrDefault(item.getClass(), List.of()));
+        if (item instanceof Event) {
+            itemHandlers.addAll(handlers.getOrDefault(Event.class, List.of()));
+        }
+        for (EventHandler handler : itemHandlers) {
+            handler.receive(item);
+        }
+    }
+
+    /**
+     * Creates the wrapped plugin with its argument, either as is or as the output file
+     * of the plugin.
+     */
+    private static Plugin createPlugin(PluginOption pluginOption) {
+        Class<? extends Plugin> pluginClass = pluginOption.pluginClass();
+        String argument = pluginOption.argument();
+        try {
+            if (argument == null) {
+                return pluginClass.getConstructor().newInstance();
+            }
+            for (Constructor<?> constructor : pluginClass.getConstructors()) {
+                Class<?>[] parameterTypes = constructor.getParameterTypes();
+                if (parameterTypes.length == 1 && parameterTypes[0] == String.class) {
+                    return (Plugin) constructor.newInstance(argument);
+                }
+            }
+            Constructor<? extends Plugin> constructor = pluginClass.getConstructor(OutputStream.class);
+            Path outputFile = Path.of(argument);
+            if (outputFile.getParent() != null) {
+                Files.createDirectories(outputFile.getParent());
+            }
+            return constructor.newInstance(Files.newOutputStream(outputFile));
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException
+                 | InvocationTargetException | IOException ex) {
+            throw new ExceptionHub("Unable to create the plugin " + pluginOption.pluginString(), ex);
+        }
+    }
+
+}
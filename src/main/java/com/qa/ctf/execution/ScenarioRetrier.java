@@ -0,0 +1,401 @@
+package com.qa.ctf.execution;
+
+import io.cucumber.testng.Pickle;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Reporter;
+import org.testng.SkipException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+import static com.qa.ctf.constant.TestConstants.*;
+
+/**
+ * The ScenarioRetrier class retries the failed scenarios within the run, instead of
+ * a second Maven invocation on the rerun file, and keeps the flake rate of every
+ * scenario across runs.
+ *
+ * <p>Features:
+ * <ul>
+ *     <li>Run a failed scenario again, within a retry budget per scenario and per run.
+ *     The failed attempt discards its driver, so the retry gets a fresh one.</li>
+ *     <li>Keep the runs and the flaky runs (failed first, passed on retry) of every
+ *     scenario in a history file under {@code /target/}.</li>
+ *     <li>Quarantine the scenarios whose flake rate reaches the threshold, so that
+ *     their failures are reported as skipped instead of failing the run, without
+ *     retrying them.</li>
+ *     <li>Report the first-attempt and the final status of every scenario, in the
+ *     TestNG results and in a summary under {@code /target/}.</li>
+ *     <li>Identify the run of the scenario on the current thread, and tell the run
+ *     listeners when a run ends, so that the {@link FinalAttemptReporter} reports only
+ *     the last attempt of every run as soon as it is known.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>The failure of the last attempt is rethrown, or a {@link SkipException} with
+ *   the failure as its cause for a quarantined scenario.</li>
+ *   <li>Skipped and quarantined scenarios are not retried.</li>
+ *   <li>A history or summary file that cannot be read or written is logged as a
+ *   warning.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * The budgets are read from the {@code RetriesPerScenario} and {@code RetryBudget}
+ * system properties, and the threshold from the {@code QuarantineFlakeRate} system
+ * property, applied once a scenario has {@code QuarantineMinRuns} runs. A threshold of
+ * 0 turns the quarantine off.
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * ScenarioRetrier scenarioRetrier = ScenarioRetrier.fromSystemProperties();
+ * scenarioRetrier.run(pickle, () -> testNGCucumberRunner.runScenario(pickle));
+ * scenarioRetrier.finish();
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.1
+ */
+public class ScenarioRetrier {
+
+    // Logger instance for the ScenarioRetrier class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(ScenarioRetrier.class);
+
+    // Statuses of an attempt
+    private static final String PASSED = "PASSED";
+    private static final String FAILED = "FAILED";
+    private static final String SKIPPED = "SKIPPED";
+
+    // Attempt of the scenario running on the current thread, starting at 1
+    private static final ThreadLocal<Integer> attemptLocal = ThreadLocal.withInitial(() -> 1);
+
+    // Run of the scenario running on the current thread, shared by all its attempts
+    private static final ThreadLocal<Long> runLocal = new ThreadLocal<>();
+
+    // Source of the run identifiers
+    private static final AtomicLong runIds = new AtomicLong();
+
+    // Listeners told of the end of every run, with the run identifier
+    private static final List<LongConsumer> runListeners = new CopyOnWriteArrayList<>();
+
+    // Runs and flaky runs of the scenarios across runs, by scenario
+    private final Map<String, Flakes> history = new ConcurrentHashMap<>();
+
+    // Outcomes of the scenarios of the current run, by scenario
+    private final Map<String, Outcome> outcomes = new ConcurrentHashMap<>();
+
+    // File the runs and flaky runs are kept in
+    private final Path historyFile;
+
+    // Maximum number of retries of a scenario
+    private final int retriesPerScenario;
+
+    // Retries left for the run
+    private final AtomicInteger retryBudget;
+
+    // Flake rate from which a scenario is quarantined, or 0 to turn the quarantine off
+    private final double quarantineFlakeRate;
+
+    // Number of runs a scenario needs before it can be quarantined
+    private final int quarantineMinRuns;
+
+    /**
+     * Constructs a ScenarioRetrier and loads the flake history, if any.
+     *
+     * @param historyFile         The file the runs and flaky runs are kept in.
+     * @param retriesPerScenario  The maximum number of retries of a scenario.
+     * @param retryBudget         The maximum number of retries of the run.
+     * @param quarantineFlakeRate The flake rate from which a scenario is quarantined,
+     *                            or 0 to turn the quarantine off.
+     * @param quarantineMinRuns   The number of runs a scenario needs before it can be
+     *                            quarantined.
+     */
+    public ScenarioRetrier(Path historyFile, int retriesPerScenario, int retryBudget, double quarantineFlakeRate,
+                           int quarantineMinRuns) {
+        this.historyFile = historyFile;
+        this.retriesPerScenario = retriesPerScenario;
+        this.retryBudget = new AtomicInteger(retryBudget);
+        this.quarantineFlakeRate = quarantineFlakeRate;
+        this.quarantineMinRuns = quarantineMinRuns;
+        if (Files.isRegularFile(historyFile)) {
+            loadHistory();
+        }
+    }
+
+    /**
+     * Creates a ScenarioRetrier from the system properties, kept in the default history
+     * file.
+     *
+     * @return The ScenarioRetrier of the test execution.
+     */
+    public static ScenarioRetrier fromSystemProperties() {
+        ScenarioRetrier scenarioRetrier = new ScenarioRetrier(Path.of(CWD + FLAKE_HISTORY_PATH),
+                Integer.getInteger(RETRIES_PER_SCENARIO, DEFAULT_RETRIES_PER_SCENARIO),
+                Integer.getInteger(RETRY_BUDGET, DEFAULT_RETRY_BUDGET),
+                Double.parseDouble(System.getProperty(QUARANTINE_FLAKE_RATE,
+                        String.valueOf(DEFAULT_QUARANTINE_FLAKE_RATE))),
+                Integer.getInteger(QUARANTINE_MIN_RUNS, DEFAULT_QUARANTINE_MIN_RUNS));
+        log.info("Retrying failed scenarios up to {} times each and {} times per run, quarantine from a {}% "
+                        + "flake rate", scenarioRetrier.retriesPerScenario, scenarioRetrier.retryBudget.get(),
+                Math.round(scenarioRetrier.quarantineFlakeRate * 100));
+        return scenarioRetrier;
+    }
+
+    /**
+     * Returns the attempt of the scenario running on the current thread.
+     *
+     * @return The attempt, starting at 1.
+     */
+    public static int currentAttempt() {
+        return attemptLocal.get();
+    }
+
+    /**
+     * Returns the run of the scenario running on the current thread, which is the
+     * same for all the attempts of the run.
+     *
+     * @return The run identifier, or {@code null} if no scenario is run by the
+     * retrier on the current thread.
+     */
+    public static Long currentRun() {
+        return runLocal.get();
+    }
+
+    /**
+     * Adds a listener that is told of the end of every run of a scenario, once its last
+     * attempt is finished, on the thread of the run.
+     *
+     * @param listener The listener, given the identifier of the ended run.
+     */
+    public static void addRunListener(LongConsumer listener) {
+        runListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added with {@link #addRunListener(LongConsumer)}.
+     *
+     * @param listener The listener to remove.
+     */
+    public static void removeRunListener(LongConsumer listener) {
+        runListeners.remove(listener);
+    }
+
+    /**
+     * Checks whether a scenario is quarantined by its flake rate.
+     *
+     * @param pickle The scenario.
+     * @return {@code true} if the scenario is quarantined, otherwise {@code false}.
+     */
+    public boolean isQuarantined(Pickle pickle) {
+        Flakes flakes = history.get(DurationHistory.key(pickle));
+        return quarantineFlakeRate > 0 && flakes != null && flakes.runs() >= quarantineMinRuns
+                && flakes.rate() >= quarantineFlakeRate;
+    }
+
+    /**
+     * Runs the scenario, retrying it while it fails and retries are left.
+     * <p>
+     * A quarantined scenario is run once, as its failure does not fail the run and a
+     * retry would only spend the budget of the run.
+     * </p>
+     *
+     * @param pickle   The scenario.
+     * @param scenario The run of the scenario, throwing on failure.
+     * @throws SkipException If the scenario is skipped, or if it is quarantined and
+     *                       its last attempt failed.
+     */
+    public void run(Pickle pickle, Runnable scenario) {
+        String key = DurationHistory.key(pickle);
+        boolean quarantined = isQuarantined(pickle);
+        String firstStatus = null;
+        int attempt = 1;
+        long run = runIds.incrementAndGet();
+        runLocal.set(run);
+        try {
+            while (true) {
+                attemptLocal.set(attempt);
+                try {
+                    scenario.run();
+                    record(key, pickle, firstStatus == null ? PASSED : firstStatus, PASSED, attempt, quarantined);
+                    return;
+                } catch (SkipException ex) {
+                    record(key, pickle, firstStatus == null ? SKIPPED : firstStatus, SKIPPED, attempt, quarantined);
+                    throw ex;
+                } catch (RuntimeException | Error ex) {
+                    if (firstStatus == null) {
+                        firstStatus = FAILED;
+                    }
+                    if (quarantined || attempt > retriesPerScenario || !takeRetry()) {
+                        record(key, pickle, firstStatus, FAILED, attempt, quarantined);
+                        if (quarantined) {
+                            throw new SkipException("Quarantined scenario failed: " + pickle.getName(), ex);
+                        }
+                        throw ex;
+                    }
+                    log.warn("Scenario '{}' failed on attempt {}, retrying: {}", pickle.getName(), attempt,
+                            ex.getMessage());
+                    attempt++;
+                }
+            }
+        } finally {
+            attemptLocal.remove();
+            runLocal.remove();
+            runListeners.forEach(listener -> listener.accept(run));
+        }
+    }
+
+    /**
+     * Shows the first-attempt and final status of the scenario in the current TestNG
+     * result, for a scenario that was run on another thread than its TestNG test.
+     *
+     * @param pickle The scenario.
+     */
+    public void report(Pickle pickle) {
+        Outcome outcome = outcomes.get(DurationHistory.key(pickle));
+        if (outcome != null && Reporter.getCurrentTestResult() != null) {
+            Reporter.getCurrentTestResult().setAttribute("firstAttemptStatus", outcome.firstStatus());
+            Reporter.getCurrentTestResult().setAttribute("finalStatus", outcome.finalStatus());
+        }
+    }
+
+    /**
+     * Keeps the runs and flaky runs in the history file, and writes the first-attempt
+     * and final status of every scenario of the run.
+     */
+    public synchronized void finish() {
+        if (outcomes.isEmpty()) {
+            return;
+        }
+        Map<String, Outcome> sorted = new TreeMap<>(outcomes);
+        outcomes.clear();
+        StringBuilder summary = new StringBuilder(String.format("%-60s %-8s %-8s %-8s %-10s %s%n",
+                "Scenario", "First", "Final", "Attempts", "FlakeRate", "Quarantined"));
+        long firstPassed = 0;
+        long flaky = 0;
+        long failed = 0;
+        long quarantined = 0;
+        for (Map.Entry<String, Outcome> entry : sorted.entrySet()) {
+            Outcome outcome = entry.getValue();
+            Flakes flakes = history.merge(entry.getKey(), new Flakes(1, outcome.isFlaky() ? 1 : 0),
+                    (previous, current) -> new Flakes(previous.runs() + 1, previous.flaky() + current.flaky()));
+            summary.append(String.format("%-60s %-8s %-8s %-8d %-10s %s%n", entry.getKey(), outcome.firstStatus(),
+                    outcome.finalStatus(), outcome.attempts(), Math.round(flakes.rate() * 100) + "%",
+                    outcome.quarantined() ? "Yes" : "No"));
+            firstPassed += PASSED.equals(outcome.firstStatus()) ? 1 : 0;
+            flaky += outcome.isFlaky() ? 1 : 0;
+            failed += FAILED.equals(outcome.finalStatus()) ? 1 : 0;
+            quarantined += outcome.quarantined() ? 1 : 0;
+        }
+        log.info("{} scenarios: {} passed on the first attempt, {} passed on a retry, {} failed, {} quarantined",
+                sorted.size(), firstPassed, flaky, failed, quarantined);
+        Properties properties = new Properties();
+        history.forEach((key, flakes) -> properties.setProperty(key, flakes.runs() + "," + flakes.flaky()));
+        try {
+            Files.createDirectories(historyFile.getParent());
+            try (OutputStream outputStream = Files.newOutputStream(historyFile)) {
+                properties.store(outputStream, "Scenario runs and flaky runs");
+            }
+            Path summaryFile = Path.of(CWD + RETRY_SUMMARY_PATH);
+            Files.writeString(summaryFile, summary);
+            log.info("Scenario retry summary written to '{}'", summaryFile);
+        } catch (IOException ex) {
+            log.warn("Unable to keep the scenario flake history: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Takes a retry from the budget of the run.
+     *
+     * @return {@code true} if a retry was left, otherwise {@code false}.
+     */
+    private boolean takeRetry() {
+        if (retryBudget.getAndUpdate(left -> Math.max(left - 1, 0)) > 0) {
+            return true;
+        }
+        log.warn("The retry budget of the run is used up");
+        return false;
+    }
+
+    /**
+     * Records the outcome of the scenario, and shows its first-attempt and final
+     * status in the TestNG result of the scenario.
+     */
+    private void record(String key, Pickle pickle, String firstStatus, String finalStatus, int attempts,
+                        boolean quarantined) {
+        outcomes.put(key, new Outcome(firstStatus, finalStatus, attempts, quarantined));
+        String status = String.format("Scenario '%s': first attempt %s, final %s after %d attempt(s)%s",
+                pickle.getName(), firstStatus, finalStatus, attempts, quarantined ? ", quarantined" : "");
+        Reporter.log(status);
+        if (Reporter.getCurrentTestResult() != null) {
+            Reporter.getCurrentTestResult().setAttribute("firstAttemptStatus", firstStatus);
+            Reporter.getCurrentTestResult().setAttribute("finalStatus", finalStatus);
+        }
+        if (attempts > 1 || quarantined) {
+            log.info(status);
+        }
+    }
+
+    private void loadHistory() {
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(historyFile)) {
+            properties.load(inputStream);
+        } catch (IOException ex) {
+            log.warn("Unable to load the scenario flake history: {}", ex.getMessage());
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            String[] counts = properties.getProperty(key).split(",");
+            try {
+                history.put(key, new Flakes(Integer.parseInt(counts[0].strip()), Integer.parseInt(counts[1].strip())));
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException ex) {
+                log.warn("Ignoring the invalid flake history of '{}'", key);
+            }
+        }
+    }
+
+    /**
+     * The runs and flaky runs of a scenario.
+     *
+     * @param runs  The number of runs.
+     * @param flaky The number of runs that failed first and passed on a retry.
+     */
+    private record Flakes(int runs, int flaky) {
+
+        private double rate() {
+            return runs == 0 ? 0 : (double) flaky / runs;
+        }
+
+    }
+
+    /**
+     * The outcome of a scenario in the current run.
+     *
+     * @param firstStatus The status of the first attempt.
+     * @param finalStatus The status of the last attempt.
+     * @param attempts    The number of attempts.
+     * @param quarantined Whether the scenario was quarantined.
+     */
+    private record Outcome(String firstStatus, String finalStatus, int attempts, boolean quarantined) {
+
+        private boolean isFlaky() {
+            return FAILED.equals(firstStatus) && PASSED.equals(finalStatus);
+        }
+
+    }
+
+}
@@ -0,0 +1,255 @@
+package com.qa.ctf.execution;
+
+import com.qa.ctf.util.ExceptionHub;
+import io.cucumber.testng.PickleWrapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.qa.ctf.constant.TestConstants.*;
+
+/**
+ * The ScenarioShard class splits the scenarios of the suite over several JVMs, so that
+ * each machine of a run executes its own part of the suite and no scenario runs twice.
+ *
+ * <p>Features:
+ * <ul>
+ *     <li>Select the scenarios of one shard out of the total, the same way on every
+ *     machine.</li>
+ *     <li>Split by the hash of the feature file and line of each scenario, or balance
+ *     the shards by the scenario durations of a history file shared by all the
+ *     shards.</li>
+ *     <li>Keep the reports of the shard under {@code /target/shards/}, so that they can
+ *     be merged by the {@link ShardMerger}.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>An {@link ExceptionHub.ConfigTypeException} is thrown for an invalid shard
+ *   index, shard total or balance, or for a history balance without a shared history
+ *   file.</li>
+ *   <li>A report that cannot be kept is logged as a warning.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * The shard is set with the {@code ShardIndex} (starting at 0) and {@code ShardTotal}
+ * system properties. With {@code -DShardBalance=History}, every shard reads the same
+ * frozen history file of the {@code ShardHistory} system property, e.g. restored from
+ * the previous run, instead of the history under {@code /target/} that every shard
+ * rewrites when it finishes, so that the shards never overlap or miss scenarios.
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * ScenarioShard scenarioShard = ScenarioShard.fromSystemProperties();
+ * Object[][] scenarios = scenarioShard.select(testNGCucumberRunner.provideScenarios());
+ * scenarioShard.keepReports();
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class ScenarioShard {
+
+    // Logger instance for the ScenarioShard class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(ScenarioShard.class);
+
+    // Separator of the shard number and the shard total in the name of a shard directory
+    static final String SHARD_TOTAL_SEPARATOR = "-of-";
+
+    // Reports of a run that are kept per shard, relative to the working directory
+    private static final List<String> SHARD_REPORTS =
+            List.of(CUCUMBER_JSON_REPORT, CUCUMBER_JUNIT_REPORT, CUCUMBER_RERUN_FILE);
+
+    // The index of the shard, starting at 0
+    private final int index;
+
+    // The number of shards of the run
+    private final int total;
+
+    // History file the shards are balanced by, or null to split them by hash
+    private final Path balanceHistory;
+
+    /**
+     * Constructs a ScenarioShard.
+     *
+     * @param index          The index of the shard, starting at 0.
+     * @param total          The number of shards of the run.
+     * @param balanceHistory The history file shared by all the shards to balance them
+     *                       by, or {@code null} to split them by hash.
+     * @throws ExceptionHub.ConfigTypeException If the index is not within the total.
+     */
+    public ScenarioShard(int index, int total, Path balanceHistory) {
+        if (total <= 0 || index < 0 || index >= total) {
+            throw new ExceptionHub.ConfigTypeException(SHARD_INDEX + "=" + index + ", " + SHARD_TOTAL + "=" + total);
+        }
+        this.index = index;
+        this.total = total;
+        this.balanceHistory = balanceHistory;
+    }
+
+    /**
+     * Checks whether the run is split into shards.
+     *
+     * @return {@code true} if the {@code ShardTotal} system property is set, otherwise
+     * {@code false}.
+     */
+    public static boolean isEnabled() {
+        String shardTotal = System.getProperty(SHARD_TOTAL);
+        return shardTotal != null && !shardTotal.isBlank();
+    }
+
+    /**
+     * Creates a ScenarioShard from the {@code ShardIndex}, {@code ShardTotal},
+     * {@code ShardBalance} and {@code ShardHistory} system properties.
+     *
+     * @return The ScenarioShard of the test execution.
+     * @throws ExceptionHub.ConfigTypeException If a property is invalid, or if the
+     *                                          history balance has no shared history file.
+     */
+    public static ScenarioShard fromSystemProperties() {
+        String balance = System.getProperty(SHARD_BALANCE, SHARD_BALANCE_HASH);
+        if (!balance.equalsIgnoreCase(SHARD_BALANCE_HASH) && !balance.equalsIgnoreCase(SHARD_BALANCE_HISTORY)) {
+            throw new ExceptionHub.ConfigTypeException(SHARD_BALANCE + "=" + balance);
+        }
+        Path balanceHistory = null;
+        if (balance.equalsIgnoreCase(SHARD_BALANCE_HISTORY)) {
+            String shardHistory = System.getProperty(SHARD_HISTORY, "");
+            if (shardHistory.isBlank()) {
+                throw new ExceptionHub.ConfigTypeException(SHARD_BALANCE + "=" + balance + " without " + SHARD_HISTORY);
+            }
+            balanceHistory = Path.of(shardHistory.strip());
+        }
+        try {
+            return new ScenarioShard(Integer.parseInt(System.getProperty(SHARD_INDEX, "0").strip()),
+                    Integer.parseInt(System.getProperty(SHARD_TOTAL, "1").strip()), balanceHistory);
+        } catch (NumberFormatException ex) {
+            throw new ExceptionHub.ConfigTypeException(SHARD_INDEX + ", " + SHARD_TOTAL, ex);
+        }
+    }
+
+    /**
+     * Selects the scenarios of the shard.
+     * <p>
+     * By hash, a scenario belongs to the shard of the hash of its feature file and line.
+     * By history, the scenarios are taken longest first, with the feature file and line
+     * breaking ties, and each is given to the shard with the least expected duration.
+     * The durations are read from the shared history file, which no shard writes.
+     * </p>
+     *
+     * @param scenarios The scenario parameters provided by the Cucumber runner, with the
+     *                  {@link PickleWrapper} first.
+     * @return The scenario parameters of the shard, in feature order.
+     */
+    public Object[][] select(Object[][] scenarios) {
+        List<Object[]> selected = new ArrayList<>();
+        long expectedMillis = 0;
+        if (balanceHistory != null) {
+            Map<Object[], Long> estimates = new DurationHistory(balanceHistory).estimate(scenarios);
+            Object[][] ordered = scenarios.clone();
+            Arrays.sort(ordered, Comparator.comparing((Object[] scenario) -> estimates.get(scenario))
+                    .reversed()
+                    .thenComparing(ScenarioShard::key));
+            long[] shardMillis = new long[total];
+            Map<Object[], Integer> shards = new HashMap<>();
+            for (Object[] scenario : ordered) {
+                int shard = 0;
+                for (int candidate = 1; candidate < total; candidate++) {
+                    if (shardMillis[candidate] < shardMillis[shard]) {
+                        shard = candidate;
+                    }
+                }
+                shardMillis[shard] += estimates.get(scenario);
+                shards.put(scenario, shard);
+            }
+            expectedMillis = shardMillis[index];
+            for (Object[] scenario : scenarios) {
+                if (shards.get(scenario) == index) {
+                    selected.add(scenario);
+                }
+            }
+        } else {
+            for (Object[] scenario : scenarios) {
+                if (Math.floorMod(key(scenario).hashCode(), total) == index) {
+                    selected.add(scenario);
+                }
+            }
+        }
+        log.info("Shard {} of {} runs {} of {} scenarios, split by {}{}", index + 1, total, selected.size(),
+                scenarios.length, balanceHistory != null ? "history" : "hash",
+                balanceHistory != null ? ", expected duration " + expectedMillis + " ms" : "");
+        return selected.toArray(new Object[0][]);
+    }
+
+    /**
+     * Copies the reports of the run to the directory of the shard, so that the reports
+     * of all the shards can be merged. The Extent JSON archive is taken from the most
+     * recent report folder.
+     */
+    public void keepReports() {
+        Path cwd = Path.of(CWD);
+        Path shardDir = Path.of(CWD + SHARD_REPORT_PATH).resolve(shardName(index, total));
+        try {
+            Files.createDirectories(shardDir);
+            for (String report : SHARD_REPORTS) {
+                Path source = cwd.resolve(report);
+                if (Files.isRegularFile(source)) {
+                    Files.copy(source, shardDir.resolve(source.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Optional<Path> extentArchive = latestExtentArchive(cwd);
+            if (extentArchive.isPresent()) {
+                Files.copy(extentArchive.get(), shardDir.resolve(EXTENT_JSON_ARCHIVE),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+            log.info("Reports of shard {} of {} kept in '{}'", index + 1, total, shardDir);
+        } catch (IOException ex) {
+            log.warn("Unable to keep the reports of shard {} of {}: {}", index + 1, total, ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns the name of the report directory of a shard.
+     *
+     * @param index The index of the shard, starting at 0.
+     * @param total The number of shards of the run.
+     * @return The name of the directory, e.g. {@code shard-1-of-3}.
+     */
+    static String shardName(int index, int total) {
+        return "shard-" + (index + 1) + SHARD_TOTAL_SEPARATOR + total;
+    }
+
+    private static Optional<Path> latestExtentArchive(Path cwd) throws IOException {
+        List<Path> roots = List.of(cwd.resolve("target"), cwd.resolve("test-output"));
+        List<Path> archives = new ArrayList<>();
+        for (Path root : roots) {
+            if (!Files.isDirectory(root)) {
+                continue;
+            }
+            try (Stream<Path> paths = Files.walk(root)) {
+                paths.filter(path -> path.getFileName().toString().equals(EXTENT_JSON_ARCHIVE))
+                        .filter(path -> !path.startsWith(Path.of(CWD + SHARD_REPORT_PATH)))
+                        .forEach(archives::add);
+            }
+        }
+        return archives.stream().max(Comparator.comparing(path -> path.toFile().lastModified()));
+    }
+
+    private static String key(Object[] scenario) {
+        return DurationHistory.key(((PickleWrapper) scenario[0]).getPickle());
+    }
+
+}
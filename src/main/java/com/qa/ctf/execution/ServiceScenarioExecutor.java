@@ -0,0 +1,174 @@
+package com.qa.ctf.execution;
+
+import com.qa.ctf.util.ExceptionHub;
+import io.cucumber.testng.PickleWrapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static com.qa.ctf.constant.TestConstants.*;
+
+/**
+ * The ServiceScenarioExecutor class runs the scenarios that never touch the UI on
+ * virtual threads, apart from the workers of the browser scenarios, so that the
+ * service calls of many scenarios wait on the network at the same time.
+ *
+ * <p>Features:
+ * <ul>
+ *     <li>Recognize the browserless scenarios by the {@code @browserless} tag.</li>
+ *     <li>Run the browserless scenarios on a fixed pool of virtual threads, as many as
+ *     the concurrency limit, which is much higher than the number of browsers.</li>
+ *     <li>Reuse the threads of the pool across the scenarios, so that the Cucumber
+ *     runner each thread builds on first use, with its glue, is built once per thread
+ *     rather than once per scenario.</li>
+ *     <li>Start the scenarios as soon as they are provided, alongside the browser
+ *     scenarios, and wait for each of them on its own, so that every scenario reports
+ *     its own outcome.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>An {@link ExceptionHub.ConfigTypeException} is thrown for an invalid concurrency
+ *   limit.</li>
+ *   <li>The failure of a scenario is rethrown unchanged by {@link #await}, and an
+ *   {@link ExceptionHub} is thrown when the wait is interrupted or the scenario was
+ *   never started.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * The concurrency limit is read from the {@code ServiceConcurrency} system property.
+ * The Cucumber runner of the TestNG integration is kept per thread, so a thread per
+ * scenario would build a runner and load the glue for every scenario. The pool creates
+ * its threads as the scenarios are started, so that no more runners are built than
+ * scenarios, and at most one per slot of the concurrency limit.
+ * The {@code TestHook} starts no browser for the scenarios with the tag, so a scenario
+ * with the tag must not use any page or browser step.
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * ServiceScenarioExecutor serviceScenarioExecutor = ServiceScenarioExecutor.fromSystemProperties();
+ * serviceScenarioExecutor.start(scenarios, pickleWrapper -> testNGCucumberRunner.runScenario(pickleWrapper.getPickle()));
+ * serviceScenarioExecutor.await(pickleWrapper);
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.1
+ */
+public class ServiceScenarioExecutor implements AutoCloseable {
+
+    // Logger instance for the ServiceScenarioExecutor class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(ServiceScenarioExecutor.class);
+
+    // Fixed pool of virtual threads, limiting the scenarios running at the same time and
+    // keeping the Cucumber runner of each thread across the scenarios it runs
+    private final ExecutorService executor;
+
+    // Started scenarios that were not awaited yet, by the PickleWrapper instance of each
+    private final Map<PickleWrapper, Future<?>> startedScenarios = new IdentityHashMap<>();
+
+    /**
+     * Constructs a ServiceScenarioExecutor with the given concurrency limit.
+     *
+     * @param concurrency The maximum number of scenarios running at the same time.
+     */
+    public ServiceScenarioExecutor(int concurrency) {
+        this.executor = Executors.newFixedThreadPool(concurrency,
+                Thread.ofVirtual().name("service-scenario-", 0).factory());
+    }
+
+    /**
+     * Creates a ServiceScenarioExecutor from the {@code ServiceConcurrency} system
+     * property.
+     *
+     * @return The ServiceScenarioExecutor configured for the test execution.
+     * @throws ExceptionHub.ConfigTypeException If the concurrency limit is not positive.
+     */
+    public static ServiceScenarioExecutor fromSystemProperties() {
+        int concurrency = Integer.getInteger(SERVICE_CONCURRENCY, DEFAULT_SERVICE_CONCURRENCY);
+        if (concurrency <= 0) {
+            throw new ExceptionHub.ConfigTypeException(SERVICE_CONCURRENCY);
+        }
+        log.info("Browserless scenarios run on a pool of up to '{}' virtual threads", concurrency);
+        return new ServiceScenarioExecutor(concurrency);
+    }
+
+    /**
+     * Checks whether a scenario never touches the UI.
+     *
+     * @param tags The tags of the scenario.
+     * @return {@code true} if the scenario has the {@code @browserless} tag, otherwise
+     * {@code false}.
+     */
+    public static boolean isBrowserless(Collection<String> tags) {
+        return tags.contains(BROWSERLESS_TAG);
+    }
+
+    /**
+     * Starts every scenario on a thread of the pool once one is free.
+     *
+     * @param scenarios The scenario parameters provided by the Cucumber runner, with the
+     *                  {@link PickleWrapper} first.
+     * @param runner    The action that runs a scenario on the current thread.
+     */
+    public synchronized void start(List<Object[]> scenarios, Consumer<PickleWrapper> runner) {
+        for (Object[] scenario : scenarios) {
+            PickleWrapper pickleWrapper = (PickleWrapper) scenario[0];
+            startedScenarios.put(pickleWrapper, executor.submit(() -> runner.accept(pickleWrapper)));
+        }
+        log.info("{} browserless scenarios started", scenarios.size());
+    }
+
+    /**
+     * Waits until the given scenario is finished.
+     *
+     * @param pickleWrapper The scenario to wait for.
+     * @throws ExceptionHub If the scenario was never started or the wait is interrupted,
+     *                      besides the failure of the scenario itself.
+     */
+    public void await(PickleWrapper pickleWrapper) {
+        Future<?> run;
+        synchronized (this) {
+            run = startedScenarios.remove(pickleWrapper);
+        }
+        if (run == null) {
+            throw new ExceptionHub("No browserless run started for scenario '"
+                    + pickleWrapper.getPickle().getName() + "'");
+        }
+        try {
+            run.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            if (ex.getCause() instanceof Error failure) {
+                throw failure;
+            }
+            throw new ExceptionHub("The browserless scenario '" + pickleWrapper.getPickle().getName()
+                    + "' failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ExceptionHub("Interrupted while waiting for the browserless scenario '"
+                    + pickleWrapper.getPickle().getName() + "'", ex);
+        }
+    }
+
+    /**
+     * Stops the executor, interrupting the scenarios that are still running.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+}
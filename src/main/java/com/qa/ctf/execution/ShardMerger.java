@@ -0,0 +1,340 @@
+package com.qa.ctf.execution;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.qa.ctf.util.ExceptionHub;
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static com.qa.ctf.constant.TestConstants.*;
+
+/**
+ * The ShardMerger class combines the reports of the shards of a run into one report,
+ * as if the whole suite had run in a single JVM.
+ *
+ * <p>Features:
+ * <ul>
+ *     <li>Merge the Cucumber JSON reports, with the scenarios of a feature kept under
+ *     one feature.</li>
+ *     <li>Merge the JUnit XML reports, with the test, failure, error and skip counts
+ *     and the time summed up.</li>
+ *     <li>Merge the rerun files, keeping each failed scenario once.</li>
+ *     <li>Rebuild one Extent Spark report from the Extent JSON archives of the
+ *     shards.</li>
+ *     <li>Run the shards locally as separate Maven processes before merging them, all
+ *     balanced by the same frozen copy of the duration history.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>An {@link ExceptionHub} is thrown when a report cannot be read or written, when
+ *   a local shard cannot be started, or when the shard reports of several shard totals
+ *   are found and no total is given.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * The reports of each shard are read from its directory under {@code /target/shards/},
+ * where the shard keeps them after its run, and the merged reports are written to
+ * {@code /target/shards/merged/}. Only the shards of one shard total are merged, so the
+ * directories left by a run with another total are never mixed in. Local shards run one
+ * after another, since they share the {@code target} directory of the project, after
+ * the reports of earlier shards are cleared; on separate machines they run at the same
+ * time and their shard directories are collected before merging.
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * mvn -q compile exec:java -Dexec.mainClass=com.qa.ctf.execution.ShardMerger
+ * mvn -q compile exec:java -Dexec.mainClass=com.qa.ctf.execution.ShardMerger -Dexec.args="3 -Dsuite.xml=..."
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class ShardMerger {
+
+    // Logger instance for the ShardMerger class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(ShardMerger.class);
+
+    // Counts of the JUnit test suite that are summed up over the shards
+    private static final List<String> JUNIT_COUNTS = List.of("tests", "failures", "errors", "skipped");
+
+    // The directory the reports of the shards are kept in
+    private final Path shardsDir;
+
+    // The directory the merged reports are written to
+    private final Path mergedDir;
+
+    /**
+     * Constructs a ShardMerger for the given shard directory.
+     *
+     * @param shardsDir The directory that holds one directory per shard.
+     */
+    public ShardMerger(Path shardsDir) {
+        this.shardsDir = shardsDir;
+        this.mergedDir = shardsDir.resolve(MERGED_SHARD_DIR);
+    }
+
+    /**
+     * Merges the reports of the shards under {@code /target/shards/}, running the given
+     * number of shards locally first when a shard total is given.
+     *
+     * @param args The optional shard total, followed by the arguments passed to each
+     *             Maven process, e.g. {@code 3 -Dsuite.xml=src/test/resources/xml/testNG.xml}.
+     */
+    public static void main(String[] args) {
+        ShardMerger shardMerger = new ShardMerger(Path.of(CWD + SHARD_REPORT_PATH));
+        if (args.length > 0) {
+            int shardTotal = Integer.parseInt(args[0]);
+            shardMerger.runLocally(shardTotal, Arrays.asList(args).subList(1, args.length));
+            shardMerger.merge(shardTotal);
+        } else {
+            shardMerger.merge();
+        }
+    }
+
+    /**
+     * Runs the shards one after another as separate Maven processes in the working
+     * directory.
+     * <p>
+     * The reports of earlier shards are cleared first. The duration history is copied
+     * once before the first shard and every shard is balanced by that copy, since each
+     * shard rewrites the history under {@code /target/} when it finishes.
+     * </p>
+     *
+     * @param shardTotal The number of shards.
+     * @param mavenArgs  The arguments passed to each Maven process.
+     * @throws ExceptionHub If the shard reports cannot be cleared, or a shard cannot be
+     *                      started or is interrupted.
+     */
+    public void runLocally(int shardTotal, List<String> mavenArgs) {
+        String maven = System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("win") ? "mvn.cmd" : "mvn";
+        Path shardHistory = shardsDir.resolve(SHARD_HISTORY_FILE);
+        try {
+            FileUtils.deleteDirectory(shardsDir.toFile());
+            Files.createDirectories(shardsDir);
+            Path durationHistory = Path.of(CWD + DURATION_HISTORY_PATH);
+            if (Files.isRegularFile(durationHistory)) {
+                Files.copy(durationHistory, shardHistory, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException ex) {
+            throw new ExceptionHub("Unable to prepare the shard reports of " + shardsDir, ex);
+        }
+        for (int index = 0; index < shardTotal; index++) {
+            List<String> command = new ArrayList<>(List.of(maven, "-B", "test",
+                    "-D" + SHARD_INDEX + "=" + index, "-D" + SHARD_TOTAL + "=" + shardTotal,
+                    "-D" + SHARD_HISTORY + "=" + shardHistory.toAbsolutePath()));
+            command.addAll(mavenArgs);
+            log.info("Running shard {} of {}: {}", index + 1, shardTotal, String.join(" ", command));
+            try {
+                int exitCode = new ProcessBuilder(command).directory(Path.of(CWD).toFile()).inheritIO()
+                        .start().waitFor();
+                log.info("Shard {} of {} finished with exit code {}", index + 1, shardTotal, exitCode);
+            } catch (IOException ex) {
+                throw new ExceptionHub("Unable to start shard " + (index + 1) + " of " + shardTotal, ex);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ExceptionHub("Interrupted while running shard " + (index + 1) + " of " + shardTotal, ex);
+            }
+        }
+    }
+
+    /**
+     * Merges the reports of the shards found under the shard directory, which must all
+     * belong to the same shard total.
+     *
+     * @throws ExceptionHub If the shards of several totals are found, or a report cannot
+     *                      be read or written.
+     */
+    public void merge() {
+        Set<String> shardTotals = new TreeSet<>();
+        for (Path shardDir : shardDirs()) {
+            String name = shardDir.getFileName().toString();
+            shardTotals.add(name.substring(name.lastIndexOf(ScenarioShard.SHARD_TOTAL_SEPARATOR)
+                    + ScenarioShard.SHARD_TOTAL_SEPARATOR.length()));
+        }
+        if (shardTotals.size() > 1) {
+            throw new ExceptionHub("Shard reports of several shard totals " + shardTotals + " found under "
+                    + shardsDir + ", remove the old ones or give the shard total");
+        }
+        if (shardTotals.isEmpty()) {
+            log.warn("No shard reports found under '{}'", shardsDir);
+            return;
+        }
+        merge(Integer.parseInt(shardTotals.iterator().next()));
+    }
+
+    /**
+     * Merges the Cucumber JSON, JUnit XML, rerun and Extent reports of the shards of the
+     * given shard total.
+     *
+     * @param shardTotal The number of shards of the run.
+     * @throws ExceptionHub If a report cannot be read or written.
+     */
+    public void merge(int shardTotal) {
+        String suffix = ScenarioShard.SHARD_TOTAL_SEPARATOR + shardTotal;
+        List<Path> shardDirs = shardDirs().stream()
+                .filter(shardDir -> shardDir.getFileName().toString().endsWith(suffix))
+                .toList();
+        if (shardDirs.isEmpty()) {
+            log.warn("No shard reports of {} shards found under '{}'", shardTotal, shardsDir);
+            return;
+        }
+        if (shardDirs.size() < shardTotal) {
+            log.warn("Only {} of {} shard reports found under '{}'", shardDirs.size(), shardTotal, shardsDir);
+        }
+        try {
+            Files.createDirectories(mergedDir);
+            mergeCucumberJson(reports(shardDirs, CUCUMBER_JSON_REPORT));
+            mergeJUnitXml(reports(shardDirs, CUCUMBER_JUNIT_REPORT));
+            mergeRerunFiles(reports(shardDirs, CUCUMBER_RERUN_FILE));
+            mergeExtentArchives(reports(shardDirs, EXTENT_JSON_ARCHIVE));
+        } catch (IOException | ParserConfigurationException | SAXException | TransformerException ex) {
+            throw new ExceptionHub("Unable to merge the shard reports of " + shardsDir, ex);
+        }
+        log.info("Merged the reports of {} shards into '{}'", shardDirs.size(), mergedDir);
+    }
+
+    private void mergeCucumberJson(List<Path> reports) throws IOException {
+        Map<Object, Map<String, Object>> features = new LinkedHashMap<>();
+        Json json = new Json();
+        for (Path report : reports) {
+            List<Map<String, Object>> shardFeatures = json.toType(Files.readString(report), Json.LIST_OF_MAPS_TYPE);
+            for (Map<String, Object> feature : shardFeatures) {
+                Map<String, Object> merged = features.computeIfAbsent(feature.get("uri"), uri -> {
+                    Map<String, Object> copy = new LinkedHashMap<>(feature);
+                    copy.put("elements", new ArrayList<>());
+                    return copy;
+                });
+                @SuppressWarnings("unchecked")
+                List<Object> elements = (List<Object>) merged.get("elements");
+                Object shardElements = feature.get("elements");
+                if (shardElements instanceof List<?> list) {
+                    elements.addAll(list);
+                }
+            }
+        }
+        if (!reports.isEmpty()) {
+            Files.writeString(mergedDir.resolve(Path.of(CUCUMBER_JSON_REPORT).getFileName()),
+                    json.toJson(new ArrayList<>(features.values())));
+        }
+    }
+
+    private void mergeJUnitXml(List<Path> reports)
+            throws ParserConfigurationException, IOException, SAXException, TransformerException {
+        if (reports.isEmpty()) {
+            return;
+        }
+        DocumentBuilder documentBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        Document merged = documentBuilder.newDocument();
+        Element mergedSuite = null;
+        long[] counts = new long[JUNIT_COUNTS.size()];
+        double time = 0;
+        for (Path report : reports) {
+            Element suite = documentBuilder.parse(report.toFile()).getDocumentElement();
+            if (mergedSuite == null) {
+                mergedSuite = (Element) merged.importNode(suite, false);
+                merged.appendChild(mergedSuite);
+            }
+            for (int index = 0; index < counts.length; index++) {
+                String count = suite.getAttribute(JUNIT_COUNTS.get(index));
+                counts[index] += count.isEmpty() ? 0 : Long.parseLong(count);
+            }
+            String suiteTime = suite.getAttribute("time");
+            time += suiteTime.isEmpty() ? 0 : Double.parseDouble(suiteTime.replace(",", ""));
+            NodeList testCases = suite.getElementsByTagName("testcase");
+            for (int index = 0; index < testCases.getLength(); index++) {
+                mergedSuite.appendChild(merged.importNode(testCases.item(index), true));
+            }
+        }
+        for (int index = 0; index < counts.length; index++) {
+            mergedSuite.setAttribute(JUNIT_COUNTS.get(index), String.valueOf(counts[index]));
+        }
+        mergedSuite.setAttribute("time", String.format(Locale.ROOT, "%.3f", time));
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        transformer.transform(new DOMSource(merged),
+                new StreamResult(mergedDir.resolve(Path.of(CUCUMBER_JUNIT_REPORT).getFileName()).toFile()));
+    }
+
+    private void mergeRerunFiles(List<Path> reports) throws IOException {
+        Set<String> scenarios = new LinkedHashSet<>();
+        for (Path report : reports) {
+            for (String scenario : Files.readString(report).split("\\s+")) {
+                if (!scenario.isBlank()) {
+                    scenarios.add(scenario);
+                }
+            }
+        }
+        if (!reports.isEmpty()) {
+            Files.write(mergedDir.resolve(Path.of(CUCUMBER_RERUN_FILE).getFileName()), scenarios);
+        }
+    }
+
+    private void mergeExtentArchives(List<Path> archives) throws IOException {
+        if (archives.isEmpty()) {
+            return;
+        }
+        ExtentReports extentReports = new ExtentReports();
+        for (Path archive : archives) {
+            extentReports.createDomainFromJsonArchive(archive.toFile());
+        }
+        extentReports.attachReporter(new ExtentSparkReporter(mergedDir.resolve(MERGED_EXTENT_REPORT).toFile()));
+        extentReports.flush();
+    }
+
+    private List<Path> shardDirs() {
+        if (!Files.isDirectory(shardsDir)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.list(shardsDir)) {
+            return paths.filter(Files::isDirectory)
+                    .filter(path -> path.getFileName().toString().startsWith("shard-"))
+                    .filter(path -> path.getFileName().toString().contains(ScenarioShard.SHARD_TOTAL_SEPARATOR))
+                    .sorted()
+                    .toList();
+        } catch (IOException ex) {
+            throw new ExceptionHub("Unable to list the shard reports of " + shardsDir, ex);
+        }
+    }
+
+    private static List<Path> reports(List<Path> shardDirs, String report) {
+        String fileName = Path.of(report).getFileName().toString();
+        return shardDirs.stream()
+                .map(shardDir -> shardDir.resolve(fileName))
+                .filter(Files::isRegularFile)
+                .toList();
+    }
+
+}
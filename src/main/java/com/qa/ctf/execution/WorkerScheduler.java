@@ -0,0 +1,347 @@
+package com.qa.ctf.execution;
+
+import com.qa.ctf.constant.RunType;
+import com.qa.ctf.factory.RunFactory;
+import com.qa.ctf.util.ExceptionHub;
+import com.qa.ctf.util.FileReader;
+import com.sun.management.OperatingSystemMXBean;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static com.qa.ctf.constant.TestConstants.*;
+
+/**
+ * The WorkerScheduler class sizes the number of scenarios that run at the same time
+ * from the machine and the Grid the run is given, instead of a thread count fixed by
+ * hand in the suite file.
+ *
+ * <p>Features:
+ * <ul>
+ *     <li>Pick the worker count from the available processors and the free memory
+ *     per browser for local runs, and from the free Grid slots for remote runs.</li>
+ *     <li>Log the chosen count together with the limit that decided it.</li>
+ *     <li>Shrink the pool of a local run while the machine is overloaded, and grow it
+ *     back to the chosen count once the load drops.</li>
+ *     <li>Limit the scenarios running at the same time to the current pool size.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>An {@link ExceptionHub.ConfigTypeException} is thrown for an invalid worker
+ *   count.</li>
+ *   <li>An {@link ExceptionHub} is thrown when a scenario is interrupted while waiting
+ *   for a free worker.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * A fixed worker count set with the {@code Workers} system property is used as it is,
+ * without resizing. The worker count of a remote run is not resized either, as the
+ * browsers run on the Grid nodes, not on the machine whose load is sampled. The memory
+ * per browser is taken from the {@code BrowserMemoryMb}
+ * system property. The data provider threads of the suite are only the upper bound,
+ * the scheduler decides how many of them run a scenario at a time.
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * WorkerScheduler workerScheduler = WorkerScheduler.fromSystemProperties();
+ * workerScheduler.start();
+ * workerScheduler.run(() -> testNGCucumberRunner.runScenario(pickle));
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.1
+ */
+public class WorkerScheduler {
+
+    // Logger instance for the WorkerScheduler class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(WorkerScheduler.class);
+
+    // Operating system view of the processor load and the physical memory
+    private static final OperatingSystemMXBean operatingSystem =
+            (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    // The highest number of scenarios running at the same time
+    private final int maxWorkers;
+
+    // The memory a browser needs, in megabytes
+    private final long browserMemoryMb;
+
+    // Whether the pool is resized with the load of the machine
+    private final boolean adaptive;
+
+    // Free worker slots, resized during the run
+    private final ResizableSemaphore workerSlots;
+
+    // The current number of workers
+    private int workers;
+
+    // Single background thread that samples the load of the machine
+    private ScheduledExecutorService monitor;
+
+    /**
+     * Constructs a WorkerScheduler with the given worker count.
+     *
+     * @param maxWorkers      The highest number of scenarios running at the same time.
+     * @param browserMemoryMb The memory a browser needs, in megabytes.
+     * @param adaptive        {@code true} to resize the pool with the load of the
+     *                        machine, otherwise {@code false}.
+     */
+    public WorkerScheduler(int maxWorkers, long browserMemoryMb, boolean adaptive) {
+        this.maxWorkers = maxWorkers;
+        this.browserMemoryMb = browserMemoryMb;
+        this.adaptive = adaptive;
+        this.workers = maxWorkers;
+        this.workerSlots = new ResizableSemaphore(maxWorkers);
+    }
+
+    /**
+     * Creates a WorkerScheduler for the test execution.
+     * <p>
+     * The worker count is the one of the {@code Workers} system property when set.
+     * Otherwise, it is the lowest of the available processors and the browsers that
+     * fit in the free memory for local runs, or the free Grid slots for remote runs.
+     * </p>
+     *
+     * @return The WorkerScheduler configured for the test execution.
+     * @throws ExceptionHub.ConfigTypeException If the worker count is invalid.
+     */
+    public static WorkerScheduler fromSystemProperties() {
+        long browserMemoryMb = Long.getLong(BROWSER_MEMORY_MB, DEFAULT_BROWSER_MEMORY_MB);
+        String fixedWorkers = System.getProperty(WORKERS);
+        if (fixedWorkers != null && !fixedWorkers.isBlank()) {
+            int workers;
+            try {
+                workers = Integer.parseInt(fixedWorkers.strip());
+            } catch (NumberFormatException ex) {
+                throw new ExceptionHub.ConfigTypeException(WORKERS, ex);
+            }
+            if (workers <= 0) {
+                throw new ExceptionHub.ConfigTypeException(WORKERS);
+            }
+            log.info("Running with '{}' workers, as set by the '{}' system property", workers, WORKERS);
+            return new WorkerScheduler(workers, browserMemoryMb, false);
+        }
+        FileReader.loadPropertyFile();
+        int processors = Runtime.getRuntime().availableProcessors();
+        if (new RunFactory().getTestRunType() == RunType.REMOTE) {
+            return forRemoteRun(processors, freeGridSlots(FileReader.fetchDataFromPropFile(GRID_URL)),
+                    browserMemoryMb);
+        }
+        return forLocalRun(processors, operatingSystem.getFreeMemorySize() / (1024 * 1024), browserMemoryMb);
+    }
+
+    /**
+     * Creates the WorkerScheduler of a local run, with the lowest of the processors and
+     * the browsers that fit in the free memory, resized with the load of the machine.
+     *
+     * @param processors      The available processors.
+     * @param freeMemoryMb    The free physical memory, in megabytes.
+     * @param browserMemoryMb The memory a browser needs, in megabytes.
+     * @return The WorkerScheduler of the local run.
+     */
+    static WorkerScheduler forLocalRun(int processors, long freeMemoryMb, long browserMemoryMb) {
+        int memoryWorkers = (int) (freeMemoryMb / browserMemoryMb);
+        int workers = Math.max(Math.min(processors, memoryWorkers), 1);
+        log.info("Running with '{}' workers, limited by {} (processors={}, freeMemory={}MB/{}MB per browser={})",
+                workers, memoryWorkers < processors ? "free memory per browser" : "available processors",
+                processors, freeMemoryMb, browserMemoryMb, memoryWorkers);
+        return new WorkerScheduler(workers, browserMemoryMb, true);
+    }
+
+    /**
+     * Creates the WorkerScheduler of a remote run, with the free Grid slots, or the
+     * processors when the Grid status cannot be read, and a fixed worker count.
+     *
+     * @param processors      The available processors.
+     * @param freeGridSlots   The free Grid slots, or {@code -1} if unknown.
+     * @param browserMemoryMb The memory a browser needs, in megabytes.
+     * @return The WorkerScheduler of the remote run.
+     */
+    static WorkerScheduler forRemoteRun(int processors, int freeGridSlots, long browserMemoryMb) {
+        int workers = Math.max(freeGridSlots >= 0 ? freeGridSlots : processors, 1);
+        log.info("Running with '{}' workers, limited by {} (processors={}, freeGridSlots={}), "
+                        + "not resized with the load of this machine", workers,
+                freeGridSlots >= 0 ? "free Grid slots" : "available processors", processors,
+                freeGridSlots >= 0 ? freeGridSlots : "unknown");
+        return new WorkerScheduler(workers, browserMemoryMb, false);
+    }
+
+    /**
+     * Returns the highest number of scenarios running at the same time, to size the
+     * data provider threads of the suite.
+     *
+     * @return The highest worker count.
+     */
+    public int getMaxWorkers() {
+        return maxWorkers;
+    }
+
+    /**
+     * Returns the current number of workers.
+     *
+     * @return The current worker count.
+     */
+    synchronized int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Checks whether the pool is resized with the load of the machine.
+     *
+     * @return {@code true} if the pool is resized, otherwise {@code false}.
+     */
+    boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Starts sampling the load of the machine, so that the pool is resized during the
+     * run. Does nothing for a fixed worker count.
+     */
+    public synchronized void start() {
+        if (!adaptive || monitor != null) {
+            return;
+        }
+        monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "worker-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        monitor.scheduleWithFixedDelay(this::resize, WORKER_MONITOR_INTERVAL, WORKER_MONITOR_INTERVAL,
+                TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops sampling the load of the machine.
+     */
+    public synchronized void stop() {
+        if (monitor != null) {
+            monitor.shutdownNow();
+            monitor = null;
+        }
+    }
+
+    /**
+     * Runs the scenario once a worker is free.
+     *
+     * @param scenario The scenario to run.
+     * @throws ExceptionHub If the thread is interrupted while waiting for a free worker.
+     */
+    public void run(Runnable scenario) {
+        try {
+            workerSlots.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ExceptionHub("Interrupted while waiting for a free worker", ex);
+        }
+        try {
+            scenario.run();
+        } finally {
+            workerSlots.release();
+        }
+    }
+
+    /**
+     * Resizes the pool with the current load of the machine.
+     */
+    private void resize() {
+        resize(operatingSystem.getCpuLoad(), operatingSystem.getFreeMemorySize() / (1024 * 1024));
+    }
+
+    /**
+     * Shrinks the pool by one worker while the processors are overloaded or the free
+     * memory does not hold another browser, and grows it back by one once both have
+     * room to spare. Does nothing for a fixed worker count.
+     *
+     * @param cpuLoad      The processor load of the machine, from 0 to 1, or negative if
+     *                     unknown.
+     * @param freeMemoryMb The free physical memory, in megabytes.
+     */
+    synchronized void resize(double cpuLoad, long freeMemoryMb) {
+        if (!adaptive || cpuLoad < 0) {
+            return;
+        }
+        if ((cpuLoad > WORKER_CPU_LOAD_HIGH || freeMemoryMb < browserMemoryMb) && workers > 1) {
+            workers--;
+            workerSlots.reducePermits(1);
+            log.warn("Shrinking to '{}' workers (cpuLoad={}%, freeMemory={}MB)", workers,
+                    Math.round(cpuLoad * 100), freeMemoryMb);
+        } else if (cpuLoad < WORKER_CPU_LOAD_LOW && freeMemoryMb > 2 * browserMemoryMb && workers < maxWorkers) {
+            workers++;
+            workerSlots.release();
+            log.info("Growing to '{}' workers (cpuLoad={}%, freeMemory={}MB)", workers,
+                    Math.round(cpuLoad * 100), freeMemoryMb);
+        }
+    }
+
+    /**
+     * Counts the slots without a session on the Grid nodes that are up.
+     *
+     * @param gridUrl The address of the Selenium Grid.
+     * @return The free slots, or {@code -1} if the Grid status cannot be read.
+     */
+    @SuppressWarnings("unchecked")
+    private static int freeGridSlots(String gridUrl) {
+        URI gridUri = URI.create(gridUrl);
+        try (HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build()) {
+            HttpRequest request = HttpRequest.newBuilder(gridUri.resolve("/status"))
+                    .timeout(Duration.ofSeconds(10))
+                    .GET()
+                    .build();
+            String body = httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+            Map<String, Object> value = (Map<String, Object>) new Json().<Map<String, Object>>toType(body, Json.MAP_TYPE).get("value");
+            int freeSlots = 0;
+            for (Map<String, Object> node : (List<Map<String, Object>>) value.get("nodes")) {
+                if (!"UP".equals(node.get("availability"))) {
+                    continue;
+                }
+                for (Map<String, Object> slot : (List<Map<String, Object>>) node.get("slots")) {
+                    if (slot.get("session") == null) {
+                        freeSlots++;
+                    }
+                }
+            }
+            return freeSlots;
+        } catch (Exception ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.warn("Unable to read the free slots of the Grid '{}': {}", gridUri, ex.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Semaphore whose permits can be taken away while they are in use, so that a worker
+     * leaves the pool once its current scenario is finished.
+     */
+    private static final class ResizableSemaphore extends Semaphore {
+
+        private ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+
+    }
+
+}
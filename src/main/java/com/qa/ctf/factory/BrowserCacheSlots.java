@@ -0,0 +1,85 @@
+package com.qa.ctf.factory;
+
+import com.qa.ctf.constant.BrowserType;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The BrowserCacheSlots class hands out the disk cache folders of the local browsers,
+ * so that no two live browsers share a cache folder.
+ *
+ * <p>Features:
+ * <ul>
+ *     <li>Reserve the lowest free cache slot of a browser before it is started.</li>
+ *     <li>Bind the slot to the started browser, and free it again once that browser
+ *     has quit, so that the next browser starts on a warm cache.</li>
+ *     <li>Keep the slot numbers small and stable, so that the cache folders are reused
+ *     across runs instead of piling up.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * A slot is known to be free again once the session id of its browser is cleared by
+ * {@code quit()}, so no quit path of the framework has to give the slot back. A browser
+ * that is never quit keeps its slot until the end of the run.
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * BrowserCacheSlots cacheSlots = new BrowserCacheSlots();
+ * int slot = cacheSlots.reserve(BrowserType.CHROME);
+ * WebDriver driver = startChrome("chrome-" + slot);
+ * cacheSlots.bind(BrowserType.CHROME, slot, driver);
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+final class BrowserCacheSlots {
+
+    // Marker of a slot reserved for a browser that is still starting
+    private static final Object RESERVED = new Object();
+
+    // Holder of each cache slot per browser, the browser, the reserved marker or null when free
+    private final Map<BrowserType, List<Object>> slots = new EnumMap<>(BrowserType.class);
+
+    /**
+     * Reserves the lowest cache slot of the browser that no live browser holds.
+     *
+     * @param browserType The browser to start.
+     * @return The number of the reserved slot.
+     */
+    synchronized int reserve(BrowserType browserType) {
+        List<Object> holders = slots.computeIfAbsent(browserType, type -> new ArrayList<>());
+        for (int slot = 0; slot < holders.size(); slot++) {
+            if (isFree(holders.get(slot))) {
+                holders.set(slot, RESERVED);
+                return slot;
+            }
+        }
+        holders.add(RESERVED);
+        return holders.size() - 1;
+    }
+
+    /**
+     * Binds a reserved slot to the started browser, or frees it when the browser could
+     * not be started.
+     *
+     * @param browserType The browser type of the slot.
+     * @param slot        The slot returned by {@link #reserve(BrowserType)}.
+     * @param driver      The started browser, or {@code null} to free the slot.
+     */
+    synchronized void bind(BrowserType browserType, int slot, WebDriver driver) {
+        slots.get(browserType).set(slot, driver);
+    }
+
+    private static boolean isFree(Object holder) {
+        return holder == null || holder instanceof RemoteWebDriver driver && driver.getSessionId() == null;
+    }
+
+}
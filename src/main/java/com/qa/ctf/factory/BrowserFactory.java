@@ -6,6 +6,8 @@ import com.qa.ctf.util.FileReader;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.function.Supplier;
+
 import static com.qa.ctf.constant.TestConstants.*;
 
 
@@ -13,13 +15,13 @@ import static com.qa.ctf.constant.TestConstants.*;
  * The BrowserFactory class handles browser-related configurations for test execution
  * using Selenium WebDriver. It manages the browser type (e.g., Chrome, Firefox, Edge)
  * based on environment variables or property files and provides utility methods for
- * setting and retrieving the browser type.
+ * retrieving and overriding the browser type.
  *
  * <p>Features:
  * <ul>
- *     <li>Set and get the browser type for test execution.</li>
  *     <li>Retrieve the corresponding BrowserType enumeration based on the browser set.</li>
  *     <li>Fetch browser configuration values from environment variables or property files.</li>
+ *     <li>Override the configured browser for the current thread, e.g. for a browser matrix.</li>
  * </ul>
  *
  * <p>Exception Handling:
@@ -36,71 +38,60 @@ import static com.qa.ctf.constant.TestConstants.*;
  * <p>Example:
  * <pre>
  * {@code
- * BrowserFactory BrowserFactory = new BrowserFactory();
- * BrowserFactory.setBrowser("chrome");
- * BrowserType browserType = BrowserFactory.getBrowserType();
+ * BrowserFactory browserFactory = new BrowserFactory();
+ * BrowserType browserType = browserFactory.getBrowserType();
  * }
  * </pre>
  *
  * @author Jagatheshwaran N
- * @version 1.0
+ * @version 1.3
  */
 public class BrowserFactory extends FileReader {
 
     // Logger instance for the BrowserFactory class to enable logging during the execution
     private static final Logger log = LogManager.getLogger(BrowserFactory.class);
 
-    // Instance variable to store the browser configuration (e.g., Chrome, Firefox, etc.)
-    private String browser;
-
-    /**
-     * Sets the browser type for the test execution.
-     * <p>
-     * This method assigns the specified browser to the instance variable
-     * `browser`, which will be used later to determine the browser type
-     * for test execution.
-     * </p>
-     *
-     * @param browser The name of the browser to set.
-     */
-    public void setBrowser(String browser) {
-        this.browser = browser;
-    }
+    // ThreadLocal variable to store the browser that overrides the configured one on the current thread
+    private static final ThreadLocal<String> browserOverride = new ThreadLocal<>();
 
     /**
-     * Retrieves the browser type currently set for the test execution.
+     * Retrieves the BrowserType enumeration for the browser set for the test
+     * execution.
      * <p>
-     * This method returns the name of the browser that has been set using the
-     * `setBrowser` method. The value is returned as a string.
+     * This method takes the browser override of the current thread, if any, or else
+     * fetches the browser type from either environment variables or a property file,
+     * then determines the corresponding `BrowserType` enum (such as CHROME, FIREFOX,
+     * or EDGE). The configured browser type is resolved and converted once per
+     * configuration snapshot. The browser type is logged for informational purposes.
      * </p>
      *
-     * @return The name of the currently set browser.
+     * @return The corresponding `BrowserType` for the currently set browser.
+     * @throws ExceptionHub.ConfigTypeException If the browser type is invalid or
+     *                                          not recognized.
      */
-    public String getBrowser() {
-        return browser;
+    public BrowserType getBrowserType() {
+        String browserName = browserOverride.get();
+        if (browserName != null) {
+            return toBrowserType(browserName);
+        }
+        return resolveTypedValue(BrowserType.BROWSER.getBrowserType(),
+                value -> toBrowserType(value.orElse(null)));
     }
 
     /**
-     * Retrieves the BrowserType enumeration for the browser set for the test
-     * execution.
-     * <p>
-     * This method fetches the browser type from either environment variables
-     * or a property file, then determines the corresponding `BrowserType` enum
-     * (such as CHROME, FIREFOX, or EDGE). The browser type is logged for
-     * informational purposes.
-     * </p>
+     * Converts the browser name to its BrowserType enumeration.
      *
-     * @return The corresponding `BrowserType` for the currently set browser.
+     * @param browserName The name of the browser.
+     * @return The corresponding `BrowserType`.
      * @throws ExceptionHub.ConfigTypeException If the browser type is invalid or
      *                                          not recognized.
      */
-    public BrowserType getBrowserType() {
-        setBrowser(getValue(BrowserType.BROWSER.getBrowserType()));
-        if (getBrowser() == null || getBrowser().isEmpty()) {
+    private BrowserType toBrowserType(String browserName) {
+        if (browserName == null || browserName.isEmpty()) {
             log.error("Browser is not specified or is empty.");
             throw new ExceptionHub.ConfigTypeException("Browser is not specified.");
         }
-        return switch (getBrowser()) {
+        return switch (browserName) {
             case CHROME -> {
                 log.info("Chrome browser is set for test execution");
                 yield BrowserType.CHROME;
@@ -115,36 +106,46 @@ public class BrowserFactory extends FileReader {
             }
             default -> {
                 log.error(
-                        "Invalid browser type: '{}'", getBrowser());
-                throw new ExceptionHub.ConfigTypeException(getBrowser());
+                        "Invalid browser type: '{}'", browserName);
+                throw new ExceptionHub.ConfigTypeException(browserName);
             }
         };
     }
 
     /**
-     * Retrieves the value associated with the provided key from either environment
-     * variables or a property file.
+     * Runs the action with the given browser in place of the configured one.
      * <p>
-     * This method first checks if the key exists in the environment variables, and
-     * if not, it fetches the value from the property file. A warning is logged if
-     * the key is not found in either location.
+     * The override only applies to the current thread, so that scenarios running
+     * in parallel can use different browsers. The previous override, if any, is
+     * restored once the action is finished.
      * </p>
      *
-     * @param key The key whose associated value is to be retrieved.
-     * @return The value associated with the provided key.
+     * @param browser The name of the browser to use (e.g., Chrome, Firefox, Edge).
+     * @param action  The action to run with the browser.
+     * @param <T>     The result type of the action.
+     * @return The result of the action.
      */
-    private String getValue(String key) {
-        String value = System.getProperty(key);
-        if (value != null && !value.isEmpty()) {
-            log.info("Browser is specified from the MVN CMD LINE ARGS.");
-            return value;
-        }
-        value = fetchDataFromPropFile(key);
-        log.info("Browser is specified from the CONFIG FILE.");
-        if (value == null || value.isEmpty()) {
-            log.warn("Value for key '{}' not found in environment or property file.", key);
+    public static <T> T withBrowser(String browser, Supplier<T> action) {
+        String previous = browserOverride.get();
+        browserOverride.set(browser);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                browserOverride.remove();
+            } else {
+                browserOverride.set(previous);
+            }
         }
-        return value;
+    }
+
+    /**
+     * Checks whether the configured browser is overridden on the current thread.
+     *
+     * @return {@code true} if a browser override is set, otherwise {@code false}.
+     */
+    public static boolean isBrowserOverridden() {
+        return browserOverride.get() != null;
     }
 
 }
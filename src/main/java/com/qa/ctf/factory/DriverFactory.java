@@ -2,22 +2,53 @@ package com.qa.ctf.factory;
 
 import java.net.MalformedURLException;
 import java.net.URI;
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import com.qa.ctf.constant.BrowserProfile;
 import com.qa.ctf.constant.BrowserType;
-import com.qa.ctf.util.ExcelReader;
+import com.qa.ctf.constant.RunType;
+import com.qa.ctf.factory.StartupMetrics.Phase;
+import com.qa.ctf.factory.StartupMetrics.StartupRecord;
 import com.qa.ctf.util.ExceptionHub;
+import com.qa.ctf.util.FileReader;
+import com.qa.ctf.util.SheetCache;
+import com.qa.ctf.util.TestDataTable;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.Platform;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
 import org.openqa.selenium.remote.CapabilityType;
+import org.openqa.selenium.remote.HttpCommandExecutor;
 import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.service.DriverService;
 
 import static com.qa.ctf.constant.TestConstants.*;
 
@@ -30,7 +61,19 @@ import static com.qa.ctf.constant.TestConstants.*;
  * <ul>
  *     <li>Initialize WebDriver instances for Chrome, Firefox, and Edge browsers.</li>
  *     <li>Support for both local and remote WebDriver configurations.</li>
+ *     <li>Named browser performance profiles applied on top of the browser options, with
+ *     one disk cache folder per live local browser.</li>
+ *     <li>Per-phase timing of every driver startup, summarized per browser and run type,
+ *     and a count of the browsers started by the run.</li>
+ *     <li>Driver and browser paths resolved once per JVM by a {@link DriverResolutionCache},
+ *     optionally persisted across runs.</li>
  *     <li>Thread-safe singleton pattern to provide a single instance of DriverFactory.</li>
+ *     <li>Optional {@link DriverPool} per browser that keeps browser sessions alive across
+ *     scenarios.</li>
+ *     <li>Optional {@link DriverPrewarmer} that starts drivers in the background at suite start.</li>
+ *     <li>Optional {@link RequestBlocker} that blocks URL patterns globally or per scenario tag.</li>
+ *     <li>Tuned HTTP client for the Selenium Grid, round-trip latency per Grid node and
+ *     optional reuse of a Grid session by the scenarios of the same thread.</li>
  *     <li>Logging of driver initialization processes for better debugging and traceability.</li>
  * </ul>
  *
@@ -59,43 +102,152 @@ import static com.qa.ctf.constant.TestConstants.*;
  * </pre>
  *
  * @author Jagatheshwaran N
- * @version 1.3
+ * @version 1.15
  */
 public class DriverFactory extends BrowserFactory {
 
     // Logger instance for the DriverFactory class to enable logging during the execution
     private static final Logger log = LogManager.getLogger(DriverFactory.class);
 
-    // Instance of ChromeOptions to configure Chrome-specific WebDriver options
-    private ChromeOptions gcOptions;
-
-    // Instance of FirefoxOptions to configure Firefox-specific WebDriver options
-    private FirefoxOptions ffOptions;
-
-    // Instance of EdgeOptions to configure Microsoft Edge-specific WebDriver options
-    private EdgeOptions meOptions;
-
     // Instance of RunFactory to manage and retrieve run configurations
     private final RunFactory runFactory;
 
-    // Static instance of ExcelReader to read data from Excel files for test execution
-    public static ExcelReader excelReader;
+    // Instance of ProfileFactory to manage and retrieve browser profile configurations
+    private final ProfileFactory profileFactory;
 
     // ThreadLocal variable to store WebDriver instance specific to the current thread (for multithreaded execution)
     private static final ThreadLocal<WebDriver> driverLocal = new ThreadLocal<>();
 
+    // Flag to lease drivers from the session pool instead of starting one per scenario
+    private static final boolean poolEnabled = getSystemProperty(DRIVER_POOL).equalsIgnoreCase(OPTION_YES);
+
+    // Pools of live WebDriver sessions per browser, shared by the scenarios when pooling is enabled
+    private static final Map<BrowserType, DriverPool> driverPools = new ConcurrentHashMap<>();
+
+    // Background starter of the drivers requested at suite start, if any
+    private static volatile DriverPrewarmer driverPrewarmer;
+
+    // Phase timings of the driver startups of the run
+    private static final StartupMetrics startupMetrics = new StartupMetrics();
+
+    // Disk cache folders of the local browsers of the non-standard profiles, one per live browser
+    private static final BrowserCacheSlots browserCacheSlots = new BrowserCacheSlots();
+
+    // Number of browsers started by the run, including the pre-warmed and pooled ones
+    private static final AtomicInteger startedDrivers = new AtomicInteger();
+
+    // Driver and browser paths resolved once per JVM, persisted under the target folder when enabled
+    private static final DriverResolutionCache driverResolutionCache = new DriverResolutionCache(
+            getSystemProperty(PERSIST_DRIVER_RESOLUTION).equalsIgnoreCase(OPTION_YES)
+                    ? Path.of(CWD + DRIVER_RESOLUTION_PATH) : null);
+
+    // Startup record of each driver until the scenario that first uses it takes it
+    private static final Map<WebDriver, StartupRecord> startupRecords =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Flag to keep a Grid session for the next scenario of the same thread instead of quitting it
+    private static final boolean gridSessionReuse =
+            !poolEnabled && getSystemProperty(GRID_SESSION_REUSE).equalsIgnoreCase(OPTION_YES);
+
+    // Grid sessions kept alive across the scenarios of their thread until the run is finished or they are recycled
+    private static final Map<WebDriver, GridSession> gridSessions = new ConcurrentHashMap<>();
+
+    // Policy that decides when a reused Grid session is replaced by a fresh one
+    private static final RecyclePolicy gridRecyclePolicy = RecyclePolicy.fromSystemProperties();
+
+    // Flag to block the URL patterns of the deny lists in the browser
+    private static final boolean requestBlocking = getSystemProperty(REQUEST_BLOCKING).equalsIgnoreCase(OPTION_YES);
+
+    // ThreadLocal variable to store the request blocker of the scenario running on the current thread
+    private static final ThreadLocal<RequestBlocker> requestBlockerLocal = new ThreadLocal<>();
+
     /**
      * Constructs a DriverFactory instance and initializes the RunFactory
-     * and ExcelReader.
+     * and ProfileFactory.
      * <p>
      * This constructor sets up the RunFactory to manage run type configurations
-     * and initializes the ExcelReader to read test data from an Excel file located
-     * at the specified path in the TestConstants class.
+     * and the ProfileFactory to manage the browser profile configurations.
      * </p>
      */
     public DriverFactory() {
         this.runFactory = new RunFactory();
-        excelReader = new ExcelReader(CWD + EXCEL_FILE_PATH);
+        this.profileFactory = new ProfileFactory();
+    }
+
+    /**
+     * Returns the rows of a sheet of the test data Excel file.
+     * <p>
+     * The rows are read from the file located at the specified path in the
+     * TestConstants class through the shared {@link SheetCache}, so that each sheet
+     * is parsed once per run, whatever the number of scenarios and threads using it.
+     * </p>
+     *
+     * @param sheetName The name of the sheet to read.
+     * @return The read-only rows of the sheet (key=column header, value=cell content).
+     */
+    public static List<Map<String, String>> getTestData(String sheetName) {
+        return getTestDataTable(sheetName).asMaps();
+    }
+
+    /**
+     * Returns a sheet of the test data Excel file as a columnar table.
+     * <p>
+     * The table is read through the shared {@link SheetCache}, like
+     * {@link #getTestData(String)}, which returns a map view of the same table.
+     * </p>
+     *
+     * @param sheetName The name of the sheet to read.
+     * @return The table of the sheet rows.
+     */
+    public static TestDataTable getTestDataTable(String sheetName) {
+        return SheetCache.getInstance().getTable(Path.of(CWD + EXCEL_FILE_PATH), sheetName);
+    }
+
+    /**
+     * Returns a sheet of a test data file under the test data folder as a columnar table.
+     * <p>
+     * The file is read with the {@link com.qa.ctf.util.TestDataSource} of its extension,
+     * so Excel, CSV and JSON lines files are used the same way. A CSV or JSON lines
+     * file has a single sheet, named after the file without its extension.
+     * </p>
+     *
+     * @param fileName  The name of the file in the test data folder.
+     * @param sheetName The name of the sheet to read.
+     * @return The table of the sheet rows.
+     */
+    public static TestDataTable getTestDataTable(String fileName, String sheetName) {
+        return SheetCache.getInstance().getTable(Path.of(CWD + TEST_DATA_PATH + fileName), sheetName);
+    }
+
+    /**
+     * Preloads the sheets of the test data Excel file in the background.
+     * <p>
+     * The {@code PreloadTestData} system property selects the sheets: {@code Yes}
+     * for all the sheets, or a comma-separated list of sheet names. The sheets are
+     * loaded in parallel into the shared {@link SheetCache}, and a scenario asking
+     * for a sheet that is still loading waits for it instead of loading it again.
+     * </p>
+     *
+     * @return The handle of the preload, already completed when no sheets are
+     * requested.
+     */
+    public static CompletableFuture<Void> preloadTestData() {
+        String sheets = getSystemProperty(PRELOAD_TEST_DATA);
+        if (sheets.equals("default_value") || sheets.isBlank() || sheets.equalsIgnoreCase(OPTION_NO)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Path file = Path.of(CWD + EXCEL_FILE_PATH);
+        return CompletableFuture.runAsync(() -> {
+            if (sheets.equalsIgnoreCase(OPTION_YES)) {
+                SheetCache.getInstance().loadAll(file);
+            } else {
+                SheetCache.getInstance().preload(file, Arrays.stream(sheets.split(","))
+                        .map(String::strip).filter(sheetName -> !sheetName.isEmpty()).toList());
+            }
+        }).exceptionally(ex -> {
+            log.warn("Unable to preload the test data: {}", ex.getMessage());
+            return null;
+        });
     }
 
     /**
@@ -154,14 +306,128 @@ public class DriverFactory extends BrowserFactory {
      * Initializes and returns a WebDriver instance.
      * <p>
      * This method creates a new WebDriver instance using the {@link #createDriver()} method,
-     * sets it using the {@link #setDriver(WebDriver)} method, and then returns the initialized
-     * WebDriver instance for use in test components.
+     * or leases a live one from the {@link DriverPool} of the browser when pooling is enabled,
+     * and sets it using the {@link #setDriver(WebDriver)} method for use in test components.
+     * A Grid session kept from the previous scenario of the thread is reused when it runs
+     * the same browser, otherwise it is quit.
      * </p>
      */
     public void initializeDriver() {
+        WebDriver keptSession = driverLocal.get();
+        if (keptSession != null && gridSessions.containsKey(keptSession)
+                && gridSessions.get(keptSession).browserType() != getBrowserType()) {
+            gridSessions.remove(keptSession);
+            keptSession.quit();
+            driverLocal.remove();
+        }
         if(driverLocal.get() == null) {
-            setDriver(createDriver());
+            setDriver(poolEnabled ? driverPool().lease() : obtainDriver());
+        }
+    }
+
+    /**
+     * Blocks the URL patterns of the deny lists that apply to the scenario.
+     * <p>
+     * The global deny list is read from the {@code BlockedUrls} key and the deny list
+     * of each tag from the {@code BlockedUrls.<tag>} key, e.g. {@code BlockedUrls.@store},
+     * as comma separated patterns. A system property or environment variable overrides
+     * the configuration file.
+     * It has no effect unless {@code RequestBlocking} is set to {@code Yes}.
+     * </p>
+     *
+     * @param tags The tags of the scenario.
+     */
+    public void blockRequests(Collection<String> tags) {
+        if (!requestBlocking || getDriver() == null) {
+            return;
         }
+        List<String> patterns = Stream.concat(Stream.of(BLOCKED_URLS), tags.stream().map(tag -> BLOCKED_URLS + "." + tag))
+                .map(FileReader::resolveValue)
+                .flatMap(Optional::stream)
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::strip)
+                .filter(pattern -> !pattern.isEmpty())
+                .distinct()
+                .toList();
+        if (!patterns.isEmpty()) {
+            log.info("Blocking the requests matching '{}'", patterns);
+            requestBlockerLocal.set(RequestBlocker.start(getDriver(), patterns));
+        }
+    }
+
+    /**
+     * Stops blocking the requests of the scenario running on the current thread.
+     * <p>
+     * This method is called before the WebDriver is quit or returned to the pool, so
+     * that the next scenario starts without the deny lists of this one.
+     * </p>
+     *
+     * @return The blocked request count and the estimated bytes saved, or an empty
+     * optional if no requests were blocked for the scenario.
+     */
+    public static Optional<String> stopBlockingRequests() {
+        RequestBlocker requestBlocker = requestBlockerLocal.get();
+        if (requestBlocker == null) {
+            return Optional.empty();
+        }
+        requestBlockerLocal.remove();
+        return Optional.of(requestBlocker.stop());
+    }
+
+    /**
+     * Starts the given number of drivers in the background.
+     * <p>
+     * The drivers are started on a bounded executor and handed to the scenarios
+     * before any driver is started on demand. The number of parallel startups is
+     * limited by the {@code PrewarmThreads} system property.
+     * </p>
+     *
+     * @param count The number of drivers to start.
+     * @return The handles of the drivers being started.
+     */
+    public List<CompletableFuture<WebDriver>> prewarmDrivers(int count) {
+        if (count <= 0) {
+            return List.of();
+        }
+        int threads = Math.min(count, Integer.getInteger(PREWARM_THREADS, DEFAULT_PREWARM_THREADS));
+        DriverPrewarmer prewarmer = new DriverPrewarmer(this::createDriver, threads);
+        driverPrewarmer = prewarmer;
+        return prewarmer.start(count);
+    }
+
+    /**
+     * Returns the session pool of the browser of the current thread, creating it on first use.
+     * <p>
+     * Each browser has its own pool, so that a browser matrix run never hands a session
+     * of one browser to a scenario of another. The sessions of a pool are always started
+     * for its browser, also when the pool replaces a session on its own thread.
+     * </p>
+     *
+     * @return The {@link DriverPool} of the browser.
+     */
+    private DriverPool driverPool() {
+        return driverPools.computeIfAbsent(getBrowserType(), browserType -> new DriverPool(
+                () -> withBrowser(browserType.getBrowserType(), this::obtainDriver),
+                Integer.getInteger(DRIVER_POOL_SIZE, Runtime.getRuntime().availableProcessors()),
+                Duration.ofSeconds(Integer.getInteger(DRIVER_POOL_IDLE_TIMEOUT, DEFAULT_POOL_IDLE_TIMEOUT)),
+                RecyclePolicy.fromSystemProperties()));
+    }
+
+    /**
+     * Returns a pre-warmed driver when one is left, otherwise starts a new driver.
+     * <p>
+     * Pre-warmed drivers run the configured browser, so they are not claimed while the
+     * browser is overridden on the current thread.
+     * </p>
+     *
+     * @return The WebDriver instance for the scenario.
+     */
+    private WebDriver obtainDriver() {
+        DriverPrewarmer prewarmer = driverPrewarmer;
+        if (prewarmer != null && !isBrowserOverridden()) {
+            return prewarmer.claim().orElseGet(this::createDriver);
+        }
+        return createDriver();
     }
 
     /**
@@ -177,28 +443,181 @@ public class DriverFactory extends BrowserFactory {
      *                                           recognized.
      */
     private WebDriver createDriver() {
-        return switch (runFactory.getTestRunType()) {
-            case LOCAL -> createLocalDriver();
-            case REMOTE -> createRemoteDriver();
-            default -> throw new ExceptionHub.InvalidDataException(runFactory.getRunType());
+        RunType runType = runFactory.getTestRunType();
+        startedDrivers.incrementAndGet();
+        StartupRecord record = startupMetrics.newRecord(getBrowserType().getBrowserType(), runType.getRunType());
+        WebDriver driver = switch (runType) {
+            case LOCAL -> createLocalDriver(record);
+            case REMOTE -> createRemoteDriver(record);
+            default -> throw new ExceptionHub.InvalidDataException(runType.getRunType());
         };
+        startupMetrics.record(record);
+        startupRecords.put(driver, record);
+        return driver;
+    }
+
+    /**
+     * Takes the startup record of a newly started driver.
+     * <p>
+     * The record is returned once, to the first scenario that uses the driver. A
+     * driver reused from the pool has no record left.
+     * </p>
+     *
+     * @param driver The WebDriver instance of the scenario.
+     * @return The startup record of the driver, or an empty optional if already taken.
+     */
+    public Optional<StartupRecord> takeStartupRecord(WebDriver driver) {
+        return Optional.ofNullable(startupRecords.remove(driver));
+    }
+
+    /**
+     * Records the scenario a driver was started for, so that the slowest startup of the
+     * run is reported with its scenario in the startup summary.
+     *
+     * @param record       The startup record of the driver.
+     * @param scenarioName The name of the scenario.
+     */
+    public void recordScenarioStartup(StartupRecord record, String scenarioName) {
+        startupMetrics.recordScenario(record, scenarioName);
+    }
+
+    /**
+     * Returns the number of browsers started by the run so far.
+     * <p>
+     * Every started browser is counted, whether it was started for a scenario, by the
+     * pre-warmer or by the pool, so that a run of browserless scenarios can check that
+     * no browser was started.
+     * </p>
+     *
+     * @return The number of started browsers.
+     */
+    public static int getStartedDriverCount() {
+        return startedDrivers.get();
+    }
+
+    /**
+     * Writes the per-phase driver startup summary of the run under the target folder.
+     */
+    public static void writeStartupSummary() {
+        startupMetrics.writeSummary(Path.of(CWD + STARTUP_SUMMARY_PATH));
+    }
+
+    /**
+     * Persists the driver and browser paths resolved during the run.
+     * <p>
+     * This method is called once the test run is finished. It has no effect unless
+     * {@code PersistDriverResolution} is set to {@code Yes}.
+     * </p>
+     */
+    public static void persistDriverResolutions() {
+        driverResolutionCache.persist();
+    }
+
+    /**
+     * Writes the per-node Grid command round-trip summary of the run under the target folder.
+     */
+    public static void writeGridLatencySummary() {
+        GridLatencyRecorder.writeSummary(Path.of(CWD + GRID_LATENCY_SUMMARY_PATH));
     }
 
     /**
      * Quits the WebDriver instance and removes it from the thread-local storage.
      * <p>
      * This method checks if a WebDriver instance exists in the thread-local storage.
-     * If present, it quits the driver and removes it from the thread-local variable
-     * to free up resources.
+     * If present, it quits the driver, or returns it to the {@link DriverPool} when
+     * pooling is enabled, and removes it from the thread-local variable. A reused Grid
+     * session is reset and kept for the next scenario of the thread instead, unless the
+     * {@link RecyclePolicy} says it is due for recycling.
      * </p>
      */
     public static void quitDriver() {
         if (driverLocal.get() != null) {
-            driverLocal.get().quit();
+            GridSession gridSession = gridSessions.get(driverLocal.get());
+            if (gridSession != null) {
+                Optional<String> recycleReason = gridRecyclePolicy.recycleReason(driverLocal.get(),
+                        gridSession.scenarioCount().incrementAndGet(),
+                        Duration.ofNanos(System.nanoTime() - gridSession.startedAt()));
+                if (recycleReason.isEmpty() && DriverPool.reset(driverLocal.get())) {
+                    return;
+                }
+                log.info("Quitting the reused Grid session, a new one starts for the next scenario: {}",
+                        recycleReason.orElse("state left behind after reset"));
+                gridSessions.remove(driverLocal.get());
+                driverLocal.get().quit();
+            } else if (poolEnabled) {
+                getInstance().driverPool().release(driverLocal.get());
+            } else {
+                driverLocal.get().quit();
+            }
+            driverLocal.remove();
+        }
+    }
+
+    /**
+     * Quits the WebDriver instance without returning it to the pool.
+     * <p>
+     * This method is used for sessions that are broken or may hold state from a
+     * failed scenario, so that they are never leased to another scenario.
+     * </p>
+     */
+    public static void discardDriver() {
+        if (driverLocal.get() != null) {
+            gridSessions.remove(driverLocal.get());
+            if (poolEnabled) {
+                getInstance().driverPool().discard(driverLocal.get());
+            } else {
+                driverLocal.get().quit();
+            }
             driverLocal.remove();
         }
     }
 
+    /**
+     * Quits every session held by the {@link DriverPool} of each browser.
+     * <p>
+     * This method is called once the test run is finished. It has no effect when
+     * pooling is disabled.
+     * </p>
+     */
+    public static void shutdownDriverPool() {
+        driverPools.values().forEach(DriverPool::shutdown);
+        driverPools.clear();
+    }
+
+    /**
+     * Quits the Grid sessions kept alive for reuse across scenarios.
+     * <p>
+     * This method is called once the test run is finished. It has no effect when
+     * Grid session reuse is disabled.
+     * </p>
+     */
+    public static void releaseGridSessions() {
+        for (WebDriver driver : gridSessions.keySet()) {
+            try {
+                driver.quit();
+            } catch (RuntimeException ex) {
+                log.warn("Error while quitting a reused Grid session: {}", ex.getMessage());
+            }
+        }
+        gridSessions.clear();
+    }
+
+    /**
+     * Reports the pre-warming savings and quits the pre-warmed drivers that were
+     * never claimed.
+     * <p>
+     * This method is called once the test run is finished. It has no effect when
+     * no drivers were pre-warmed.
+     * </p>
+     */
+    public static void shutdownPrewarmer() {
+        DriverPrewarmer prewarmer = driverPrewarmer;
+        if (prewarmer != null) {
+            prewarmer.shutdown();
+            driverPrewarmer = null;
+        }
+    }
+
     /**
      * Creates a local WebDriver instance based on the specified browser type.
      * <p>
@@ -207,38 +626,89 @@ public class DriverFactory extends BrowserFactory {
      * setting appropriate options and creating the respective driver instances.
      * </p>
      *
+     * @param record The startup record that times the phases of the startup.
      * @return A WebDriver instance for the specified browser type (Chrome, Firefox,
      * or Edge).
      * @throws ExceptionHub.InvalidDataException If the browser type is not recognized.
      */
-    private WebDriver createLocalDriver() {
+    private WebDriver createLocalDriver(StartupRecord record) {
+        BrowserProfile profile = getBrowserProfile();
+        PageLoadStrategy pageLoadStrategy = profileFactory.getPageLoadStrategy(profile);
+        BrowserType browserType = getBrowserType();
+        int cacheSlot = profile == BrowserProfile.STANDARD ? -1 : browserCacheSlots.reserve(browserType);
+        String cacheName = cacheSlot < 0 ? null : browserType.getBrowserType() + "-" + cacheSlot;
+        WebDriver driver = null;
+        try {
+            driver = startLocalDriver(profile, pageLoadStrategy, cacheName, record);
+            return driver;
+        } finally {
+            if (cacheSlot >= 0) {
+                browserCacheSlots.bind(browserType, cacheSlot, driver);
+            }
+        }
+    }
+
+    /**
+     * Starts the local browser of the browser type with the options of the profile.
+     *
+     * @param profile          The browser profile to apply.
+     * @param pageLoadStrategy The page load strategy of the browser.
+     * @param cacheName        The name of the disk cache folder of the browser, or
+     *                         {@code null} to keep the default cache.
+     * @param record           The startup record that times the phases of the startup.
+     * @return The started WebDriver instance.
+     * @throws ExceptionHub.InvalidDataException If the browser type is not recognized.
+     */
+    private WebDriver startLocalDriver(BrowserProfile profile, PageLoadStrategy pageLoadStrategy, String cacheName,
+                                       StartupRecord record) {
         return switch (getBrowserType()) {
             case CHROME -> {
-                log.info("Initializing Chrome driver for local execution.");
-                gcOptions = new ChromeOptions();
+                log.info("Initializing Chrome driver for local execution with '{}' profile.", profile);
+                ChromeOptions gcOptions = new ChromeOptions();
+                gcOptions.setPageLoadStrategy(pageLoadStrategy);
                 if(getSystemProperty(BROWSER_PRIVATE_MODE).equalsIgnoreCase(OPTION_YES)){
                     gcOptions.addArguments(CHROME_INCOGNITO);
                 }
-                gcOptions.addArguments(BROWSER_MAXIMIZE);
-                yield new ChromeDriver(gcOptions);
+                if (profile == BrowserProfile.STANDARD) {
+                    gcOptions.addArguments(BROWSER_MAXIMIZE);
+                } else {
+                    applyProfile(gcOptions, profile, cacheName);
+                }
+                yield startLocalDriver(ChromeDriverService.createDefaultService(), gcOptions,
+                        gcOptions::setBinary, ChromeDriver::new, record);
             }
             case FIREFOX -> {
-                log.info("Initializing Firefox driver for local execution.");
-                ffOptions = new FirefoxOptions();
+                log.info("Initializing Firefox driver for local execution with '{}' profile.", profile);
+                FirefoxOptions ffOptions = new FirefoxOptions();
+                ffOptions.setPageLoadStrategy(pageLoadStrategy);
                 if(getSystemProperty(BROWSER_PRIVATE_MODE).equalsIgnoreCase(OPTION_YES)){
                     ffOptions.addArguments(FIREFOX_PRIVATE);
                 }
-                ffOptions.addArguments(BROWSER_MAXIMIZE);
-                yield new FirefoxDriver(ffOptions);
+                if (requestBlocking) {
+                    ffOptions.setCapability(WEB_SOCKET_URL, true);
+                }
+                if (profile == BrowserProfile.STANDARD) {
+                    ffOptions.addArguments(BROWSER_MAXIMIZE);
+                } else {
+                    applyProfile(ffOptions, profile, cacheName);
+                }
+                yield startLocalDriver(GeckoDriverService.createDefaultService(), ffOptions,
+                        ffOptions::setBinary, FirefoxDriver::new, record);
             }
             case EDGE -> {
-                log.info("Initializing Edge driver for local execution.");
-                meOptions = new EdgeOptions();
+                log.info("Initializing Edge driver for local execution with '{}' profile.", profile);
+                EdgeOptions meOptions = new EdgeOptions();
+                meOptions.setPageLoadStrategy(pageLoadStrategy);
                 if(getSystemProperty(BROWSER_PRIVATE_MODE).equalsIgnoreCase(OPTION_YES)){
                     meOptions.addArguments(EDGE_PRIVATE);
                 }
-                meOptions.addArguments(EDGE_BROWSER_MAXIMIZE);
-                yield new EdgeDriver(meOptions);
+                if (profile == BrowserProfile.STANDARD) {
+                    meOptions.addArguments(EDGE_BROWSER_MAXIMIZE);
+                } else {
+                    applyProfile(meOptions, profile, cacheName);
+                }
+                yield startLocalDriver(EdgeDriverService.createDefaultService(), meOptions,
+                        meOptions::setBinary, EdgeDriver::new, record);
             }
             default -> throw new ExceptionHub.InvalidDataException(getBrowserType().toString());
         };
@@ -249,58 +719,216 @@ public class DriverFactory extends BrowserFactory {
      * <p>
      * This method initializes and returns a remote WebDriver for remote execution
      * based on the browser type. It sets the required capabilities and connects
-     * to the remote WebDriver server using the remote URL.
+     * to the remote WebDriver server using the remote URL, through the tuned HTTP
+     * client of {@link #gridClientConfig(URL)} and a {@link GridLatencyRecorder}.
      * </p>
      *
+     * @param record The startup record that times the phases of the startup.
      * @return A RemoteWebDriver instance for the specified browser type (Chrome, Firefox,
      * or Edge).
      * @throws RuntimeException If a MalformedURLException is encountered while connecting
      *                          to the remote WebDriver.
      * @throws ExceptionHub.InvalidDataException If the browser type is not recognized.
      */
-    private WebDriver createRemoteDriver() {
+    private WebDriver createRemoteDriver(StartupRecord record) {
+        BrowserProfile profile = getBrowserProfile();
+        PageLoadStrategy pageLoadStrategy = profileFactory.getPageLoadStrategy(profile);
         try {
-            return switch (getBrowserType()) {
+            URL gridUrl = URI.create(fetchDataFromPropFile(GRID_URL)).toURL();
+            GridLatencyRecorder recorder =
+                    new GridLatencyRecorder(new HttpCommandExecutor(gridClientConfig(gridUrl)), gridUrl);
+            RemoteWebDriver driver = switch (getBrowserType()) {
                 case CHROME -> {
-                    log.info("Initializing Chrome driver for remote execution.");
-                    gcOptions = new ChromeOptions();
+                    log.info("Initializing Chrome driver for remote execution with '{}' profile.", profile);
+                    ChromeOptions gcOptions = new ChromeOptions();
+                    gcOptions.setPageLoadStrategy(pageLoadStrategy);
                     gcOptions.setCapability(CapabilityType.PLATFORM_NAME, Platform.WINDOWS);
                     gcOptions.setCapability(CapabilityType.BROWSER_NAME, BrowserType.CHROME.getBrowserType().toLowerCase());
                     if(getSystemProperty(BROWSER_PRIVATE_MODE).equalsIgnoreCase(OPTION_YES)){
                         gcOptions.addArguments(CHROME_INCOGNITO);
                     }
-                    gcOptions.addArguments(BROWSER_MAXIMIZE);
-                    yield new RemoteWebDriver((URI.create(fetchDataFromPropFile(GRID_URL)).toURL()), gcOptions);
+                    if (profile == BrowserProfile.STANDARD) {
+                        gcOptions.addArguments(BROWSER_MAXIMIZE);
+                    } else {
+                        applyProfile(gcOptions, profile, null);
+                    }
+                    yield record.time(Phase.GRID_SESSION, () -> new RemoteWebDriver(recorder, gcOptions));
                 }
                 case FIREFOX -> {
-                    log.info("Initializing Firefox driver for remote execution.");
-                    ffOptions = new FirefoxOptions();
+                    log.info("Initializing Firefox driver for remote execution with '{}' profile.", profile);
+                    FirefoxOptions ffOptions = new FirefoxOptions();
+                    ffOptions.setPageLoadStrategy(pageLoadStrategy);
                     ffOptions.setCapability(CapabilityType.PLATFORM_NAME, Platform.WINDOWS);
                     ffOptions.setCapability(CapabilityType.BROWSER_NAME, BrowserType.FIREFOX.getBrowserType().toLowerCase());
                     if(getSystemProperty(BROWSER_PRIVATE_MODE).equalsIgnoreCase(OPTION_YES)){
                         ffOptions.addArguments(FIREFOX_PRIVATE);
                     }
-                    yield new RemoteWebDriver(URI.create(fetchDataFromPropFile(GRID_URL)).toURL(), ffOptions);
+                    if (requestBlocking) {
+                        ffOptions.setCapability(WEB_SOCKET_URL, true);
+                    }
+                    if (profile != BrowserProfile.STANDARD) {
+                        applyProfile(ffOptions, profile, null);
+                    }
+                    yield record.time(Phase.GRID_SESSION, () -> new RemoteWebDriver(recorder, ffOptions));
                 }
                 case EDGE -> {
-                    log.info("Initializing Edge driver for remote execution.");
-                    meOptions = new EdgeOptions();
+                    log.info("Initializing Edge driver for remote execution with '{}' profile.", profile);
+                    EdgeOptions meOptions = new EdgeOptions();
+                    meOptions.setPageLoadStrategy(pageLoadStrategy);
                     meOptions.setCapability(CapabilityType.PLATFORM_NAME, Platform.WINDOWS);
                     meOptions.setCapability(CapabilityType.BROWSER_NAME, BrowserType.EDGE.getBrowserType());
                     if(getSystemProperty(BROWSER_PRIVATE_MODE).equalsIgnoreCase(OPTION_YES)){
                         meOptions.addArguments(EDGE_PRIVATE);
                     }
-                    meOptions.addArguments(EDGE_BROWSER_MAXIMIZE);
-                    yield new RemoteWebDriver(URI.create(fetchDataFromPropFile(GRID_URL)).toURL(), meOptions);
+                    if (profile == BrowserProfile.STANDARD) {
+                        meOptions.addArguments(EDGE_BROWSER_MAXIMIZE);
+                    } else {
+                        applyProfile(meOptions, profile, null);
+                    }
+                    yield record.time(Phase.GRID_SESSION, () -> new RemoteWebDriver(recorder, meOptions));
                 }
                 default -> throw new ExceptionHub.InvalidDataException(getBrowserType().toString());
             };
+            recorder.resolveNode(driver.getSessionId());
+            if (gridSessionReuse) {
+                gridSessions.put(driver, new GridSession(getBrowserType(), System.nanoTime(), new AtomicInteger()));
+            }
+            return driver;
         } catch (MalformedURLException ex) {
             log.error("Malformed URL for Remote WebDriver: {}", ex.getMessage());
             throw new RuntimeException("Invalid URL for Remote WebDriver.", ex);
         }
     }
 
+    /**
+     * Builds the HTTP client configuration used to talk to the Selenium Grid.
+     * <p>
+     * The connect and read timeouts are read in seconds from the
+     * {@code GridConnectTimeout} and {@code GridReadTimeout} system properties, and
+     * HTTP/2 is requested when {@code GridHttp2} is set to {@code Yes}. Connections are
+     * kept alive by the HTTP client and reused for the commands of the session.
+     * </p>
+     *
+     * @param gridUrl The address of the Selenium Grid.
+     * @return The client configuration for the remote sessions.
+     */
+    private ClientConfig gridClientConfig(URL gridUrl) {
+        ClientConfig clientConfig = ClientConfig.defaultConfig()
+                .baseUrl(gridUrl)
+                .connectionTimeout(Duration.ofSeconds(
+                        Integer.getInteger(GRID_CONNECT_TIMEOUT, DEFAULT_GRID_CONNECT_TIMEOUT)))
+                .readTimeout(Duration.ofSeconds(Integer.getInteger(GRID_READ_TIMEOUT, DEFAULT_GRID_READ_TIMEOUT)));
+        if (getSystemProperty(GRID_HTTP2).equalsIgnoreCase(OPTION_YES)) {
+            clientConfig = clientConfig.version(HTTP_2);
+        }
+        return clientConfig;
+    }
+
+    /**
+     * Starts a local driver in separately timed phases.
+     * <p>
+     * The driver and browser binaries are resolved by Selenium Manager first, once
+     * per browser and version for the JVM, then the driver service process is started
+     * and finally the browser is launched through a new session. The driver service is
+     * stopped and the resolution evicted if the session cannot be created, so that a
+     * stale persisted resolution is resolved again by the next driver.
+     * </p>
+     *
+     * @param service           The driver service of the browser.
+     * @param options           The browser options.
+     * @param binarySetter      The setter of the browser binary on the options.
+     * @param driverConstructor The constructor of the driver from the service and options.
+     * @param record            The startup record that times the phases.
+     * @param <S>               The driver service type.
+     * @param <O>               The browser options type.
+     * @param <D>               The driver type.
+     * @return The started driver.
+     */
+    private <S extends DriverService, O extends Capabilities, D extends WebDriver> D startLocalDriver(
+            S service, O options, Consumer<String> binarySetter, BiFunction<S, O, D> driverConstructor,
+            StartupRecord record) {
+        record.time(Phase.DRIVER_RESOLUTION, () -> {
+            DriverResolutionCache.Resolution resolution = driverResolutionCache.resolve(service, options);
+            service.setExecutable(resolution.driverPath());
+            if (resolution.browserPath() != null) {
+                binarySetter.accept(resolution.browserPath());
+            }
+            return resolution;
+        });
+        try {
+            record.time(Phase.SERVICE_START, () -> {
+                service.start();
+                return service;
+            });
+            return record.time(Phase.BROWSER_SESSION, () -> driverConstructor.apply(service, options));
+        } catch (RuntimeException ex) {
+            service.stop();
+            driverResolutionCache.evict(options);
+            throw ex;
+        }
+    }
+
+    /**
+     * Retrieves the browser performance profile set for the test execution.
+     *
+     * @return The {@link BrowserProfile} applied to the browsers started by this factory.
+     */
+    public BrowserProfile getBrowserProfile() {
+        return profileFactory.getBrowserProfile();
+    }
+
+    /**
+     * Applies the options of a non-standard browser profile to Chrome or Edge.
+     * <p>
+     * The profile disables images, extensions and background throttling and uses a
+     * fixed window size instead of maximizing. The HEADLESS profile also starts the new
+     * headless mode. The disk cache is kept in the folder of the given cache name, which
+     * no other live browser uses, so that it stays warm for the next browser.
+     * </p>
+     *
+     * @param options   The Chrome or Edge options to update.
+     * @param profile   The browser profile to apply.
+     * @param cacheName The name of the disk cache folder of the browser, or {@code null}
+     *                  to keep the default cache (e.g., on a remote node).
+     */
+    private void applyProfile(ChromiumOptions<?> options, BrowserProfile profile, String cacheName) {
+        if (profile == BrowserProfile.HEADLESS) {
+            options.addArguments(CHROMIUM_HEADLESS);
+        }
+        options.addArguments(CHROMIUM_DISABLE_IMAGES, CHROMIUM_DISABLE_EXTENSIONS, CHROMIUM_WINDOW_SIZE,
+                CHROMIUM_DISABLE_TIMER_THROTTLING, CHROMIUM_DISABLE_WINDOW_BACKGROUNDING,
+                CHROMIUM_DISABLE_RENDERER_BACKGROUNDING);
+        if (cacheName != null) {
+            options.addArguments(CHROMIUM_DISK_CACHE_DIR + CWD + BROWSER_CACHE_PATH + cacheName.toLowerCase());
+        }
+    }
+
+    /**
+     * Applies the options of a non-standard browser profile to Firefox.
+     * <p>
+     * This is the Firefox counterpart of
+     * {@link #applyProfile(ChromiumOptions, BrowserProfile, String)}, using Firefox
+     * arguments and preferences for the same option set.
+     * </p>
+     *
+     * @param options   The Firefox options to update.
+     * @param profile   The browser profile to apply.
+     * @param cacheName The name of the disk cache folder of the browser, or {@code null}
+     *                  to keep the default cache (e.g., on a remote node).
+     */
+    private void applyProfile(FirefoxOptions options, BrowserProfile profile, String cacheName) {
+        if (profile == BrowserProfile.HEADLESS) {
+            options.addArguments(FIREFOX_HEADLESS);
+        }
+        options.addArguments(FIREFOX_WINDOW_WIDTH, FIREFOX_WINDOW_HEIGHT);
+        options.addPreference(FIREFOX_IMAGE_PREF, 2);
+        options.addPreference(FIREFOX_EXTENSION_SCOPES_PREF, 0);
+        options.addPreference(FIREFOX_TIMER_THROTTLING_PREF, false);
+        if (cacheName != null) {
+            options.addPreference(FIREFOX_CACHE_DIR_PREF, CWD + BROWSER_CACHE_PATH + cacheName.toLowerCase());
+        }
+    }
+
     /**
      * Retrieves the system property value for the given key.
      * <p>
@@ -316,5 +944,14 @@ public class DriverFactory extends BrowserFactory {
         return System.getProperty(key, "default_value");
     }
 
-}
+    /**
+     * Holds the browser, start time and scenario count of a reused Grid session.
+     *
+     * @param browserType   The browser of the session.
+     * @param startedAt     The time the session was started, in nanoseconds.
+     * @param scenarioCount The number of scenarios the session has served.
+     */
+    private record GridSession(BrowserType browserType, long startedAt, AtomicInteger scenarioCount) {
+    }
 
+}
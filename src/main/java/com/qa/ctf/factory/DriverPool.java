@@ -0,0 +1,493 @@
+package com.qa.ctf.factory;
+
+import com.qa.ctf.util.ExceptionHub;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.qa.ctf.constant.TestConstants.*;
+
+/**
+ * The DriverPool class keeps a bounded set of live WebDriver sessions that are
+ * leased to scenarios and taken back once the scenario ends, so that the browser
+ * cold start is paid once per session instead of once per scenario.
+ *
+ * <p>Features:
+ * <ul>
+ *     <li>Lease an idle session or create a new one while the pool is below its
+ *     size limit.</li>
+ *     <li>Reset returned sessions (cookies, the storage of every origin the session
+ *     visited, the windows and their session storage) before they are handed out
+ *     again.</li>
+ *     <li>Evict sessions that stayed idle longer than the configured timeout, on a
+ *     background timer and on lease. A zero or negative timeout keeps idle sessions
+ *     until the pool is shut down.</li>
+ *     <li>Discard sessions that are broken or still hold state after the reset.</li>
+ *     <li>Recycle sessions in the background according to a {@link RecyclePolicy}, so
+ *     that no scenario waits for the replacement browser to start.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>Throws {@link ExceptionHub.TimeoutException} if no session becomes available
+ *   within the lease timeout.</li>
+ *   <li>WebDriver errors raised while resetting or quitting a session are logged and
+ *   the session is dropped from the pool.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * On Chromium based browsers the visited origins are taken from the navigation history
+ * of each window and cleared through the CDP {@code Storage.clearDataForOrigin}
+ * command. Other browsers offer no way to list the origins a scenario visited or to
+ * clear the cookies of every domain, so their sessions are replaced by a fresh one in
+ * the background when they are returned, instead of being reused.
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * DriverPool driverPool = new DriverPool(ChromeDriver::new, 4, Duration.ofMinutes(5),
+ *         RecyclePolicy.fromSystemProperties());
+ * WebDriver driver = driverPool.lease();
+ * driver.get("https://example.com");
+ * driverPool.release(driver);
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.2
+ */
+public class DriverPool {
+
+    // Logger instance for the DriverPool class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(DriverPool.class);
+
+    // JavaScript command to clear the local storage of the current origin
+    private static final String CLEAR_STORAGE = "try { window.localStorage.clear(); } catch (e) {}";
+
+    // JavaScript command to count the entries left in the local storage of the current origin
+    private static final String STORAGE_SIZE = "try { return window.localStorage.length; } catch (e) { return 0; }";
+
+    // CDP command to clear the cookies of every domain on Chromium based browsers
+    private static final String CLEAR_BROWSER_COOKIES = "Network.clearBrowserCookies";
+
+    // CDP command and storage types to clear the storage of one origin on Chromium based browsers
+    private static final String CLEAR_DATA_FOR_ORIGIN = "Storage.clearDataForOrigin";
+    private static final String ORIGIN_STORAGE_TYPES =
+            "local_storage,indexeddb,websql,cache_storage,service_workers,file_systems";
+
+    // CDP command to read the navigation history of the current window on Chromium based browsers
+    private static final String NAVIGATION_HISTORY = "Page.getNavigationHistory";
+
+    // Shortest interval of the idle session eviction timer
+    private static final Duration MIN_EVICTION_INTERVAL = Duration.ofSeconds(1);
+
+    // Supplier used to start a new WebDriver session when the pool has free capacity
+    private final Supplier<WebDriver> driverSupplier;
+
+    // Maximum time a session may stay idle in the pool before it is quit
+    private final Duration idleTimeout;
+
+    // Idle sessions, most recently returned first
+    private final BlockingDeque<PooledSession> idleSessions = new LinkedBlockingDeque<>();
+
+    // Sessions that are currently leased to a scenario
+    private final Map<WebDriver, PooledSession> leasedSessions = new ConcurrentHashMap<>();
+
+    // One permit per live session (idle or leased) to enforce the pool size limit
+    private final Semaphore capacity;
+
+    // Policy that decides when a returned session is replaced by a fresh one
+    private final RecyclePolicy recyclePolicy;
+
+    // Single background thread that quits recycled and idle sessions and starts the replacements
+    private final ScheduledExecutorService recycler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "driver-recycler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructs a DriverPool with the given session supplier and limits.
+     *
+     * @param driverSupplier The supplier used to start new WebDriver sessions.
+     * @param maxSize        The maximum number of live sessions held by the pool.
+     * @param idleTimeout    The maximum time a session may stay idle before it is quit, or
+     *                       zero to keep idle sessions until shutdown.
+     * @param recyclePolicy  The policy that decides when a session is replaced.
+     * @throws IllegalArgumentException If the supplier is null or the size is not positive.
+     */
+    public DriverPool(Supplier<WebDriver> driverSupplier, int maxSize, Duration idleTimeout,
+                      RecyclePolicy recyclePolicy) {
+        if (driverSupplier == null || maxSize <= 0) {
+            throw new IllegalArgumentException("Driver supplier and a positive pool size are required.");
+        }
+        this.driverSupplier = driverSupplier;
+        this.idleTimeout = idleTimeout;
+        this.capacity = new Semaphore(maxSize);
+        this.recyclePolicy = recyclePolicy;
+        if (idleTimeout.isPositive()) {
+            long interval = Math.max(idleTimeout.toMillis() / 2, MIN_EVICTION_INTERVAL.toMillis());
+            recycler.scheduleWithFixedDelay(this::evictIdleSessions, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        log.info("Driver pool created with size '{}' and idle timeout '{}'", maxSize, idleTimeout);
+    }
+
+    /**
+     * Leases a WebDriver session from the pool.
+     * <p>
+     * An idle session is reused when one is available; sessions idle for longer
+     * than the timeout are quit on the way. When no idle session exists and the
+     * pool is below its limit, a new session is started. Otherwise, the caller
+     * waits for another scenario to return its session.
+     * </p>
+     *
+     * @return A live WebDriver session leased to the caller.
+     * @throws ExceptionHub.TimeoutException If no session becomes available in time.
+     */
+    public WebDriver lease() {
+        evictIdleSessions();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(POOL_LEASE_TIMEOUT);
+        try {
+            while (System.nanoTime() < deadline) {
+                PooledSession session = idleSessions.pollFirst();
+                if (session == null && capacity.tryAcquire()) {
+                    session = startSession();
+                } else if (session == null) {
+                    session = idleSessions.pollFirst(1, TimeUnit.SECONDS);
+                }
+                if (session == null) {
+                    continue;
+                }
+                if (session.isIdleLongerThan(idleTimeout)) {
+                    destroy(session, "idle timeout exceeded");
+                    continue;
+                }
+                leasedSessions.put(session.driver, session);
+                return session.driver;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ExceptionHub.TimeoutException("Interrupted while waiting for a pooled driver", ex);
+        }
+        log.error("No pooled driver became available within '{}' seconds", POOL_LEASE_TIMEOUT);
+        throw new ExceptionHub.TimeoutException("No pooled driver available within the lease timeout");
+    }
+
+    /**
+     * Returns a leased WebDriver session to the pool.
+     * <p>
+     * The session is reset before it becomes idle again. If the reset fails or
+     * leaves state behind, the session is discarded instead. A session that is due
+     * for recycling, or that cannot be reset because its browser offers no CDP, is
+     * replaced in the background.
+     * </p>
+     *
+     * @param driver The WebDriver session to return.
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = leasedSessions.remove(driver);
+        if (session == null) {
+            log.warn("Returned driver is not owned by the pool, quitting it");
+            quitQuietly(driver);
+            return;
+        }
+        session.scenarioCount++;
+        Optional<String> recycleReason = recyclePolicy.recycleReason(driver, session.scenarioCount,
+                Duration.ofNanos(System.nanoTime() - session.startedAt));
+        if (recycleReason.isPresent()) {
+            recycle(session, recycleReason.get());
+        } else if (!(driver instanceof HasCdp)) {
+            recycle(session, "no CDP to clear the origins visited by the scenario");
+        } else if (reset(driver)) {
+            session.touch();
+            idleSessions.offerFirst(session);
+        } else {
+            destroy(session, "state left behind after reset");
+        }
+    }
+
+    /**
+     * Removes a leased WebDriver session from the pool and quits it.
+     * <p>
+     * This is used for sessions that are known to be broken or polluted, so that
+     * they are never leased to another scenario.
+     * </p>
+     *
+     * @param driver The WebDriver session to discard.
+     */
+    public void discard(WebDriver driver) {
+        PooledSession session = leasedSessions.remove(driver);
+        if (session == null) {
+            quitQuietly(driver);
+            return;
+        }
+        destroy(session, "discarded by caller");
+    }
+
+    /**
+     * Quits every idle and leased session held by the pool.
+     */
+    public void shutdown() {
+        recycler.shutdown();
+        try {
+            recycler.awaitTermination(POOL_LEASE_TIMEOUT, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        List<PooledSession> sessions = new ArrayList<>(leasedSessions.values());
+        leasedSessions.clear();
+        idleSessions.drainTo(sessions);
+        sessions.forEach(session -> destroy(session, "pool shutdown"));
+    }
+
+    /**
+     * Resets the browser state of the given session.
+     * <p>
+     * The origins visited by every window are collected, a fresh blank tab is opened and
+     * all the previous windows are closed, which drops their session storage. The
+     * cookies of every domain and the storage of every visited origin are cleared, and
+     * the reset is verified before the session is handed out again.
+     * </p>
+     * <p>
+     * Without CDP, only the origins open in the windows are known, and their cookies and
+     * local storage are cleared by visiting each of them. The state of the origins the
+     * session visited earlier is left behind, so the pool does not reuse such sessions.
+     * </p>
+     *
+     * @param driver The WebDriver session to reset.
+     * @return {@code true} if the session is clean, otherwise {@code false}.
+     */
+    static boolean reset(WebDriver driver) {
+        try {
+            Set<String> origins = new LinkedHashSet<>();
+            Set<String> handles = driver.getWindowHandles();
+            for (String handle : handles) {
+                driver.switchTo().window(handle);
+                origins.addAll(visitedOrigins(driver));
+            }
+            driver.switchTo().newWindow(WindowType.TAB);
+            String freshHandle = driver.getWindowHandle();
+            for (String handle : handles) {
+                driver.switchTo().window(handle).close();
+            }
+            driver.switchTo().window(freshHandle);
+            boolean clean = true;
+            if (driver instanceof HasCdp cdp) {
+                cdp.executeCdpCommand(CLEAR_BROWSER_COOKIES, Map.of());
+                for (String origin : origins) {
+                    cdp.executeCdpCommand(CLEAR_DATA_FOR_ORIGIN,
+                            Map.of("origin", origin, "storageTypes", ORIGIN_STORAGE_TYPES));
+                }
+            } else if (!origins.isEmpty()) {
+                clean = clearOrigins(driver, origins);
+                driver.get(BLANK_PAGE);
+            }
+            return clean && driver.getWindowHandles().size() == 1;
+        } catch (WebDriverException ex) {
+            log.warn("Failed to reset the pooled driver: {}", ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns the origins visited by the current window, from its navigation history on
+     * Chromium based browsers, otherwise from its current URL.
+     *
+     * @param driver The WebDriver session, switched to the window.
+     * @return The web origins, e.g. {@code https://example.com}.
+     */
+    private static Set<String> visitedOrigins(WebDriver driver) {
+        Set<String> origins = new LinkedHashSet<>();
+        if (driver instanceof HasCdp cdp) {
+            Object entries = cdp.executeCdpCommand(NAVIGATION_HISTORY, Map.of()).get("entries");
+            if (entries instanceof List<?> list) {
+                for (Object entry : list) {
+                    if (entry instanceof Map<?, ?> map) {
+                        originOf(String.valueOf(map.get("url"))).ifPresent(origins::add);
+                    }
+                }
+            }
+        }
+        originOf(driver.getCurrentUrl()).ifPresent(origins::add);
+        return origins;
+    }
+
+    /**
+     * Clears the cookies and the local storage of each origin by visiting it, for
+     * browsers without CDP.
+     *
+     * @param driver  The WebDriver session.
+     * @param origins The origins to clear.
+     * @return {@code true} if no origin has cookies or local storage left, otherwise
+     * {@code false}.
+     */
+    private static boolean clearOrigins(WebDriver driver, Set<String> origins) {
+        JavascriptExecutor executor = (JavascriptExecutor) driver;
+        boolean clean = true;
+        for (String origin : origins) {
+            driver.get(origin);
+            executor.executeScript(CLEAR_STORAGE);
+            driver.manage().deleteAllCookies();
+            Object storageSize = executor.executeScript(STORAGE_SIZE);
+            clean &= driver.manage().getCookies().isEmpty()
+                    && (storageSize == null || ((Number) storageSize).longValue() == 0);
+        }
+        return clean;
+    }
+
+    /**
+     * Returns the web origin of a URL.
+     *
+     * @param url The URL of a page.
+     * @return The scheme, host and port of an http or https URL, otherwise an empty optional.
+     */
+    private static Optional<String> originOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (!"http".equals(uri.getScheme()) && !"https".equals(uri.getScheme()) || uri.getHost() == null) {
+                return Optional.empty();
+            }
+            return Optional.of(uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort()));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Replaces the session with a fresh one on the background recycler thread.
+     * <p>
+     * The capacity permit of the old session is handed to its replacement, so the
+     * pool size stays the same. If the replacement fails to start, the permit is
+     * given back and the next lease starts a session on demand. Once the pool is shut
+     * down, the session is quit without a replacement.
+     * </p>
+     *
+     * @param session The session to recycle.
+     * @param reason  The reason logged for recycling the session.
+     */
+    private void recycle(PooledSession session, String reason) {
+        if (recycler.isShutdown()) {
+            destroy(session, reason + " after pool shutdown");
+            return;
+        }
+        log.info("Recycling pooled driver session in the background: {}", reason);
+        recycler.execute(() -> {
+            quitQuietly(session.driver);
+            try {
+                idleSessions.offerLast(new PooledSession(driverSupplier.get()));
+            } catch (RuntimeException ex) {
+                log.warn("Failed to start the replacement driver: {}", ex.getMessage());
+                capacity.release();
+            }
+        });
+    }
+
+    /**
+     * Quits the idle sessions that exceeded the idle timeout.
+     */
+    private void evictIdleSessions() {
+        for (PooledSession session : idleSessions) {
+            if (session.isIdleLongerThan(idleTimeout) && idleSessions.remove(session)) {
+                destroy(session, "idle timeout exceeded");
+            }
+        }
+    }
+
+    /**
+     * Starts a new session for a capacity permit that the caller already holds.
+     *
+     * @return The new pooled session.
+     */
+    private PooledSession startSession() {
+        try {
+            PooledSession session = new PooledSession(driverSupplier.get());
+            log.info("Started a new pooled driver session");
+            return session;
+        } catch (RuntimeException ex) {
+            capacity.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Quits the session and gives its capacity permit back to the pool.
+     *
+     * @param session The session to quit.
+     * @param reason  The reason logged for removing the session.
+     */
+    private void destroy(PooledSession session, String reason) {
+        log.info("Removing pooled driver session: {}", reason);
+        try {
+            quitQuietly(session.driver);
+        } finally {
+            capacity.release();
+        }
+    }
+
+    /**
+     * Quits the WebDriver session, logging any error instead of throwing it.
+     *
+     * @param driver The WebDriver session to quit.
+     */
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException ex) {
+            log.warn("Error while quitting the driver: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Holds a pooled WebDriver session together with its bookkeeping data.
+     */
+    private static final class PooledSession {
+
+        // The live WebDriver session
+        private final WebDriver driver;
+
+        // Time at which the session was started
+        private final long startedAt;
+
+        // Time at which the session was last returned to the pool
+        private volatile long lastReturnedAt;
+
+        // Number of scenarios the session has served
+        private int scenarioCount;
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+            this.startedAt = System.nanoTime();
+            this.lastReturnedAt = startedAt;
+        }
+
+        private void touch() {
+            lastReturnedAt = System.nanoTime();
+        }
+
+        private boolean isIdleLongerThan(Duration timeout) {
+            return timeout.isPositive() && System.nanoTime() - lastReturnedAt > timeout.toNanos();
+        }
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.qa.ctf.factory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * The DriverPrewarmer class starts WebDriver sessions in the background when the
+ * suite starts, so that the browser startup overlaps with feature parsing, glue
+ * scanning and the first steps instead of blocking each scenario thread.
+ *
+ * <p>Features:
+ * <ul>
+ *     <li>Start a number of drivers at once on a bounded executor.</li>
+ *     <li>Hand out {@link CompletableFuture} handles for the pre-warmed drivers.</li>
+ *     <li>Give pre-warmed drivers to scenarios before falling back to an on-demand
+ *     start.</li>
+ *     <li>Report the startup time saved compared with starting each driver on demand.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>Drivers that fail to start in the background are logged and skipped, the
+ *   scenario then starts its driver on demand.</li>
+ * </ul>
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * DriverPrewarmer prewarmer = new DriverPrewarmer(ChromeDriver::new, 2);
+ * prewarmer.start(4);
+ * WebDriver driver = prewarmer.claim().orElseGet(ChromeDriver::new);
+ * prewarmer.shutdown();
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class DriverPrewarmer {
+
+    // Logger instance for the DriverPrewarmer class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(DriverPrewarmer.class);
+
+    // Supplier used to start a WebDriver session in the background
+    private final Supplier<WebDriver> driverSupplier;
+
+    // Bounded executor that runs the background driver startups
+    private final ExecutorService executor;
+
+    // Pre-warmed drivers that are not yet claimed by a scenario
+    private final Queue<CompletableFuture<WarmDriver>> warmDrivers = new ConcurrentLinkedQueue<>();
+
+    // Startup time of the claimed drivers, which the scenarios would otherwise have spent
+    private final LongAdder startupNanos = new LongAdder();
+
+    // Time the scenarios spent waiting for a pre-warmed driver that was still starting
+    private final LongAdder waitNanos = new LongAdder();
+
+    // Number of pre-warmed drivers claimed by the scenarios
+    private final AtomicInteger claimedCount = new AtomicInteger();
+
+    /**
+     * Constructs a DriverPrewarmer with the given session supplier and thread limit.
+     *
+     * @param driverSupplier The supplier used to start WebDriver sessions.
+     * @param threads        The maximum number of drivers started at the same time.
+     * @throws IllegalArgumentException If the supplier is null or the thread count is
+     *                                  not positive.
+     */
+    public DriverPrewarmer(Supplier<WebDriver> driverSupplier, int threads) {
+        if (driverSupplier == null || threads <= 0) {
+            throw new IllegalArgumentException("Driver supplier and a positive thread count are required.");
+        }
+        this.driverSupplier = driverSupplier;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "driver-prewarm-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the given number of drivers in the background.
+     *
+     * @param count The number of drivers to start.
+     * @return The handles of the drivers being started.
+     */
+    public List<CompletableFuture<WebDriver>> start(int count) {
+        log.info("Pre-warming '{}' drivers in the background", count);
+        List<CompletableFuture<WebDriver>> handles = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            CompletableFuture<WarmDriver> future = CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                WebDriver driver = driverSupplier.get();
+                return new WarmDriver(driver, System.nanoTime() - startedAt);
+            }, executor);
+            warmDrivers.add(future);
+            handles.add(future.thenApply(WarmDriver::driver));
+        }
+        return Collections.unmodifiableList(handles);
+    }
+
+    /**
+     * Claims a pre-warmed driver, waiting for it if it is still starting.
+     *
+     * @return The pre-warmed driver, or an empty optional if none is left.
+     */
+    public Optional<WebDriver> claim() {
+        CompletableFuture<WarmDriver> future;
+        while ((future = warmDrivers.poll()) != null) {
+            long waitStartedAt = System.nanoTime();
+            try {
+                WarmDriver warmDriver = future.join();
+                waitNanos.add(System.nanoTime() - waitStartedAt);
+                startupNanos.add(warmDriver.startupNanos());
+                claimedCount.incrementAndGet();
+                return Optional.of(warmDriver.driver());
+            } catch (CompletionException ex) {
+                log.warn("Pre-warmed driver failed to start: {}", ex.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Logs the startup time saved by the pre-warmed drivers.
+     * <p>
+     * The saving is the startup time of every claimed driver minus the time the
+     * scenarios still had to wait for a driver that was not ready yet.
+     * </p>
+     */
+    public void report() {
+        long startupMillis = TimeUnit.NANOSECONDS.toMillis(startupNanos.sum());
+        long waitMillis = TimeUnit.NANOSECONDS.toMillis(waitNanos.sum());
+        log.info("Pre-warming claimed '{}' drivers: startup {} ms, waited {} ms, saved {} ms",
+                claimedCount.get(), startupMillis, waitMillis, startupMillis - waitMillis);
+    }
+
+    /**
+     * Stops the executor and quits the pre-warmed drivers that were never claimed.
+     */
+    public void shutdown() {
+        report();
+        executor.shutdown();
+        CompletableFuture<WarmDriver> future;
+        while ((future = warmDrivers.poll()) != null) {
+            future.thenAccept(warmDriver -> {
+                try {
+                    warmDriver.driver().quit();
+                } catch (WebDriverException ex) {
+                    log.warn("Error while quitting an unclaimed driver: {}", ex.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Holds a pre-warmed driver together with the time it took to start.
+     *
+     * @param driver       The pre-warmed WebDriver session.
+     * @param startupNanos The startup time of the session in nanoseconds.
+     */
+    private record WarmDriver(WebDriver driver, long startupNanos) {
+    }
+
+}
@@ -0,0 +1,312 @@
+package com.qa.ctf.factory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.remote.service.DriverFinder;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The DriverResolutionCache class resolves the driver binary and browser path of each
+ * browser once per JVM through Selenium Manager, and optionally persists them, so that
+ * the resolution is taken off the startup of every later driver.
+ *
+ * <p>Features:
+ * <ul>
+ *     <li>Resolve the driver and browser paths once per browser and version, even when
+ *     several threads start the same browser at the same time, without holding a lock
+ *     on the other browsers while Selenium Manager runs.</li>
+ *     <li>Resolve the installed browser again once its binary changed, e.g. after a
+ *     browser update.</li>
+ *     <li>Persist the resolved paths to a file and reuse them in later runs.</li>
+ *     <li>Evict a resolution whose driver could not start a session, so that the next
+ *     driver resolves it again.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>Persisted paths that no longer exist, or an installed browser that changed since
+ *   it was persisted, are ignored and resolved again.</li>
+ *   <li>A failed resolution is not cached, so that the next driver tries it again.</li>
+ *   <li>Errors while reading or writing the persisted file are logged and do not fail
+ *   the run.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * Without a numeric browser version, the installed browser is used, and it is
+ * recognized by the modification time and size of the browser binary reported by
+ * Selenium Manager.
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * DriverResolutionCache cache = new DriverResolutionCache(Path.of("target", "driver-resolution.properties"));
+ * DriverResolutionCache.Resolution resolution = cache.resolve(ChromeDriverService.createDefaultService(), options);
+ * service.setExecutable(resolution.driverPath());
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class DriverResolutionCache {
+
+    // Logger instance for the DriverResolutionCache class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(DriverResolutionCache.class);
+
+    // Suffixes of the persisted keys of the driver and browser paths
+    private static final String DRIVER_SUFFIX = ".driver";
+    private static final String BROWSER_SUFFIX = ".browser";
+    private static final String BROWSER_STAMP_SUFFIX = ".browserStamp";
+
+    // Key part used for the installed browser when no browser version is requested
+    private static final String INSTALLED_BROWSER = "stable";
+
+    // Resolved paths per browser and version, completed once Selenium Manager has resolved them
+    private final Map<String, CompletableFuture<Resolution>> resolutions = new ConcurrentHashMap<>();
+
+    // Modification time and size of the installed browser binary per key, when it was resolved
+    private final Map<String, String> browserStamps = new ConcurrentHashMap<>();
+
+    // File the resolved paths are persisted to, or null to keep them in memory only
+    private final Path persistFile;
+
+    /**
+     * Constructs a DriverResolutionCache and loads the persisted resolutions, if any.
+     *
+     * @param persistFile The file to persist the resolved paths to, or {@code null} to
+     *                    keep them for the current JVM only.
+     */
+    public DriverResolutionCache(Path persistFile) {
+        this.persistFile = persistFile;
+        if (persistFile != null && Files.isRegularFile(persistFile)) {
+            load();
+        }
+    }
+
+    /**
+     * Returns the driver and browser paths for the options, resolving them on first use.
+     * <p>
+     * The first thread asking for a browser runs Selenium Manager outside of any lock,
+     * and the other threads asking for the same browser wait for its result. A cached
+     * resolution of the installed browser is resolved again when the browser binary
+     * changed since.
+     * </p>
+     *
+     * @param service The driver service of the browser.
+     * @param options The browser options.
+     * @return The resolved driver and browser paths.
+     * @throws RuntimeException If Selenium Manager cannot resolve the driver.
+     */
+    public Resolution resolve(DriverService service, Capabilities options) {
+        String key = keyOf(options);
+        while (true) {
+            CompletableFuture<Resolution> pending = new CompletableFuture<>();
+            CompletableFuture<Resolution> existing = resolutions.putIfAbsent(key, pending);
+            if (existing == null) {
+                return resolveNow(key, service, options, pending);
+            }
+            Resolution resolution;
+            try {
+                resolution = existing.join();
+            } catch (CompletionException ex) {
+                continue;
+            }
+            if (isCurrent(key, resolution)) {
+                return resolution;
+            }
+            log.info("The installed browser of '{}' changed, resolving its driver again", key);
+            resolutions.remove(key, existing);
+        }
+    }
+
+    /**
+     * Removes the resolution of the options, so that the next driver resolves it again.
+     *
+     * @param options The browser options.
+     */
+    public void evict(Capabilities options) {
+        if (resolutions.remove(keyOf(options)) != null) {
+            log.warn("Evicted the driver resolution of '{}'", keyOf(options));
+            persist();
+        }
+    }
+
+    /**
+     * Writes the resolved paths to the persisted file.
+     * <p>
+     * This method is called once the test run is finished. It has no effect when the
+     * resolutions are kept in memory only.
+     * </p>
+     */
+    public synchronized void persist() {
+        if (persistFile == null) {
+            return;
+        }
+        Properties properties = new Properties();
+        resolutions.forEach((key, future) -> {
+            if (!future.isDone() || future.isCompletedExceptionally()) {
+                return;
+            }
+            Resolution resolution = future.join();
+            properties.setProperty(key + DRIVER_SUFFIX, resolution.driverPath());
+            if (resolution.browserPath() != null) {
+                properties.setProperty(key + BROWSER_SUFFIX, resolution.browserPath());
+            }
+            String browserStamp = browserStamps.get(key);
+            if (browserStamp != null) {
+                properties.setProperty(key + BROWSER_STAMP_SUFFIX, browserStamp);
+            }
+        });
+        try {
+            Files.createDirectories(persistFile.getParent());
+            try (OutputStream outputStream = Files.newOutputStream(persistFile)) {
+                properties.store(outputStream, "Driver and browser paths resolved by Selenium Manager");
+            }
+        } catch (IOException ex) {
+            log.warn("Unable to persist the driver resolutions: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Runs Selenium Manager for the key and completes the pending resolution with the
+     * result, or removes it again when the resolution fails.
+     *
+     * @param key     The cache key of the options.
+     * @param service The driver service of the browser.
+     * @param options The browser options.
+     * @param pending The resolution the other threads are waiting for.
+     * @return The resolved driver and browser paths.
+     */
+    private Resolution resolveNow(String key, DriverService service, Capabilities options,
+                                  CompletableFuture<Resolution> pending) {
+        try {
+            DriverFinder finder = new DriverFinder(service, options);
+            Resolution resolution = new Resolution(finder.getDriverPath(),
+                    finder.hasBrowserPath() ? finder.getBrowserPath() : null);
+            if (isInstalledBrowser(key) && resolution.browserPath() != null) {
+                String browserStamp = stampOf(resolution.browserPath());
+                if (browserStamp != null) {
+                    browserStamps.put(key, browserStamp);
+                }
+            }
+            log.info("Resolved the driver of '{}' to '{}'", key, resolution.driverPath());
+            pending.complete(resolution);
+            return resolution;
+        } catch (RuntimeException ex) {
+            resolutions.remove(key, pending);
+            pending.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Checks whether a cached resolution still matches the browser binary it was
+     * resolved for.
+     *
+     * @param key        The cache key of the options.
+     * @param resolution The cached resolution.
+     * @return {@code true} if the browser is pinned to a version or its binary is
+     * unchanged, otherwise {@code false}.
+     */
+    private boolean isCurrent(String key, Resolution resolution) {
+        String browserStamp = browserStamps.get(key);
+        return browserStamp == null || browserStamp.equals(stampOf(resolution.browserPath()));
+    }
+
+    /**
+     * Loads the persisted resolutions whose driver and browser paths still exist and,
+     * for the installed browser, whose browser binary is unchanged.
+     */
+    private void load() {
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(persistFile)) {
+            properties.load(inputStream);
+        } catch (IOException ex) {
+            log.warn("Unable to load the persisted driver resolutions: {}", ex.getMessage());
+            return;
+        }
+        for (String name : properties.stringPropertyNames()) {
+            if (!name.endsWith(DRIVER_SUFFIX)) {
+                continue;
+            }
+            String key = name.substring(0, name.length() - DRIVER_SUFFIX.length());
+            String driverPath = properties.getProperty(name);
+            String browserPath = properties.getProperty(key + BROWSER_SUFFIX);
+            String browserStamp = properties.getProperty(key + BROWSER_STAMP_SUFFIX);
+            boolean browserUnchanged = !isInstalledBrowser(key)
+                    || browserStamp != null && browserStamp.equals(stampOf(browserPath));
+            if (Files.isExecutable(Path.of(driverPath)) && browserUnchanged
+                    && (browserPath == null || Files.exists(Path.of(browserPath)))) {
+                resolutions.put(key, CompletableFuture.completedFuture(new Resolution(driverPath, browserPath)));
+                if (browserStamp != null) {
+                    browserStamps.put(key, browserStamp);
+                }
+                log.info("Reusing the persisted driver resolution of '{}'", key);
+            }
+        }
+    }
+
+    /**
+     * Returns the cache key of the options, made of the browser name and version.
+     *
+     * @param options The browser options.
+     * @return The cache key.
+     */
+    private static String keyOf(Capabilities options) {
+        String version = options.getBrowserVersion();
+        return options.getBrowserName() + "-" + (version == null || version.isBlank() ? INSTALLED_BROWSER : version);
+    }
+
+    /**
+     * Checks whether the key stands for a browser that is not pinned to a numeric
+     * version, i.e. the installed browser or a release channel that may be updated.
+     *
+     * @param key The cache key.
+     * @return {@code true} if the browser may change between resolutions.
+     */
+    private static boolean isInstalledBrowser(String key) {
+        String version = key.substring(key.lastIndexOf('-') + 1);
+        return version.isEmpty() || !Character.isDigit(version.charAt(0));
+    }
+
+    /**
+     * Returns the modification time and size of the browser binary.
+     *
+     * @param browserPath The path of the browser binary.
+     * @return The stamp of the binary, or {@code null} if it cannot be read.
+     */
+    private static String stampOf(String browserPath) {
+        if (browserPath == null) {
+            return null;
+        }
+        try {
+            Path path = Path.of(browserPath);
+            return Files.getLastModifiedTime(path).toMillis() + ":" + Files.size(path);
+        } catch (IOException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Holds the resolved driver binary path and the optional browser path.
+     *
+     * @param driverPath  The path of the driver binary.
+     * @param browserPath The path of the browser binary, or {@code null} to use the
+     *                    installed browser.
+     */
+    public record Resolution(String driverPath, String browserPath) {
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.qa.ctf.factory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.SessionId;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The GridLatencyRecorder class wraps the command executor of a RemoteWebDriver and
+ * records the round-trip time of every WebDriver command against the Grid node that
+ * runs the session, so that slow nodes can be identified.
+ *
+ * <p>Features:
+ * <ul>
+ *     <li>Time every command sent to the Selenium Grid.</li>
+ *     <li>Resolve the node of the session through the Grid GraphQL endpoint.</li>
+ *     <li>Summarize the p50, p95 and max round-trip time per node.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>Errors while resolving the node are logged and the commands are recorded
+ *   against the Grid address instead.</li>
+ *   <li>Errors while writing the summary file are logged and do not fail the run.</li>
+ * </ul>
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * GridLatencyRecorder recorder = new GridLatencyRecorder(new HttpCommandExecutor(clientConfig), gridUrl);
+ * RemoteWebDriver driver = new RemoteWebDriver(recorder, new ChromeOptions());
+ * recorder.resolveNode(driver.getSessionId());
+ * GridLatencyRecorder.writeSummary(Path.of("target", "grid-latency-summary.txt"));
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class GridLatencyRecorder implements CommandExecutor {
+
+    // Logger instance for the GridLatencyRecorder class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(GridLatencyRecorder.class);
+
+    // GraphQL query to look up the node of a session
+    private static final String NODE_QUERY = "{\"query\": \"{ session (id: \\\"%s\\\") { nodeUri } }\"}";
+
+    // HTTP client used for the node lookups
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    // Round-trip times in milliseconds per Grid node
+    private static final Map<String, List<Long>> nodeLatencies = new ConcurrentHashMap<>();
+
+    // The executor that sends the commands to the Grid
+    private final CommandExecutor delegate;
+
+    // The Grid address, used until the node of the session is known
+    private final URI gridUri;
+
+    // The node that runs the session
+    private volatile String node;
+
+    /**
+     * Constructs a GridLatencyRecorder around the given command executor.
+     *
+     * @param delegate The executor that sends the commands to the Grid.
+     * @param gridUrl  The address of the Selenium Grid.
+     */
+    public GridLatencyRecorder(CommandExecutor delegate, URL gridUrl) {
+        this.delegate = delegate;
+        this.gridUri = URI.create(gridUrl.getProtocol() + "://" + gridUrl.getAuthority());
+        this.node = gridUri.toString();
+    }
+
+    /**
+     * Sends the command to the Grid and records its round-trip time.
+     *
+     * @param command The WebDriver command to send.
+     * @return The response of the Grid.
+     * @throws IOException If the command cannot be sent.
+     */
+    @Override
+    public Response execute(Command command) throws IOException {
+        long startedAt = System.nanoTime();
+        try {
+            return delegate.execute(command);
+        } finally {
+            nodeLatencies.computeIfAbsent(node, key -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        }
+    }
+
+    /**
+     * Resolves the node that runs the session, so that the following commands are
+     * recorded against it.
+     *
+     * @param sessionId The id of the Grid session.
+     */
+    @SuppressWarnings("unchecked")
+    public void resolveNode(SessionId sessionId) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(gridUri.resolve("/graphql"))
+                    .timeout(Duration.ofSeconds(10))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(String.format(NODE_QUERY, sessionId)))
+                    .build();
+            String body = httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+            Map<String, Object> data = (Map<String, Object>) new Json().<Map<String, Object>>toType(body, Json.MAP_TYPE).get("data");
+            Map<String, Object> session = (Map<String, Object>) data.get("session");
+            node = String.valueOf(session.get("nodeUri"));
+            log.info("Grid session '{}' is running on node '{}'", sessionId, node);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Unable to resolve the Grid node of session '{}': {}", sessionId, ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes the p50, p95 and max round-trip time per Grid node.
+     *
+     * @param summaryFile The file to write the summary to.
+     */
+    public static void writeSummary(Path summaryFile) {
+        if (nodeLatencies.isEmpty()) {
+            return;
+        }
+        StringBuilder summary = new StringBuilder("Grid command round-trip summary (ms)").append(System.lineSeparator());
+        new TreeMap<>(nodeLatencies).forEach((nodeUri, millis) -> {
+            List<Long> sorted;
+            synchronized (millis) {
+                sorted = new ArrayList<>(millis);
+            }
+            Collections.sort(sorted);
+            summary.append(String.format("%-40s count=%d p50=%d p95=%d max=%d%n", nodeUri, sorted.size(),
+                    StartupMetrics.percentile(sorted, 50), StartupMetrics.percentile(sorted, 95), sorted.getLast()));
+        });
+        try {
+            Files.createDirectories(summaryFile.getParent());
+            Files.writeString(summaryFile, summary);
+            log.info("Grid latency summary written to '{}'", summaryFile);
+        } catch (IOException ex) {
+            log.warn("Unable to write the Grid latency summary: {}", ex.getMessage());
+        }
+    }
+
+}
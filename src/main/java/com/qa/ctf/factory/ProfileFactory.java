@@ -0,0 +1,138 @@
+package com.qa.ctf.factory;
+
+import com.qa.ctf.constant.BrowserProfile;
+import com.qa.ctf.util.ExceptionHub;
+import com.qa.ctf.util.FileReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.PageLoadStrategy;
+
+import java.util.Optional;
+
+import static com.qa.ctf.constant.TestConstants.*;
+
+/**
+ * The ProfileFactory class manages the browser performance profile for test
+ * execution by retrieving and validating the profile (e.g., STANDARD, FAST or
+ * HEADLESS) and its page load strategy based on environment variables or property
+ * files.
+ *
+ * <p>Features:
+ * <ul>
+ *     <li>Retrieve the corresponding BrowserProfile enumeration based on the profile set.</li>
+ *     <li>Fall back to the STANDARD profile when no profile is configured.</li>
+ *     <li>Retrieve the page load strategy of the profile, which the
+ *     {@code PageLoadStrategy} setting overrides (e.g., EAGER or NONE).</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>Custom exceptions from the {@link ExceptionHub.ConfigTypeException} class
+ *       are thrown for unrecognized or invalid browser profiles and page load
+ *       strategies.</li>
+ *   <li>Detailed logging is provided for profile configurations and error scenarios.</li>
+ * </ul>
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * ProfileFactory profileFactory = new ProfileFactory();
+ * BrowserProfile browserProfile = profileFactory.getBrowserProfile();
+ * PageLoadStrategy pageLoadStrategy = profileFactory.getPageLoadStrategy(browserProfile);
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.2
+ */
+public class ProfileFactory extends FileReader {
+
+    // Logger instance for the ProfileFactory class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(ProfileFactory.class);
+
+    /**
+     * Retrieves the BrowserProfile enumeration for the profile set for the test
+     * execution.
+     * <p>
+     * This method fetches the profile from either environment variables or a
+     * property file, then determines the corresponding `BrowserProfile` enum. The
+     * STANDARD profile is used when no profile is configured.
+     * </p>
+     *
+     * @return The corresponding `BrowserProfile` for the currently set profile.
+     * @throws ExceptionHub.ConfigTypeException If the browser profile is not recognized.
+     */
+    public BrowserProfile getBrowserProfile() {
+        return resolveTypedValue(BrowserProfile.PROFILE.getBrowserProfile(),
+                value -> toBrowserProfile(value.orElse(null)));
+    }
+
+    /**
+     * Retrieves the page load strategy of the browsers started with the given profile.
+     * <p>
+     * The {@code PageLoadStrategy} setting (NORMAL, EAGER or NONE) is taken from either
+     * environment variables or a property file. Without it, the default strategy of the
+     * profile is used.
+     * </p>
+     *
+     * @param browserProfile The browser profile of the test execution.
+     * @return The page load strategy to set on the browser options.
+     * @throws ExceptionHub.ConfigTypeException If the page load strategy is not recognized.
+     */
+    public PageLoadStrategy getPageLoadStrategy(BrowserProfile browserProfile) {
+        Optional<PageLoadStrategy> configured = resolveTypedValue(PAGE_LOAD_STRATEGY, value -> value
+                .filter(strategy -> !strategy.isEmpty())
+                .map(ProfileFactory::toPageLoadStrategy));
+        return configured.orElse(browserProfile.getPageLoadStrategy());
+    }
+
+    /**
+     * Converts the configured page load strategy to its Selenium enumeration.
+     *
+     * @param strategyName The configured page load strategy.
+     * @return The corresponding {@link PageLoadStrategy}.
+     * @throws ExceptionHub.ConfigTypeException If the page load strategy is not recognized.
+     */
+    private static PageLoadStrategy toPageLoadStrategy(String strategyName) {
+        PageLoadStrategy pageLoadStrategy = PageLoadStrategy.fromString(strategyName.toLowerCase());
+        if (pageLoadStrategy == null) {
+            log.error("Invalid page load strategy: '{}'", strategyName);
+            throw new ExceptionHub.ConfigTypeException(strategyName);
+        }
+        log.info("'{}' page load strategy is opted for test execution", pageLoadStrategy);
+        return pageLoadStrategy;
+    }
+
+    /**
+     * Converts the configured profile to its BrowserProfile enumeration.
+     *
+     * @param profileName The configured browser profile.
+     * @return The corresponding `BrowserProfile`, or STANDARD if none is configured.
+     * @throws ExceptionHub.ConfigTypeException If the browser profile is not recognized.
+     */
+    private BrowserProfile toBrowserProfile(String profileName) {
+        if (profileName == null || profileName.isEmpty()) {
+            log.info("Standard browser profile is opted for test execution");
+            return BrowserProfile.STANDARD;
+        }
+        return switch (profileName.toUpperCase()) {
+            case PROFILE_STANDARD -> {
+                log.info("Standard browser profile is opted for test execution");
+                yield BrowserProfile.STANDARD;
+            }
+            case PROFILE_FAST -> {
+                log.info("Fast browser profile is opted for test execution");
+                yield BrowserProfile.FAST;
+            }
+            case PROFILE_HEADLESS -> {
+                log.info("Headless browser profile is opted for test execution");
+                yield BrowserProfile.HEADLESS;
+            }
+            default -> {
+                log.error("Invalid browser profile: '{}'", profileName);
+                throw new ExceptionHub.ConfigTypeException(profileName);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.qa.ctf.factory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.qa.ctf.constant.TestConstants.*;
+
+/**
+ * The RecyclePolicy class decides when a long-lived WebDriver session should be
+ * replaced by a fresh one, based on the number of scenarios it served, its age and
+ * the JavaScript heap size of the page it is showing.
+ *
+ * <p>Features:
+ * <ul>
+ *     <li>Recycle a session after a number of scenarios.</li>
+ *     <li>Recycle a session after a wall-clock age.</li>
+ *     <li>Recycle a session when the used JavaScript heap exceeds a threshold, sampled
+ *     through {@code performance.memory} or the CDP {@code Performance.getMetrics}
+ *     command.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * Each limit is disabled when its value is zero, which is the default. The limits are
+ * read from the {@code DriverRecycleScenarios}, {@code DriverRecycleAge} (minutes) and
+ * {@code DriverRecycleHeapMb} system properties by {@link #fromSystemProperties()}.
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * RecyclePolicy policy = new RecyclePolicy(50, Duration.ofMinutes(30), 512L * 1024 * 1024);
+ * Optional<String> reason = policy.recycleReason(driver, scenarioCount, age);
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class RecyclePolicy {
+
+    // Logger instance for the RecyclePolicy class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(RecyclePolicy.class);
+
+    // JavaScript command to read the used JavaScript heap size, or -1 if not supported
+    private static final String USED_HEAP_SIZE =
+            "return window.performance && performance.memory ? performance.memory.usedJSHeapSize : -1;";
+
+    // CDP commands and metric name used to read the heap size on Chromium based browsers
+    private static final String CDP_PERFORMANCE_ENABLE = "Performance.enable";
+    private static final String CDP_GET_METRICS = "Performance.getMetrics";
+    private static final String CDP_HEAP_METRIC = "JSHeapUsedSize";
+
+    // Maximum number of scenarios served by a session, zero to disable
+    private final int maxScenarios;
+
+    // Maximum age of a session, zero to disable
+    private final Duration maxAge;
+
+    // Maximum used JavaScript heap size in bytes, zero to disable
+    private final long maxHeapBytes;
+
+    /**
+     * Constructs a RecyclePolicy with the given limits.
+     *
+     * @param maxScenarios The maximum number of scenarios served by a session.
+     * @param maxAge       The maximum age of a session.
+     * @param maxHeapBytes The maximum used JavaScript heap size in bytes.
+     */
+    public RecyclePolicy(int maxScenarios, Duration maxAge, long maxHeapBytes) {
+        this.maxScenarios = maxScenarios;
+        this.maxAge = maxAge;
+        this.maxHeapBytes = maxHeapBytes;
+    }
+
+    /**
+     * Creates a RecyclePolicy from the recycle system properties.
+     *
+     * @return The RecyclePolicy configured for the test execution.
+     */
+    public static RecyclePolicy fromSystemProperties() {
+        return new RecyclePolicy(
+                Integer.getInteger(DRIVER_RECYCLE_SCENARIOS, 0),
+                Duration.ofMinutes(Integer.getInteger(DRIVER_RECYCLE_AGE, 0)),
+                Long.getLong(DRIVER_RECYCLE_HEAP_MB, 0L) * 1024 * 1024);
+    }
+
+    /**
+     * Checks whether the session should be recycled.
+     * <p>
+     * The scenario count and age limits are checked first, as they are free. The
+     * heap size is only sampled when a heap limit is set.
+     * </p>
+     *
+     * @param driver        The WebDriver session to check.
+     * @param scenarioCount The number of scenarios the session has served.
+     * @param age           The time since the session was started.
+     * @return The reason to recycle the session, or an empty optional to keep it.
+     */
+    public Optional<String> recycleReason(WebDriver driver, int scenarioCount, Duration age) {
+        if (maxScenarios > 0 && scenarioCount >= maxScenarios) {
+            return Optional.of(String.format("served %d scenarios", scenarioCount));
+        }
+        if (!maxAge.isZero() && age.compareTo(maxAge) >= 0) {
+            return Optional.of(String.format("reached the age of %d minutes", age.toMinutes()));
+        }
+        if (maxHeapBytes > 0) {
+            long heapBytes = sampleHeapSize(driver);
+            if (heapBytes > maxHeapBytes) {
+                return Optional.of(String.format("used %d MB of JavaScript heap", heapBytes / (1024 * 1024)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Samples the used JavaScript heap size of the current page.
+     * <p>
+     * The {@code performance.memory} API is used first. Browsers that do not expose
+     * it fall back to the CDP {@code Performance.getMetrics} command when available.
+     * </p>
+     *
+     * @param driver The WebDriver session to sample.
+     * @return The used heap size in bytes, or -1 if it cannot be sampled.
+     */
+    @SuppressWarnings("unchecked")
+    private long sampleHeapSize(WebDriver driver) {
+        try {
+            Object heapSize = ((JavascriptExecutor) driver).executeScript(USED_HEAP_SIZE);
+            if (heapSize instanceof Number number && number.longValue() >= 0) {
+                return number.longValue();
+            }
+            if (driver instanceof HasCdp cdp) {
+                cdp.executeCdpCommand(CDP_PERFORMANCE_ENABLE, Map.of());
+                List<Map<String, Object>> metrics =
+                        (List<Map<String, Object>>) cdp.executeCdpCommand(CDP_GET_METRICS, Map.of()).get("metrics");
+                return metrics.stream()
+                        .filter(metric -> CDP_HEAP_METRIC.equals(metric.get("name")))
+                        .map(metric -> ((Number) metric.get("value")).longValue())
+                        .findFirst()
+                        .orElse(-1L);
+            }
+        } catch (WebDriverException | ClassCastException ex) {
+            log.warn("Unable to sample the JavaScript heap size: {}", ex.getMessage());
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,218 @@
+package com.qa.ctf.factory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.module.Network;
+import org.openqa.selenium.bidi.network.AddInterceptParameters;
+import org.openqa.selenium.bidi.network.BeforeRequestSent;
+import org.openqa.selenium.bidi.network.ContinueRequestParameters;
+import org.openqa.selenium.bidi.network.InterceptPhase;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.Browser;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * The RequestBlocker class stops a browser from loading the requests that match a URL
+ * deny list, such as images, fonts and third-party analytics that no step asserts on,
+ * and counts the requests it blocked.
+ *
+ * <p>Features:
+ * <ul>
+ *     <li>Block requests on Chrome and Edge through the DevTools
+ *     {@code Network.setBlockedURLs} command.</li>
+ *     <li>Block requests on Firefox through WebDriver BiDi network interception.</li>
+ *     <li>Count the blocked requests, per resource type on Chrome and Edge.</li>
+ *     <li>Remove the blocking again, so that a pooled session is handed over clean.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>Browsers that support neither DevTools nor BiDi are logged and left unblocked.</li>
+ *   <li>Errors while removing the blocking are logged, as the session may already be
+ *   closed.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * URL patterns use {@code *} as a wildcard and match anywhere in the URL, which is the
+ * DevTools behaviour. Firefox needs the {@code webSocketUrl} capability to open a BiDi
+ * connection, and intercepts every request to match it against the patterns. BiDi
+ * reports no resource type, so only the total is counted on Firefox. Blocked requests
+ * are never sent and get no response, so their size is unknown and no bytes saved are
+ * reported.
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * RequestBlocker blocker = RequestBlocker.start(driver, List.of("*.woff2", "*google-analytics.com*"));
+ * driver.get("https://example.com");
+ * log.info(blocker.stop());
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.1
+ */
+public class RequestBlocker {
+
+    // Logger instance for the RequestBlocker class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(RequestBlocker.class);
+
+    // DevTools commands and events used on Chromium based browsers
+    private static final String CDP_NETWORK_ENABLE = "Network.enable";
+    private static final String CDP_NETWORK_DISABLE = "Network.disable";
+    private static final String CDP_SET_BLOCKED_URLS = "Network.setBlockedURLs";
+    private static final String CDP_LOADING_FAILED = "Network.loadingFailed";
+
+    // URL patterns the browser is not allowed to load
+    private final List<String> patterns;
+
+    // Number of requests blocked since the blocking started
+    private final AtomicInteger blockedCount = new AtomicInteger();
+
+    // Number of blocked requests per resource type
+    private final Map<String, AtomicInteger> blockedTypes = new ConcurrentHashMap<>();
+
+    // DevTools session of a Chromium based browser, or null
+    private DevTools devTools;
+
+    // BiDi network module of Firefox and the id of its intercept, or null
+    private Network network;
+    private String interceptId;
+
+    private RequestBlocker(Collection<String> patterns) {
+        this.patterns = List.copyOf(patterns);
+    }
+
+    /**
+     * Starts blocking the requests that match the given URL patterns.
+     *
+     * @param driver   The WebDriver session to block requests on.
+     * @param patterns The URL patterns to block.
+     * @return The RequestBlocker that counts the blocked requests.
+     */
+    public static RequestBlocker start(WebDriver driver, Collection<String> patterns) {
+        RequestBlocker blocker = new RequestBlocker(patterns);
+        boolean firefox = driver instanceof HasCapabilities hasCapabilities
+                && Browser.FIREFOX.is(hasCapabilities.getCapabilities());
+        if (!firefox && !(driver instanceof HasDevTools)) {
+            driver = new Augmenter().augment(driver);
+        }
+        if (firefox && driver instanceof HasBiDi hasBiDi && hasBiDi.maybeGetBiDi().isPresent()) {
+            blocker.blockWithBiDi(driver);
+        } else if (!firefox && driver instanceof HasDevTools hasDevTools) {
+            blocker.blockWithDevTools(hasDevTools.getDevTools());
+        } else {
+            log.warn("Request blocking is not supported by '{}', no requests are blocked",
+                    driver.getClass().getSimpleName());
+        }
+        return blocker;
+    }
+
+    /**
+     * Blocks the requests through the DevTools network domain.
+     *
+     * @param devTools The DevTools connection of the browser.
+     */
+    private void blockWithDevTools(DevTools devTools) {
+        this.devTools = devTools;
+        devTools.createSessionIfThereIsNotOne();
+        devTools.addListener(cdpEvent(CDP_LOADING_FAILED), params -> {
+            if (params.get("blockedReason") != null) {
+                blockedCount.incrementAndGet();
+                blockedTypes.computeIfAbsent(String.valueOf(params.get("type")), key -> new AtomicInteger())
+                        .incrementAndGet();
+            }
+        });
+        devTools.send(new Command<>(CDP_NETWORK_ENABLE, Map.of()));
+        devTools.send(new Command<>(CDP_SET_BLOCKED_URLS, Map.of("urls", patterns)));
+    }
+
+    /**
+     * Blocks the requests through a WebDriver BiDi network intercept.
+     *
+     * @param driver The BiDi enabled WebDriver session.
+     */
+    private void blockWithBiDi(WebDriver driver) {
+        Pattern denyList = Pattern.compile(patterns.stream()
+                .map(pattern -> Pattern.quote(pattern).replace("*", "\\E.*\\Q"))
+                .collect(Collectors.joining("|")));
+        network = new Network(driver);
+        interceptId = network.addIntercept(new AddInterceptParameters(InterceptPhase.BEFORE_REQUEST_SENT));
+        network.onBeforeRequestSent((BeforeRequestSent event) -> {
+            if (!event.isBlocked()) {
+                return;
+            }
+            String requestId = event.getRequest().getRequestId();
+            if (denyList.matcher(event.getRequest().getUrl()).find()) {
+                blockedCount.incrementAndGet();
+                network.failRequest(requestId);
+            } else {
+                network.continueRequest(new ContinueRequestParameters(requestId));
+            }
+        });
+    }
+
+    /**
+     * Stops blocking the requests and describes what was blocked.
+     *
+     * @return The number of blocked requests, with their resource types when known.
+     */
+    public String stop() {
+        try {
+            if (devTools != null) {
+                devTools.send(new Command<>(CDP_SET_BLOCKED_URLS, Map.of("urls", List.of())));
+                devTools.send(new Command<>(CDP_NETWORK_DISABLE, Map.of()));
+                devTools.clearListeners();
+            }
+            if (network != null) {
+                network.removeIntercept(interceptId);
+                network.close();
+            }
+        } catch (WebDriverException ex) {
+            log.warn("Error while removing the request blocking: {}", ex.getMessage());
+        }
+        if (blockedTypes.isEmpty()) {
+            return String.format("Blocked %d requests", blockedCount.get());
+        }
+        Map<String, Integer> countsByType = new TreeMap<>();
+        blockedTypes.forEach((type, count) -> countsByType.put(type, count.get()));
+        return String.format("Blocked %d requests %s", blockedCount.get(), countsByType);
+    }
+
+    /**
+     * Returns the number of requests blocked since the blocking started.
+     *
+     * @return The blocked request count.
+     */
+    public int getBlockedCount() {
+        return blockedCount.get();
+    }
+
+    /**
+     * Creates a version independent DevTools network event that is read as a map.
+     *
+     * @param method The name of the event.
+     * @return The DevTools event.
+     */
+    private static Event<Map<String, Object>> cdpEvent(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+}
@@ -15,7 +15,6 @@ import static com.qa.ctf.constant.TestConstants.*;
  *
  * <p>Features:
  * <ul>
- *     <li>Set and get the run type for test execution.</li>
  *     <li>Retrieve the corresponding RunType enumeration based on the run set.</li>
  *     <li>Fetch run configuration values from environment variables or property files.</li>
  * </ul>
@@ -34,50 +33,19 @@ import static com.qa.ctf.constant.TestConstants.*;
  * <p>Example:
  * <pre>
  * {@code
- * RunFactory RunFactory = new RunFactory();
- * RunFactory.setRunType("local");
- * RunType runType = RunFactory.getRunType();
+ * RunFactory runFactory = new RunFactory();
+ * RunType runType = runFactory.getTestRunType();
  * }
  * </pre>
  *
  * @author Jagatheshwaran N
- * @version 1.0
+ * @version 1.2
  */
 public class RunFactory extends FileReader {
 
     // Logger instance for the RunFactory class to enable logging during the execution
     private static final Logger log = LogManager.getLogger(RunType.class);
 
-    // Instance variable to store the run configuration for the application
-    private String runType;
-
-    /**
-     * Sets the run type for the test execution.
-     * <p>
-     * This method assigns the specified run type to the instance variable
-     * `runType`, which will be used later to determine the run type for
-     * test execution.
-     * </p>
-     *
-     * @param runType The run type name to set (e.g., "local" or "remote").
-     */
-    public void setRunType(String runType) {
-        this.runType = runType;
-    }
-
-    /**
-     * Retrieves the run type currently set for the test execution.
-     * <p>
-     * This method returns the run type that has been set using the `setRunType`
-     * method. It returns values like "local" or "remote".
-     * </p>
-     *
-     * @return The name of the currently set run type.
-     */
-    public String getRunType() {
-        return runType;
-    }
-
     /**
      * Retrieves the RunType enumeration for the run type set for the test
      * execution.
@@ -92,12 +60,23 @@ public class RunFactory extends FileReader {
      *                                          not recognized.
      */
     public RunType getTestRunType() {
-        setRunType(getValue(RunType.TEST_RUN.getRunType())); // Set run from value
-        if (getRunType() == null || getRunType().isEmpty()) {
+        return resolveTypedValue(RunType.TEST_RUN.getRunType(), value -> toRunType(value.orElse(null)));
+    }
+
+    /**
+     * Converts the configured run type to its RunType enumeration.
+     *
+     * @param runTypeName The configured run type.
+     * @return The corresponding `RunType`.
+     * @throws ExceptionHub.ConfigTypeException If the run type is invalid or
+     *                                          not recognized.
+     */
+    private RunType toRunType(String runTypeName) {
+        if (runTypeName == null || runTypeName.isEmpty()) {
             log.error("Run type is not specified or is empty.");
             throw new ExceptionHub.ConfigTypeException("Run type is not specified.");
         }
-        return switch (getRunType().toUpperCase()) {
+        return switch (runTypeName.toUpperCase()) {
             case LOCAL -> {
                 log.info("Local run is opted for test execution");
                 yield RunType.LOCAL;
@@ -107,35 +86,10 @@ public class RunFactory extends FileReader {
                 yield RunType.REMOTE;
             }
             default -> {
-                log.error("Invalid run type: '{}'", getRunType());
-                throw new ExceptionHub.ConfigTypeException("Invalid run type: " + getRunType());
+                log.error("Invalid run type: '{}'", runTypeName);
+                throw new ExceptionHub.ConfigTypeException("Invalid run type: " + runTypeName);
             }
         };
     }
 
-    /**
-     * Retrieves the value associated with the provided key from either environment
-     * variables or a property file.
-     * <p>
-     * This method first checks if the key exists in the environment variables, and
-     * if not, it fetches the value from the property file.
-     * </p>
-     *
-     * @param key The key whose associated value is to be retrieved.
-     * @return The value associated with the provided key.
-     */
-    private String getValue(String key) {
-        String value = System.getProperty(key);
-        if (value != null && !value.isEmpty()) {
-            log.info("Run type is specified from the MVN CMD LINE ARGS.");
-            return value;
-        }
-        value = fetchDataFromPropFile(key);
-        log.info("Run type is specified from the CONFIG FILE.");
-        if (value == null || value.isEmpty()) {
-            log.warn("Value for key '{}' not found in environment or property file.", key);
-        }
-        return value;
-    }
-
 }
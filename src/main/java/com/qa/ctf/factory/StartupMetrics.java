@@ -0,0 +1,261 @@
+package com.qa.ctf.factory;
+
+import com.qa.ctf.util.ExceptionHub;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The StartupMetrics class times each phase of the WebDriver startup and summarizes
+ * the timings per browser type and run type, so that a slow driver startup can be
+ * traced to the phase that caused it.
+ *
+ * <p>Features:
+ * <ul>
+ *     <li>Time the driver resolution, driver service start, browser session and Grid
+ *     session phases of a driver startup.</li>
+ *     <li>Summarize the p50, p95 and max time of each phase per browser type and run
+ *     type.</li>
+ *     <li>Track the slowest startup of the run and the scenario it was started for, and
+ *     report it once in the summary.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>Checked exceptions raised inside a timed phase are wrapped in an
+ *   {@link ExceptionHub}.</li>
+ *   <li>Errors while writing the summary file are logged and do not fail the run.</li>
+ * </ul>
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * StartupMetrics startupMetrics = new StartupMetrics();
+ * StartupMetrics.StartupRecord record = startupMetrics.newRecord("Chrome", "Local");
+ * WebDriver driver = record.time(StartupMetrics.Phase.BROWSER_SESSION, ChromeDriver::new);
+ * startupMetrics.record(record);
+ * startupMetrics.recordScenario(record, "Place order as guest");
+ * startupMetrics.writeSummary(Path.of("target", "driver-startup-summary.txt"));
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class StartupMetrics {
+
+    // Logger instance for the StartupMetrics class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(StartupMetrics.class);
+
+    // Phase timings in milliseconds per browser type and run type
+    private final Map<String, Map<Phase, List<Long>>> samples = new ConcurrentHashMap<>();
+
+    // Slowest startup of the run so far, with the scenario it was started for
+    private final AtomicReference<ScenarioStartup> slowest = new AtomicReference<>();
+
+    /**
+     * The phases of a WebDriver startup.
+     */
+    public enum Phase {
+
+        /** Resolution of the driver and browser binaries by Selenium Manager. */
+        DRIVER_RESOLUTION("Driver resolution"),
+
+        /** Launch of the local driver service process. */
+        SERVICE_START("Driver service start"),
+
+        /** Browser launch and new session handshake with the local driver. */
+        BROWSER_SESSION("Browser launch and session handshake"),
+
+        /** Grid queueing, browser launch on the node and new session handshake. */
+        GRID_SESSION("Grid queue and session handshake");
+
+        // Holds the display name of the phase
+        private final String phaseName;
+
+        Phase(String phaseName) {
+            this.phaseName = phaseName;
+        }
+
+        /**
+         * Retrieves the display name of the phase.
+         *
+         * @return The phase name as a string.
+         */
+        public String getPhaseName() {
+            return phaseName;
+        }
+    }
+
+    /**
+     * Creates a record for a new driver startup.
+     *
+     * @param browser The browser type of the driver.
+     * @param runType The run type of the driver.
+     * @return The record that times the phases of the startup.
+     */
+    public StartupRecord newRecord(String browser, String runType) {
+        return new StartupRecord(browser + "/" + runType);
+    }
+
+    /**
+     * Adds the phase timings of a completed startup to the summary.
+     *
+     * @param record The record of the completed startup.
+     */
+    public void record(StartupRecord record) {
+        Map<Phase, List<Long>> phaseSamples = samples.computeIfAbsent(record.key, key -> new ConcurrentHashMap<>());
+        record.phaseMillis.forEach((phase, millis) ->
+                phaseSamples.computeIfAbsent(phase, key -> Collections.synchronizedList(new ArrayList<>())).add(millis));
+        log.info(record.describe());
+    }
+
+    /**
+     * Keeps the startup as the slowest one of the run if no earlier startup took longer.
+     *
+     * @param record       The record of the completed startup.
+     * @param scenarioName The name of the scenario the driver was started for.
+     */
+    public void recordScenario(StartupRecord record, String scenarioName) {
+        ScenarioStartup startup = new ScenarioStartup(record, scenarioName);
+        slowest.accumulateAndGet(startup, (current, candidate) ->
+                current == null || candidate.record().totalMillis() > current.record().totalMillis()
+                        ? candidate : current);
+    }
+
+    /**
+     * Writes the p50, p95 and max time of each phase per browser type and run type.
+     *
+     * @param summaryFile The file to write the summary to.
+     */
+    public void writeSummary(Path summaryFile) {
+        if (samples.isEmpty()) {
+            return;
+        }
+        StringBuilder summary = new StringBuilder("Driver startup summary (ms)").append(System.lineSeparator());
+        new TreeMap<>(samples).forEach((key, phaseSamples) -> {
+            summary.append(key).append(System.lineSeparator());
+            for (Phase phase : Phase.values()) {
+                List<Long> millis = phaseSamples.get(phase);
+                if (millis == null) {
+                    continue;
+                }
+                List<Long> sorted;
+                synchronized (millis) {
+                    sorted = new ArrayList<>(millis);
+                }
+                Collections.sort(sorted);
+                summary.append(String.format("  %-40s count=%d p50=%d p95=%d max=%d%n", phase.getPhaseName(),
+                        sorted.size(), percentile(sorted, 50), percentile(sorted, 95), sorted.getLast()));
+            }
+        });
+        ScenarioStartup slowestStartup = slowest.get();
+        if (slowestStartup != null) {
+            String slowestLine = String.format("Slowest driver startup, for scenario '%s': %s",
+                    slowestStartup.scenarioName(), slowestStartup.record().describe());
+            summary.append(slowestLine).append(System.lineSeparator());
+            log.info(slowestLine);
+        }
+        try {
+            Files.createDirectories(summaryFile.getParent());
+            Files.writeString(summaryFile, summary);
+            log.info("Driver startup summary written to '{}'", summaryFile);
+        } catch (IOException ex) {
+            log.warn("Unable to write the driver startup summary: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns the nearest-rank percentile of the sorted values.
+     *
+     * @param sorted     The values in ascending order.
+     * @param percentile The percentile to return.
+     * @return The value at the given percentile.
+     */
+    static long percentile(List<Long> sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(rank - 1, 0));
+    }
+
+    /**
+     * Holds a driver startup together with the scenario it was started for.
+     *
+     * @param record       The record of the startup.
+     * @param scenarioName The name of the scenario.
+     */
+    private record ScenarioStartup(StartupRecord record, String scenarioName) {
+    }
+
+    /**
+     * Holds the phase timings of a single driver startup.
+     */
+    public static final class StartupRecord {
+
+        // Browser type and run type of the driver
+        private final String key;
+
+        // Time of each completed phase in milliseconds
+        private final Map<Phase, Long> phaseMillis = new EnumMap<>(Phase.class);
+
+        private StartupRecord(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Runs the action and records its time against the given phase.
+         *
+         * @param phase  The startup phase the action belongs to.
+         * @param action The action to run.
+         * @param <T>    The result type of the action.
+         * @return The result of the action.
+         * @throws ExceptionHub If the action fails with a checked exception.
+         */
+        public <T> T time(Phase phase, Callable<T> action) {
+            long startedAt = System.nanoTime();
+            try {
+                return action.call();
+            } catch (RuntimeException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new ExceptionHub("Driver startup failed in phase: " + phase.getPhaseName(), ex);
+            } finally {
+                phaseMillis.put(phase, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            }
+        }
+
+        /**
+         * Returns the total time of all recorded phases.
+         *
+         * @return The total startup time in milliseconds.
+         */
+        public long totalMillis() {
+            return phaseMillis.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        /**
+         * Describes the startup and the time of each phase.
+         *
+         * @return The description of the startup.
+         */
+        public String describe() {
+            StringJoiner phases = new StringJoiner(", ");
+            phaseMillis.forEach((phase, millis) -> phases.add(phase.getPhaseName() + " " + millis + " ms"));
+            return String.format("%s driver startup %d ms: %s", key, totalMillis(), phases);
+        }
+    }
+
+}
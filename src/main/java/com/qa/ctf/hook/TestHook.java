@@ -1,11 +1,16 @@
 package com.qa.ctf.hook;
 
+import com.qa.ctf.constant.BrowserProfile;
 import com.qa.ctf.context.TestContext;
+import com.qa.ctf.execution.ScenarioRetrier;
+import com.qa.ctf.execution.ServiceScenarioExecutor;
 import com.qa.ctf.factory.DriverFactory;
 import com.qa.ctf.util.ExceptionHub;
 import com.qa.ctf.util.FileReader;
 import com.qa.ctf.util.ScreenCapture;
+import com.qa.ctf.util.SheetCache;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
 import org.apache.commons.io.FileUtils;
@@ -14,6 +19,10 @@ import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 
 import java.io.File;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import static com.qa.ctf.constant.TestConstants.*;
 
@@ -25,8 +34,20 @@ import static com.qa.ctf.constant.TestConstants.*;
  * <p>Features:
  * <ul>
  *     <li>Initializes WebDriver before each scenario and ensures cleanup after.</li>
+ *     <li>Skips the WebDriver of the scenarios tagged {@code @browserless}, which never
+ *     touch the UI.</li>
+ *     <li>Discards the WebDriver of a failed scenario so a pooled session is never reused
+ *     in a broken state.</li>
  *     <li>Captures and attaches screenshots for failed scenarios.</li>
+ *     <li>Logs the attempt of a scenario retried by the {@link ScenarioRetrier}.</li>
  *     <li>Logs detailed information on scenario success or failure.</li>
+ *     <li>Blocks the requests of the deny lists that apply to the scenario tags and logs
+ *     the blocked requests per scenario.</li>
+ *     <li>Attaches the driver startup phases to the scenario the driver was started for,
+ *     and records the scenario so that the slowest startup of the run is named in the
+ *     startup summary.</li>
+ *     <li>Records the browser, the browser profile and the scenario time in the reports
+ *     and summarizes the scenario time per browser profile.</li>
  * </ul>
  *
  * <p>Exception Handling:
@@ -57,7 +78,7 @@ import static com.qa.ctf.constant.TestConstants.*;
  * </pre>
  *
  * @author Jagatheshwaran N
- * @version 1.2
+ * @version 1.8
  */
 public class TestHook {
 
@@ -70,6 +91,15 @@ public class TestHook {
     // TestContext instance to manage shared test data and dependencies
     private final TestContext testContext;
 
+    // Browser profile applied to the WebDriver of the current scenario
+    private BrowserProfile browserProfile;
+
+    // Start time of the current scenario in nanoseconds
+    private long scenarioStartedAt;
+
+    // Scenario time statistics in milliseconds per browser profile
+    private static final Map<BrowserProfile, LongSummaryStatistics> profileDurations = new ConcurrentHashMap<>();
+
     /**
      * Constructs a TestHooks instance and initializes it with the provided TestContext.
      * <p>
@@ -87,9 +117,10 @@ public class TestHook {
     /**
      * Executes before each scenario starts.
      * <p>
-     * This method logs the scenario details, loads the property file, and initializes
-     * the WebDriver instance. If WebDriver initialization fails, it throws an
-     * {@link ExceptionHub}.
+     * This method logs the scenario details, makes sure the property file is loaded,
+     * which only reads the file for the first scenario, and initializes the WebDriver
+     * instance. No WebDriver is initialized for a browserless scenario. If WebDriver
+     * initialization fails, it throws an {@link ExceptionHub}.
      * </p>
      *
      * @param scenario The Cucumber {@link Scenario} that is about to start.
@@ -99,12 +130,25 @@ public class TestHook {
     public void before(Scenario scenario) {
         log.info("BEFORE SCENARIO - THREAD ID: {} & SCENARIO NAME: {}",
                 Thread.currentThread().threadId(), scenario.getName());
+        scenarioStartedAt = System.nanoTime();
+        if (ScenarioRetrier.currentAttempt() > 1) {
+            scenario.log("Retry attempt: " + ScenarioRetrier.currentAttempt());
+        }
         try {
             FileUtils.cleanDirectory(new File(CWD + SNAPSHOT_PATH));
             FileReader.loadPropertyFile();
+            if (ServiceScenarioExecutor.isBrowserless(scenario.getSourceTagNames())) {
+                log.info("Browserless scenario, no WebDriver started: {}", scenario.getName());
+                return;
+            }
             DriverFactory.getInstance().initializeDriver();
             this.driver = DriverFactory.getInstance().getDriver();
             testContext.setDriver(this.driver);
+            browserProfile = DriverFactory.getInstance().getBrowserProfile();
+            attachStartupToScenario(scenario);
+            DriverFactory.getInstance().blockRequests(scenario.getSourceTagNames());
+            scenario.log("Browser: " + DriverFactory.getInstance().getBrowserType().getBrowserType());
+            scenario.log("Browser profile: " + browserProfile.getBrowserProfile());
         } catch (Exception ex) {
             log.error("Error initializing WebDriver: {}", ex.getMessage(), ex);
             throw new ExceptionHub("WebDriver initialization failed", ex);
@@ -115,7 +159,8 @@ public class TestHook {
      * Executes after each scenario ends.
      * <p>
      * This method logs the scenario details, captures a screenshot if the scenario
-     * fails, and ensures the WebDriver instance is properly closed.
+     * fails, and ensures the WebDriver instance is properly closed. The WebDriver of
+     * a failed scenario is discarded instead of being returned to the pool.
      * </p>
      *
      * @param scenario The Cucumber {@link Scenario} that has just finished execution.
@@ -134,8 +179,85 @@ public class TestHook {
         } catch (Exception ex) {
             log.warn("Error while capturing screenshot: {}", ex.getMessage(), ex);
         } finally {
-            DriverFactory.quitDriver();
+            recordProfileDuration(scenario);
+            DriverFactory.stopBlockingRequests().ifPresent(blocked -> {
+                log.info("{} for scenario: {}", blocked, scenario.getName());
+                scenario.log(blocked);
+            });
+            if (scenario.isFailed()) {
+                DriverFactory.discardDriver();
+            } else {
+                DriverFactory.quitDriver();
+            }
+        }
+    }
+
+    /**
+     * Executes once after all scenarios have finished.
+     * <p>
+     * This method quits the WebDriver sessions still held by the driver pool or kept
+     * for Grid session reuse, stops the watcher of the configuration file, and
+     * reports the savings of the drivers pre-warmed at suite start, the startup and
+     * Grid latency summaries and the test data sheet cache metrics.
+     * </p>
+     */
+    @AfterAll
+    public static void afterAll() {
+        log.info("AFTER ALL SCENARIOS - SHUTTING DOWN THE DRIVER POOL");
+        DriverFactory.shutdownPrewarmer();
+        DriverFactory.shutdownDriverPool();
+        DriverFactory.releaseGridSessions();
+        DriverFactory.persistDriverResolutions();
+        DriverFactory.writeStartupSummary();
+        DriverFactory.writeGridLatencySummary();
+        FileReader.stopWatching();
+        log.info(SheetCache.getInstance().describe());
+        profileDurations.forEach((profile, stats) ->
+                log.info("Browser profile '{}': {} scenarios, average {} ms, max {} ms",
+                        profile.getBrowserProfile(), stats.getCount(), Math.round(stats.getAverage()),
+                        stats.getMax()));
+    }
+
+    /**
+     * Attaches the driver startup phases to the scenario a newly started driver was
+     * started for.
+     * <p>
+     * Every scenario that starts a driver gets its own breakdown, and the scenario is
+     * recorded with the startup, so that the slowest startup of the run is named once,
+     * with its scenario, in the driver startup summary written after the run. Drivers
+     * reused from the pool have no startup to attach.
+     * </p>
+     *
+     * @param scenario The Cucumber {@link Scenario} that is about to start.
+     */
+    private void attachStartupToScenario(Scenario scenario) {
+        DriverFactory.getInstance().takeStartupRecord(driver).ifPresent(record -> {
+            scenario.attach(record.describe(), TEXT_PLAIN_FORMAT, "Driver startup");
+            DriverFactory.getInstance().recordScenarioStartup(record, scenario.getName());
+        });
+    }
+
+    /**
+     * Records the scenario time against the browser profile of the scenario.
+     * <p>
+     * The time is logged to the scenario, so that it appears next to the profile in
+     * the reports, and added to the per-profile summary logged after the run.
+     * </p>
+     *
+     * @param scenario The Cucumber {@link Scenario} that has just finished execution.
+     */
+    private void recordProfileDuration(Scenario scenario) {
+        if (browserProfile == null) {
+            return;
         }
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scenarioStartedAt);
+        scenario.log(String.format("Scenario time with '%s' browser profile: %d ms",
+                browserProfile.getBrowserProfile(), durationMillis));
+        profileDurations.compute(browserProfile, (profile, stats) -> {
+            LongSummaryStatistics updated = stats == null ? new LongSummaryStatistics() : stats;
+            updated.accept(durationMillis);
+            return updated;
+        });
     }
 
     /**
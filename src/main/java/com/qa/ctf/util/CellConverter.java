@@ -0,0 +1,303 @@
+package com.qa.ctf.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.CellValue;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.util.NumberToTextConverter;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static com.qa.ctf.constant.TestConstants.*;
+
+/**
+ * The {@code CellConverter} class converts the cells of a test data sheet to strings,
+ * following the {@link ColumnType} of each column.
+ *
+ * <p>Features:
+ * <ul>
+ *   <li>Convert the string, numeric, boolean and error cells of both the workbook and
+ *   the streaming reading the same way.</li>
+ *   <li>Write the integral numbers, the most common numeric cells, without
+ *   {@link NumberToTextConverter}.</li>
+ *   <li>Read formula cells as their result, evaluated with the formula evaluator of the
+ *   workbook, which keeps the evaluated cells so that each formula is evaluated
+ *   once.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>Throws {@link ExceptionHub.ConfigTypeException} if the
+ *   {@code TestDataColumnTypes} system property names an unknown column type.</li>
+ *   <li>A formula that cannot be evaluated is read as its result cached in the file,
+ *   and logged.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * A converter is used by one thread, for one sheet at a time.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.1
+ */
+public final class CellConverter {
+
+    // Logger instance for the CellConverter class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(CellConverter.class);
+
+    // Magnitude below which an integral number is written as a long, as Excel shows it
+    private static final double MAX_PLAIN_INTEGER = 1e15;
+
+    // Column type of each column, by column index
+    private final ColumnType[] columnTypes;
+
+    // Formatter of the numbers of the TEXT columns, created on first use
+    private DataFormatter dataFormatter;
+
+    /**
+     * Constructs a CellConverter reading every column as {@link ColumnType#AUTO}, as used
+     * for the header row.
+     */
+    CellConverter() {
+        this(new ColumnType[0]);
+    }
+
+    private CellConverter(ColumnType[] columnTypes) {
+        this.columnTypes = columnTypes;
+    }
+
+    /**
+     * Returns the converter of the columns with the given headers, typed with the
+     * {@code TestDataColumnTypes} system property.
+     *
+     * @param headers The column headers.
+     * @return The converter of the columns.
+     * @throws ExceptionHub.ConfigTypeException If a column type is unknown.
+     */
+    static CellConverter forHeaders(String[] headers) {
+        Map<String, ColumnType> configuredTypes = configuredTypes();
+        ColumnType[] columnTypes = new ColumnType[headers.length];
+        for (int colNum = 0; colNum < headers.length; colNum++) {
+            columnTypes[colNum] = configuredTypes.getOrDefault(headers[colNum], ColumnType.AUTO);
+        }
+        return new CellConverter(columnTypes);
+    }
+
+    /**
+     * Returns the column types set with the {@code TestDataColumnTypes} system property,
+     * as comma-separated {@code header:TYPE} pairs.
+     *
+     * @return The column types by header, in property order.
+     * @throws ExceptionHub.ConfigTypeException If a column type is unknown.
+     */
+    static Map<String, ColumnType> configuredTypes() {
+        String property = System.getProperty(TEST_DATA_COLUMN_TYPES, "").trim();
+        if (property.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, ColumnType> configuredTypes = new LinkedHashMap<>();
+        for (String entry : property.split(",")) {
+            int separator = entry.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new ExceptionHub.ConfigTypeException(entry.trim());
+            }
+            String typeName = entry.substring(separator + 1).trim();
+            try {
+                configuredTypes.put(entry.substring(0, separator).trim(),
+                        ColumnType.valueOf(typeName.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException ex) {
+                throw new ExceptionHub.ConfigTypeException(typeName);
+            }
+        }
+        return configuredTypes;
+    }
+
+    /**
+     * Returns the type of the column.
+     *
+     * @param colNum The index of the column.
+     * @return The column type, {@link ColumnType#AUTO} if not set.
+     */
+    ColumnType type(int colNum) {
+        return colNum < columnTypes.length ? columnTypes[colNum] : ColumnType.AUTO;
+    }
+
+    /**
+     * Converts a cell of the workbook, evaluating its formula if any.
+     *
+     * @param cell      The cell to convert, or {@code null}.
+     * @param colNum    The index of the column.
+     * @param evaluator The formula evaluator of the workbook.
+     * @return The string value of the cell, or empty string for null/blanks.
+     */
+    String toText(Cell cell, int colNum, Supplier<FormulaEvaluator> evaluator) {
+        if (cell == null) return "";
+        CellType cellType = cell.getCellType();
+        if (cellType == CellType.FORMULA) {
+            return formulaResult(cell, colNum, evaluator);
+        }
+        return switch (cellType) {
+            case STRING -> text(colNum, cell.getStringCellValue());
+            case NUMERIC -> number(colNum, cell.getNumericCellValue(), cell);
+            case BOOLEAN -> bool(colNum, cell.getBooleanCellValue());
+            case ERROR -> error(cell.getErrorCellValue());
+            default -> "";
+        };
+    }
+
+    /**
+     * Converts the result of a formula cell, read from the evaluator or, when the
+     * formula cannot be evaluated, from the result cached in the file.
+     *
+     * @param cell      The formula cell.
+     * @param colNum    The index of the column.
+     * @param evaluator The formula evaluator of the workbook.
+     * @return The string value of the result.
+     */
+    private String formulaResult(Cell cell, int colNum, Supplier<FormulaEvaluator> evaluator) {
+        CellValue value;
+        try {
+            value = evaluator.get().evaluate(cell);
+        } catch (RuntimeException ex) {
+            log.warn("Unable to evaluate the formula '{}' of cell {}, reading its cached result: {}",
+                    cell.getCellFormula(), cell.getAddress(), ex.getMessage());
+            return switch (cell.getCachedFormulaResultType()) {
+                case STRING -> text(colNum, cell.getStringCellValue());
+                case NUMERIC -> number(colNum, cell.getNumericCellValue(), cell);
+                case BOOLEAN -> bool(colNum, cell.getBooleanCellValue());
+                case ERROR -> error(cell.getErrorCellValue());
+                default -> "";
+            };
+        }
+        if (value == null) return "";
+        return switch (value.getCellType()) {
+            case STRING -> text(colNum, value.getStringValue());
+            case NUMERIC -> number(colNum, value.getNumberValue(), cell);
+            case BOOLEAN -> bool(colNum, value.getBooleanValue());
+            case ERROR -> error(value.getErrorValue());
+            default -> "";
+        };
+    }
+
+    private String number(int colNum, double value, Cell cell) {
+        if (type(colNum) == ColumnType.TEXT) {
+            CellStyle style = cell.getCellStyle();
+            return formatted(value, style.getDataFormat(), style.getDataFormatString());
+        }
+        return number(colNum, value);
+    }
+
+    /**
+     * Converts a string cell.
+     *
+     * @param colNum The index of the column.
+     * @param value  The string of the cell.
+     * @return The string value of the cell.
+     */
+    String text(int colNum, String value) {
+        return switch (type(colNum)) {
+            case NUMBER -> {
+                try {
+                    yield numberToText(Double.parseDouble(value.trim()));
+                } catch (NumberFormatException ex) {
+                    yield value;
+                }
+            }
+            case BOOLEAN -> switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "true", "yes", "y", "1" -> "true";
+                case "false", "no", "n", "0" -> "false";
+                default -> value;
+            };
+            default -> value;
+        };
+    }
+
+    /**
+     * Converts a numeric cell of a column that is not a {@link ColumnType#TEXT} column.
+     *
+     * @param colNum The index of the column.
+     * @param value  The number of the cell.
+     * @return The string value of the cell.
+     */
+    String number(int colNum, double value) {
+        return switch (type(colNum)) {
+            case DATE -> {
+                if (!DateUtil.isValidExcelDate(value)) {
+                    yield numberToText(value);
+                }
+                LocalDateTime dateTime = DateUtil.getLocalDateTime(value);
+                yield dateTime.toLocalTime().equals(LocalTime.MIDNIGHT)
+                        ? dateTime.toLocalDate().toString() : dateTime.toString();
+            }
+            case BOOLEAN -> String.valueOf(value != 0);
+            default -> numberToText(value);
+        };
+    }
+
+    /**
+     * Formats a number with the number format of its cell, as Excel displays it.
+     *
+     * @param value        The number of the cell.
+     * @param formatIndex  The index of the number format.
+     * @param formatString The number format, or {@code null} if not known.
+     * @return The displayed text of the number.
+     */
+    String formatted(double value, int formatIndex, String formatString) {
+        if (formatString == null) {
+            return numberToText(value);
+        }
+        if (dataFormatter == null) {
+            dataFormatter = new DataFormatter();
+        }
+        return dataFormatter.formatRawCellContents(value, formatIndex, formatString);
+    }
+
+    /**
+     * Converts a boolean cell.
+     *
+     * @param colNum The index of the column.
+     * @param value  The boolean of the cell.
+     * @return The string value of the cell.
+     */
+    String bool(int colNum, boolean value) {
+        if (type(colNum) == ColumnType.NUMBER) {
+            return value ? "1" : "0";
+        }
+        return value ? "true" : "false";
+    }
+
+    /**
+     * Converts an error cell to its error code.
+     *
+     * @param code The error code of the cell.
+     * @return The error code as a string.
+     */
+    String error(byte code) {
+        return String.valueOf(code);
+    }
+
+    /**
+     * Writes a number as its shortest decimal text, writing the integral numbers below
+     * 10^15 directly as longs.
+     *
+     * @param value The number to write.
+     * @return The text of the number, as written by {@link NumberToTextConverter}.
+     */
+    static String numberToText(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < MAX_PLAIN_INTEGER) {
+            return Long.toString((long) value);
+        }
+        return NumberToTextConverter.toText(value);
+    }
+
+}
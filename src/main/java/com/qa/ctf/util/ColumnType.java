@@ -0,0 +1,48 @@
+package com.qa.ctf.util;
+
+/**
+ * The {@code ColumnType} enum sets how the cells of a test data column are converted to
+ * strings when an Excel sheet is read.
+ *
+ * <p>Note:
+ * The type of a column is set by its header with the {@code TestDataColumnTypes}
+ * system property, e.g. {@code -DTestDataColumnTypes=zipcode:TEXT,dob:DATE}. The
+ * columns without a type are read as {@link #AUTO}.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public enum ColumnType {
+
+    /**
+     * Strings and booleans as they are, and numbers as their shortest decimal text, e.g.
+     * {@code 600001} or {@code 12.5}.
+     */
+    AUTO,
+
+    /**
+     * The text as displayed by Excel with the number format of the cell, e.g. a zipcode
+     * formatted as {@code 00000} keeps its leading zeros.
+     */
+    TEXT,
+
+    /**
+     * Numbers as their shortest decimal text, with the numeric strings normalized the
+     * same way, and booleans as {@code 1} or {@code 0}.
+     */
+    NUMBER,
+
+    /**
+     * Date cells as ISO-8601 dates, e.g. {@code 2025-03-01}, or as ISO-8601 date-times
+     * when they have a time of day.
+     */
+    DATE,
+
+    /**
+     * Booleans as {@code true} or {@code false}, with numbers other than 0 and the
+     * strings {@code yes}, {@code y} and {@code 1} read as {@code true}, and
+     * {@code no}, {@code n} and {@code 0} as {@code false}.
+     */
+    BOOLEAN
+
+}
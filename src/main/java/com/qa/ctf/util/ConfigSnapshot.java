@@ -0,0 +1,150 @@
+package com.qa.ctf.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The ConfigSnapshot class holds the values of a configuration file as loaded at one
+ * point in time, so that the scenarios of a run can read the configuration from any
+ * thread without locking and without re-reading the file.
+ *
+ * <p>Features:
+ * <ul>
+ *     <li>Keep an immutable copy of the configuration file values.</li>
+ *     <li>Resolve a key from the system properties, then the environment, then the
+ *     configuration file, once per snapshot.</li>
+ *     <li>Cache the typed value converted from a resolved key, once per snapshot.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * The resolved and typed values are cached in the snapshot they were resolved from. A
+ * new snapshot, published after the configuration file changed, starts with empty
+ * caches, so no stale value outlives its snapshot.
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * ConfigSnapshot snapshot = ConfigSnapshot.of(configFile, properties);
+ * Optional<String> browser = snapshot.resolve("Browser");
+ * RunType runType = snapshot.resolveTyped("RunType", value -> RunType.valueOf(value.orElseThrow()));
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public final class ConfigSnapshot {
+
+    // Logger instance for the ConfigSnapshot class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(ConfigSnapshot.class);
+
+    // The configuration file the snapshot was loaded from
+    private final Path source;
+
+    // Immutable copy of the configuration file values
+    private final Map<String, String> fileValues;
+
+    // Values resolved from the system properties, the environment or the file
+    private final Map<String, Optional<String>> resolvedValues = new ConcurrentHashMap<>();
+
+    // Typed values converted from the resolved values
+    private final Map<String, Object> typedValues = new ConcurrentHashMap<>();
+
+    private ConfigSnapshot(Path source, Map<String, String> fileValues) {
+        this.source = source;
+        this.fileValues = Map.copyOf(fileValues);
+    }
+
+    /**
+     * Creates a snapshot of the loaded configuration file values.
+     *
+     * @param source     The configuration file the values were loaded from.
+     * @param properties The loaded configuration file values.
+     * @return The snapshot of the values.
+     */
+    public static ConfigSnapshot of(Path source, Properties properties) {
+        Map<String, String> fileValues = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            fileValues.put(key, properties.getProperty(key).strip());
+        }
+        return new ConfigSnapshot(source, fileValues);
+    }
+
+    /**
+     * Returns the configuration file the snapshot was loaded from.
+     *
+     * @return The path of the configuration file.
+     */
+    public Path getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the value of the key in the configuration file.
+     *
+     * @param key The key to look up.
+     * @return The value of the key, or an empty optional if the key is not present.
+     */
+    public Optional<String> fileValue(String key) {
+        return Optional.ofNullable(fileValues.get(key));
+    }
+
+    /**
+     * Resolves the key from the system properties, then the environment, then the
+     * configuration file.
+     * <p>
+     * The first non-blank value wins. The result is cached, so that each key is only
+     * resolved once per snapshot.
+     * </p>
+     *
+     * @param key The key to resolve.
+     * @return The resolved value, or an empty optional if no source has the key.
+     */
+    public Optional<String> resolve(String key) {
+        return resolvedValues.computeIfAbsent(key, name -> {
+            String value = System.getProperty(name);
+            if (value != null && !value.isBlank()) {
+                log.info("The '{}' value is specified from the MVN CMD LINE ARGS.", name);
+                return Optional.of(value.strip());
+            }
+            value = System.getenv(name);
+            if (value != null && !value.isBlank()) {
+                log.info("The '{}' value is specified from the ENVIRONMENT.", name);
+                return Optional.of(value.strip());
+            }
+            Optional<String> fileValue = fileValue(name).filter(data -> !data.isEmpty());
+            if (fileValue.isPresent()) {
+                log.info("The '{}' value is specified from the CONFIG FILE.", name);
+            } else {
+                log.warn("Value for key '{}' not found in system properties, environment or property file.", name);
+            }
+            return fileValue;
+        });
+    }
+
+    /**
+     * Resolves the key and converts it to a typed value, once per snapshot.
+     * <p>
+     * A conversion that fails is not cached, so the error is raised again on the
+     * next call.
+     * </p>
+     *
+     * @param key       The key to resolve.
+     * @param converter The conversion of the resolved value to the typed value.
+     * @param <T>       The type of the value.
+     * @return The typed value.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T resolveTyped(String key, Function<Optional<String>, T> converter) {
+        return (T) typedValues.computeIfAbsent(key, name -> converter.apply(resolve(name)));
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.qa.ctf.util;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code CsvDataSource} class is the {@link TestDataSource} of the CSV files, which
+ * scans the memory-mapped file and decodes a value only when it is read.
+ *
+ * <p>Features:
+ * <ul>
+ *   <li>Take the first non-blank record as the header row.</li>
+ *   <li>Support quoted fields with doubled quotes, commas and line breaks, and both
+ *   {@code LF} and {@code CRLF} line endings.</li>
+ *   <li>Read missing fields as empty values, ignore fields beyond the last header and
+ *   skip blank lines.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>Throws {@link ExceptionHub.ConfigTypeException} if the file cannot be found.</li>
+ *   <li>Throws {@link ExceptionHub.ExcelException} if the sheet name is not the name of
+ *   the file.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * The file has a single sheet, named after the file without its extension.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public final class CsvDataSource implements TestDataSource {
+
+    // The path of the CSV file
+    private final Path file;
+
+    // The name of the single sheet of the file
+    private final String sheetName;
+
+    /**
+     * Constructs a CsvDataSource for the given file.
+     *
+     * @param file The path of the CSV file.
+     */
+    public CsvDataSource(Path file) {
+        this.file = file;
+        String fileName = file.getFileName().toString();
+        int extension = fileName.lastIndexOf('.');
+        this.sheetName = extension > 0 ? fileName.substring(0, extension) : fileName;
+    }
+
+    @Override
+    public List<String> getSheetNames() {
+        return List.of(sheetName);
+    }
+
+    @Override
+    public TestDataTable getTable(String sheetName) {
+        if (!this.sheetName.equals(sheetName)) {
+            throw new ExceptionHub.ExcelException(String.format("Sheet '%s' not found in '%s'.", sheetName, file));
+        }
+        ByteBuffer buffer = MappedCells.map(file);
+        Record record = new Record();
+        int position = buffer.position();
+        do {
+            position = record.read(buffer, position);
+        } while (record.isBlank() && position < buffer.limit());
+        if (record.isBlank()) {
+            return TestDataTable.builder().build();
+        }
+
+        String[] headers = new String[record.size()];
+        for (int colNum = 0; colNum < headers.length; colNum++) {
+            headers[colNum] = record.decode(buffer, colNum);
+        }
+        MappedCells.Builder cells = new MappedCells.Builder(buffer, headers.length);
+        while (position < buffer.limit()) {
+            position = record.read(buffer, position);
+            if (record.isBlank()) {
+                continue;
+            }
+            int rowNum = cells.addRow();
+            for (int colNum = 0; colNum < Math.min(headers.length, record.size()); colNum++) {
+                cells.set(rowNum, colNum, record.starts.get(colNum), record.ends.get(colNum),
+                        record.encodings.get(colNum));
+            }
+        }
+        return TestDataTable.of(headers, cells.rowCount(), cells.build());
+    }
+
+    /**
+     * The offsets of the fields of the record being read, reused from record to record.
+     */
+    private static final class Record {
+
+        // Offsets and encodings of the fields
+        private final List<Integer> starts = new ArrayList<>();
+        private final List<Integer> ends = new ArrayList<>();
+        private final List<Byte> encodings = new ArrayList<>();
+
+        /**
+         * Reads the record at the position.
+         *
+         * @param buffer   The memory-mapped file.
+         * @param position The offset of the record.
+         * @return The offset of the next record.
+         */
+        private int read(ByteBuffer buffer, int position) {
+            starts.clear();
+            ends.clear();
+            encodings.clear();
+            int limit = buffer.limit();
+            while (true) {
+                int start = position;
+                int end;
+                byte encoding = MappedCells.PLAIN;
+                if (position < limit && buffer.get(position) == '"') {
+                    start = ++position;
+                    while (position < limit) {
+                        if (buffer.get(position) == '"') {
+                            if (position + 1 < limit && buffer.get(position + 1) == '"') {
+                                encoding = MappedCells.CSV_QUOTED;
+                                position += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        position++;
+                    }
+                    end = position;
+                    while (position < limit && !isDelimiter(buffer.get(position))) {
+                        position++;
+                    }
+                } else {
+                    while (position < limit && !isDelimiter(buffer.get(position))) {
+                        position++;
+                    }
+                    end = position;
+                }
+                starts.add(start);
+                ends.add(end);
+                encodings.add(encoding);
+
+                if (position >= limit) {
+                    return position;
+                }
+                byte delimiter = buffer.get(position++);
+                if (delimiter == '\r' && position < limit && buffer.get(position) == '\n') {
+                    return position + 1;
+                }
+                if (delimiter != ',') {
+                    return position;
+                }
+            }
+        }
+
+        private static boolean isDelimiter(byte value) {
+            return value == ',' || value == '\n' || value == '\r';
+        }
+
+        /**
+         * Checks whether the record is a blank line.
+         *
+         * @return {@code true} if the record has a single empty field, otherwise
+         * {@code false}.
+         */
+        private boolean isBlank() {
+            return starts.size() == 1 && starts.getFirst().equals(ends.getFirst());
+        }
+
+        private int size() {
+            return starts.size();
+        }
+
+        private String decode(ByteBuffer buffer, int colNum) {
+            return MappedCells.decode(buffer, starts.get(colNum), ends.get(colNum), encodings.get(colNum));
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.qa.ctf.util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The {@code DataColumn} annotation names the test data column bound to a record
+ * component by {@link RecordMapper}.
+ *
+ * <p>Note:
+ * A record component without the annotation is bound to the column with the name of
+ * the component.
+ *
+ * <p>Example Usage:
+ * <pre>
+ * {@code
+ * public record BillingDetails(@DataColumn("firstname") String billingFirstName, ...) {
+ * }
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.RECORD_COMPONENT, ElementType.PARAMETER})
+public @interface DataColumn {
+
+    /**
+     * The header of the column.
+     *
+     * @return The header of the column.
+     */
+    String value();
+
+}
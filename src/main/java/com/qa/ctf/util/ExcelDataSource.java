@@ -0,0 +1,86 @@
+package com.qa.ctf.util;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The {@code ExcelDataSource} class is the {@link TestDataSource} of the Excel files,
+ * reading them with {@link ExcelReader}.
+ *
+ * <p>Features:
+ * <ul>
+ *   <li>Read the sheets from the test data snapshot when enabled, otherwise from the
+ *   workbook, in streaming mode when requested.</li>
+ *   <li>Keep one read-only workbook open for all the sheets read through the data
+ *   source, until it is closed, so that a workbook is parsed once per data source.</li>
+ *   <li>Open the file for each sheet in streaming mode, so that several sheets can be
+ *   read in parallel.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>Throws {@link ExceptionHub.ExcelException} if the sheet is not found or cannot
+ *   be read.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * The workbook of a data source is not safe to share between threads, so each
+ * thread reading several sheets in parallel opens a data source of its own.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.1
+ */
+public final class ExcelDataSource implements TestDataSource {
+
+    // The path of the Excel file
+    private final Path file;
+
+    // Flag to read an .xlsx file in streaming mode
+    private final boolean streaming;
+
+    // Reader of the workbook, opened with the first sheet read in workbook mode
+    private ExcelReader excelReader;
+
+    /**
+     * Constructs an ExcelDataSource for the given file.
+     *
+     * @param file      The path of the Excel file.
+     * @param streaming {@code true} to read an .xlsx file in streaming mode.
+     */
+    public ExcelDataSource(Path file, boolean streaming) {
+        this.file = file;
+        this.streaming = streaming;
+    }
+
+    @Override
+    public List<String> getSheetNames() {
+        return ExcelReader.readSheetNames(file);
+    }
+
+    @Override
+    public TestDataTable getTable(String sheetName) {
+        if (streaming || ExcelReader.isSnapshotEnabled()) {
+            return ExcelReader.readTable(file, sheetName, streaming);
+        }
+        if (excelReader == null) {
+            excelReader = new ExcelReader(file.toString());
+        }
+        return excelReader.getTable(sheetName);
+    }
+
+    @Override
+    public void close() {
+        if (excelReader == null) {
+            return;
+        }
+        try {
+            excelReader.close();
+        } catch (IOException ex) {
+            throw new ExceptionHub.ExcelException("Unable to close the excel file: " + file, ex);
+        } finally {
+            excelReader = null;
+        }
+    }
+
+}
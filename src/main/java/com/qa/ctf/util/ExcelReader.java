@@ -3,13 +3,16 @@ package com.qa.ctf.util;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.ss.util.NumberToTextConverter;
 
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.stream.Stream;
+
+import static com.qa.ctf.constant.TestConstants.*;
 
 /**
  * The {@code ExcelReader} class provides utility methods to read data from Excel files.
@@ -18,12 +21,29 @@ import java.util.*;
  * where each map represents a row with column headers as keys and corresponding cell values
  * as values.
  * </p>
+ * <p>
+ * The rows are held in a columnar {@link TestDataTable}, with one header array and one
+ * array of values per column. The list of maps is a read-only view on that table.
+ * </p>
+ * <p>
+ * An .xlsx file can also be read in streaming mode, which parses the sheet XML with the
+ * POI event API instead of loading the whole workbook, so that the memory use stays
+ * flat whatever the size of the sheet. The sheets can also be read from a binary
+ * snapshot of the workbook, see {@link TestDataSnapshot}.
+ * </p>
  *
  * <p>Features:
  * <ul>
  *   <li>Read Excel data into a structured list of maps.</li>
- *   <li>Support for both string and numeric data.</li>
+ *   <li>Support for both string and numeric data, converted per column with
+ *   {@link CellConverter}.</li>
+ *   <li>Read formula cells as their evaluated result, with one formula evaluator per
+ *   workbook.</li>
+ *   <li>Open the workbook read-only, so that closing it never writes the file back
+ *   and changes its modification time.</li>
  *   <li>Handles empty rows and missing values gracefully.</li>
+ *   <li>Stream the rows of a sheet one at a time, in both the workbook and the
+ *   streaming mode.</li>
  * </ul>
  *
  * <p>Exception Handling:
@@ -46,19 +66,31 @@ import java.util.*;
  *     }
  * }
  * }
+ *
+ * try (ExcelReader excelReader = new ExcelReader("data.xlsx", true);
+ *      Stream<Map<String, String>> rows = excelReader.stream("Sheet1")) {
+ *     rows.forEach(System.out::println);
+ * }
+ * }
  * </pre>
  *
  * @author Jagatheshwaran N
- * @version 1.0
+ * @version 1.6
  */
 public class ExcelReader implements Closeable {
 
     // Logger instance for the ExcelReader class to enable logging during the execution
     private static final Logger log = LogManager.getLogger(ExcelReader.class);
 
-    // Workbook to represent the Excel workbook object
+    // Workbook to represent the Excel workbook object, or null in streaming mode
     private final Workbook workbook;
 
+    // Streamer of the sheet rows in streaming mode, or null in workbook mode
+    private final XlsxSheetStreamer streamer;
+
+    // Formula evaluator of the workbook, created when the first formula cell is read
+    private FormulaEvaluator formulaEvaluator;
+
     /**
      * Constructs an ExcelReader instance for the specified file.
      *
@@ -68,11 +100,40 @@ public class ExcelReader implements Closeable {
      *                                          be loaded.
      */
     public ExcelReader(String filePath) {
+        this(filePath, false);
+    }
+
+    /**
+     * Constructs an ExcelReader instance for the specified file, in streaming mode when
+     * requested.
+     * <p>
+     * Streaming mode only applies to .xlsx files. Other files are loaded as a workbook.
+     * </p>
+     *
+     * @param filePath  path to the Excel file (.xlsx or .xls).
+     * @param streaming {@code true} to read an .xlsx file in streaming mode.
+     * @throws IllegalArgumentException         if filePath is null or empty.
+     * @throws ExceptionHub.ConfigTypeException If the file is not found or cannot
+     *                                          be loaded.
+     */
+    public ExcelReader(String filePath, boolean streaming) {
         if (filePath == null || filePath.trim().isEmpty()) {
             throw new IllegalArgumentException("File path cannot be null or empty");
         }
+        if (streaming && filePath.toLowerCase(Locale.ROOT).endsWith(".xlsx")) {
+            File file = new File(filePath);
+            if (!file.isFile()) {
+                log.error("The excel file was not found at the given path: '{}'", filePath);
+                throw new ExceptionHub.ConfigTypeException(filePath);
+            }
+            this.workbook = null;
+            this.streamer = new XlsxSheetStreamer(file);
+            log.info("Reading the excel file '{}' in streaming mode", filePath);
+            return;
+        }
+        this.streamer = null;
         try {
-            this.workbook = WorkbookFactory.create(new File(filePath));
+            this.workbook = WorkbookFactory.create(new File(filePath), null, true);
         } catch (FileNotFoundException ex) {
             log.error("The excel file was not found at the given path: '{}'", filePath, ex);
             throw new ExceptionHub.ConfigTypeException(filePath, ex);
@@ -82,6 +143,96 @@ public class ExcelReader implements Closeable {
         }
     }
 
+    /**
+     * Reads the specified sheet of the file into a table, in the mode selected with
+     * the system properties.
+     * <p>
+     * With {@code TestDataSnapshot} the sheet is read from the memory-mapped snapshot
+     * of the workbook, which is rebuilt first when the workbook is newer. Otherwise
+     * the workbook is read, in streaming mode with {@code ExcelStreaming}.
+     * </p>
+     *
+     * @param file      The path of the Excel file.
+     * @param sheetName name of the sheet to read.
+     * @return The table of the sheet rows.
+     * @throws ExceptionHub.ExcelException If the sheet cannot be read or doesn't exist.
+     */
+    public static TestDataTable readTable(Path file, String sheetName) {
+        return readTable(file, sheetName, System.getProperty(EXCEL_STREAMING, OPTION_NO).equalsIgnoreCase(OPTION_YES));
+    }
+
+    /**
+     * Reads the specified sheet of the file into a table, from the snapshot when
+     * enabled, otherwise in the given mode.
+     * <p>
+     * In streaming mode each call opens a read-only package of its own, so several
+     * sheets of the same .xlsx file can be read in parallel.
+     * </p>
+     *
+     * @param file      The path of the Excel file.
+     * @param sheetName name of the sheet to read.
+     * @param streaming {@code true} to read an .xlsx file in streaming mode.
+     * @return The table of the sheet rows.
+     * @throws ExceptionHub.ExcelException If the sheet cannot be read or doesn't exist.
+     */
+    static TestDataTable readTable(Path file, String sheetName, boolean streaming) {
+        if (isSnapshotEnabled()) {
+            return TestDataSnapshot.load(file, Path.of(CWD + TEST_DATA_SNAPSHOT_PATH)).getTable(sheetName);
+        }
+        try (ExcelReader excelReader = new ExcelReader(file.toString(), streaming)) {
+            return excelReader.getTable(sheetName);
+        } catch (IOException ex) {
+            log.warn("Unable to close the excel file '{}': {}", file, ex.getMessage());
+            throw new ExceptionHub.ExcelException("Unable to close the excel file: " + file, ex);
+        }
+    }
+
+    /**
+     * Returns the names of the sheets of the file, from the snapshot when enabled,
+     * otherwise without loading the workbook when it is an .xlsx file.
+     *
+     * @param file The path of the Excel file.
+     * @return The sheet names, in workbook order.
+     * @throws ExceptionHub.ExcelException If the file cannot be read.
+     */
+    public static List<String> readSheetNames(Path file) {
+        if (isSnapshotEnabled()) {
+            return TestDataSnapshot.load(file, Path.of(CWD + TEST_DATA_SNAPSHOT_PATH)).getSheetNames();
+        }
+        try (ExcelReader excelReader = new ExcelReader(file.toString(), true)) {
+            return excelReader.getSheetNames();
+        } catch (IOException ex) {
+            log.warn("Unable to close the excel file '{}': {}", file, ex.getMessage());
+            throw new ExceptionHub.ExcelException("Unable to close the excel file: " + file, ex);
+        }
+    }
+
+    /**
+     * Checks whether the sheets are read from the test data snapshot.
+     *
+     * @return {@code true} if the {@code TestDataSnapshot} system property is set to
+     * {@code Yes}, otherwise {@code false}.
+     */
+    static boolean isSnapshotEnabled() {
+        return System.getProperty(TEST_DATA_SNAPSHOT, OPTION_NO).equalsIgnoreCase(OPTION_YES);
+    }
+
+    /**
+     * Returns the names of the sheets of the workbook, in workbook order.
+     *
+     * @return The sheet names.
+     */
+    public List<String> getSheetNames() {
+        if (streamer != null) {
+            return streamer.sheetNames();
+        }
+        List<String> sheetNames = new ArrayList<>();
+        for (int sheetIndex = 0; sheetIndex < workbook.getNumberOfSheets(); sheetIndex++) {
+            sheetNames.add(workbook.getSheetName(sheetIndex));
+        }
+        return sheetNames;
+    }
+
     /**
      * Reads data from the specified sheet by name.
      *
@@ -90,6 +241,32 @@ public class ExcelReader implements Closeable {
      * @throws ExceptionHub.ExcelException If sheetName is null or sheet doesn't exist.
      */
     public List<Map<String, String>> getData(String sheetName) {
+        return getTable(sheetName).asMaps();
+    }
+
+    /**
+     * Reads data from the sheet at the specified index (0-based).
+     *
+     * @param sheetIndex Index of the sheet to read.
+     * @return List of maps representing rows (key=column header, value=cell content).
+     * @throws IndexOutOfBoundsException If sheetIndex is invalid.
+     * @throws ExceptionHub.ExcelException  If the sheet is not found.
+     */
+    public List<Map<String, String>> getData(int sheetIndex) {
+        return getTable(sheetIndex).asMaps();
+    }
+
+    /**
+     * Reads the specified sheet by name into a columnar {@link TestDataTable}.
+     *
+     * @param sheetName name of the sheet to read.
+     * @return The table of the sheet rows.
+     * @throws ExceptionHub.ExcelException If sheetName is null or sheet doesn't exist.
+     */
+    public TestDataTable getTable(String sheetName) {
+        if (streamer != null) {
+            return streamer.readTable(Objects.requireNonNull(sheetName, "Sheet name cannot be null"), -1);
+        }
         Sheet sheet = workbook.getSheet(sheetName);
         if (sheet == null) {
             throw new ExceptionHub.ExcelException(
@@ -99,14 +276,18 @@ public class ExcelReader implements Closeable {
     }
 
     /**
-     * Reads data from the sheet at the specified index (0-based).
+     * Reads the sheet at the specified index (0-based) into a columnar
+     * {@link TestDataTable}.
      *
      * @param sheetIndex Index of the sheet to read.
-     * @return List of maps representing rows (key=column header, value=cell content).
+     * @return The table of the sheet rows.
      * @throws IndexOutOfBoundsException If sheetIndex is invalid.
      * @throws ExceptionHub.ExcelException  If the sheet is not found.
      */
-    public List<Map<String, String>> getData(int sheetIndex) {
+    public TestDataTable getTable(int sheetIndex) {
+        if (streamer != null) {
+            return streamer.readTable(null, sheetIndex);
+        }
         if (sheetIndex < 0 || sheetIndex >= workbook.getNumberOfSheets()) {
             throw new IndexOutOfBoundsException("Invalid sheet index: " + sheetIndex);
         }
@@ -119,35 +300,76 @@ public class ExcelReader implements Closeable {
     }
 
     /**
-     * Reads data from the given sheet and converts it into a list of maps.
+     * Streams the rows of the specified sheet by name.
+     * <p>
+     * In streaming mode only a few rows are held in memory at a time. The stream
+     * should be closed, preferably with a try-with-resources block, so that the
+     * reading stops when the caller does not consume every row.
+     * </p>
+     *
+     * @param sheetName name of the sheet to read.
+     * @return Stream of maps representing rows (key=column header, value=cell content).
+     * @throws ExceptionHub.ExcelException If sheetName is null or sheet doesn't exist.
+     */
+    public Stream<Map<String, String>> stream(String sheetName) {
+        if (streamer != null) {
+            return streamer.streamSheet(Objects.requireNonNull(sheetName, "Sheet name cannot be null"), -1);
+        }
+        return getData(sheetName).stream();
+    }
+
+    /**
+     * Streams the rows of the sheet at the specified index (0-based).
+     *
+     * @param sheetIndex Index of the sheet to read.
+     * @return Stream of maps representing rows (key=column header, value=cell content).
+     * @throws IndexOutOfBoundsException If sheetIndex is invalid.
+     */
+    public Stream<Map<String, String>> stream(int sheetIndex) {
+        if (streamer != null) {
+            return streamer.streamSheet(null, sheetIndex);
+        }
+        return getData(sheetIndex).stream();
+    }
+
+    /**
+     * Reads data from the given sheet and converts it into a columnar table.
+     * <p>
+     * The header cells are read once, and the data rows are stored column by
+     * column instead of as one map per row. The cells are converted with the
+     * column types of the headers.
+     * </p>
      *
      * @param sheet The sheet to read.
-     * @return A list of maps representing the sheet row data.
+     * @return A table of the sheet row data.
      */
-    private List<Map<String, String>> readSheet(Sheet sheet) {
-        List<Map<String, String>> excelRows = new ArrayList<>();
+    private TestDataTable readSheet(Sheet sheet) {
         int headerRowNum = getHeaderRowNum(sheet);
 
         if (headerRowNum == -1) {
-            return excelRows; // No headers found
+            return TestDataTable.builder().build(); // No headers found
         }
 
         Row headerRow = sheet.getRow(headerRowNum);
-        int totalColumns = headerRow.getLastCellNum();
+        String[] headers = new String[headerRow.getLastCellNum()];
+        CellConverter headerConverter = new CellConverter();
+        for (int colNum = 0; colNum < headers.length; colNum++) {
+            headers[colNum] = headerConverter.toText(headerRow.getCell(colNum), colNum, this::formulaEvaluator);
+        }
+        CellConverter converter = CellConverter.forHeaders(headers);
 
+        TestDataTable.Builder table = TestDataTable.builder(headers);
+        String[] values = new String[headers.length];
         for (int rowNum = headerRowNum + 1; rowNum <= sheet.getLastRowNum(); rowNum++) {
             Row currentRow = sheet.getRow(rowNum);
             if (currentRow == null) continue; // Skip empty rows
 
-            Map<String, String> rowData = new HashMap<>();
-            for (int colNum = 0; colNum < totalColumns; colNum++) {
-                String header = getCellValueAsString(headerRow.getCell(colNum));
-                String cellValue = getCellValueAsString(currentRow.getCell(colNum));
-                rowData.put(header, cellValue);
+            for (int colNum = 0; colNum < headers.length; colNum++) {
+                values[colNum] = converter.toText(currentRow.getCell(colNum), colNum, this::formulaEvaluator);
             }
-            excelRows.add(rowData);
+            table.addRow(values);
         }
-        return excelRows;
+        return table.build();
     }
 
     /**
@@ -183,20 +405,19 @@ public class ExcelReader implements Closeable {
     }
 
     /**
-     * Converts a cell value to a string representation.
+     * Returns the formula evaluator of the workbook, creating it on first use.
+     * <p>
+     * The evaluator keeps the result of each evaluated cell, so a formula referred to
+     * by other formulas is evaluated once.
+     * </p>
      *
-     * @param cell The cell to convert.
-     * @return The string value of the cell, or empty string for null/blanks.
+     * @return The formula evaluator of the workbook.
      */
-    private String getCellValueAsString(Cell cell) {
-        if (cell == null) return "";
-        return switch (cell.getCellType()) {
-            case STRING -> cell.getStringCellValue();
-            case NUMERIC -> NumberToTextConverter.toText(cell.getNumericCellValue());
-            case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
-            case ERROR -> String.valueOf(cell.getErrorCellValue());
-            default -> "";
-        };
+    private FormulaEvaluator formulaEvaluator() {
+        if (formulaEvaluator == null) {
+            formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
+        }
+        return formulaEvaluator;
     }
 
     /**
@@ -4,7 +4,19 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import com.qa.ctf.constant.TestConstants;
 import org.apache.logging.log4j.LogManager;
@@ -18,10 +30,14 @@ import static com.qa.ctf.constant.TestConstants.*;
  *
  * <p>Features:
  * <ul>
- *     <li>Load a properties file from a specified path into a {@code Properties}
- *      object.</li>
+ *     <li>Load a properties file from a specified path once per run into an immutable
+ *      {@link ConfigSnapshot} that is read without locking.</li>
  *     <li>Retrieve configuration values associated with specific keys from the
  *      properties file.</li>
+ *     <li>Resolve values from the system properties, the environment and the properties
+ *      file, and cache them with their typed conversion.</li>
+ *     <li>Optionally watch the properties file and publish a new snapshot when it
+ *      changes, until the watcher is stopped at the end of the run.</li>
  *     <li>Handle exceptions related to file reading and key retrieval with custom
  *      exception handling.</li>
  *     <li>Support logging for successful file loading and error scenarios using
@@ -46,48 +62,57 @@ import static com.qa.ctf.constant.TestConstants.*;
  * <pre>
  * {@code
  * FileReader.loadPropertyFile(); // Load properties file
- * String apiUrl = FileReader.getDataFromPropFile("api.url"); // Get value for key 'api.url'
+ * String apiUrl = FileReader.fetchDataFromPropFile("api.url"); // Get value for key 'api.url'
  * System.out.println(apiUrl);
  * }
  * </pre>
  *
  * @author Jagatheshwaran N
- * @version 1.2
+ * @version 1.5
  */
 public class FileReader {
 
     // Logger instance for the FileReader class to enable logging during execution
     private static final Logger log = LogManager.getLogger(FileReader.class);
 
-    // Properties object to store key-value pairs from a properties file
-    private static final Properties properties = new Properties();
+    // Snapshot of the loaded configuration file, replaced as a whole when the file is reloaded
+    private static final AtomicReference<ConfigSnapshot> snapshot = new AtomicReference<>();
+
+    // Flag to start the watcher of the configuration file only once
+    private static final AtomicBoolean watching = new AtomicBoolean();
+
+    // Watch service of the configuration file watcher, closed when the watcher is stopped
+    private static final AtomicReference<WatchService> watchService = new AtomicReference<>();
+
+    // Thread of the configuration file watcher, joined when the watcher is stopped
+    private static final AtomicReference<Thread> watcherThread = new AtomicReference<>();
 
     /**
-     * Loads the configuration property file into the {@code properties} object.
+     * Loads the configuration property file once per run.
      * <p>
-     * This method attempts to read the configuration file from the specified path and
-     * load its key-value pairs into the {@code properties} object. If the file is not
-     * found or an error occurs during the loading process, it throws a custom exception
-     * with relevant details.
+     * This method reads the configuration file of the environment type and publishes
+     * its key-value pairs as an immutable {@link ConfigSnapshot}. Later calls return
+     * without reading the file again, unless the environment type points to another
+     * file. If the file is not found or an error occurs during the loading process,
+     * it throws a custom exception with relevant details. When {@code ConfigWatch} is
+     * set to {@code Yes}, the file is watched and reloaded when it changes.
      * </p>
      *
      * @throws ExceptionHub.ConfigTypeException If the file is not found or an error
      *                                          occurs while loading it.
      */
     public static void loadPropertyFile() {
-        String envType = System.getProperty(ENV_TYPE, STAGE).toLowerCase();
-        String updatedFilePath = CONFIG_FILE_PATH.replace("$", envType);
-        FileInputStream fileInputStream;
-        try {
-            fileInputStream = new FileInputStream(CWD + updatedFilePath);
-            properties.load(fileInputStream);
-            log.info("The configuration file is loaded!!");
-        } catch (FileNotFoundException ex) {
-            log.error("The configuration file not found on the given path: '{}'", CONFIG_FILE_PATH, ex);
-            throw new ExceptionHub.ConfigTypeException(CONFIG_FILE_PATH, ex);
-        } catch (IOException ex) {
-            log.error("Error occurred while loading the configuration file", ex);
-            throw new ExceptionHub.ConfigTypeException("Error occurred while loading configuration file", ex);
+        Path configFile = configFilePath();
+        ConfigSnapshot current = snapshot.get();
+        if (current == null || !current.getSource().equals(configFile)) {
+            ConfigSnapshot loaded = readSnapshot(configFile);
+            if (snapshot.compareAndSet(current, loaded)) {
+                log.info("The configuration file is loaded!!");
+            }
+        }
+        if (System.getProperty(CONFIG_WATCH, OPTION_NO).equalsIgnoreCase(OPTION_YES)
+                && watching.compareAndSet(false, true)) {
+            watchPropertyFile(configFile);
         }
     }
 
@@ -106,9 +131,8 @@ public class FileReader {
     public static String fetchDataFromPropFile(String key) {
         String data = null;
         if (key != null) {
-            data = properties.getProperty(key);
+            data = getConfigSnapshot().fileValue(key).orElse(null);
             if (data != null) {
-                data = data.strip();
                 log.info("The '{}' data fetched from the configuration file", data);
             } else {
                 log.error("The key '{}' is not present in the configuration file", key);
@@ -118,6 +142,170 @@ public class FileReader {
         return data;
     }
 
-}
+    /**
+     * Resolves the value of the key from the system properties, then the environment,
+     * then the property file.
+     * <p>
+     * The value is resolved once per configuration snapshot and cached.
+     * </p>
+     *
+     * @param key The key to resolve.
+     * @return The resolved value, or an empty optional if no source has the key.
+     */
+    public static Optional<String> resolveValue(String key) {
+        return getConfigSnapshot().resolve(key);
+    }
+
+    /**
+     * Resolves the value of the key and converts it to a typed value.
+     * <p>
+     * The typed value is converted once per configuration snapshot and cached, so that
+     * the factories do not parse the same setting for every scenario.
+     * </p>
+     *
+     * @param key       The key to resolve.
+     * @param converter The conversion of the resolved value to the typed value.
+     * @param <T>       The type of the value.
+     * @return The typed value.
+     */
+    public static <T> T resolveTypedValue(String key, Function<Optional<String>, T> converter) {
+        return getConfigSnapshot().resolveTyped(key, converter);
+    }
+
+    /**
+     * Returns the current configuration snapshot, loading the property file if it has
+     * not been loaded yet.
+     *
+     * @return The current {@link ConfigSnapshot}.
+     */
+    public static ConfigSnapshot getConfigSnapshot() {
+        ConfigSnapshot current = snapshot.get();
+        if (current == null) {
+            loadPropertyFile();
+            current = snapshot.get();
+        }
+        return current;
+    }
+
+    /**
+     * Stops the watcher of the configuration file, if it was started.
+     * <p>
+     * The watch service is closed and the watcher thread is interrupted and joined, so
+     * that no watcher outlives the run. The next {@link #loadPropertyFile()} with
+     * {@code ConfigWatch} set to {@code Yes} starts a new watcher.
+     * </p>
+     */
+    public static void stopWatching() {
+        WatchService service = watchService.getAndSet(null);
+        Thread watcher = watcherThread.getAndSet(null);
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException ex) {
+                log.warn("Unable to close the configuration file watcher: {}", ex.getMessage());
+            }
+        }
+        if (watcher != null) {
+            watcher.interrupt();
+            try {
+                watcher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            log.info("The configuration file watcher is stopped");
+        }
+        watching.set(false);
+    }
+
+    /**
+     * Returns the path of the configuration file of the environment type.
+     *
+     * @return The path of the configuration file.
+     */
+    private static Path configFilePath() {
+        String envType = System.getProperty(ENV_TYPE, STAGE).toLowerCase();
+        return Path.of(CWD + CONFIG_FILE_PATH.replace("$", envType));
+    }
+
+    /**
+     * Reads the configuration file into a new snapshot.
+     *
+     * @param configFile The path of the configuration file.
+     * @return The snapshot of the file values.
+     * @throws ExceptionHub.ConfigTypeException If the file is not found or an error
+     *                                          occurs while loading it.
+     */
+    private static ConfigSnapshot readSnapshot(Path configFile) {
+        Properties properties = new Properties();
+        try (FileInputStream fileInputStream = new FileInputStream(configFile.toFile())) {
+            properties.load(fileInputStream);
+        } catch (FileNotFoundException ex) {
+            log.error("The configuration file not found on the given path: '{}'", CONFIG_FILE_PATH, ex);
+            throw new ExceptionHub.ConfigTypeException(CONFIG_FILE_PATH, ex);
+        } catch (IOException ex) {
+            log.error("Error occurred while loading the configuration file", ex);
+            throw new ExceptionHub.ConfigTypeException("Error occurred while loading configuration file", ex);
+        }
+        return ConfigSnapshot.of(configFile, properties);
+    }
 
+    /**
+     * Watches the configuration file on a daemon thread and publishes a new snapshot
+     * whenever the file changes.
+     * <p>
+     * Scenarios that already read a value keep it, the next read sees the new
+     * snapshot. A file that cannot be read while it is being written is logged and
+     * picked up by the next change event.
+     * </p>
+     *
+     * @param configFile The path of the configuration file.
+     */
+    private static void watchPropertyFile(Path configFile) {
+        WatchService service;
+        try {
+            service = FileSystems.getDefault().newWatchService();
+        } catch (IOException ex) {
+            log.warn("Unable to watch the configuration file: {}", ex.getMessage());
+            watching.set(false);
+            return;
+        }
+        try {
+            configFile.getParent().register(service,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException ex) {
+            log.warn("Unable to watch the configuration file: {}", ex.getMessage());
+            try {
+                service.close();
+            } catch (IOException closeEx) {
+                log.warn("Unable to close the configuration file watcher: {}", closeEx.getMessage());
+            }
+            watching.set(false);
+            return;
+        }
+        Thread watcher = new Thread(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    WatchKey watchKey = service.take();
+                    for (WatchEvent<?> event : watchKey.pollEvents()) {
+                        if (configFile.getFileName().equals(event.context())) {
+                            try {
+                                snapshot.set(readSnapshot(configFile));
+                                log.info("The configuration file is reloaded!!");
+                            } catch (ExceptionHub.ConfigTypeException ex) {
+                                log.warn("Unable to reload the configuration file: {}", ex.getMessage());
+                            }
+                        }
+                    }
+                    watchKey.reset();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }, "config-watcher");
+        watcher.setDaemon(true);
+        watchService.set(service);
+        watcherThread.set(watcher);
+        watcher.start();
+    }
 
+}
@@ -0,0 +1,411 @@
+package com.qa.ctf.util;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code JsonLinesDataSource} class is the {@link TestDataSource} of the JSON lines
+ * files, which scans the memory-mapped file and decodes a value only when it is read.
+ *
+ * <p>Features:
+ * <ul>
+ *   <li>Read one flat JSON object per line, skipping blank lines.</li>
+ *   <li>Take the keys of all the objects, in first-seen order, as the headers.</li>
+ *   <li>Read strings unescaped, {@code null} and missing keys as empty values, other
+ *   literals as written, and nested objects and arrays as their JSON text.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>Throws {@link ExceptionHub.ConfigTypeException} if the file cannot be found.</li>
+ *   <li>Throws {@link ExceptionHub.ExcelException} if the sheet name is not the name of
+ *   the file.</li>
+ *   <li>Throws {@link ExceptionHub.InvalidDataException} if a line is not a JSON
+ *   object.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * The file has a single sheet, named after the file without its extension. The file is
+ * scanned twice: once for the headers and once for the values. The keys are found by
+ * a hash of their bytes, so that a member is matched to its column without comparing
+ * it with every key.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public final class JsonLinesDataSource implements TestDataSource {
+
+    // The path of the JSON lines file
+    private final Path file;
+
+    // The name of the single sheet of the file
+    private final String sheetName;
+
+    /**
+     * Constructs a JsonLinesDataSource for the given file.
+     *
+     * @param file The path of the JSON lines file.
+     */
+    public JsonLinesDataSource(Path file) {
+        this.file = file;
+        String fileName = file.getFileName().toString();
+        int extension = fileName.lastIndexOf('.');
+        this.sheetName = extension > 0 ? fileName.substring(0, extension) : fileName;
+    }
+
+    @Override
+    public List<String> getSheetNames() {
+        return List.of(sheetName);
+    }
+
+    @Override
+    public TestDataTable getTable(String sheetName) {
+        if (!this.sheetName.equals(sheetName)) {
+            throw new ExceptionHub.ExcelException(String.format("Sheet '%s' not found in '%s'.", sheetName, file));
+        }
+        ByteBuffer buffer = MappedCells.map(file);
+        KeyIndex keys = new KeyIndex(buffer);
+        scan(buffer, (rowNum, start, end, escaped, valueStart, valueEnd, encoding) ->
+                keys.add(start, end, escaped), null);
+
+        String[] headers = new String[keys.size()];
+        for (int colNum = 0; colNum < headers.length; colNum++) {
+            Key key = keys.get(colNum);
+            headers[colNum] = MappedCells.decode(buffer, key.start(), key.end(),
+                    key.escaped() ? MappedCells.JSON_STRING : MappedCells.PLAIN);
+        }
+        MappedCells.Builder cells = new MappedCells.Builder(buffer, headers.length);
+        scan(buffer, (rowNum, start, end, escaped, valueStart, valueEnd, encoding) ->
+                cells.set(rowNum, keys.indexOf(start, end), valueStart, valueEnd, encoding), cells);
+        return TestDataTable.of(headers, cells.rowCount(), cells.build());
+    }
+
+    /**
+     * Scans the objects of the file, line by line, and reports each member to the
+     * visitor.
+     *
+     * @param buffer  The memory-mapped file.
+     * @param visitor The visitor of the members.
+     * @param cells   The builder to add a row to for each object, or {@code null}.
+     */
+    private void scan(ByteBuffer buffer, MemberVisitor visitor, MappedCells.Builder cells) {
+        Scanner scanner = new Scanner(buffer);
+        int rowNum = -1;
+        while (scanner.skipBlankLines()) {
+            if (cells != null) {
+                rowNum = cells.addRow();
+            }
+            scanner.expect('{');
+            scanner.skipSpaces();
+            if (scanner.peek() == '}') {
+                scanner.position++;
+            } else {
+                while (true) {
+                    scanner.skipSpaces();
+                    scanner.expect('"');
+                    int keyStart = scanner.position;
+                    boolean keyEscaped = scanner.skipString();
+                    int keyEnd = scanner.position - 1;
+                    scanner.skipSpaces();
+                    scanner.expect(':');
+                    scanner.skipSpaces();
+
+                    int valueStart = scanner.position;
+                    int valueEnd;
+                    byte encoding = MappedCells.PLAIN;
+                    byte first = scanner.peek();
+                    if (first == '"') {
+                        scanner.position++;
+                        valueStart = scanner.position;
+                        if (scanner.skipString()) {
+                            encoding = MappedCells.JSON_STRING;
+                        }
+                        valueEnd = scanner.position - 1;
+                    } else if (first == '{' || first == '[') {
+                        scanner.skipNested();
+                        valueEnd = scanner.position;
+                    } else {
+                        scanner.skipLiteral();
+                        valueEnd = scanner.position;
+                        if (valueEnd - valueStart == 4 && buffer.get(valueStart) == 'n') {
+                            valueEnd = valueStart;
+                        }
+                    }
+                    visitor.visit(rowNum, keyStart, keyEnd, keyEscaped, valueStart, valueEnd, encoding);
+
+                    scanner.skipSpaces();
+                    byte next = scanner.peek();
+                    scanner.position++;
+                    if (next == '}') {
+                        break;
+                    }
+                    if (next != ',') {
+                        throw scanner.error("',' or '}'");
+                    }
+                }
+            }
+            scanner.skipSpaces();
+            if (scanner.position < buffer.limit() && scanner.peek() != '\n') {
+                throw scanner.error("end of line");
+            }
+        }
+    }
+
+    /**
+     * Visits a member of an object.
+     */
+    @FunctionalInterface
+    private interface MemberVisitor {
+
+        void visit(int rowNum, int keyStart, int keyEnd, boolean keyEscaped, int valueStart, int valueEnd,
+                   byte encoding);
+    }
+
+    /**
+     * The offsets of a key, with a flag telling whether it has escape sequences and the
+     * hash of its bytes.
+     */
+    private record Key(int start, int end, boolean escaped, int hash) {
+    }
+
+    /**
+     * Finds the keys of the file by the hash of their bytes, in an open-addressing table
+     * of key indexes.
+     * <p>
+     * The bytes of a key are hashed once per member, and compared in place with the
+     * bytes of the keys of the same hash only, without copying or slicing the buffer.
+     * </p>
+     */
+    private static final class KeyIndex {
+
+        // The memory-mapped file
+        private final ByteBuffer buffer;
+
+        // The distinct keys, in first-seen order
+        private final List<Key> keys = new ArrayList<>();
+
+        // The index of the key plus one in each slot, or 0 for an empty slot
+        private int[] slots = new int[16];
+
+        private KeyIndex(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private int size() {
+            return keys.size();
+        }
+
+        private Key get(int index) {
+            return keys.get(index);
+        }
+
+        /**
+         * Adds the key between the offsets, unless a key with the same bytes was added.
+         *
+         * @param start   The offset of the first byte of the key.
+         * @param end     The offset after the last byte of the key.
+         * @param escaped Whether the key has escape sequences.
+         */
+        private void add(int start, int end, boolean escaped) {
+            int hash = hash(start, end);
+            int slot = find(start, end, hash);
+            if (slots[slot] == 0) {
+                keys.add(new Key(start, end, escaped, hash));
+                slots[slot] = keys.size();
+                if (keys.size() * 2 > slots.length) {
+                    grow();
+                }
+            }
+        }
+
+        /**
+         * Finds the key with the same bytes as the key between the offsets.
+         *
+         * @param start The offset of the first byte of the key.
+         * @param end   The offset after the last byte of the key.
+         * @return The index of the key, or -1 if not found.
+         */
+        private int indexOf(int start, int end) {
+            return slots[find(start, end, hash(start, end))] - 1;
+        }
+
+        /**
+         * Returns the slot of the key with the same bytes, or the empty slot where it
+         * belongs.
+         */
+        private int find(int start, int end, int hash) {
+            int mask = slots.length - 1;
+            int slot = hash & mask;
+            while (slots[slot] != 0) {
+                Key key = keys.get(slots[slot] - 1);
+                if (key.hash() == hash && sameBytes(key, start, end)) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private boolean sameBytes(Key key, int start, int end) {
+            if (key.end() - key.start() != end - start) {
+                return false;
+            }
+            for (int offset = 0; offset < end - start; offset++) {
+                if (buffer.get(key.start() + offset) != buffer.get(start + offset)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int hash(int start, int end) {
+            int hash = 0;
+            for (int offset = start; offset < end; offset++) {
+                hash = 31 * hash + buffer.get(offset);
+            }
+            return hash ^ (hash >>> 16);
+        }
+
+        private void grow() {
+            slots = new int[slots.length * 2];
+            int mask = slots.length - 1;
+            for (int index = 0; index < keys.size(); index++) {
+                int slot = keys.get(index).hash() & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = index + 1;
+            }
+        }
+    }
+
+    /**
+     * Moves through the buffer, keeping track of the line for the error messages.
+     */
+    private final class Scanner {
+
+        // The memory-mapped file
+        private final ByteBuffer buffer;
+
+        // The current offset and line number
+        private int position;
+        private int lineNumber;
+
+        private Scanner(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.position = buffer.position();
+            this.lineNumber = 1;
+        }
+
+        /**
+         * Skips the blank lines and the line break before the next object.
+         *
+         * @return {@code true} if an object follows, {@code false} at the end of the file.
+         */
+        private boolean skipBlankLines() {
+            while (position < buffer.limit()) {
+                byte value = buffer.get(position);
+                if (value == '\n') {
+                    lineNumber++;
+                } else if (value != ' ' && value != '\t' && value != '\r') {
+                    return true;
+                }
+                position++;
+            }
+            return false;
+        }
+
+        private void skipSpaces() {
+            while (position < buffer.limit()) {
+                byte value = buffer.get(position);
+                if (value != ' ' && value != '\t' && value != '\r') {
+                    return;
+                }
+                position++;
+            }
+        }
+
+        private byte peek() {
+            if (position >= buffer.limit()) {
+                throw error("more input");
+            }
+            return buffer.get(position);
+        }
+
+        private void expect(char expected) {
+            if (peek() != expected) {
+                throw error("'" + expected + "'");
+            }
+            position++;
+        }
+
+        /**
+         * Skips the rest of a string after its opening quote, including the closing quote.
+         *
+         * @return {@code true} if the string has escape sequences, otherwise {@code false}.
+         */
+        private boolean skipString() {
+            boolean escaped = false;
+            while (true) {
+                byte value = peek();
+                position++;
+                if (value == '"') {
+                    return escaped;
+                }
+                if (value == '\\') {
+                    escaped = true;
+                    peek();
+                    position++;
+                } else if (value == '\n') {
+                    throw error("'\"'");
+                }
+            }
+        }
+
+        /**
+         * Skips a nested object or array, including its strings.
+         */
+        private void skipNested() {
+            int depth = 0;
+            do {
+                byte value = peek();
+                position++;
+                if (value == '"') {
+                    skipString();
+                } else if (value == '{' || value == '[') {
+                    depth++;
+                } else if (value == '}' || value == ']') {
+                    depth--;
+                } else if (value == '\n') {
+                    throw error("']' or '}'");
+                }
+            } while (depth > 0);
+        }
+
+        /**
+         * Skips a number, {@code true}, {@code false} or {@code null} literal.
+         */
+        private void skipLiteral() {
+            int start = position;
+            while (position < buffer.limit()) {
+                byte value = buffer.get(position);
+                if (value == ',' || value == '}' || value == ' ' || value == '\t' || value == '\r'
+                        || value == '\n') {
+                    break;
+                }
+                position++;
+            }
+            if (position == start) {
+                throw error("a value");
+            }
+        }
+
+        private ExceptionHub.InvalidDataException error(String expected) {
+            return new ExceptionHub.InvalidDataException(
+                    String.format("%s line %d (expected %s)", file, lineNumber, expected));
+        }
+    }
+
+}
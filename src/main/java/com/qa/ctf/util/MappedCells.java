@@ -0,0 +1,231 @@
+package com.qa.ctf.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The {@code MappedCells} class keeps the cells of a text data file as byte offsets into
+ * its memory-mapped buffer, and decodes a cell only when it is first read.
+ *
+ * <p>Features:
+ * <ul>
+ *   <li>Record the start, end and encoding of each cell while the file is scanned,
+ *   without copying any field.</li>
+ *   <li>Decode a cell from UTF-8 on first read, unescaping CSV quotes or JSON escapes
+ *   as needed, and keep the decoded value.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * The decoded values are kept without locking. Two threads reading the same cell for
+ * the first time may both decode it, which gives equal, immutable values.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+final class MappedCells implements TestDataTable.Cells {
+
+    // Encodings of a cell
+    static final byte PLAIN = 0;
+    static final byte CSV_QUOTED = 1;
+    static final byte JSON_STRING = 2;
+
+    // The memory-mapped file
+    private final ByteBuffer buffer;
+
+    // Number of columns of each row
+    private final int columnCount;
+
+    // Start and end offsets and encoding of each cell, row by row
+    private final int[] starts;
+    private final int[] ends;
+    private final byte[] encodings;
+
+    // Cells decoded so far
+    private final String[] decoded;
+
+    private MappedCells(ByteBuffer buffer, int columnCount, int[] starts, int[] ends, byte[] encodings) {
+        this.buffer = buffer;
+        this.columnCount = columnCount;
+        this.starts = starts;
+        this.ends = ends;
+        this.encodings = encodings;
+        this.decoded = new String[starts.length];
+    }
+
+    /**
+     * Maps the file into memory, read-only.
+     *
+     * @param file The path of the file.
+     * @return The buffer of the file, positioned after a UTF-8 byte order mark if any.
+     * @throws ExceptionHub.ConfigTypeException If the file is not found or cannot be
+     *                                          mapped.
+     */
+    static ByteBuffer map(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new ExceptionHub.ConfigTypeException(file + " (larger than 2 GB)");
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() >= 3 && (buffer.get(0) & 0xFF) == 0xEF && (buffer.get(1) & 0xFF) == 0xBB
+                    && (buffer.get(2) & 0xFF) == 0xBF) {
+                buffer.position(3);
+            }
+            return buffer;
+        } catch (IOException ex) {
+            throw new ExceptionHub.ConfigTypeException(file.toString(), ex);
+        }
+    }
+
+    @Override
+    public String get(int rowNum, int colNum) {
+        int cell = rowNum * columnCount + colNum;
+        String value = decoded[cell];
+        if (value == null) {
+            value = decode(buffer, starts[cell], ends[cell], encodings[cell]);
+            decoded[cell] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Decodes the bytes between the offsets.
+     *
+     * @param buffer   The memory-mapped file.
+     * @param start    The offset of the first byte.
+     * @param end      The offset after the last byte.
+     * @param encoding The encoding of the cell.
+     * @return The decoded value.
+     */
+    static String decode(ByteBuffer buffer, int start, int end, byte encoding) {
+        if (start >= end) {
+            return "";
+        }
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        return switch (encoding) {
+            case CSV_QUOTED -> text.replace("\"\"", "\"");
+            case JSON_STRING -> unescapeJson(text);
+            default -> text;
+        };
+    }
+
+    /**
+     * Replaces the escape sequences of a JSON string.
+     *
+     * @param text The JSON string without its quotes.
+     * @return The unescaped string.
+     */
+    private static String unescapeJson(String text) {
+        StringBuilder unescaped = new StringBuilder(text.length());
+        for (int index = 0; index < text.length(); index++) {
+            char ch = text.charAt(index);
+            if (ch != '\\' || index + 1 == text.length()) {
+                unescaped.append(ch);
+                continue;
+            }
+            char escaped = text.charAt(++index);
+            switch (escaped) {
+                case 'b' -> unescaped.append('\b');
+                case 'f' -> unescaped.append('\f');
+                case 'n' -> unescaped.append('\n');
+                case 'r' -> unescaped.append('\r');
+                case 't' -> unescaped.append('\t');
+                case 'u' -> {
+                    if (index + 4 >= text.length()) {
+                        throw new ExceptionHub.InvalidDataException("JSON escape '\\u" + text.substring(index + 1) + "'");
+                    }
+                    unescaped.append((char) Integer.parseInt(text.substring(index + 1, index + 5), 16));
+                    index += 4;
+                }
+                default -> unescaped.append(escaped);
+            }
+        }
+        return unescaped.toString();
+    }
+
+    /**
+     * Collects the offsets of the cells row by row.
+     */
+    static final class Builder {
+
+        // The memory-mapped file
+        private final ByteBuffer buffer;
+
+        // Number of columns of each row
+        private final int columnCount;
+
+        // Offsets and encodings of the rows added so far
+        private int[] starts;
+        private int[] ends;
+        private byte[] encodings;
+        private int rowCount;
+
+        Builder(ByteBuffer buffer, int columnCount) {
+            this.buffer = buffer;
+            this.columnCount = columnCount;
+            int capacity = Math.max(1, columnCount) * 64;
+            this.starts = new int[capacity];
+            this.ends = new int[capacity];
+            this.encodings = new byte[capacity];
+        }
+
+        /**
+         * Starts a new row with empty cells and returns its index.
+         *
+         * @return The index of the new row.
+         */
+        int addRow() {
+            int required = (rowCount + 1) * columnCount;
+            if (required > starts.length) {
+                int capacity = Math.max(required, starts.length * 2);
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                encodings = Arrays.copyOf(encodings, capacity);
+            }
+            return rowCount++;
+        }
+
+        /**
+         * Records the offsets of a cell of the given row.
+         *
+         * @param rowNum   The index of the row.
+         * @param colNum   The index of the column.
+         * @param start    The offset of the first byte.
+         * @param end      The offset after the last byte.
+         * @param encoding The encoding of the cell.
+         */
+        void set(int rowNum, int colNum, int start, int end, byte encoding) {
+            int cell = rowNum * columnCount + colNum;
+            starts[cell] = start;
+            ends[cell] = end;
+            encodings[cell] = encoding;
+        }
+
+        /**
+         * Returns the number of rows added so far.
+         *
+         * @return The number of rows.
+         */
+        int rowCount() {
+            return rowCount;
+        }
+
+        /**
+         * Builds the cells, trimming the offsets to the number of rows.
+         *
+         * @return The cells.
+         */
+        MappedCells build() {
+            int size = rowCount * columnCount;
+            return new MappedCells(buffer, columnCount, Arrays.copyOf(starts, size), Arrays.copyOf(ends, size),
+                    Arrays.copyOf(encodings, size));
+        }
+    }
+
+}
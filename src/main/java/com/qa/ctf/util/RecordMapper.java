@@ -0,0 +1,200 @@
+package com.qa.ctf.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code RecordMapper} class binds the columns of the test data sheets straight to
+ * the components of a Java record, such as the domain objects of the steps.
+ *
+ * <p>Features:
+ * <ul>
+ *   <li>Resolve the columns and the canonical constructor of a record type once, and
+ *   share the mapper of that type across the run.</li>
+ *   <li>Bind the columns to the column indexes of a table once per header layout, and
+ *   create the records from the cells of the table, without row maps or
+ *   DataTables.</li>
+ *   <li>Create a record from a row map, for the Cucumber {@code @DataTableType}
+ *   definitions.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>Throws {@link ExceptionHub.InvalidDataException} if the record has a component
+ *   that is not a {@code String}, if a column is not found in the table or the row
+ *   map, or if the record cannot be created.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * A component is bound to the column named by its {@link DataColumn} annotation, or to
+ * the column with the name of the component. A row map must have every column, as the
+ * table does, while a column present with a {@code null} value gives a {@code null}
+ * component.
+ *
+ * <p>Example Usage:
+ * <pre>
+ * {@code
+ * List<BillingDetails> billingDetails = RecordMapper.of(BillingDetails.class)
+ *         .mapAll(DriverFactory.getTestDataTable("Billing Info"));
+ * }
+ * </pre>
+ *
+ * @param <T> The type of the record.
+ * @author Jagatheshwaran N
+ * @version 1.1
+ */
+public final class RecordMapper<T extends Record> {
+
+    // The mappers created so far, by record type
+    private static final Map<Class<?>, RecordMapper<?>> mappers = new ConcurrentHashMap<>();
+
+    // The type of the record
+    private final Class<T> type;
+
+    // The column bound to each component, in component order
+    private final String[] columns;
+
+    // The canonical constructor, taking the components as an Object array
+    private final MethodHandle constructor;
+
+    // The column indexes of the components, by header layout of the table
+    private final Map<List<String>, int[]> bindings = new ConcurrentHashMap<>();
+
+    private RecordMapper(Class<T> type) {
+        this.type = type;
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[] parameterTypes = new Class<?>[components.length];
+        this.columns = new String[components.length];
+        for (int index = 0; index < components.length; index++) {
+            RecordComponent component = components[index];
+            if (component.getType() != String.class) {
+                throw new ExceptionHub.InvalidDataException(String.format(
+                        "Record component '%s' of %s is not a String", component.getName(), type.getName()));
+            }
+            DataColumn dataColumn = component.getAnnotation(DataColumn.class);
+            columns[index] = dataColumn != null ? dataColumn.value() : component.getName();
+            parameterTypes[index] = component.getType();
+        }
+        try {
+            Constructor<T> canonical = type.getDeclaredConstructor(parameterTypes);
+            canonical.setAccessible(true);
+            this.constructor = MethodHandles.lookup().unreflectConstructor(canonical)
+                    .asType(MethodType.genericMethodType(components.length))
+                    .asSpreader(Object[].class, components.length);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            throw new ExceptionHub.InvalidDataException("Canonical constructor of " + type.getName(), ex);
+        }
+    }
+
+    /**
+     * Returns the mapper of the record type, creating it on first use.
+     *
+     * @param type The type of the record.
+     * @param <T>  The type of the record.
+     * @return The shared mapper of the record type.
+     * @throws ExceptionHub.InvalidDataException If the record has a component that is
+     *                                           not a {@code String}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Record> RecordMapper<T> of(Class<T> type) {
+        return (RecordMapper<T>) mappers.computeIfAbsent(type, key -> new RecordMapper<>(type));
+    }
+
+    /**
+     * Returns the columns bound to the components of the record, in component order.
+     *
+     * @return The read-only list of the column headers.
+     */
+    public List<String> getColumns() {
+        return List.of(columns);
+    }
+
+    /**
+     * Creates the record of a row of the table.
+     *
+     * @param table  The table of the sheet.
+     * @param rowNum The index of the row.
+     * @return The record of the row.
+     * @throws ExceptionHub.InvalidDataException If a column is not found in the table.
+     */
+    public T map(TestDataTable table, int rowNum) {
+        return map(table, bind(table), rowNum);
+    }
+
+    /**
+     * Creates the records of all the rows of the table, in row order.
+     *
+     * @param table The table of the sheet.
+     * @return The read-only list of the records.
+     * @throws ExceptionHub.InvalidDataException If a column is not found in the table.
+     */
+    public List<T> mapAll(TestDataTable table) {
+        int[] colNums = bind(table);
+        List<T> records = new ArrayList<>(table.rowCount());
+        for (int rowNum = 0; rowNum < table.rowCount(); rowNum++) {
+            records.add(map(table, colNums, rowNum));
+        }
+        return Collections.unmodifiableList(records);
+    }
+
+    /**
+     * Creates the record of a row map.
+     *
+     * @param row The row (key=column header, value=cell content).
+     * @return The record of the row.
+     * @throws ExceptionHub.InvalidDataException If a column is not found in the row.
+     */
+    public T map(Map<String, String> row) {
+        Object[] values = new Object[columns.length];
+        for (int index = 0; index < columns.length; index++) {
+            if (!row.containsKey(columns[index])) {
+                throw new ExceptionHub.InvalidDataException("Column '" + columns[index] + "' in the row of "
+                        + type.getName());
+            }
+            values[index] = row.get(columns[index]);
+        }
+        return newInstance(values);
+    }
+
+    /**
+     * Returns the column indexes of the components in the table, resolving them once
+     * per header layout.
+     *
+     * @param table The table of the sheet.
+     * @return The column index of each component.
+     */
+    private int[] bind(TestDataTable table) {
+        return bindings.computeIfAbsent(table.getHeaders(), headers -> {
+            int[] colNums = new int[columns.length];
+            for (int index = 0; index < columns.length; index++) {
+                colNums[index] = table.columnIndex(columns[index]);
+            }
+            return colNums;
+        });
+    }
+
+    private T map(TestDataTable table, int[] colNums, int rowNum) {
+        Object[] values = new Object[colNums.length];
+        for (int index = 0; index < colNums.length; index++) {
+            values[index] = table.get(rowNum, colNums[index]);
+        }
+        return newInstance(values);
+    }
+
+    private T newInstance(Object[] values) {
+        try {
+            return type.cast((Object) constructor.invokeExact(values));
+        } catch (Throwable ex) {
+            throw new ExceptionHub.InvalidDataException("Values of " + type.getName(), ex);
+        }
+    }
+
+}
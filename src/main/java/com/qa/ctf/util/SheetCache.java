@@ -0,0 +1,535 @@
+package com.qa.ctf.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static com.qa.ctf.constant.TestConstants.*;
+
+/**
+ * The SheetCache class keeps the parsed rows of the test data sheets for the whole
+ * run, so that the scenarios running in parallel never parse the same sheet twice.
+ *
+ * <p>Features:
+ * <ul>
+ *     <li>Cache the rows of each sheet by file path and sheet name, reading the file
+ *     with the {@link TestDataSource} of its format.</li>
+ *     <li>Load a sheet once, even when several threads ask for it at the same time;
+ *     the other threads wait for the first load.</li>
+ *     <li>Reload a sheet when the modification time or the size of its file changes.</li>
+ *     <li>Evict the least recently used sheet once the cache holds more sheets than its
+ *     limit.</li>
+ *     <li>Hold the tables through soft references, so that the garbage collector can
+ *     release the sheets no step is using under memory pressure; a released sheet is
+ *     loaded again on its next use.</li>
+ *     <li>Count the hits, misses, evictions, releases and load time of the cache.</li>
+ *     <li>Preload the sheets of a workbook in parallel at suite start, splitting the
+ *     sheets among the workers so that each worker opens the file once, and reporting
+ *     the wall-clock and CPU time.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>Throws {@link ExceptionHub.ConfigTypeException} if the file cannot be found.</li>
+ *   <li>A load that fails is not cached, so the next call loads the sheet again.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * The cached tables are immutable and shared by all the threads.
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * TestDataTable table = SheetCache.getInstance().getTable(Path.of("testData.xlsx"), "Login");
+ * log.info(SheetCache.getInstance().describe());
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.7
+ */
+public class SheetCache {
+
+    // Logger instance for the SheetCache class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(SheetCache.class);
+
+    // Loader of the table of a sheet from its file
+    private final BiFunction<Path, String, TestDataTable> loader;
+
+    // Opener of the data source of a file, shared by the sheets of a preload worker, or
+    // null to preload each sheet with the loader
+    private final Function<Path, TestDataSource> opener;
+
+    // Maximum number of sheets kept in the cache
+    private final int maxSheets;
+
+    // Loaded or loading sheets in least recently used order, guarded by itself
+    private final Map<SheetKey, CompletableFuture<CachedSheet>> sheets;
+
+    // Metrics of the cache
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder releases = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    /**
+     * Constructs a SheetCache with the given loader and size limit.
+     *
+     * @param loader    The loader of the table of a sheet from its file.
+     * @param maxSheets The maximum number of sheets kept in the cache.
+     */
+    public SheetCache(BiFunction<Path, String, TestDataTable> loader, int maxSheets) {
+        this(loader, null, maxSheets);
+    }
+
+    /**
+     * Constructs a SheetCache that reads the sheets from the data sources of the given
+     * opener.
+     * <p>
+     * A sheet loaded on its own opens a data source for that sheet, while a preload
+     * worker opens one data source for all of its sheets.
+     * </p>
+     *
+     * @param opener    The opener of the data source of a file.
+     * @param maxSheets The maximum number of sheets kept in the cache.
+     */
+    public SheetCache(Function<Path, TestDataSource> opener, int maxSheets) {
+        this((file, sheetName) -> {
+            try (TestDataSource dataSource = opener.apply(file)) {
+                return dataSource.getTable(sheetName);
+            }
+        }, opener, maxSheets);
+    }
+
+    private SheetCache(BiFunction<Path, String, TestDataTable> loader, Function<Path, TestDataSource> opener,
+                       int maxSheets) {
+        if (maxSheets < 1) {
+            throw new IllegalArgumentException("The sheet cache size must be at least 1: " + maxSheets);
+        }
+        this.loader = loader;
+        this.opener = opener;
+        this.maxSheets = maxSheets;
+        this.sheets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SheetKey, CompletableFuture<CachedSheet>> eldest) {
+                boolean evict = size() > SheetCache.this.maxSheets;
+                if (evict) {
+                    evictions.increment();
+                    log.info("Evicted the cached sheet '{}' of '{}'", eldest.getKey().sheetName(),
+                            eldest.getKey().file());
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Singleton instance holder for the SheetCache class.
+     * <p>
+     * The shared cache reads the sheets from the {@link TestDataSource} of the file,
+     * in the mode selected with the system properties, and keeps up to
+     * {@code SheetCacheSize} sheets.
+     * </p>
+     */
+    private static class InstanceHolder {
+        private static final SheetCache instance = new SheetCache(file -> TestDataSource.of(file),
+                Integer.getInteger(SHEET_CACHE_SIZE, DEFAULT_SHEET_CACHE_SIZE));
+    }
+
+    /**
+     * Returns the cache shared by all the threads of the run.
+     *
+     * @return The shared SheetCache instance.
+     */
+    public static SheetCache getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    /**
+     * Returns the rows of the sheet as maps, loading them on first use or when the
+     * file has changed since they were loaded.
+     * <p>
+     * The same list instance is returned until the sheet is reloaded.
+     * </p>
+     *
+     * @param file      The path of the test data file.
+     * @param sheetName The name of the sheet.
+     * @return The read-only rows of the sheet (key=column header, value=cell content).
+     * @throws ExceptionHub.ConfigTypeException If the file cannot be found.
+     */
+    public List<Map<String, String>> getData(Path file, String sheetName) {
+        return getTable(file, sheetName).asMaps();
+    }
+
+    /**
+     * Returns the table of the sheet, loading it on first use or when the file has
+     * changed since it was loaded.
+     *
+     * @param file      The path of the test data file.
+     * @param sheetName The name of the sheet.
+     * @return The table of the sheet rows.
+     * @throws ExceptionHub.ConfigTypeException If the file cannot be found.
+     */
+    public TestDataTable getTable(Path file, String sheetName) {
+        return getTable(file, sheetName, loader);
+    }
+
+    /**
+     * Returns the table of the sheet, loading it with the given loader on a miss.
+     *
+     * @param file        The path of the test data file.
+     * @param sheetName   The name of the sheet.
+     * @param sheetLoader The loader of the sheet on a miss.
+     * @return The table of the sheet rows.
+     * @throws ExceptionHub.ConfigTypeException If the file cannot be found.
+     */
+    private TestDataTable getTable(Path file, String sheetName, BiFunction<Path, String, TestDataTable> sheetLoader) {
+        SheetKey key = new SheetKey(file.toAbsolutePath().normalize(), sheetName);
+        FileStamp stamp = FileStamp.of(key.file());
+        while (true) {
+            CompletableFuture<CachedSheet> future;
+            boolean loading = false;
+            synchronized (sheets) {
+                future = sheets.get(key);
+                if (future != null && isReleased(future)) {
+                    releases.increment();
+                    log.info("The cached sheet '{}' of '{}' was released under memory pressure, reloading it",
+                            sheetName, key.file());
+                    future = null;
+                }
+                if (future == null || isStale(future, stamp)) {
+                    future = new CompletableFuture<>();
+                    sheets.put(key, future);
+                    loading = true;
+                }
+            }
+            if (loading) {
+                misses.increment();
+                return load(key, stamp, future, sheetLoader);
+            }
+            TestDataTable table;
+            try {
+                table = future.join().table().get();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw ex;
+            }
+            if (table != null) {
+                hits.increment();
+                return table;
+            }
+        }
+    }
+
+    /**
+     * Loads all the sheets of the file in parallel, see {@link #preload}.
+     *
+     * @param file The path of the test data file.
+     * @return The report of the preload.
+     * @throws ExceptionHub.ExcelException If the sheet names cannot be read.
+     */
+    public PreloadReport loadAll(Path file) {
+        try (TestDataSource dataSource = TestDataSource.of(file)) {
+            return preload(file, dataSource.getSheetNames());
+        }
+    }
+
+    /**
+     * Loads the given sheets of the file in parallel on a ForkJoin pool, so that the
+     * scenarios find them in the cache.
+     * <p>
+     * The sheets are split among the workers, one worker per processor at most. Each
+     * worker opens one data source with the opener of the cache, e.g. one read-only
+     * workbook, when it loads its first sheet, and reads all of its sheets from it, as
+     * POI workbooks are not safe to share between threads. The preloaded tables are
+     * the ones the steps would load, with the formulas evaluated as in the selected
+     * reading mode. A cache without an opener loads each sheet with its loader. A sheet
+     * that fails to load is logged and left to be loaded, and to fail, in the step that
+     * uses it.
+     * </p>
+     *
+     * @param file       The path of the test data file.
+     * @param sheetNames The names of the sheets to load.
+     * @return The report of the preload, with the wall-clock and CPU time.
+     */
+    public PreloadReport preload(Path file, Collection<String> sheetNames) {
+        List<String> distinctNames = sheetNames.stream().distinct().toList();
+        int parallelism = Math.max(1, Math.min(distinctNames.size(), Runtime.getRuntime().availableProcessors()));
+        List<List<String>> workerSheets = new ArrayList<>();
+        for (int workerNum = 0; workerNum < parallelism; workerNum++) {
+            workerSheets.add(new ArrayList<>());
+        }
+        for (int sheetNum = 0; sheetNum < distinctNames.size(); sheetNum++) {
+            workerSheets.get(sheetNum % parallelism).add(distinctNames.get(sheetNum));
+        }
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        LongAdder cpuNanos = new LongAdder();
+        LongAdder failures = new LongAdder();
+        long startedAt = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<?>> tasks = workerSheets.stream()
+                    .<ForkJoinTask<?>>map(workerNames -> pool.submit(() -> {
+                        long cpuStartedAt = cpuTime(threads);
+                        try {
+                            preloadWorker(file, workerNames, failures);
+                        } finally {
+                            cpuNanos.add(cpuTime(threads) - cpuStartedAt);
+                        }
+                    }))
+                    .toList();
+            tasks.forEach(ForkJoinTask::join);
+        } finally {
+            pool.shutdown();
+        }
+        PreloadReport report = new PreloadReport(distinctNames.size(), failures.intValue(), parallelism,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt),
+                TimeUnit.NANOSECONDS.toMillis(cpuNanos.sum()));
+        log.info("{} of '{}'", report.describe(), file.getFileName());
+        return report;
+    }
+
+    /**
+     * Loads the sheets of a preload worker, from a single data source when the cache
+     * has an opener.
+     *
+     * @param file       The path of the test data file.
+     * @param sheetNames The names of the sheets of the worker.
+     * @param failures   The counter of the sheets that failed to load.
+     */
+    private void preloadWorker(Path file, List<String> sheetNames, LongAdder failures) {
+        try (WorkerSource workerSource = new WorkerSource(opener)) {
+            BiFunction<Path, String, TestDataTable> sheetLoader = opener == null ? loader : workerSource::getTable;
+            for (String sheetName : sheetNames) {
+                try {
+                    getTable(file, sheetName, sheetLoader);
+                } catch (RuntimeException ex) {
+                    failures.increment();
+                    log.warn("Unable to preload the sheet '{}': {}", sheetName, ex.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes every sheet from the cache.
+     */
+    public void clear() {
+        synchronized (sheets) {
+            sheets.clear();
+        }
+    }
+
+    /**
+     * Describes the metrics of the cache.
+     *
+     * @return The hits, misses, evictions, releases and load time of the cache.
+     */
+    public String describe() {
+        return String.format("Sheet cache: %d hits, %d misses, %d evictions, %d released, %d ms loading",
+                hits.sum(), misses.sum(), evictions.sum(), releases.sum(),
+                TimeUnit.NANOSECONDS.toMillis(loadNanos.sum()));
+    }
+
+    /**
+     * Returns the number of cache hits.
+     *
+     * @return The number of calls served from the cache.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of cache misses.
+     *
+     * @return The number of calls that loaded the sheet.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Loads the sheet on the calling thread and completes the future with it.
+     * <p>
+     * A failed load is removed from the cache, so that the next call tries again.
+     * </p>
+     *
+     * @param key         The file and sheet to load.
+     * @param stamp       The file modification time and size before the load.
+     * @param future      The future the waiting threads are blocked on.
+     * @param sheetLoader The loader of the sheet.
+     * @return The loaded table.
+     */
+    private TestDataTable load(SheetKey key, FileStamp stamp, CompletableFuture<CachedSheet> future,
+                               BiFunction<Path, String, TestDataTable> sheetLoader) {
+        long startedAt = System.nanoTime();
+        try {
+            TestDataTable table = sheetLoader.apply(key.file(), key.sheetName());
+            future.complete(new CachedSheet(stamp, new SoftReference<>(table)));
+            log.info("Loaded {} rows of the sheet '{}' in {} ms", table.rowCount(), key.sheetName(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            return table;
+        } catch (RuntimeException ex) {
+            synchronized (sheets) {
+                sheets.remove(key, future);
+            }
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loadNanos.add(System.nanoTime() - startedAt);
+        }
+    }
+
+    /**
+     * Checks whether a loaded sheet was read from an older version of its file.
+     * <p>
+     * A sheet that is still loading is not stale, so the threads asking for it wait
+     * for that load instead of starting another one.
+     * </p>
+     *
+     * @param future The loaded or loading sheet.
+     * @param stamp  The current modification time and size of the file.
+     * @return {@code true} if the sheet must be loaded again, otherwise {@code false}.
+     */
+    private static boolean isStale(CompletableFuture<CachedSheet> future, FileStamp stamp) {
+        return future.isDone() && !future.isCompletedExceptionally() && !future.join().stamp().equals(stamp);
+    }
+
+    /**
+     * Checks whether the table of a loaded sheet was released by the garbage collector.
+     *
+     * @param future The loaded or loading sheet.
+     * @return {@code true} if the sheet must be loaded again, otherwise {@code false}.
+     */
+    private static boolean isReleased(CompletableFuture<CachedSheet> future) {
+        return future.isDone() && !future.isCompletedExceptionally() && future.join().table().get() == null;
+    }
+
+    /**
+     * Returns the CPU time of the current thread, when the JVM measures it.
+     *
+     * @param threads The thread management bean of the JVM.
+     * @return The CPU time in nanoseconds, or 0 if it is not measured.
+     */
+    private static long cpuTime(ThreadMXBean threads) {
+        return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : 0L;
+    }
+
+    /**
+     * Holds the outcome of a preload.
+     *
+     * @param sheets      The number of sheets requested.
+     * @param failures    The number of sheets that failed to load.
+     * @param parallelism The number of sheets loaded at the same time.
+     * @param wallMillis  The wall-clock time of the preload in milliseconds.
+     * @param cpuMillis   The CPU time of the loading threads in milliseconds.
+     */
+    public record PreloadReport(int sheets, int failures, int parallelism, long wallMillis, long cpuMillis) {
+
+        /**
+         * Describes the preload.
+         *
+         * @return The sheets, failures, parallelism, wall-clock and CPU time.
+         */
+        public String describe() {
+            return String.format("Preloaded %d sheets (%d failed) with parallelism %d in %d ms wall-clock, %d ms CPU",
+                    sheets, failures, parallelism, wallMillis, cpuMillis);
+        }
+    }
+
+    /**
+     * Holds the data source a preload worker reads its sheets from, opened with the
+     * first sheet the worker loads, so that a worker whose sheets are all cached opens
+     * nothing.
+     */
+    private static final class WorkerSource implements AutoCloseable {
+
+        // Opener of the data source, or null when the sheets are loaded with the loader
+        private final Function<Path, TestDataSource> opener;
+
+        // Data source of the worker, once opened
+        private TestDataSource dataSource;
+
+        private WorkerSource(Function<Path, TestDataSource> opener) {
+            this.opener = opener;
+        }
+
+        private TestDataTable getTable(Path file, String sheetName) {
+            if (dataSource == null) {
+                dataSource = opener.apply(file);
+            }
+            return dataSource.getTable(sheetName);
+        }
+
+        @Override
+        public void close() {
+            if (dataSource != null) {
+                dataSource.close();
+            }
+        }
+    }
+
+    /**
+     * Identifies a sheet of a test data file.
+     *
+     * @param file      The absolute path of the test data file.
+     * @param sheetName The name of the sheet.
+     */
+    private record SheetKey(Path file, String sheetName) {
+    }
+
+    /**
+     * Holds the modification time and size of a file, to detect that it has changed.
+     *
+     * @param lastModified The modification time of the file.
+     * @param size         The size of the file in bytes.
+     */
+    private record FileStamp(FileTime lastModified, long size) {
+
+        private static FileStamp of(Path file) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                return new FileStamp(attributes.lastModifiedTime(), attributes.size());
+            } catch (IOException ex) {
+                log.error("The test data file was not found at the given path: '{}'", file, ex);
+                throw new ExceptionHub.ConfigTypeException(file.toString(), ex);
+            }
+        }
+    }
+
+    /**
+     * Holds the table of a sheet with the stamp of the file it was read from.
+     *
+     * @param stamp The modification time and size of the file.
+     * @param table The table of the sheet rows, until it is released by the garbage
+     *              collector.
+     */
+    private record CachedSheet(FileStamp stamp, SoftReference<TestDataTable> table) {
+    }
+
+}
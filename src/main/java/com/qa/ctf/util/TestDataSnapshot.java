@@ -0,0 +1,462 @@
+package com.qa.ctf.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.qa.ctf.constant.TestConstants.*;
+
+/**
+ * The {@code TestDataSnapshot} class compiles a test data workbook into a compact binary
+ * snapshot, and reads the sheets back from the snapshot through a memory-mapped file,
+ * without parsing the workbook.
+ *
+ * <p>Features:
+ * <ul>
+ *   <li>Store every distinct cell value once, in a string table shared by all the
+ *   sheets of the workbook.</li>
+ *   <li>Store each sheet as fixed-width rows of string ids, so that the offset of any
+ *   row is computed rather than searched.</li>
+ *   <li>Give tables that read their cells from the mapped file when they are first
+ *   used, so that only the rows and columns the scenarios read are decoded.</li>
+ *   <li>Keep the decoded strings through a soft reference, released by the garbage
+ *   collector under memory pressure and decoded again when needed.</li>
+ *   <li>Record the modification time and size of the workbook and the column types
+ *   of the cell conversion, and rebuild the snapshot when either has changed.</li>
+ *   <li>Name each snapshot after a hash of the workbook path and the version of the
+ *   workbook, so that workbooks with the same file name never share a snapshot and a
+ *   rebuilt snapshot never replaces a file that is still mapped.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>Throws {@link ExceptionHub.ExcelException} if the snapshot cannot be written or
+ *   read, or if the sheet is not found.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * The snapshot layout is: a header (magic, version, workbook modification time and
+ * size, hash of the column types), the string table (count, offsets and UTF-8 bytes), the sheet directory (name
+ * id, column count, row count and data offset per sheet), then the header ids and
+ * cell ids of each sheet. The snapshot of a workbook version is written once and
+ * not replaced while the version is current, as a mapped file cannot be replaced on
+ * every platform. The snapshots of older versions are deleted when they are no longer
+ * mapped by the run.
+ *
+ * <p>Example Usage:
+ * <pre>
+ * {@code
+ * TestDataSnapshot snapshot = TestDataSnapshot.load(Path.of("testData.xlsx"), Path.of("target/test-data"));
+ * TestDataTable table = snapshot.getTable("Login");
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.3
+ */
+public final class TestDataSnapshot {
+
+    // Logger instance for the TestDataSnapshot class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(TestDataSnapshot.class);
+
+    // Marker and layout version at the start of every snapshot
+    private static final int MAGIC = 0x54445331;
+    private static final int FORMAT_VERSION = 2;
+
+    // File extension of the snapshots
+    private static final String SNAPSHOT_EXTENSION = ".tds";
+
+    // The memory-mapped snapshot
+    private final MappedByteBuffer buffer;
+
+    // Modification time and size of the workbook the snapshot was compiled from
+    private final long sourceModified;
+    private final long sourceSize;
+
+    // Hash of the column types the cells were converted with
+    private final int columnTypesHash;
+
+    // Position of the string data and the offset of each string within it
+    private final int stringDataStart;
+    private final int stringOffsetsStart;
+    private final int stringCount;
+
+    // Snapshots opened so far, by workbook path, guarded by the class lock of load
+    private static final Map<Path, TestDataSnapshot> openSnapshots = new HashMap<>();
+
+    // Strings decoded so far, so that each distinct value is decoded once until the
+    // garbage collector releases them
+    private volatile SoftReference<String[]> decodedStrings = new SoftReference<>(null);
+
+    // Directory entry of each sheet by name, in workbook order
+    private final Map<String, SheetEntry> sheets = new LinkedHashMap<>();
+
+    private TestDataSnapshot(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new ExceptionHub.ExcelException("Unsupported test data snapshot format");
+        }
+        this.sourceModified = buffer.getLong(8);
+        this.sourceSize = buffer.getLong(16);
+        this.columnTypesHash = buffer.getInt(24);
+        this.stringCount = buffer.getInt(28);
+        this.stringOffsetsStart = 32;
+        this.stringDataStart = stringOffsetsStart + (stringCount + 1) * Integer.BYTES;
+        int position = stringDataStart + buffer.getInt(stringOffsetsStart + stringCount * Integer.BYTES);
+        int sheetCount = buffer.getInt(position);
+        position += Integer.BYTES;
+        for (int sheetNum = 0; sheetNum < sheetCount; sheetNum++) {
+            SheetEntry entry = new SheetEntry(buffer.getInt(position + 4), buffer.getInt(position + 8),
+                    buffer.getInt(position + 12));
+            sheets.put(string(buffer.getInt(position)), entry);
+            position += 4 * Integer.BYTES;
+        }
+    }
+
+    /**
+     * Opens the snapshot of the workbook, compiling it first when it is missing or
+     * older than the workbook.
+     * <p>
+     * The opened snapshot is kept and returned again while it is current, so that the
+     * file is mapped once for all the sheets.
+     * </p>
+     *
+     * @param workbook    The path of the Excel workbook.
+     * @param snapshotDir The folder of the snapshots.
+     * @return The opened snapshot.
+     * @throws ExceptionHub.ExcelException If the snapshot cannot be written or read.
+     */
+    public static synchronized TestDataSnapshot load(Path workbook, Path snapshotDir) {
+        Path workbookPath = workbook.toAbsolutePath().normalize();
+        TestDataSnapshot openSnapshot = openSnapshots.get(workbookPath);
+        if (openSnapshot != null && openSnapshot.isCurrent(workbook)) {
+            return openSnapshot;
+        }
+        Path snapshotFile = snapshotFile(workbook, snapshotDir);
+        if (Files.isRegularFile(snapshotFile)) {
+            try {
+                TestDataSnapshot snapshot = open(snapshotFile);
+                if (snapshot.isCurrent(workbook)) {
+                    openSnapshots.put(workbookPath, snapshot);
+                    return snapshot;
+                }
+                log.info("The test data snapshot '{}' is older than its workbook or column types, rebuilding it",
+                        snapshotFile);
+            } catch (ExceptionHub.ExcelException ex) {
+                log.info("The test data snapshot '{}' cannot be read, rebuilding it: {}", snapshotFile,
+                        ex.getMessage());
+            }
+        }
+        compile(workbook, snapshotFile);
+        TestDataSnapshot snapshot = open(snapshotFile);
+        if (openSnapshot == null) {
+            deleteOlderSnapshots(workbook, snapshotFile);
+        }
+        openSnapshots.put(workbookPath, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Returns the snapshot file of the current version of the workbook.
+     * <p>
+     * The name holds the workbook file name, a hash of its absolute path, and its
+     * modification time, size and column types, e.g.
+     * {@code testData.xlsx-1a2b3c4d-1718000000000-20480-5e6f7a8b.tds}.
+     * </p>
+     *
+     * @param workbook    The path of the Excel workbook.
+     * @param snapshotDir The folder of the snapshots.
+     * @return The path of the snapshot of the workbook version.
+     * @throws ExceptionHub.ExcelException If the workbook cannot be read.
+     */
+    static Path snapshotFile(Path workbook, Path snapshotDir) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(workbook, BasicFileAttributes.class);
+            return snapshotDir.resolve(String.format("%s-%08x-%d-%d-%08x%s", snapshotPrefix(workbook),
+                    workbook.toAbsolutePath().normalize().toString().hashCode(),
+                    attributes.lastModifiedTime().toMillis(), attributes.size(), columnTypesHash(),
+                    SNAPSHOT_EXTENSION));
+        } catch (IOException ex) {
+            throw new ExceptionHub.ExcelException("Unable to read the workbook: " + workbook, ex);
+        }
+    }
+
+    /**
+     * Returns the start of the snapshot names of the workbook, shared by all its
+     * versions.
+     */
+    private static String snapshotPrefix(Path workbook) {
+        return workbook.getFileName().toString();
+    }
+
+    /**
+     * Deletes the snapshots of the older versions of the workbook, which no snapshot of
+     * this run has mapped.
+     * <p>
+     * A snapshot that cannot be deleted, e.g. because another JVM still maps it, is
+     * left for a later run.
+     * </p>
+     *
+     * @param workbook     The path of the Excel workbook.
+     * @param snapshotFile The snapshot of the current version, which is kept.
+     */
+    private static void deleteOlderSnapshots(Path workbook, Path snapshotFile) {
+        String pathHash = String.format("%s-%08x-", snapshotPrefix(workbook),
+                workbook.toAbsolutePath().normalize().toString().hashCode());
+        try (DirectoryStream<Path> snapshots = Files.newDirectoryStream(snapshotFile.toAbsolutePath().getParent(),
+                pathHash + "*" + SNAPSHOT_EXTENSION)) {
+            for (Path olderSnapshot : snapshots) {
+                if (!olderSnapshot.getFileName().equals(snapshotFile.getFileName())) {
+                    try {
+                        Files.deleteIfExists(olderSnapshot);
+                    } catch (IOException ex) {
+                        log.debug("The older test data snapshot '{}' is left in place: {}", olderSnapshot,
+                                ex.getMessage());
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            log.debug("Unable to list the older test data snapshots of '{}': {}", workbook, ex.getMessage());
+        }
+    }
+
+    /**
+     * Compiles every sheet of the workbook into a snapshot file.
+     * <p>
+     * The snapshot is written to a temporary file first and moved into place, so
+     * that a reader never sees a partly written snapshot.
+     * </p>
+     *
+     * @param workbook     The path of the Excel workbook.
+     * @param snapshotFile The path of the snapshot to write.
+     * @throws ExceptionHub.ExcelException If the snapshot cannot be written.
+     */
+    public static void compile(Path workbook, Path snapshotFile) {
+        long startedAt = System.nanoTime();
+        boolean streaming = System.getProperty(EXCEL_STREAMING, OPTION_NO).equalsIgnoreCase(OPTION_YES);
+        Map<String, TestDataTable> tables = new LinkedHashMap<>();
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(workbook, BasicFileAttributes.class);
+        } catch (IOException ex) {
+            throw new ExceptionHub.ExcelException("Unable to read the workbook: " + workbook, ex);
+        }
+        try (ExcelReader excelReader = new ExcelReader(workbook.toString(), streaming)) {
+            for (String sheetName : excelReader.getSheetNames()) {
+                tables.put(sheetName, excelReader.getTable(sheetName));
+            }
+        } catch (IOException ex) {
+            throw new ExceptionHub.ExcelException("Unable to read the workbook: " + workbook, ex);
+        }
+
+        Map<String, Integer> stringIds = new LinkedHashMap<>();
+        tables.forEach((sheetName, table) -> {
+            stringIds.putIfAbsent(sheetName, stringIds.size());
+            table.getHeaders().forEach(header -> stringIds.putIfAbsent(header, stringIds.size()));
+            for (int colNum = 0; colNum < table.columnCount(); colNum++) {
+                for (int rowNum = 0; rowNum < table.rowCount(); rowNum++) {
+                    stringIds.putIfAbsent(table.get(rowNum, colNum), stringIds.size());
+                }
+            }
+        });
+        List<byte[]> encodedStrings = new ArrayList<>(stringIds.size());
+        int stringBytes = 0;
+        for (String value : stringIds.keySet()) {
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            encodedStrings.add(encoded);
+            stringBytes += encoded.length;
+        }
+
+        int directoryStart = 32 + (stringIds.size() + 1) * Integer.BYTES + stringBytes;
+        int dataStart = directoryStart + Integer.BYTES + tables.size() * 4 * Integer.BYTES;
+        int dataBytes = 0;
+        for (TestDataTable table : tables.values()) {
+            dataBytes += (table.columnCount() + table.rowCount() * table.columnCount()) * Integer.BYTES;
+        }
+        ByteBuffer out = ByteBuffer.allocate(dataStart + dataBytes);
+        out.putInt(MAGIC).putInt(FORMAT_VERSION)
+                .putLong(attributes.lastModifiedTime().toMillis()).putLong(attributes.size())
+                .putInt(columnTypesHash()).putInt(stringIds.size());
+        int offset = 0;
+        for (byte[] encoded : encodedStrings) {
+            out.putInt(offset);
+            offset += encoded.length;
+        }
+        out.putInt(offset);
+        encodedStrings.forEach(out::put);
+
+        out.putInt(tables.size());
+        int sheetDataOffset = dataStart;
+        for (Map.Entry<String, TestDataTable> sheet : tables.entrySet()) {
+            TestDataTable table = sheet.getValue();
+            out.putInt(stringIds.get(sheet.getKey())).putInt(table.columnCount()).putInt(table.rowCount())
+                    .putInt(sheetDataOffset);
+            sheetDataOffset += (table.columnCount() + table.rowCount() * table.columnCount()) * Integer.BYTES;
+        }
+        for (TestDataTable table : tables.values()) {
+            table.getHeaders().forEach(header -> out.putInt(stringIds.get(header)));
+            for (int rowNum = 0; rowNum < table.rowCount(); rowNum++) {
+                for (int colNum = 0; colNum < table.columnCount(); colNum++) {
+                    out.putInt(stringIds.get(table.get(rowNum, colNum)));
+                }
+            }
+        }
+        out.flip();
+
+        try {
+            Files.createDirectories(snapshotFile.toAbsolutePath().getParent());
+            Path tempFile = Files.createTempFile(snapshotFile.toAbsolutePath().getParent(), "snapshot", ".tmp");
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                while (out.hasRemaining()) {
+                    channel.write(out);
+                }
+            }
+            Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new ExceptionHub.ExcelException("Unable to write the test data snapshot: " + snapshotFile, ex);
+        }
+        log.info("Compiled {} sheets and {} distinct values of '{}' into '{}' in {} ms", tables.size(),
+                stringIds.size(), workbook.getFileName(), snapshotFile,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    /**
+     * Returns the hash of the column types set with the {@code TestDataColumnTypes}
+     * system property.
+     *
+     * @return The hash of the column types.
+     */
+    private static int columnTypesHash() {
+        return CellConverter.configuredTypes().toString().hashCode();
+    }
+
+    /**
+     * Opens a snapshot file through a memory-mapped, read-only buffer.
+     *
+     * @param snapshotFile The path of the snapshot.
+     * @return The opened snapshot.
+     * @throws ExceptionHub.ExcelException If the snapshot cannot be read.
+     */
+    public static TestDataSnapshot open(Path snapshotFile) {
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            return new TestDataSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException | IndexOutOfBoundsException ex) {
+            throw new ExceptionHub.ExcelException("Unable to read the test data snapshot: " + snapshotFile, ex);
+        }
+    }
+
+    /**
+     * Checks whether the snapshot was compiled from the current version of the workbook,
+     * with the current column types.
+     *
+     * @param workbook The path of the Excel workbook.
+     * @return {@code true} if the workbook has the recorded modification time and size
+     * and the column types are unchanged, otherwise {@code false}.
+     */
+    public boolean isCurrent(Path workbook) {
+        if (columnTypesHash != columnTypesHash()) {
+            return false;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(workbook, BasicFileAttributes.class);
+            return attributes.lastModifiedTime().toMillis() == sourceModified && attributes.size() == sourceSize;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the names of the sheets in the snapshot, in workbook order.
+     *
+     * @return The sheet names.
+     */
+    public List<String> getSheetNames() {
+        return List.copyOf(sheets.keySet());
+    }
+
+    /**
+     * Reads a sheet of the snapshot into a {@link TestDataTable}.
+     * <p>
+     * Only the headers are read here. The cells are read as string ids at computed
+     * offsets when they are first used, and equal values share one decoded string.
+     * </p>
+     *
+     * @param sheetName The name of the sheet.
+     * @return The table of the sheet rows.
+     * @throws ExceptionHub.ExcelException If the sheet is not found.
+     */
+    public TestDataTable getTable(String sheetName) {
+        SheetEntry entry = sheets.get(sheetName);
+        if (entry == null) {
+            throw new ExceptionHub.ExcelException(String.format("Sheet '%s' not found in workbook.", sheetName));
+        }
+        String[] headers = new String[entry.columnCount()];
+        for (int colNum = 0; colNum < headers.length; colNum++) {
+            headers[colNum] = string(buffer.getInt(entry.dataOffset() + colNum * Integer.BYTES));
+        }
+        int rowBytes = headers.length * Integer.BYTES;
+        int rowsOffset = entry.dataOffset() + rowBytes;
+        return TestDataTable.of(headers, entry.rowCount(), (rowNum, colNum) ->
+                string(buffer.getInt(rowsOffset + rowNum * rowBytes + colNum * Integer.BYTES)));
+    }
+
+    /**
+     * Returns the string with the given id, decoding it on first use.
+     * <p>
+     * The decoded strings are kept without locking. Two threads reading the same
+     * string for the first time may both decode it, which gives equal values.
+     * </p>
+     *
+     * @param id The id of the string in the string table.
+     * @return The string.
+     */
+    private String string(int id) {
+        if (id < 0 || id >= stringCount) {
+            throw new ExceptionHub.ExcelException("Invalid string id in the test data snapshot: " + id);
+        }
+        String[] decoded = decodedStrings.get();
+        if (decoded == null) {
+            decoded = new String[stringCount];
+            decodedStrings = new SoftReference<>(decoded);
+        }
+        String value = decoded[id];
+        if (value == null) {
+            int start = buffer.getInt(stringOffsetsStart + id * Integer.BYTES);
+            int end = buffer.getInt(stringOffsetsStart + (id + 1) * Integer.BYTES);
+            byte[] encoded = new byte[end - start];
+            buffer.get(stringDataStart + start, encoded);
+            value = new String(encoded, StandardCharsets.UTF_8);
+            decoded[id] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Holds the directory entry of a sheet.
+     *
+     * @param columnCount The number of columns.
+     * @param rowCount    The number of data rows.
+     * @param dataOffset  The position of the header ids, followed by the cell ids.
+     */
+    private record SheetEntry(int columnCount, int rowCount, int dataOffset) {
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.qa.ctf.util;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import static com.qa.ctf.constant.TestConstants.*;
+
+/**
+ * The {@code TestDataSource} interface gives the sheets of a test data file as
+ * {@link TestDataTable}s, whatever the format of the file.
+ *
+ * <p>Features:
+ * <ul>
+ *   <li>Select the backend by the extension of the file: Excel ({@code .xlsx},
+ *   {@code .xls}), CSV ({@code .csv}) or JSON lines ({@code .jsonl},
+ *   {@code .ndjson}).</li>
+ *   <li>Read the CSV and JSON lines files from a memory-mapped buffer, decoding each
+ *   value only when it is read.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>Throws {@link ExceptionHub.ConfigTypeException} if the file has an unsupported
+ *   extension or cannot be found.</li>
+ *   <li>Throws {@link ExceptionHub.ExcelException} if the sheet is not found.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * A CSV or JSON lines file has a single sheet, named after the file without its
+ * extension.
+ *
+ * <p>Example Usage:
+ * <pre>
+ * {@code
+ * try (TestDataSource dataSource = TestDataSource.of(Path.of("customers.csv"))) {
+ *     TestDataTable table = dataSource.getTable("customers");
+ * }
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public interface TestDataSource extends Closeable {
+
+    /**
+     * Returns the names of the sheets of the file, in file order.
+     *
+     * @return The sheet names.
+     */
+    List<String> getSheetNames();
+
+    /**
+     * Reads the sheet into a {@link TestDataTable}.
+     *
+     * @param sheetName The name of the sheet.
+     * @return The table of the sheet rows.
+     * @throws ExceptionHub.ExcelException If the sheet is not found or cannot be read.
+     */
+    TestDataTable getTable(String sheetName);
+
+    /**
+     * Releases the resources of the data source. The tables already read stay usable.
+     */
+    @Override
+    default void close() {
+        // Nothing to release by default
+    }
+
+    /**
+     * Returns the data source of the file, reading Excel files in streaming mode when
+     * requested with the {@code ExcelStreaming} system property.
+     *
+     * @param file The path of the test data file.
+     * @return The data source of the file.
+     * @throws ExceptionHub.ConfigTypeException If the extension of the file is not
+     *                                          supported.
+     */
+    static TestDataSource of(Path file) {
+        return of(file, System.getProperty(EXCEL_STREAMING, OPTION_NO).equalsIgnoreCase(OPTION_YES));
+    }
+
+    /**
+     * Returns the data source of the file.
+     *
+     * @param file      The path of the test data file.
+     * @param streaming {@code true} to read an .xlsx file in streaming mode.
+     * @return The data source of the file.
+     * @throws ExceptionHub.ConfigTypeException If the extension of the file is not
+     *                                          supported.
+     */
+    static TestDataSource of(Path file, boolean streaming) {
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (fileName.endsWith(".xlsx") || fileName.endsWith(".xls")) {
+            return new ExcelDataSource(file, streaming);
+        }
+        if (fileName.endsWith(".csv")) {
+            return new CsvDataSource(file);
+        }
+        if (fileName.endsWith(".jsonl") || fileName.endsWith(".ndjson")) {
+            return new JsonLinesDataSource(file);
+        }
+        throw new ExceptionHub.ConfigTypeException(file.toString());
+    }
+
+    /**
+     * Reads a sheet of the file with the data source selected by its extension.
+     *
+     * @param file      The path of the test data file.
+     * @param sheetName The name of the sheet.
+     * @return The table of the sheet rows.
+     */
+    static TestDataTable readTable(Path file, String sheetName) {
+        try (TestDataSource dataSource = of(file)) {
+            return dataSource.getTable(sheetName);
+        }
+    }
+
+}
@@ -0,0 +1,534 @@
+package com.qa.ctf.util;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * The {@code TestDataTable} class holds the rows of a test data sheet column by column,
+ * with a single array of headers shared by all the rows.
+ *
+ * <p>Features:
+ * <ul>
+ *   <li>Keep one interned header array and one string array per column, instead of a
+ *   map per row, or read the cells from where a data source keeps them.</li>
+ *   <li>Read a cell by row and column index or header in constant time.</li>
+ *   <li>Give lightweight row views that read through to the columns.</li>
+ *   <li>Give a read-only {@code List<Map<String, String>>} view for the callers of the
+ *   row maps.</li>
+ *   <li>Find rows by the value of one or more key columns in constant time, through
+ *   hash indexes built on first use and kept with the table.</li>
+ *   <li>Stream the rows matching a condition on a column, scanning only that
+ *   column.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>Throws {@code IndexOutOfBoundsException} if a row or column index is
+ *   invalid.</li>
+ *   <li>Throws {@link ExceptionHub.InvalidDataException} if a header is not found.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * The table is immutable once built. When a header appears more than once, the last
+ * column with that header is the one read by header, as with the row maps.
+ *
+ * <p>Example Usage:
+ * <pre>
+ * {@code
+ * TestDataTable table = excelReader.getTable("Login");
+ * String username = table.get(0, "Username");
+ * String city = table.findRow("email", "jane@test.com").map(row -> row.get("city")).orElse("");
+ * for (TestDataTable.Row row : table.rows()) {
+ *     log.info(row.get("Password"));
+ * }
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.2
+ */
+public final class TestDataTable {
+
+    // Column headers in sheet order, interned
+    private final String[] headers;
+
+    // Column index by header, in first appearance order
+    private final Map<String, Integer> columnIndexes;
+
+    // Cell values by row and column
+    private final Cells cells;
+
+    // Number of data rows
+    private final int rowCount;
+
+    // Read-only views of the rows, as rows and as maps
+    private final List<Row> rowViews;
+    private final List<Map<String, String>> mapViews;
+
+    // Row numbers by key values, per list of key columns, built on first lookup
+    private final Map<List<String>, Map<List<String>, int[]>> indexes = new ConcurrentHashMap<>();
+
+    private TestDataTable(String[] headers, Cells cells, int rowCount) {
+        this.headers = headers;
+        this.cells = cells;
+        this.rowCount = rowCount;
+        Map<String, Integer> indexes = new LinkedHashMap<>();
+        for (int colNum = 0; colNum < headers.length; colNum++) {
+            indexes.put(headers[colNum], colNum);
+        }
+        this.columnIndexes = Collections.unmodifiableMap(indexes);
+        this.rowViews = new AbstractList<>() {
+            @Override
+            public Row get(int rowNum) {
+                return row(rowNum);
+            }
+
+            @Override
+            public int size() {
+                return rowCount;
+            }
+        };
+        this.mapViews = Collections.unmodifiableList(rowViews);
+    }
+
+    /**
+     * Returns a table over cells that are stored outside of the table, for example
+     * in a memory-mapped file and decoded when read.
+     *
+     * @param headers  The column headers in sheet order.
+     * @param rowCount The number of data rows.
+     * @param cells    The cell values by row and column, never {@code null}.
+     * @return The table.
+     */
+    static TestDataTable of(String[] headers, int rowCount, Cells cells) {
+        String[] internedHeaders = new String[headers.length];
+        for (int colNum = 0; colNum < headers.length; colNum++) {
+            internedHeaders[colNum] = headers[colNum] == null ? "" : headers[colNum].intern();
+        }
+        return new TestDataTable(internedHeaders, cells, rowCount);
+    }
+
+    /**
+     * Returns a builder of a table with the given headers.
+     *
+     * @param headers The column headers in sheet order.
+     * @return The builder of the table.
+     */
+    public static Builder builder(String... headers) {
+        return new Builder(headers);
+    }
+
+    /**
+     * Returns the number of data rows.
+     *
+     * @return The number of rows, the header row excluded.
+     */
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the number of columns.
+     *
+     * @return The number of columns.
+     */
+    public int columnCount() {
+        return headers.length;
+    }
+
+    /**
+     * Returns the column headers in sheet order.
+     *
+     * @return The read-only list of headers.
+     */
+    public List<String> getHeaders() {
+        return Collections.unmodifiableList(Arrays.asList(headers));
+    }
+
+    /**
+     * Returns the index of the column with the given header.
+     *
+     * @param header The column header.
+     * @return The index of the column.
+     * @throws ExceptionHub.InvalidDataException If no column has the header.
+     */
+    public int columnIndex(String header) {
+        Integer colNum = columnIndexes.get(header);
+        if (colNum == null) {
+            throw new ExceptionHub.InvalidDataException("Column '" + header + "' in the test data table");
+        }
+        return colNum;
+    }
+
+    /**
+     * Checks whether a column has the given header.
+     *
+     * @param header The column header.
+     * @return {@code true} if a column has the header, otherwise {@code false}.
+     */
+    public boolean hasColumn(String header) {
+        return columnIndexes.containsKey(header);
+    }
+
+    /**
+     * Returns the value of a cell.
+     *
+     * @param rowNum The index of the data row (0-based).
+     * @param colNum The index of the column (0-based).
+     * @return The value of the cell, or an empty string for blanks.
+     */
+    public String get(int rowNum, int colNum) {
+        if (colNum < 0 || colNum >= headers.length) {
+            throw new IndexOutOfBoundsException("Invalid column index: " + colNum);
+        }
+        return cells.get(checkRow(rowNum), colNum);
+    }
+
+    /**
+     * Returns the value of a cell.
+     *
+     * @param rowNum The index of the data row (0-based).
+     * @param header The column header.
+     * @return The value of the cell, or an empty string for blanks.
+     */
+    public String get(int rowNum, String header) {
+        return get(rowNum, columnIndex(header));
+    }
+
+    /**
+     * Returns the values of a column.
+     *
+     * @param header The column header.
+     * @return The read-only list of the column values, in row order.
+     */
+    public List<String> column(String header) {
+        int colNum = columnIndex(header);
+        return new AbstractList<>() {
+            @Override
+            public String get(int rowNum) {
+                return cells.get(checkRow(rowNum), colNum);
+            }
+
+            @Override
+            public int size() {
+                return rowCount;
+            }
+        };
+    }
+
+    /**
+     * Returns a view of a data row.
+     *
+     * @param rowNum The index of the data row (0-based).
+     * @return The view of the row.
+     */
+    public Row row(int rowNum) {
+        return new Row(checkRow(rowNum));
+    }
+
+    /**
+     * Returns the views of all the data rows.
+     *
+     * @return The read-only list of row views.
+     */
+    public List<Row> rows() {
+        return rowViews;
+    }
+
+    /**
+     * Returns the rows as maps keyed by column header.
+     * <p>
+     * The maps are read-only views on the table, so no copy of the rows is made. The
+     * same list instance is returned on every call.
+     * </p>
+     *
+     * @return The read-only list of row maps.
+     */
+    public List<Map<String, String>> asMaps() {
+        return mapViews;
+    }
+
+    /**
+     * Finds the first row with the given value in the key column.
+     * <p>
+     * The first lookup on a column builds a hash index of the column, which is kept
+     * with the table, so that every later lookup takes constant time.
+     * </p>
+     *
+     * @param keyColumn The header of the key column.
+     * @param key       The value to look up.
+     * @return The first matching row, or an empty optional if no row matches.
+     * @throws ExceptionHub.InvalidDataException If no column has the header.
+     */
+    public Optional<Row> findRow(String keyColumn, String key) {
+        return findRows(List.of(keyColumn), List.of(key)).stream().findFirst();
+    }
+
+    /**
+     * Finds the first row with the given values in the key columns.
+     *
+     * @param keys The values to look up by key column header.
+     * @return The first matching row, or an empty optional if no row matches.
+     * @throws ExceptionHub.InvalidDataException If no column has one of the headers.
+     */
+    public Optional<Row> findRow(Map<String, String> keys) {
+        List<String> keyColumns = new ArrayList<>(keys.size());
+        List<String> keyValues = new ArrayList<>(keys.size());
+        keys.forEach((keyColumn, key) -> {
+            keyColumns.add(keyColumn);
+            keyValues.add(key);
+        });
+        return findRows(keyColumns, keyValues).stream().findFirst();
+    }
+
+    /**
+     * Finds all the rows with the given values in the key columns, in row order.
+     * <p>
+     * The first lookup on a list of key columns builds a hash index of the composite
+     * key, which is kept with the table.
+     * </p>
+     *
+     * @param keyColumns The headers of the key columns.
+     * @param keys       The values to look up, in the order of the key columns.
+     * @return The read-only list of matching rows, empty if no row matches.
+     * @throws IllegalArgumentException          If the numbers of columns and values
+     *                                           differ.
+     * @throws ExceptionHub.InvalidDataException If no column has one of the headers.
+     */
+    public List<Row> findRows(List<String> keyColumns, List<String> keys) {
+        if (keyColumns.size() != keys.size()) {
+            throw new IllegalArgumentException("Expected " + keyColumns.size() + " key values, got " + keys.size());
+        }
+        int[] rowNums = indexes.computeIfAbsent(List.copyOf(keyColumns), this::buildIndex).get(keys);
+        if (rowNums == null) {
+            return List.of();
+        }
+        return new AbstractList<>() {
+            @Override
+            public Row get(int position) {
+                return new Row(rowNums[position]);
+            }
+
+            @Override
+            public int size() {
+                return rowNums.length;
+            }
+        };
+    }
+
+    /**
+     * Streams the rows whose value in the column matches the condition, in row order.
+     * <p>
+     * Only the values of the column are scanned, and a row view is only created for
+     * the matching rows.
+     * </p>
+     *
+     * @param header    The column header.
+     * @param condition The condition on the value of the column.
+     * @return The stream of matching rows.
+     * @throws ExceptionHub.InvalidDataException If no column has the header.
+     */
+    public Stream<Row> where(String header, Predicate<String> condition) {
+        int colNum = columnIndex(header);
+        return IntStream.range(0, rowCount).filter(rowNum -> condition.test(cells.get(rowNum, colNum)))
+                .mapToObj(Row::new);
+    }
+
+    /**
+     * Builds the hash index of the key columns.
+     *
+     * @param keyColumns The headers of the key columns.
+     * @return The row numbers by key values.
+     */
+    private Map<List<String>, int[]> buildIndex(List<String> keyColumns) {
+        int[] keyColNums = keyColumns.stream().mapToInt(this::columnIndex).toArray();
+        Map<List<String>, List<Integer>> rowNumsByKey = new HashMap<>();
+        String[] keyValues = new String[keyColNums.length];
+        for (int rowNum = 0; rowNum < rowCount; rowNum++) {
+            for (int keyNum = 0; keyNum < keyColNums.length; keyNum++) {
+                keyValues[keyNum] = cells.get(rowNum, keyColNums[keyNum]);
+            }
+            rowNumsByKey.computeIfAbsent(List.of(keyValues), key -> new ArrayList<>(1)).add(rowNum);
+        }
+        Map<List<String>, int[]> index = new HashMap<>(rowNumsByKey.size() * 4 / 3 + 1);
+        rowNumsByKey.forEach((key, rowNums) -> index.put(key, rowNums.stream().mapToInt(Integer::intValue).toArray()));
+        return index;
+    }
+
+    private int checkRow(int rowNum) {
+        if (rowNum < 0 || rowNum >= rowCount) {
+            throw new IndexOutOfBoundsException("Invalid row index: " + rowNum);
+        }
+        return rowNum;
+    }
+
+    /**
+     * A read-only view of one data row, which is also a map of the row keyed by
+     * column header.
+     */
+    public final class Row extends AbstractMap<String, String> {
+
+        // Index of the data row
+        private final int rowNum;
+
+        private Row(int rowNum) {
+            this.rowNum = rowNum;
+        }
+
+        /**
+         * Returns the index of the data row.
+         *
+         * @return The index of the row (0-based).
+         */
+        public int index() {
+            return rowNum;
+        }
+
+        /**
+         * Returns the value of the cell at the given column index.
+         *
+         * @param colNum The index of the column (0-based).
+         * @return The value of the cell.
+         */
+        public String valueAt(int colNum) {
+            return cells.get(rowNum, colNum);
+        }
+
+        @Override
+        public String get(Object header) {
+            Integer colNum = columnIndexes.get(header);
+            return colNum == null ? null : cells.get(rowNum, colNum);
+        }
+
+        @Override
+        public boolean containsKey(Object header) {
+            return columnIndexes.containsKey(header);
+        }
+
+        @Override
+        public int size() {
+            return columnIndexes.size();
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    Iterator<Entry<String, Integer>> columnsIterator = columnIndexes.entrySet().iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return columnsIterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            Entry<String, Integer> column = columnsIterator.next();
+                            return new SimpleImmutableEntry<>(column.getKey(),
+                                    cells.get(rowNum, column.getValue()));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return columnIndexes.size();
+                }
+            };
+        }
+    }
+
+    /**
+     * Gives the value of a cell by row and column index, for the tables whose cells
+     * are not held in arrays of strings.
+     */
+    @FunctionalInterface
+    interface Cells {
+
+        /**
+         * Returns the value of a cell.
+         *
+         * @param rowNum The index of the data row (0-based).
+         * @param colNum The index of the column (0-based).
+         * @return The value of the cell, or an empty string for blanks.
+         */
+        String get(int rowNum, int colNum);
+    }
+
+    /**
+     * Builds a {@link TestDataTable} row by row.
+     */
+    public static final class Builder {
+
+        // Column headers, interned
+        private final String[] headers;
+
+        // Cell values by column, grown as the rows are added
+        private String[][] columns;
+
+        // Number of rows added so far
+        private int rowCount;
+
+        private Builder(String... headers) {
+            this.headers = new String[headers.length];
+            for (int colNum = 0; colNum < headers.length; colNum++) {
+                this.headers[colNum] = headers[colNum] == null ? "" : headers[colNum].intern();
+            }
+            this.columns = new String[headers.length][16];
+        }
+
+        /**
+         * Adds a data row.
+         * <p>
+         * Missing values are stored as empty strings and values beyond the last
+         * header are ignored.
+         * </p>
+         *
+         * @param values The cell values of the row in column order.
+         * @return This builder.
+         */
+        public Builder addRow(String... values) {
+            if (headers.length > 0 && rowCount == columns[0].length) {
+                for (int colNum = 0; colNum < headers.length; colNum++) {
+                    columns[colNum] = Arrays.copyOf(columns[colNum], rowCount * 2);
+                }
+            }
+            for (int colNum = 0; colNum < headers.length; colNum++) {
+                String value = colNum < values.length ? values[colNum] : null;
+                columns[colNum][rowCount] = value == null ? "" : value;
+            }
+            rowCount++;
+            return this;
+        }
+
+        /**
+         * Builds the table, trimming the columns to the number of rows.
+         *
+         * @return The immutable table.
+         */
+        public TestDataTable build() {
+            String[][] trimmed = new String[headers.length][];
+            for (int colNum = 0; colNum < headers.length; colNum++) {
+                trimmed[colNum] = Arrays.copyOf(columns[colNum], rowCount);
+            }
+            return new TestDataTable(headers, (rowNum, colNum) -> trimmed[colNum][rowNum], rowCount);
+        }
+    }
+
+}
@@ -0,0 +1,510 @@
+package com.qa.ctf.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Cleaner;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The {@code XlsxSheetStreamer} class reads the rows of an .xlsx sheet through the
+ * POI XSSF event API, without building the workbook in memory.
+ *
+ * <p>Features:
+ * <ul>
+ *   <li>Parse the sheet XML with SAX instead of building the workbook DOM.</li>
+ *   <li>Load the shared strings table only when the sheet first refers to it, and
+ *   convert each shared string once.</li>
+ *   <li>Convert the cells with the same {@link CellConverter} column types as the DOM
+ *   based reading.</li>
+ *   <li>Produce the same tables and row maps as the DOM based reading of
+ *   {@link ExcelReader}.</li>
+ *   <li>Hand the rows to a {@link Stream} through a producer thread and a small bounded
+ *   queue.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>Errors while opening or parsing the file are thrown as
+ *   {@link ExceptionHub.ExcelException}.</li>
+ * </ul>
+ *
+ * <p>Note:
+ * Formula cells are read as their result cached in the file, as the event API cannot
+ * evaluate them, and error cells as their error code, as in the DOM based reading.
+ * A row stream stops its producer thread when it is closed, when its last row is read
+ * or, for a stream left unclosed, once the stream is garbage collected.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.3
+ */
+class XlsxSheetStreamer {
+
+    // Logger instance for the XlsxSheetStreamer class to enable logging during the execution
+    private static final Logger log = LogManager.getLogger(XlsxSheetStreamer.class);
+
+    // Number of rows the producer thread may read ahead of the consumer
+    private static final int READ_AHEAD_ROWS = 32;
+
+    // Marker put on the queue once the producer thread has finished
+    private static final Map<String, String> END_OF_SHEET = new HashMap<>();
+
+    // Cleaner that stops the producer thread of a row stream that was never closed
+    private static final Cleaner STREAM_CLEANER = Cleaner.create();
+
+    // The .xlsx file to read
+    private final File file;
+
+    /**
+     * Constructs an XlsxSheetStreamer for the given file.
+     *
+     * @param file The .xlsx file to read.
+     */
+    XlsxSheetStreamer(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the names of the sheets of the workbook, in workbook order.
+     *
+     * @return The sheet names.
+     * @throws ExceptionHub.ExcelException If the file cannot be read.
+     */
+    List<String> sheetNames() {
+        List<String> sheetNames = new ArrayList<>();
+        try (OPCPackage opcPackage = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) new XSSFReader(opcPackage).getSheetsData();
+            while (sheets.hasNext()) {
+                sheets.next().close();
+                sheetNames.add(sheets.getSheetName());
+            }
+        } catch (IOException | OpenXML4JException ex) {
+            log.error("Error occurred while streaming the excel file: '{}'", file, ex);
+            throw new ExceptionHub.ExcelException("Unable to stream the excel file: " + file, ex);
+        }
+        return sheetNames;
+    }
+
+    /**
+     * Reads the sheet into a {@link TestDataTable}.
+     *
+     * @param sheetName  The name of the sheet, or {@code null} to select it by index.
+     * @param sheetIndex The index of the sheet, used when no name is given.
+     * @return The table of the sheet rows, empty if the sheet has no header row.
+     * @throws ExceptionHub.ExcelException If the sheet is not found or cannot be read.
+     */
+    TestDataTable readTable(String sheetName, int sheetIndex) {
+        TestDataTable.Builder[] builder = new TestDataTable.Builder[1];
+        readSheet(sheetName, sheetIndex, new RowSink() {
+            @Override
+            public void header(String[] headers) {
+                builder[0] = TestDataTable.builder(headers);
+            }
+
+            @Override
+            public void row(String[] values) {
+                builder[0].addRow(values);
+            }
+        });
+        return builder[0] == null ? TestDataTable.builder().build() : builder[0].build();
+    }
+
+    /**
+     * Reads every row of the sheet and hands it to the sink on the calling thread.
+     *
+     * @param sheetName  The name of the sheet, or {@code null} to select it by index.
+     * @param sheetIndex The index of the sheet, used when no name is given.
+     * @param rowSink    The receiver of the header row and the data rows.
+     * @throws ExceptionHub.ExcelException If the sheet is not found or cannot be read.
+     */
+    void readSheet(String sheetName, int sheetIndex, RowSink rowSink) {
+        try (OPCPackage opcPackage = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader xssfReader = new XSSFReader(opcPackage);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+            int index = 0;
+            while (sheets.hasNext()) {
+                try (InputStream sheetStream = sheets.next()) {
+                    boolean selected = sheetName != null ? sheetName.equals(sheets.getSheetName()) : index == sheetIndex;
+                    if (selected) {
+                        XMLReader xmlReader = XMLHelper.newXMLReader();
+                        xmlReader.setContentHandler(new SheetHandler(opcPackage, xssfReader, rowSink));
+                        xmlReader.parse(new InputSource(sheetStream));
+                        return;
+                    }
+                }
+                index++;
+            }
+        } catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException ex) {
+            log.error("Error occurred while streaming the excel file: '{}'", file, ex);
+            throw new ExceptionHub.ExcelException("Unable to stream the excel file: " + file, ex);
+        }
+        if (sheetName != null) {
+            throw new ExceptionHub.ExcelException(String.format("Sheet '%s' not found in workbook.", sheetName));
+        }
+        throw new IndexOutOfBoundsException("Invalid sheet index: " + sheetIndex);
+    }
+
+    /**
+     * Streams the rows of the sheet, holding only a few rows in memory at a time.
+     * <p>
+     * The sheet is parsed on a daemon producer thread. Closing the stream or reading
+     * its last row stops the producer and closes the file, so the stream should be used
+     * in a try-with-resources block. A stream dropped early without being closed is
+     * stopped once it is garbage collected.
+     * </p>
+     *
+     * @param sheetName  The name of the sheet, or {@code null} to select it by index.
+     * @param sheetIndex The index of the sheet, used when no name is given.
+     * @return The rows of the sheet, keyed by column header.
+     */
+    Stream<Map<String, String>> streamSheet(String sheetName, int sheetIndex) {
+        BlockingQueue<Map<String, String>> rows = new ArrayBlockingQueue<>(READ_AHEAD_ROWS);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Thread producer = new Thread(() -> {
+            try {
+                readSheet(sheetName, sheetIndex, new RowSink() {
+                    private String[] headers;
+
+                    @Override
+                    public void header(String[] headers) {
+                        this.headers = headers;
+                    }
+
+                    @Override
+                    public void row(String[] values) {
+                        Map<String, String> rowData = new HashMap<>();
+                        for (int colNum = 0; colNum < headers.length; colNum++) {
+                            rowData.put(headers[colNum], values[colNum]);
+                        }
+                        try {
+                            rows.put(rowData);
+                        } catch (InterruptedException ex) {
+                            throw new StreamCancelledException(ex);
+                        }
+                    }
+                });
+            } catch (StreamCancelledException ex) {
+                return;
+            } catch (RuntimeException ex) {
+                failure.set(ex);
+            }
+            try {
+                rows.put(END_OF_SHEET);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }, "excel-stream-" + file.getName());
+        producer.setDaemon(true);
+        producer.start();
+
+        Iterator<Map<String, String>> iterator = new Iterator<>() {
+            // Stops the producer when the iterator is unreachable, the action holds only the thread
+            private final Cleaner.Cleanable cleanable = STREAM_CLEANER.register(this, producer::interrupt);
+
+            private Map<String, String> next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        next = rows.take();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new ExceptionHub.ExcelException("Interrupted while streaming the excel file", ex);
+                    }
+                }
+                if (next == END_OF_SHEET) {
+                    cleanable.clean();
+                    if (failure.get() != null) {
+                        throw failure.get();
+                    }
+                    return false;
+                }
+                return true;
+            }
+
+            @Override
+            public Map<String, String> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Map<String, String> row = next;
+                next = null;
+                return row;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(producer::interrupt);
+    }
+
+    /**
+     * Receives the rows of a sheet as they are parsed.
+     */
+    interface RowSink {
+
+        /**
+         * Receives the header row, the first non-empty row of the sheet.
+         *
+         * @param headers The column headers.
+         */
+        void header(String[] headers);
+
+        /**
+         * Receives a data row, with one value per header.
+         *
+         * @param values The cell values in column order.
+         */
+        void row(String[] values);
+    }
+
+    /**
+     * Signals that the consumer of a row stream closed it before the end of the sheet.
+     */
+    private static final class StreamCancelledException extends RuntimeException {
+
+        private StreamCancelledException(InterruptedException cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * SAX handler that turns the rows of a sheet XML into arrays of cell values.
+     */
+    private static final class SheetHandler extends DefaultHandler {
+
+        // The package of the workbook, used to load the shared strings table on first use
+        private final OPCPackage opcPackage;
+
+        // The reader of the workbook parts, used to load the styles table on first use
+        private final XSSFReader xssfReader;
+
+        // The receiver of the header row and the data rows
+        private final RowSink rowSink;
+
+        // Shared strings table, loaded when the first shared string cell is read
+        private ReadOnlySharedStringsTable sharedStrings;
+
+        // Shared strings read so far, by index in the shared strings table
+        private String[] sharedStringValues;
+
+        // Styles table, loaded when the first number of a TEXT column is read
+        private StylesTable stylesTable;
+
+        // Column headers, taken from the first non-empty row
+        private String[] headers;
+
+        // Converter of the header row, then of the data rows with the column types
+        private CellConverter converter = new CellConverter();
+
+        // Values of the current row by column index
+        private final List<String> rowValues = new ArrayList<>();
+
+        // Whether the current row has a cell that is not blank
+        private boolean rowHasValue;
+
+        // State of the current cell
+        private int columnIndex;
+        private String cellType;
+        private String cellStyle;
+        private boolean formulaCell;
+        private boolean readingValue;
+        private final StringBuilder cellText = new StringBuilder();
+
+        private SheetHandler(OPCPackage opcPackage, XSSFReader xssfReader, RowSink rowSink) {
+            this.opcPackage = opcPackage;
+            this.xssfReader = xssfReader;
+            this.rowSink = rowSink;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    rowValues.clear();
+                    rowHasValue = false;
+                    columnIndex = -1;
+                }
+                case "c" -> {
+                    String reference = attributes.getValue("r");
+                    columnIndex = reference != null ? new CellReference(reference).getCol() : columnIndex + 1;
+                    cellType = attributes.getValue("t");
+                    cellStyle = attributes.getValue("s");
+                    formulaCell = false;
+                    cellText.setLength(0);
+                }
+                case "f" -> formulaCell = true;
+                case "v", "t" -> readingValue = true;
+                default -> {
+                    // Other elements carry no cell values
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (readingValue) {
+                cellText.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v", "t" -> readingValue = false;
+                case "c" -> {
+                    while (rowValues.size() <= columnIndex) {
+                        rowValues.add("");
+                    }
+                    rowValues.set(columnIndex, toCellValue());
+                    rowHasValue |= formulaCell || !cellText.isEmpty();
+                }
+                case "row" -> endRow();
+                default -> {
+                    // Other elements carry no cell values
+                }
+            }
+        }
+
+        /**
+         * Converts the text of the current cell the same way the DOM reading does, using
+         * the cached result of a formula cell.
+         *
+         * @return The string value of the cell.
+         */
+        private String toCellValue() {
+            String text = cellText.toString();
+            if (text.isEmpty()) {
+                return "";
+            }
+            return switch (cellType == null ? "n" : cellType) {
+                case "s" -> converter.text(columnIndex, sharedString(Integer.parseInt(text)));
+                case "inlineStr", "str" -> converter.text(columnIndex, text);
+                case "b" -> converter.bool(columnIndex, "1".equals(text));
+                case "e" -> converter.error(FormulaError.forString(text).getCode());
+                default -> toNumberValue(Double.parseDouble(text));
+            };
+        }
+
+        /**
+         * Converts a number, with the number format of the cell style for a TEXT column.
+         *
+         * @param value The number of the cell.
+         * @return The string value of the cell.
+         */
+        private String toNumberValue(double value) {
+            if (converter.type(columnIndex) != ColumnType.TEXT) {
+                return converter.number(columnIndex, value);
+            }
+            if (cellStyle == null) {
+                return converter.formatted(value, 0, "General");
+            }
+            XSSFCellStyle style = stylesTable().getStyleAt(Integer.parseInt(cellStyle));
+            return style == null ? converter.formatted(value, 0, "General")
+                    : converter.formatted(value, style.getDataFormat(), style.getDataFormatString());
+        }
+
+        /**
+         * Hands the finished row to the sink, as the header row or as a data row.
+         */
+        private void endRow() {
+            if (headers == null) {
+                if (rowHasValue) {
+                    headers = rowValues.toArray(new String[0]);
+                    converter = CellConverter.forHeaders(headers);
+                    rowSink.header(headers);
+                }
+                return;
+            }
+            String[] values = new String[headers.length];
+            for (int colNum = 0; colNum < headers.length; colNum++) {
+                values[colNum] = colNum < rowValues.size() ? rowValues.get(colNum) : "";
+            }
+            rowSink.row(values);
+        }
+
+        /**
+         * Returns the shared strings table, loading it on first use.
+         *
+         * @return The shared strings table of the workbook.
+         */
+        private ReadOnlySharedStringsTable sharedStrings() {
+            if (sharedStrings == null) {
+                try {
+                    sharedStrings = new ReadOnlySharedStringsTable(opcPackage, false);
+                } catch (IOException | SAXException ex) {
+                    throw new ExceptionHub.ExcelException("Unable to read the shared strings table", ex);
+                }
+            }
+            return sharedStrings;
+        }
+
+        /**
+         * Returns the shared string at the index, reading it from the table once.
+         *
+         * @param index The index of the string in the shared strings table.
+         * @return The shared string.
+         */
+        private String sharedString(int index) {
+            if (sharedStringValues == null) {
+                sharedStringValues = new String[Math.max(sharedStrings().getUniqueCount(), 0)];
+            }
+            if (index >= sharedStringValues.length) {
+                return sharedStrings().getItemAt(index).getString();
+            }
+            String value = sharedStringValues[index];
+            if (value == null) {
+                value = sharedStrings().getItemAt(index).getString();
+                sharedStringValues[index] = value;
+            }
+            return value;
+        }
+
+        /**
+         * Returns the styles table, loading it on first use.
+         *
+         * @return The styles table of the workbook.
+         */
+        private StylesTable stylesTable() {
+            if (stylesTable == null) {
+                try {
+                    stylesTable = xssfReader.getStylesTable();
+                } catch (IOException | OpenXML4JException ex) {
+                    throw new ExceptionHub.ExcelException("Unable to read the styles table", ex);
+                }
+            }
+            return stylesTable;
+        }
+    }
+
+}
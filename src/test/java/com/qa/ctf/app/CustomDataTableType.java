@@ -2,6 +2,7 @@ package com.qa.ctf.app;
 
 import com.qa.ctf.domain.BillingDetails;
 import com.qa.ctf.util.ExceptionHub;
+import com.qa.ctf.util.RecordMapper;
 import io.cucumber.java.DataTableType;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -11,9 +12,13 @@ import java.util.Map;
 /**
  * Custom DataTableType definition for Cucumber to map DataTable entries
  * to the {@link BillingDetails} domain object.
+ * <p>
+ * The entries are mapped with the same cached {@link RecordMapper} binding as the
+ * billing details read from the Excel sheets.
+ * </p>
  *
  * @author Jagatheshwaran N
- * @version 1.1
+ * @version 1.2
  */
 public class CustomDataTableType {
 
@@ -38,15 +43,7 @@ public class CustomDataTableType {
             log.error("DataTable entry is null or empty!");
             throw new ExceptionHub.InvalidDataException("DataTable entry cannot be null or empty.");
         }
-        return new BillingDetails(
-                entry.get("firstname"),
-                entry.get("lastname"),
-                entry.get("address_line"),
-                entry.get("city"),
-                entry.get("state"),
-                entry.get("zipcode"),
-                entry.get("email")
-        );
+        return RecordMapper.of(BillingDetails.class).map(entry);
     }
 
 }
@@ -0,0 +1,160 @@
+package com.qa.ctf.app;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code StandInServer} class serves a local stand-in for a store page, so that
+ * browser level features such as request blocking can be verified without depending
+ * on the application under test.
+ *
+ * <p>Features:
+ * <ul>
+ *   <li><b>Stand-in Page:</b> Serves a page that loads a stylesheet, an image, a web
+ *   font and an analytics script.</li>
+ *   <li><b>Request Tracking:</b> Records every path the browser requested.</li>
+ * </ul>
+ *
+ * <p>Exception Handling:
+ * <ul>
+ *   <li>Failures while starting the server are rethrown as
+ *   {@link UncheckedIOException}.</li>
+ * </ul>
+ *
+ * <p>Example Usage:
+ * <pre>
+ * {@code
+ * StandInServer server = StandInServer.start();
+ * driver.get(server.url("/store"));
+ * boolean imageLoaded = server.wasRequested("/assets/product.png");
+ * server.stop();
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class StandInServer {
+
+    // Logger instance for the StandInServer class to enable logging during execution
+    private static final Logger log = LogManager.getLogger(StandInServer.class);
+
+    // Stand-in store page referencing the resources that are typically blocked
+    private static final String STORE_PAGE = """
+            <html>
+            <head>
+              <link rel="stylesheet" href="/assets/style.css">
+              <script src="/analytics.js"></script>
+            </head>
+            <body>
+              <h1 class="store">Store</h1>
+              <img src="/assets/product.png" alt="product">
+            </body>
+            </html>
+            """;
+
+    // Stylesheet of the stand-in page, loading a web font
+    private static final String STYLESHEET = """
+            @font-face { font-family: "Store"; src: url("/assets/font.woff2") format("woff2"); }
+            h1 { font-family: "Store"; }
+            """;
+
+    // Response body and content type per path
+    private static final Map<String, String[]> resources = Map.of(
+            "/store", new String[]{STORE_PAGE, "text/html"},
+            "/assets/style.css", new String[]{STYLESHEET, "text/css"},
+            "/assets/product.png", new String[]{"png", "image/png"},
+            "/assets/font.woff2", new String[]{"woff2", "font/woff2"},
+            "/analytics.js", new String[]{"window.tracked = true;", "text/javascript"});
+
+    // The underlying JDK HTTP server
+    private final HttpServer server;
+
+    // Paths requested by the browser
+    private final Set<String> requestedPaths = ConcurrentHashMap.newKeySet();
+
+    private StandInServer(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Starts the stand-in server on a free loopback port.
+     *
+     * @return The started server.
+     */
+    public static StandInServer start() {
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            StandInServer standInServer = new StandInServer(httpServer);
+            httpServer.createContext("/", standInServer::handle);
+            httpServer.start();
+            log.info("Stand-in server started on port '{}'", httpServer.getAddress().getPort());
+            return standInServer;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to start the stand-in server", ex);
+        }
+    }
+
+    /**
+     * Returns the URL of the given path on the stand-in server.
+     *
+     * @param path The path of the resource.
+     * @return The absolute URL of the resource.
+     */
+    public String url(String path) {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + path;
+    }
+
+    /**
+     * Checks whether the browser requested the given path.
+     *
+     * @param path The path of the resource.
+     * @return {@code true} if the path was requested, otherwise {@code false}.
+     */
+    public boolean wasRequested(String path) {
+        return requestedPaths.contains(path);
+    }
+
+    /**
+     * Stops the stand-in server.
+     */
+    public void stop() {
+        server.stop(0);
+    }
+
+    /**
+     * Records the request and answers it with the matching resource.
+     *
+     * @param exchange The HTTP exchange of the request.
+     * @throws IOException If the response cannot be written.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        requestedPaths.add(path);
+        String[] resource = resources.get(path);
+        if (resource == null) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = resource[0].getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", resource[1]);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+}
@@ -1,5 +1,7 @@
 package com.qa.ctf.domain;
 
+import com.qa.ctf.util.DataColumn;
+
 /**
  * Represents the billing details of a customer.
  * <p>
@@ -7,16 +9,20 @@ package com.qa.ctf.domain;
  * name, address, city, state, zipcode, and email. This data can be used for billing
  * purposes in various parts of the application.
  * </p>
+ * <p>
+ * The components are bound to the columns of the billing data sheets and DataTables
+ * with {@link DataColumn}.
+ * </p>
  *
  * @author Jagatheshwaran N
- * @version 1.1
+ * @version 1.2
  */
 public record BillingDetails(
-        String billingFirstName,
-        String billingLastName,
-        String billingAddressLine,
-        String billingCity,
-        String billingState,
-        String billingZipcode,
-        String billingEmail) {
+        @DataColumn("firstname") String billingFirstName,
+        @DataColumn("lastname") String billingLastName,
+        @DataColumn("address_line") String billingAddressLine,
+        @DataColumn("city") String billingCity,
+        @DataColumn("state") String billingState,
+        @DataColumn("zipcode") String billingZipcode,
+        @DataColumn("email") String billingEmail) {
 }
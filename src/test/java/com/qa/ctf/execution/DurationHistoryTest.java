@@ -0,0 +1,67 @@
+package com.qa.ctf.execution;
+
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * The {@code DurationHistoryTest} class verifies that the actual makespan compared
+ * with the prediction covers only the ordered scenarios.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class DurationHistoryTest {
+
+    /** The directory of the history file of a test. */
+    private Path historyDir;
+
+    @BeforeMethod
+    public void createHistoryDir() throws IOException {
+        historyDir = Files.createTempDirectory("duration-history");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void removeHistoryDir() throws IOException {
+        FileUtils.deleteDirectory(historyDir.toFile());
+    }
+
+    @Test(description = "Scenarios run apart from the ordered ones stay out of the makespan")
+    public void makespanCoversOnlyTheOrderedScenarios() {
+        Object[][] scenarios = ScenarioFixtures.provide(ScenarioFixtures.SHARDING_FEATURE);
+        DurationHistory durationHistory = new DurationHistory(historyDir.resolve("scenario-durations.properties"));
+        Object[][] uiScenarios = Arrays.copyOfRange(scenarios, 1, scenarios.length);
+        durationHistory.order(uiScenarios, 1);
+
+        durationHistory.record(pickleOf(scenarios[0]), () -> sleep(300));
+        for (Object[] scenario : uiScenarios) {
+            durationHistory.record(pickleOf(scenario), () -> sleep(10));
+        }
+
+        long actualMakespan = durationHistory.actualMakespan();
+        Assert.assertTrue(actualMakespan >= 10 * uiScenarios.length, "Makespan too short: " + actualMakespan);
+        Assert.assertTrue(actualMakespan < 300, "Makespan includes the unordered scenario: " + actualMakespan);
+    }
+
+    private static Pickle pickleOf(Object[] scenario) {
+        return ((PickleWrapper) scenario[0]).getPickle();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
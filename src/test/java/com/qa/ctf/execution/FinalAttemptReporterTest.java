@@ -0,0 +1,245 @@
+package com.qa.ctf.execution;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.EventListener;
+import io.cucumber.plugin.event.Event;
+import io.cucumber.plugin.event.EventHandler;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Location;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code FinalAttemptReporterTest} class verifies that only the last attempt of a
+ * scenario retried by the {@link ScenarioRetrier} is handed to the wrapped plugin, as
+ * soon as its run ends for a concurrent plugin, and in the canonical order once the
+ * test run is finished for a plugin that is not concurrent.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class FinalAttemptReporterTest {
+
+    /** The events received by the recording plugins, by the argument of the plugin. */
+    private static final Map<String, List<String>> RECORDED = new ConcurrentHashMap<>();
+
+    /** The feature file of the test cases. */
+    private static final URI FEATURE_URI = URI.create("file:fixtures/Sharding.feature");
+
+    /** The scenarios of the sharding fixture. */
+    private List<Pickle> pickles;
+
+    /** The retrier of a test, without a flake history. */
+    private ScenarioRetrier scenarioRetrier;
+
+    @BeforeClass
+    public void providePickles() {
+        pickles = new ArrayList<>();
+        for (Object[] scenario : ScenarioFixtures.provide(ScenarioFixtures.SHARDING_FEATURE)) {
+            pickles.add(((PickleWrapper) scenario[0]).getPickle());
+        }
+    }
+
+    @BeforeMethod
+    public void createRetrier() {
+        scenarioRetrier = new ScenarioRetrier(Path.of(System.getProperty("java.io.tmpdir"),
+                UUID.randomUUID() + ".properties"), 2, 10, 0, 1);
+    }
+
+    @Test(description = "A concurrent plugin gets the last attempt of a scenario as soon as its run ends")
+    public void handsTheLastAttemptOverOnceTheRunEnds() {
+        List<EventHandler<Object>> handlers = register("concurrent", ConcurrentRecorder.class);
+        TestCase firstAttempt = testCase("Order", 3);
+        TestCase secondAttempt = testCase("Order", 3);
+
+        publish(handlers, new TestRunStarted(Instant.now()));
+        Assert.assertEquals(RECORDED.get("concurrent"), List.of("run started"));
+        scenarioRetrier.run(pickles.get(0), () -> {
+            if (ScenarioRetrier.currentAttempt() == 1) {
+                attempt(handlers, firstAttempt, Status.FAILED);
+            }
+            attempt(handlers, secondAttempt, Status.PASSED);
+            Assert.assertEquals(RECORDED.get("concurrent"), List.of("run started"),
+                    "An attempt was handed over before the run ended.");
+        });
+
+        Assert.assertEquals(RECORDED.get("concurrent"),
+                List.of("run started", "started Order:3", "finished Order:3 PASSED"));
+        publish(handlers, new TestRunFinished(Instant.now(), new Result(Status.PASSED, Duration.ZERO, null)));
+        Assert.assertEquals(RECORDED.get("concurrent"),
+                List.of("run started", "started Order:3", "finished Order:3 PASSED", "run finished"));
+    }
+
+    @Test(description = "A plugin that is not concurrent gets the last attempts in line order at the end of the run")
+    public void handsTheLastAttemptsOverInOrderAtTheEnd() {
+        List<EventHandler<Object>> handlers = register("ordered", OrderedRecorder.class);
+        AtomicInteger failures = new AtomicInteger();
+
+        publish(handlers, new TestRunStarted(Instant.now()));
+        for (TestCase testCase : List.of(testCase("Refund", 8), testCase("Order", 3))) {
+            scenarioRetrier.run(pickles.get(testCase.getLine() == 3 ? 0 : 1), () -> {
+                Status status = ScenarioRetrier.currentAttempt() == 1 ? Status.FAILED : Status.PASSED;
+                failures.addAndGet(status == Status.FAILED ? 1 : 0);
+                attempt(handlers, testCase(testCase.getName(), testCase.getLine()), status);
+            });
+        }
+        Assert.assertEquals(failures.get(), 2);
+        Assert.assertEquals(RECORDED.get("ordered"), List.of(), "An event was handed over before the test run ended.");
+
+        publish(handlers, new TestRunFinished(Instant.now(), new Result(Status.PASSED, Duration.ZERO, null)));
+        Assert.assertEquals(RECORDED.get("ordered"), List.of("run started", "started Order:3",
+                "finished Order:3 PASSED", "started Refund:8", "finished Refund:8 PASSED", "run finished"));
+    }
+
+    @Test(description = "A scenario run without the retrier is kept and handed over with the end of the test run")
+    public void keepsAScenarioRunWithoutTheRetrier() {
+        List<EventHandler<Object>> handlers = register("unretried", ConcurrentRecorder.class);
+
+        Assert.assertThrows(AssertionError.class, () -> attempt(handlers, testCase("Order", 3), Status.FAILED));
+        Assert.assertEquals(RECORDED.get("unretried"), List.of());
+
+        publish(handlers, new TestRunFinished(Instant.now(), new Result(Status.FAILED, Duration.ZERO, null)));
+        Assert.assertEquals(RECORDED.get("unretried"),
+                List.of("started Order:3", "finished Order:3 FAILED", "run finished"));
+    }
+
+    /**
+     * Creates a reporter that wraps a recording plugin, and registers it on a publisher.
+     *
+     * @param name        The argument of the recording plugin, naming its records.
+     * @param pluginClass The class of the recording plugin.
+     * @return The handlers the reporter registered on the publisher.
+     */
+    private List<EventHandler<Object>> register(String name, Class<?> pluginClass) {
+        FinalAttemptReporter reporter = new FinalAttemptReporter(pluginClass.getName() + ":" + name);
+        List<EventHandler<Object>> handlers = new ArrayList<>();
+        reporter.setEventPublisher(new EventPublisher() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> void registerHandlerFor(Class<T> eventType, EventHandler<T> handler) {
+                if (eventType == Event.class) {
+                    handlers.add((EventHandler<Object>) handler);
+                }
+            }
+
+            @Override
+            public <T> void removeHandlerFor(Class<T> eventType, EventHandler<T> handler) {
+                handlers.remove(handler);
+            }
+        });
+        return handlers;
+    }
+
+    /**
+     * Publishes the start and the end of an attempt, and fails it if its status is failed.
+     */
+    private static void attempt(List<EventHandler<Object>> handlers, TestCase testCase, Status status) {
+        publish(handlers, new TestCaseStarted(Instant.now(), testCase));
+        publish(handlers, new TestCaseFinished(Instant.now(), testCase, new Result(status, Duration.ZERO, null)));
+        if (status == Status.FAILED) {
+            throw new AssertionError("The order was not placed");
+        }
+    }
+
+    private static void publish(List<EventHandler<Object>> handlers, Event event) {
+        handlers.forEach(handler -> handler.receive(event));
+    }
+
+    /**
+     * Creates an attempt of a scenario of the fixture feature, with an identifier of its
+     * own.
+     */
+    private static TestCase testCase(String name, int line) {
+        UUID id = UUID.randomUUID();
+        return (TestCase) Proxy.newProxyInstance(TestCase.class.getClassLoader(), new Class<?>[]{TestCase.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getId" -> id;
+                    case "getName" -> name;
+                    case "getLine" -> line;
+                    case "getLocation" -> new Location(line, 3);
+                    case "getUri" -> FEATURE_URI;
+                    case "hashCode" -> id.hashCode();
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> name + ":" + line;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Records the events it receives under its argument.
+     */
+    private static void record(String name, EventPublisher publisher) {
+        List<String> records = new CopyOnWriteArrayList<>();
+        RECORDED.put(name, records);
+        publisher.registerHandlerFor(TestRunStarted.class, event -> records.add("run started"));
+        publisher.registerHandlerFor(TestCaseStarted.class, event -> records.add("started " + event.getTestCase()));
+        publisher.registerHandlerFor(TestCaseFinished.class, event -> records.add("finished " + event.getTestCase()
+                + " " + event.getResult().getStatus()));
+        publisher.registerHandlerFor(TestRunFinished.class, event -> records.add("run finished"));
+    }
+
+    /**
+     * A concurrent plugin, like the JUnit, rerun and Extent reports, that records the
+     * events it receives.
+     */
+    public static class ConcurrentRecorder implements ConcurrentEventListener {
+
+        /** The argument of the plugin, naming its records. */
+        private final String name;
+
+        public ConcurrentRecorder(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void setEventPublisher(EventPublisher publisher) {
+            record(name, publisher);
+        }
+
+    }
+
+    /**
+     * A plugin that is not concurrent, like the JSON report, that records the events it
+     * receives.
+     */
+    public static class OrderedRecorder implements EventListener {
+
+        /** The argument of the plugin, naming its records. */
+        private final String name;
+
+        public OrderedRecorder(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void setEventPublisher(EventPublisher publisher) {
+            record(name, publisher);
+        }
+
+    }
+
+}
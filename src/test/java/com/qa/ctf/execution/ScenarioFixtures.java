@@ -0,0 +1,57 @@
+package com.qa.ctf.execution;
+
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code ScenarioFixtures} class provides the scenarios of the fixture feature
+ * files the way the Cucumber runner provides them to the TestNG data providers, for the
+ * unit tests of the execution classes.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+final class ScenarioFixtures {
+
+    /** The feature file with the scenarios of the sharding tests. */
+    static final String SHARDING_FEATURE = "src/test/resources/fixtures/Sharding.feature";
+
+    private ScenarioFixtures() {
+    }
+
+    /**
+     * Provides the scenarios of the given feature files, without glue or plugins.
+     *
+     * @param features The path of the feature files.
+     * @return The scenario parameters, with the {@link PickleWrapper} first.
+     */
+    static Object[][] provide(String features) {
+        Map<String, String> properties = Map.of(
+                "cucumber.features", features,
+                "cucumber.glue", "com.qa.ctf.execution",
+                "cucumber.publish.quiet", "true");
+        TestNGCucumberRunner testNGCucumberRunner = new TestNGCucumberRunner(ScenarioFixtures.class, properties::get);
+        try {
+            return testNGCucumberRunner.provideScenarios();
+        } finally {
+            testNGCucumberRunner.finish();
+        }
+    }
+
+    /**
+     * Returns the keys of the given scenarios, as kept in the duration history.
+     *
+     * @param scenarios The scenario parameters.
+     * @return The feature file and line of every scenario.
+     */
+    static List<String> keys(Object[][] scenarios) {
+        return Arrays.stream(scenarios)
+                .map(scenario -> DurationHistory.key(((PickleWrapper) scenario[0]).getPickle()))
+                .toList();
+    }
+
+}
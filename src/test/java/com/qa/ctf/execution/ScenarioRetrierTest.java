@@ -0,0 +1,202 @@
+package com.qa.ctf.execution;
+
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code ScenarioRetrierTest} class verifies that a failed scenario is retried
+ * within the retry limit of the scenario and the budget of the run, that a quarantined
+ * scenario is skipped instead of retried, and that the flake history is kept across
+ * runs.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class ScenarioRetrierTest {
+
+    /** The scenarios of the sharding fixture. */
+    private List<Pickle> pickles;
+
+    /** The directory of the flake history of a test. */
+    private Path testDir;
+
+    /** The flake history file of a test. */
+    private Path historyFile;
+
+    @BeforeClass
+    public void providePickles() {
+        pickles = new ArrayList<>();
+        for (Object[] scenario : ScenarioFixtures.provide(ScenarioFixtures.SHARDING_FEATURE)) {
+            pickles.add(((PickleWrapper) scenario[0]).getPickle());
+        }
+    }
+
+    @BeforeMethod
+    public void createTestDir() throws IOException {
+        testDir = Files.createTempDirectory("scenario-retrier");
+        historyFile = testDir.resolve("scenario-flakes.properties");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void removeTestDir() throws IOException {
+        FileUtils.deleteDirectory(testDir.toFile());
+    }
+
+    @Test(description = "A failing scenario is retried up to its retry limit, then its failure is thrown")
+    public void retriesUpToTheLimitOfTheScenario() {
+        ScenarioRetrier scenarioRetrier = new ScenarioRetrier(historyFile, 2, 10, 0, 1);
+        AtomicInteger attempts = new AtomicInteger();
+        AssertionError failure = new AssertionError("The order was not placed");
+
+        AssertionError thrown = Assert.expectThrows(AssertionError.class, () -> scenarioRetrier.run(pickles.get(0),
+                () -> {
+                    attempts.incrementAndGet();
+                    throw failure;
+                }));
+
+        Assert.assertSame(thrown, failure);
+        Assert.assertEquals(attempts.get(), 3);
+        Assert.assertEquals(ScenarioRetrier.currentAttempt(), 1, "The attempt was left on the thread.");
+        Assert.assertNull(ScenarioRetrier.currentRun(), "The run was left on the thread.");
+    }
+
+    @Test(description = "A scenario that passes on a retry is not retried again, and is numbered by attempt")
+    public void stopsRetryingOnceTheScenarioPasses() {
+        ScenarioRetrier scenarioRetrier = new ScenarioRetrier(historyFile, 3, 10, 0, 1);
+        List<Integer> attempts = new ArrayList<>();
+        List<Long> runs = new ArrayList<>();
+
+        scenarioRetrier.run(pickles.get(0), () -> {
+            attempts.add(ScenarioRetrier.currentAttempt());
+            runs.add(ScenarioRetrier.currentRun());
+            if (attempts.size() == 1) {
+                throw new AssertionError("The order was not placed");
+            }
+        });
+
+        Assert.assertEquals(attempts, List.of(1, 2));
+        Assert.assertEquals(runs.get(0), runs.get(1), "The attempts of a run have different run identifiers.");
+    }
+
+    @Test(description = "The retries of the run stop once the budget of the run is used up")
+    public void retriesWithinTheBudgetOfTheRun() {
+        ScenarioRetrier scenarioRetrier = new ScenarioRetrier(historyFile, 5, 2, 0, 1);
+        AtomicInteger firstAttempts = new AtomicInteger();
+        AtomicInteger secondAttempts = new AtomicInteger();
+
+        Assert.assertThrows(AssertionError.class, () -> scenarioRetrier.run(pickles.get(0), () -> {
+            firstAttempts.incrementAndGet();
+            throw new AssertionError("The order was not placed");
+        }));
+        Assert.assertThrows(AssertionError.class, () -> scenarioRetrier.run(pickles.get(1), () -> {
+            secondAttempts.incrementAndGet();
+            throw new AssertionError("The order was not placed");
+        }));
+
+        Assert.assertEquals(firstAttempts.get(), 3);
+        Assert.assertEquals(secondAttempts.get(), 1, "A scenario was retried beyond the budget of the run.");
+    }
+
+    @Test(description = "A scenario is quarantined once it has the minimum runs and reaches the flake rate")
+    public void quarantinesFromTheThresholdAndTheMinimumRuns() throws IOException {
+        writeHistory(pickles.get(0), "4,2");
+
+        Assert.assertTrue(new ScenarioRetrier(historyFile, 1, 10, 0.5, 4).isQuarantined(pickles.get(0)));
+        Assert.assertFalse(new ScenarioRetrier(historyFile, 1, 10, 0.5, 5).isQuarantined(pickles.get(0)),
+                "A scenario was quarantined before its minimum runs.");
+        Assert.assertFalse(new ScenarioRetrier(historyFile, 1, 10, 0.6, 4).isQuarantined(pickles.get(0)),
+                "A scenario was quarantined below the flake rate.");
+        Assert.assertFalse(new ScenarioRetrier(historyFile, 1, 10, 0, 1).isQuarantined(pickles.get(0)),
+                "A scenario was quarantined with the quarantine turned off.");
+        Assert.assertFalse(new ScenarioRetrier(historyFile, 1, 10, 0.5, 4).isQuarantined(pickles.get(1)));
+    }
+
+    @Test(description = "A quarantined scenario that fails is skipped without a retry")
+    public void skipsAQuarantinedScenarioWithoutARetry() throws IOException {
+        writeHistory(pickles.get(0), "4,4");
+        ScenarioRetrier scenarioRetrier = new ScenarioRetrier(historyFile, 3, 1, 0.5, 4);
+        AtomicInteger attempts = new AtomicInteger();
+        AssertionError failure = new AssertionError("The order was not placed");
+
+        SkipException skipped = Assert.expectThrows(SkipException.class, () -> scenarioRetrier.run(pickles.get(0),
+                () -> {
+                    attempts.incrementAndGet();
+                    throw failure;
+                }));
+
+        Assert.assertSame(skipped.getCause(), failure);
+        Assert.assertEquals(attempts.get(), 1, "The quarantined scenario was retried.");
+        AtomicInteger otherAttempts = new AtomicInteger();
+        scenarioRetrier.run(pickles.get(1), () -> {
+            if (otherAttempts.incrementAndGet() == 1) {
+                throw new AssertionError("The order was not placed");
+            }
+        });
+        Assert.assertEquals(otherAttempts.get(), 2, "The quarantined scenario used the budget of the run.");
+    }
+
+    @Test(description = "The runs and flaky runs are kept in the history file and read back by the next run")
+    public void keepsTheFlakeHistoryAcrossRuns() throws IOException {
+        ScenarioRetrier firstRun = new ScenarioRetrier(historyFile, 1, 10, 0.5, 1);
+        AtomicInteger attempts = new AtomicInteger();
+        firstRun.run(pickles.get(0), () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new AssertionError("The order was not placed");
+            }
+        });
+        firstRun.run(pickles.get(1), () -> {
+        });
+        firstRun.finish();
+
+        Assert.assertTrue(Files.isRegularFile(historyFile), "The flake history was not written.");
+        ScenarioRetrier secondRun = new ScenarioRetrier(historyFile, 1, 10, 0.5, 1);
+        Assert.assertTrue(secondRun.isQuarantined(pickles.get(0)), "The flaky run was not read back.");
+        Assert.assertFalse(secondRun.isQuarantined(pickles.get(1)));
+
+        AtomicInteger secondAttempts = new AtomicInteger();
+        secondRun.run(pickles.get(1), () -> {
+            if (secondAttempts.incrementAndGet() == 1) {
+                throw new AssertionError("The order was not placed");
+            }
+        });
+        secondRun.finish();
+        Assert.assertTrue(new ScenarioRetrier(historyFile, 1, 10, 0.5, 1).isQuarantined(pickles.get(0)),
+                "The history of a scenario that did not run was lost.");
+        Assert.assertFalse(new ScenarioRetrier(historyFile, 1, 10, 0.5, 2).isQuarantined(pickles.get(0)));
+        Assert.assertTrue(new ScenarioRetrier(historyFile, 1, 10, 0.5, 2).isQuarantined(pickles.get(1)),
+                "The runs of a scenario were not added up across runs.");
+        Assert.assertFalse(new ScenarioRetrier(historyFile, 1, 10, 0.6, 2).isQuarantined(pickles.get(1)));
+    }
+
+    /**
+     * Writes the runs and flaky runs of a scenario to the flake history file.
+     *
+     * @param pickle The scenario.
+     * @param flakes The runs and flaky runs, separated by a comma.
+     * @throws IOException If the history file cannot be written.
+     */
+    private void writeHistory(Pickle pickle, String flakes) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(DurationHistory.key(pickle), flakes);
+        try (OutputStream outputStream = Files.newOutputStream(historyFile)) {
+            properties.store(outputStream, null);
+        }
+    }
+
+}
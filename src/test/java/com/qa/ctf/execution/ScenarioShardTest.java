@@ -0,0 +1,104 @@
+package com.qa.ctf.execution;
+
+import com.qa.ctf.util.ExceptionHub;
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import static com.qa.ctf.constant.TestConstants.*;
+
+/**
+ * The {@code ScenarioShardTest} class verifies that the shards of a run split the
+ * scenarios without overlap or gap, by hash and by a shared duration history.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class ScenarioShardTest {
+
+    /** The scenarios of the sharding fixture. */
+    private Object[][] scenarios;
+
+    /** The directory of the history files of the tests. */
+    private Path historyDir;
+
+    @BeforeClass
+    public void provideScenarios() throws IOException {
+        scenarios = ScenarioFixtures.provide(ScenarioFixtures.SHARDING_FEATURE);
+        historyDir = Files.createTempDirectory("shard-history");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void removeHistory() throws IOException {
+        FileUtils.deleteDirectory(historyDir.toFile());
+    }
+
+    @Test(description = "Hash shards take every scenario exactly once")
+    public void hashShardsCoverEveryScenarioOnce() {
+        List<String> keys = new ArrayList<>();
+        for (int index = 0; index < 3; index++) {
+            keys.addAll(ScenarioFixtures.keys(new ScenarioShard(index, 3, null).select(scenarios)));
+        }
+        assertPartition(keys);
+    }
+
+    @Test(description = "History shards take every scenario exactly once and balance the durations")
+    public void historyShardsCoverEveryScenarioOnce() throws IOException {
+        List<String> allKeys = ScenarioFixtures.keys(scenarios);
+        Properties properties = new Properties();
+        allKeys.forEach(key -> properties.setProperty(key, "100"));
+        properties.setProperty(allKeys.getFirst(), "10000");
+        Path shardHistory = writeHistory(properties);
+        List<String> keys = new ArrayList<>();
+        List<String> longestShard = null;
+        for (int index = 0; index < 2; index++) {
+            List<String> shardKeys = ScenarioFixtures.keys(new ScenarioShard(index, 2, shardHistory).select(scenarios));
+            if (shardKeys.contains(allKeys.getFirst())) {
+                longestShard = shardKeys;
+            }
+            keys.addAll(shardKeys);
+        }
+        assertPartition(keys);
+        Assert.assertEquals(longestShard, List.of(allKeys.getFirst()), "The longest scenario is not alone.");
+    }
+
+    @Test(description = "A history balance without a shared history file is refused")
+    public void historyBalanceRequiresSharedHistory() {
+        System.setProperty(SHARD_TOTAL, "2");
+        System.setProperty(SHARD_BALANCE, SHARD_BALANCE_HISTORY);
+        System.clearProperty(SHARD_HISTORY);
+        try {
+            Assert.assertThrows(ExceptionHub.ConfigTypeException.class, ScenarioShard::fromSystemProperties);
+        } finally {
+            System.clearProperty(SHARD_TOTAL);
+            System.clearProperty(SHARD_BALANCE);
+        }
+    }
+
+    private Path writeHistory(Properties properties) throws IOException {
+        Path shardHistory = Files.createTempFile(historyDir, "shard-durations", ".properties");
+        try (OutputStream outputStream = Files.newOutputStream(shardHistory)) {
+            properties.store(outputStream, null);
+        }
+        return shardHistory;
+    }
+
+    private void assertPartition(List<String> keys) {
+        Set<String> distinct = new HashSet<>(keys);
+        Assert.assertEquals(keys.size(), distinct.size(), "A scenario runs on several shards: " + keys);
+        Assert.assertEquals(distinct, new HashSet<>(ScenarioFixtures.keys(scenarios)), "A scenario runs on no shard.");
+    }
+
+}
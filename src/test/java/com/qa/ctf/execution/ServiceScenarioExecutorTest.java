@@ -0,0 +1,113 @@
+package com.qa.ctf.execution;
+
+import com.qa.ctf.util.ExceptionHub;
+import io.cucumber.testng.PickleWrapper;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code ServiceScenarioExecutorTest} class verifies that the browserless scenarios
+ * run on virtual threads within the concurrency limit, that the threads and their
+ * runners are reused across the scenarios, and that each one is awaited with its own
+ * outcome.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.1
+ */
+public class ServiceScenarioExecutorTest {
+
+    /** The scenarios of the sharding fixture. */
+    private List<Object[]> scenarios;
+
+    @BeforeClass
+    public void provideScenarios() {
+        scenarios = Arrays.asList(ScenarioFixtures.provide(ScenarioFixtures.SHARDING_FEATURE));
+    }
+
+    @Test(description = "Every scenario runs once on a virtual thread, within the concurrency limit")
+    public void runsEveryScenarioWithinTheLimit() {
+        Set<String> ranScenarios = ConcurrentHashMap.newKeySet();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger platformThreads = new AtomicInteger();
+        try (ServiceScenarioExecutor executor = new ServiceScenarioExecutor(2)) {
+            executor.start(scenarios, pickleWrapper -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                if (!Thread.currentThread().isVirtual()) {
+                    platformThreads.incrementAndGet();
+                }
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                ranScenarios.add(DurationHistory.key(pickleWrapper.getPickle()));
+                running.decrementAndGet();
+            });
+            scenarios.forEach(scenario -> executor.await((PickleWrapper) scenario[0]));
+        }
+        Assert.assertEquals(ranScenarios.size(), scenarios.size());
+        Assert.assertTrue(maxRunning.get() <= 2, "Up to " + maxRunning.get() + " scenarios ran at the same time.");
+        Assert.assertEquals(platformThreads.get(), 0, "A scenario ran on a platform thread.");
+    }
+
+    @Test(description = "The threads are reused, so that each builds its runner once for all of its scenarios")
+    public void reusesTheThreadsAndTheirRunners() {
+        AtomicInteger builtRunners = new AtomicInteger();
+        ThreadLocal<Object> threadRunner = ThreadLocal.withInitial(() -> {
+            builtRunners.incrementAndGet();
+            return new Object();
+        });
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        try (ServiceScenarioExecutor executor = new ServiceScenarioExecutor(2)) {
+            executor.start(scenarios, pickleWrapper -> {
+                threadRunner.get();
+                threads.add(Thread.currentThread());
+            });
+            scenarios.forEach(scenario -> executor.await((PickleWrapper) scenario[0]));
+        }
+        Assert.assertTrue(scenarios.size() > 2, "The fixture has too few scenarios to reuse a thread.");
+        Assert.assertTrue(threads.size() <= 2, threads.size() + " threads ran the scenarios.");
+        Assert.assertEquals(builtRunners.get(), threads.size(), "A runner was built for more than one thread.");
+    }
+
+    @Test(description = "The failure of a scenario is thrown by its own wait only")
+    public void reportsTheFailureOfEachScenario() {
+        PickleWrapper failing = (PickleWrapper) scenarios.getFirst()[0];
+        try (ServiceScenarioExecutor executor = new ServiceScenarioExecutor(4)) {
+            executor.start(scenarios, pickleWrapper -> {
+                if (pickleWrapper == failing) {
+                    throw new AssertionError("The order was not placed");
+                }
+            });
+            Assert.assertThrows(AssertionError.class, () -> executor.await(failing));
+            scenarios.stream().skip(1).forEach(scenario -> executor.await((PickleWrapper) scenario[0]));
+        }
+    }
+
+    @Test(description = "A scenario that was not started, or was already awaited, is refused")
+    public void refusesAScenarioThatWasNotStarted() {
+        PickleWrapper pickleWrapper = (PickleWrapper) scenarios.getFirst()[0];
+        try (ServiceScenarioExecutor executor = new ServiceScenarioExecutor(1)) {
+            Assert.assertThrows(ExceptionHub.class, () -> executor.await(pickleWrapper));
+            executor.start(List.<Object[]>of(scenarios.getFirst()), started -> {
+            });
+            executor.await(pickleWrapper);
+            Assert.assertThrows(ExceptionHub.class, () -> executor.await(pickleWrapper));
+        }
+    }
+
+    @Test(description = "Only the scenarios tagged @browserless are browserless")
+    public void recognizesTheBrowserlessTag() {
+        Assert.assertTrue(ServiceScenarioExecutor.isBrowserless(List.of("@service", "@browserless")));
+        Assert.assertFalse(ServiceScenarioExecutor.isBrowserless(List.of("@service")));
+    }
+
+}
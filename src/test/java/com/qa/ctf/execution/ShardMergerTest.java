@@ -0,0 +1,88 @@
+package com.qa.ctf.execution;
+
+import com.qa.ctf.util.ExceptionHub;
+import org.apache.commons.io.FileUtils;
+import org.openqa.selenium.json.Json;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static com.qa.ctf.constant.TestConstants.*;
+
+/**
+ * The {@code ShardMergerTest} class verifies that the reports of the shards of one
+ * run are merged, without the leftovers of a run with another shard total.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class ShardMergerTest {
+
+    /** The directory of the shard reports of a test. */
+    private Path shardsDir;
+
+    @BeforeMethod
+    public void createShardsDir() throws IOException {
+        shardsDir = Files.createTempDirectory("shards");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void removeShardsDir() throws IOException {
+        FileUtils.deleteDirectory(shardsDir.toFile());
+    }
+
+    @Test(description = "Only the shards of the given total are merged")
+    public void mergesOnlyTheShardsOfTheTotal() throws IOException {
+        writeShard("shard-1-of-2", "features/A.feature:3", "features/A.feature");
+        writeShard("shard-2-of-2", "features/B.feature:5", "features/B.feature");
+        writeShard("shard-1-of-3", "features/Old.feature:9", "features/Old.feature");
+
+        new ShardMerger(shardsDir).merge(2);
+
+        Path mergedDir = shardsDir.resolve(MERGED_SHARD_DIR);
+        Assert.assertEquals(Files.readAllLines(mergedDir.resolve(fileName(CUCUMBER_RERUN_FILE))),
+                List.of("features/A.feature:3", "features/B.feature:5"));
+        List<Map<String, Object>> features = new Json().toType(
+                Files.readString(mergedDir.resolve(fileName(CUCUMBER_JSON_REPORT))), Json.LIST_OF_MAPS_TYPE);
+        Assert.assertEquals(features.stream().map(feature -> feature.get("uri")).toList(),
+                List.of("features/A.feature", "features/B.feature"));
+    }
+
+    @Test(description = "The shard total is found when all the shards belong to one run")
+    public void findsTheShardTotal() throws IOException {
+        writeShard("shard-1-of-2", "features/A.feature:3", "features/A.feature");
+        writeShard("shard-2-of-2", "features/B.feature:5", "features/B.feature");
+
+        new ShardMerger(shardsDir).merge();
+
+        Assert.assertEquals(Files.readAllLines(shardsDir.resolve(MERGED_SHARD_DIR).resolve(fileName(CUCUMBER_RERUN_FILE))),
+                List.of("features/A.feature:3", "features/B.feature:5"));
+    }
+
+    @Test(description = "Shards of several totals are refused without a given total")
+    public void refusesShardsOfSeveralTotals() throws IOException {
+        writeShard("shard-1-of-2", "features/A.feature:3", "features/A.feature");
+        writeShard("shard-1-of-3", "features/Old.feature:9", "features/Old.feature");
+
+        Assert.assertThrows(ExceptionHub.class, () -> new ShardMerger(shardsDir).merge());
+    }
+
+    private void writeShard(String name, String failedScenario, String featureUri) throws IOException {
+        Path shardDir = Files.createDirectories(shardsDir.resolve(name));
+        Files.writeString(shardDir.resolve(fileName(CUCUMBER_RERUN_FILE)), failedScenario + "\n");
+        Files.writeString(shardDir.resolve(fileName(CUCUMBER_JSON_REPORT)),
+                "[{\"uri\": \"" + featureUri + "\", \"elements\": [{\"name\": \"" + failedScenario + "\"}]}]");
+    }
+
+    private static String fileName(String report) {
+        return Path.of(report).getFileName().toString();
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.qa.ctf.execution;
+
+import com.qa.ctf.util.ExceptionHub;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.qa.ctf.constant.TestConstants.*;
+
+/**
+ * The {@code WorkerSchedulerTest} class verifies that the worker count is sized from the
+ * processors and the free memory of a local run, or the free Grid slots of a remote run,
+ * and that only the pool of a local run is resized with the load of the machine.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class WorkerSchedulerTest {
+
+    @AfterMethod(alwaysRun = true)
+    public void clearWorkers() {
+        System.clearProperty(WORKERS);
+    }
+
+    @Test(description = "A local run is limited by the processors or the browsers that fit in the free memory")
+    public void sizesALocalRun() {
+        Assert.assertEquals(WorkerScheduler.forLocalRun(8, 16_000, 500).getMaxWorkers(), 8);
+        Assert.assertEquals(WorkerScheduler.forLocalRun(8, 2_000, 500).getMaxWorkers(), 4);
+        Assert.assertEquals(WorkerScheduler.forLocalRun(8, 100, 500).getMaxWorkers(), 1);
+        Assert.assertTrue(WorkerScheduler.forLocalRun(8, 16_000, 500).isAdaptive());
+    }
+
+    @Test(description = "A remote run takes the free Grid slots, or the processors if unknown, without resizing")
+    public void sizesARemoteRun() {
+        Assert.assertEquals(WorkerScheduler.forRemoteRun(2, 12, 500).getMaxWorkers(), 12);
+        Assert.assertEquals(WorkerScheduler.forRemoteRun(2, -1, 500).getMaxWorkers(), 2);
+        Assert.assertEquals(WorkerScheduler.forRemoteRun(2, 0, 500).getMaxWorkers(), 1);
+
+        WorkerScheduler workerScheduler = WorkerScheduler.forRemoteRun(2, 12, 500);
+        Assert.assertFalse(workerScheduler.isAdaptive());
+        workerScheduler.resize(1.0, 0);
+        Assert.assertEquals(workerScheduler.getWorkers(), 12, "The Grid workers were shrunk by the local load.");
+    }
+
+    @Test(description = "A local pool shrinks under load, down to one worker, and grows back to its size")
+    public void resizesALocalRun() {
+        WorkerScheduler workerScheduler = new WorkerScheduler(3, 500, true);
+
+        workerScheduler.resize(0.95, 10_000);
+        Assert.assertEquals(workerScheduler.getWorkers(), 2);
+        workerScheduler.resize(0.3, 100);
+        Assert.assertEquals(workerScheduler.getWorkers(), 1);
+        workerScheduler.resize(0.95, 100);
+        Assert.assertEquals(workerScheduler.getWorkers(), 1, "The pool shrank below one worker.");
+        workerScheduler.resize(-1, 100);
+        Assert.assertEquals(workerScheduler.getWorkers(), 1);
+
+        workerScheduler.resize(0.7, 10_000);
+        Assert.assertEquals(workerScheduler.getWorkers(), 1, "The pool grew between the load thresholds.");
+        for (int sample = 0; sample < 5; sample++) {
+            workerScheduler.resize(0.3, 10_000);
+        }
+        Assert.assertEquals(workerScheduler.getWorkers(), 3, "The pool grew beyond its size.");
+    }
+
+    @Test(description = "No more scenarios run at the same time than the current workers")
+    public void runsWithinTheWorkers() throws InterruptedException {
+        WorkerScheduler workerScheduler = new WorkerScheduler(2, 500, true);
+        workerScheduler.resize(0.95, 10_000);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(6);
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            for (int scenarioNum = 0; scenarioNum < 6; scenarioNum++) {
+                executor.execute(() -> {
+                    workerScheduler.run(() -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        try {
+                            Thread.sleep(10);
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                        running.decrementAndGet();
+                    });
+                    finished.countDown();
+                });
+            }
+            Assert.assertTrue(finished.await(10, TimeUnit.SECONDS), "The scenarios did not finish.");
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(maxRunning.get(), 1);
+    }
+
+    @Test(description = "A fixed worker count is used as it is, and an invalid one is refused")
+    public void usesAFixedWorkerCount() {
+        System.setProperty(WORKERS, " 3 ");
+        WorkerScheduler workerScheduler = WorkerScheduler.fromSystemProperties();
+        Assert.assertEquals(workerScheduler.getMaxWorkers(), 3);
+        Assert.assertFalse(workerScheduler.isAdaptive());
+
+        System.setProperty(WORKERS, "0");
+        Assert.assertThrows(ExceptionHub.ConfigTypeException.class, WorkerScheduler::fromSystemProperties);
+        System.setProperty(WORKERS, "many");
+        Assert.assertThrows(ExceptionHub.ConfigTypeException.class, WorkerScheduler::fromSystemProperties);
+    }
+
+}
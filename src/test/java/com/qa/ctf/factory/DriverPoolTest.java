@@ -0,0 +1,150 @@
+package com.qa.ctf.factory;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code DriverPoolTest} class verifies that the driver pool keeps idle sessions
+ * when no idle timeout is set, and that it replaces the sessions it cannot reset
+ * instead of reusing them.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class DriverPoolTest {
+
+    /** The recycle policy with every limit turned off. */
+    private static final RecyclePolicy NO_RECYCLING = new RecyclePolicy(0, Duration.ZERO, 0);
+
+    @Test(description = "A zero or negative idle timeout keeps the idle sessions")
+    public void keepsIdleSessionsWithoutAnIdleTimeout() throws InterruptedException {
+        for (Duration idleTimeout : List.of(Duration.ZERO, Duration.ofSeconds(-1))) {
+            List<FakeDriver> drivers = new ArrayList<>();
+            DriverPool driverPool = new DriverPool(() -> newDriver(drivers, true), 1, idleTimeout, NO_RECYCLING);
+            try {
+                WebDriver driver = driverPool.lease();
+                driverPool.release(driver);
+                Thread.sleep(5);
+
+                Assert.assertSame(driverPool.lease(), driver, "The idle session was evicted.");
+                Assert.assertEquals(drivers.size(), 1);
+                Assert.assertFalse(drivers.getFirst().quit);
+            } finally {
+                driverPool.shutdown();
+            }
+        }
+    }
+
+    @Test(description = "A session without CDP is replaced by a fresh one instead of being reused")
+    public void replacesASessionWithoutCdp() {
+        List<FakeDriver> drivers = new ArrayList<>();
+        DriverPool driverPool = new DriverPool(() -> newDriver(drivers, false), 1, Duration.ZERO, NO_RECYCLING);
+        try {
+            WebDriver driver = driverPool.lease();
+            driverPool.release(driver);
+
+            Assert.assertNotSame(driverPool.lease(), driver, "The session without CDP was reused.");
+            Assert.assertEquals(drivers.size(), 2);
+            Assert.assertTrue(drivers.getFirst().quit, "The replaced session was not quit.");
+        } finally {
+            driverPool.shutdown();
+        }
+    }
+
+    @Test(description = "A session with CDP is reset to a single blank window")
+    public void resetsASessionWithCdp() {
+        List<FakeDriver> drivers = new ArrayList<>();
+        WebDriver driver = newDriver(drivers, true);
+        FakeDriver fakeDriver = drivers.getFirst();
+        fakeDriver.handles.add("second");
+
+        Assert.assertTrue(DriverPool.reset(driver));
+        Assert.assertEquals(fakeDriver.handles.size(), 1);
+        Assert.assertTrue(fakeDriver.cdpCommands.contains("Network.clearBrowserCookies"));
+    }
+
+    private static WebDriver newDriver(List<FakeDriver> drivers, boolean cdp) {
+        FakeDriver fakeDriver = new FakeDriver();
+        synchronized (drivers) {
+            drivers.add(fakeDriver);
+        }
+        Class<?>[] interfaces = cdp
+                ? new Class<?>[]{WebDriver.class, JavascriptExecutor.class, HasCdp.class}
+                : new Class<?>[]{WebDriver.class, JavascriptExecutor.class};
+        return (WebDriver) Proxy.newProxyInstance(DriverPoolTest.class.getClassLoader(), interfaces,
+                (proxy, method, args) -> fakeDriver.invoke(proxy, method.getName(), args));
+    }
+
+    /**
+     * Keeps the windows of a fake WebDriver session and answers the calls of the pool.
+     */
+    private static final class FakeDriver {
+
+        /** The handles of the open windows. */
+        private final Set<String> handles = new LinkedHashSet<>(Set.of("first"));
+
+        /** The CDP commands sent to the session. */
+        private final List<String> cdpCommands = new ArrayList<>();
+
+        /** The counter of the handles of the new windows. */
+        private final AtomicInteger windowCount = new AtomicInteger();
+
+        /** The handle of the current window. */
+        private String currentHandle = "first";
+
+        /** Whether the session was quit. */
+        private volatile boolean quit;
+
+        private Object invoke(Object proxy, String methodName, Object[] args) {
+            return switch (methodName) {
+                case "getWindowHandles" -> new LinkedHashSet<>(handles);
+                case "getWindowHandle" -> currentHandle;
+                case "getCurrentUrl" -> "about:blank";
+                case "switchTo" -> Proxy.newProxyInstance(DriverPoolTest.class.getClassLoader(),
+                        new Class<?>[]{WebDriver.TargetLocator.class},
+                        (locator, locatorMethod, locatorArgs) -> switchTo(proxy, locatorMethod.getName(), locatorArgs));
+                case "close" -> {
+                    handles.remove(currentHandle);
+                    yield null;
+                }
+                case "executeCdpCommand" -> {
+                    cdpCommands.add((String) args[0]);
+                    yield Map.of();
+                }
+                case "quit" -> {
+                    quit = true;
+                    yield null;
+                }
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "FakeDriver" + handles;
+                default -> null;
+            };
+        }
+
+        private Object switchTo(Object proxy, String methodName, Object[] args) {
+            switch (methodName) {
+                case "window" -> currentHandle = (String) args[0];
+                case "newWindow" -> {
+                    currentHandle = "window-" + windowCount.incrementAndGet();
+                    handles.add(currentHandle);
+                }
+                default -> throw new UnsupportedOperationException(methodName);
+            }
+            return proxy;
+        }
+    }
+
+}
@@ -0,0 +1,313 @@
+package com.qa.ctf.runner;
+
+import com.qa.ctf.execution.DurationHistory;
+import com.qa.ctf.execution.ScenarioRetrier;
+import com.qa.ctf.execution.ScenarioShard;
+import com.qa.ctf.execution.ServiceScenarioExecutor;
+import com.qa.ctf.execution.WorkerScheduler;
+import com.qa.ctf.factory.DriverFactory;
+import com.qa.ctf.util.FileReader;
+import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+import org.testng.ITestContext;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.qa.ctf.constant.TestConstants.PREWARM_DRIVERS;
+
+/**
+ * The {@code CucumberRunnerBase} class holds the Cucumber options and the run path
+ * shared by the TestNG runners of the framework.
+ *
+ * <p>
+ * It creates the Cucumber runner of the concrete runner class and provides its
+ * scenarios once, keeping the ones of the {@link ScenarioShard} when the run is split
+ * over several JVMs. The number of scenarios running at the same time is sized by the
+ * {@link WorkerScheduler} at suite start, and the scenarios are started longest first
+ * from the durations kept by the {@link DurationHistory}. The scenarios tagged
+ * {@code @browserless} run alongside the others, on the virtual threads of the
+ * {@link ServiceScenarioExecutor}, and each of them is reported as its own test. A
+ * failed scenario is retried in the same run by the {@link ScenarioRetrier}.
+ * </p>
+ *
+ * <p>
+ * The {@code @CucumberOptions} annotation configures the Cucumber test execution
+ * environment, including feature file paths, tags, glue code locations, reporting
+ * plugins, and other test settings like publishing results and generating various
+ * report formats (HTML, JSON, JUnit, etc.). The JSON, JUnit, Extent and rerun outputs
+ * go through the {@link com.qa.ctf.execution.FinalAttemptReporter}, so that a retried
+ * scenario is reported once with its final status. Cucumber reads the annotation from
+ * the superclass of the runners, so a runner only declares the options it adds, e.g.
+ * further tags.
+ * </p>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.7
+ */
+@CucumberOptions(
+        features = "src/test/resources/features/", // Path to the feature files
+        tags = "@service", // Tags to filter which tests to run
+        glue = {"com/qa/ctf"}, // Package where step definitions are located
+        plugin = { // Cucumber plugins for various reports
+                "pretty",
+                "html:target/cucumber/report/cucumber.html", // HTML report location
+                // JSON report location, with the last attempt of each retried scenario
+                "com.qa.ctf.execution.FinalAttemptReporter:json:target/cucumber/report/report.json",
+                // JUnit report location, with the last attempt of each retried scenario
+                "com.qa.ctf.execution.FinalAttemptReporter:junit:target/cucumber/report/report.xml",
+                // Extent Reports integration, with the last attempt of each retried scenario
+                "com.qa.ctf.execution.FinalAttemptReporter:"
+                        + "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:",
+                // List of the scenarios that still failed on their last attempt, for rerun
+                "com.qa.ctf.execution.FinalAttemptReporter:rerun:target/failedRerun.txt",
+                "timeline:test-output-thread/" // Timeline report
+        },
+        publish = true, // Publish the results to the Cucumber cloud
+        monochrome = true // Ensures the output is readable in the console
+)
+public abstract class CucumberRunnerBase {
+
+    /** The Cucumber runner that provides and runs the scenarios. */
+    private TestNGCucumberRunner testNGCucumberRunner;
+
+    /** The scheduler that sizes the number of scenarios running at the same time. */
+    protected WorkerScheduler workerScheduler;
+
+    /** The durations of the scenarios across runs. */
+    protected DurationHistory durationHistory;
+
+    /** The shard of the run, or {@code null} if the run is not split. */
+    private ScenarioShard scenarioShard;
+
+    /** The retrier of the failed scenarios. */
+    protected ScenarioRetrier scenarioRetrier;
+
+    /** The scenarios of the run, provided once for the browser and browserless scenarios. */
+    private Object[][] providedScenarios;
+
+    /** The executor of the browserless scenarios, or {@code null} until they are started. */
+    private ServiceScenarioExecutor serviceScenarioExecutor;
+
+    /**
+     * Sizes the workers of the run and starts resizing them with the load of the
+     * machine.
+     * <p>
+     * The durations of the previous runs are loaded to order the scenarios, the flake
+     * history to retry and quarantine them, and the shard of the run is read, if any.
+     * </p>
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void startWorkers() {
+        workerScheduler = WorkerScheduler.fromSystemProperties();
+        workerScheduler.start();
+        durationHistory = DurationHistory.load();
+        scenarioRetrier = ScenarioRetrier.fromSystemProperties();
+        if (ScenarioShard.isEnabled()) {
+            scenarioShard = ScenarioShard.fromSystemProperties();
+        }
+    }
+
+    /**
+     * Starts the pre-warmed drivers before the feature files are parsed.
+     * <p>
+     * The number of drivers is taken from the {@code PrewarmDrivers} system property.
+     * The drivers are started in the background, so that the browser startup overlaps
+     * with the feature parsing and glue scanning done by the Cucumber runner.
+     * </p>
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void prewarmDrivers() {
+        int driverCount = Integer.getInteger(PREWARM_DRIVERS, 0);
+        if (driverCount > 0) {
+            FileReader.loadPropertyFile();
+            DriverFactory.getInstance().prewarmDrivers(driverCount);
+        }
+    }
+
+    /**
+     * Starts the preload of the test data sheets before the feature files are parsed.
+     * <p>
+     * The sheets are taken from the {@code PreloadTestData} system property and
+     * loaded in parallel in the background, like the pre-warmed drivers.
+     * </p>
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void preloadTestData() {
+        DriverFactory.preloadTestData();
+    }
+
+    /**
+     * Creates the Cucumber runner of the concrete runner class.
+     * <p>
+     * The data provider threads of the suite are set to the highest worker count, so
+     * that the parallelism no longer depends on the thread counts of the suite file.
+     * TestNG injects no context into the suite configuration, so this is done before
+     * the data providers of the class are invoked.
+     * </p>
+     *
+     * @param context The TestNG context of the current test.
+     */
+    @BeforeClass(alwaysRun = true)
+    public void setUpClass(ITestContext context) {
+        context.getSuite().getXmlSuite().setDataProviderThreadCount(workerScheduler.getMaxWorkers());
+        testNGCucumberRunner = new TestNGCucumberRunner(this.getClass(), context.getCurrentXmlTest()::getParameter);
+    }
+
+    /**
+     * Provides the scenarios tagged {@code @browserless}, once they are started on
+     * virtual threads.
+     *
+     * @return The scenario parameters of the browserless scenarios of the run.
+     */
+    @DataProvider
+    public Object[][] browserlessScenarios() {
+        startBrowserlessScenarios();
+        return browserlessScenarioList().toArray(Object[][]::new);
+    }
+
+    /**
+     * Waits for a scenario tagged {@code @browserless} and reports its outcome.
+     * <p>
+     * The browserless scenarios are started with the browser scenarios and run
+     * alongside them, so this test only collects their outcomes once the browser
+     * scenarios of the class are invoked.
+     * </p>
+     *
+     * @param pickleWrapper  The scenario to wait for.
+     * @param featureWrapper The feature of the scenario.
+     */
+    @Test(groups = "cucumber", description = "Runs browserless Cucumber Scenarios on virtual threads",
+            dataProvider = "browserlessScenarios", priority = 1)
+    public void runBrowserlessScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+        try {
+            serviceScenarioExecutor.await(pickleWrapper);
+        } finally {
+            scenarioRetrier.report(pickleWrapper.getPickle());
+        }
+    }
+
+    /**
+     * Provides the scenarios that need a browser, ordered longest first, so that a
+     * long scenario does not start last while the other workers are idle.
+     *
+     * <p>
+     * The browserless scenarios are started first, so that they run alongside the
+     * browser scenarios.
+     * </p>
+     *
+     * @return The scenario parameters of the browser scenarios of the run.
+     */
+    protected Object[][] browserScenarios() {
+        if (testNGCucumberRunner == null) {
+            return new Object[0][0];
+        }
+        startBrowserlessScenarios();
+        Object[][] browserScenarios = Arrays.stream(provideScenarios())
+                .filter(scenario -> !isBrowserless(scenario))
+                .toArray(Object[][]::new);
+        return durationHistory.order(browserScenarios, workerScheduler.getMaxWorkers());
+    }
+
+    /**
+     * Runs a browser scenario once a worker of the scheduler is free and records its
+     * duration.
+     * <p>
+     * A failed attempt frees its worker and the scenario waits for a worker again
+     * before it is retried.
+     * </p>
+     *
+     * @param pickleWrapper The scenario to run.
+     */
+    protected void runBrowserScenario(PickleWrapper pickleWrapper) {
+        scenarioRetrier.run(pickleWrapper.getPickle(), () -> workerScheduler.run(() -> durationHistory.record(
+                pickleWrapper.getPickle(), () -> testNGCucumberRunner.runScenario(pickleWrapper.getPickle()))));
+    }
+
+    /**
+     * Provides the scenarios of the run once, keeping the ones of the shard, if any.
+     *
+     * @return The scenario parameters of the run.
+     */
+    private synchronized Object[][] provideScenarios() {
+        if (providedScenarios == null) {
+            providedScenarios = testNGCucumberRunner.provideScenarios();
+            if (scenarioShard != null) {
+                providedScenarios = scenarioShard.select(providedScenarios);
+            }
+        }
+        return providedScenarios;
+    }
+
+    /**
+     * Starts the browserless scenarios on virtual threads once. They do not take a
+     * worker of the scheduler and run with the much higher limit of the
+     * {@code ServiceConcurrency} system property. The threads are pooled, so that the
+     * Cucumber runner of each thread is built once and reused for its next scenarios.
+     */
+    private synchronized void startBrowserlessScenarios() {
+        if (serviceScenarioExecutor != null || testNGCucumberRunner == null) {
+            return;
+        }
+        serviceScenarioExecutor = ServiceScenarioExecutor.fromSystemProperties();
+        serviceScenarioExecutor.start(browserlessScenarioList(), pickleWrapper -> scenarioRetrier.run(
+                pickleWrapper.getPickle(), () -> durationHistory.record(pickleWrapper.getPickle(),
+                        () -> testNGCucumberRunner.runScenario(pickleWrapper.getPickle()))));
+    }
+
+    private List<Object[]> browserlessScenarioList() {
+        if (testNGCucumberRunner == null) {
+            return List.of();
+        }
+        return Arrays.stream(provideScenarios())
+                .filter(CucumberRunnerBase::isBrowserless)
+                .toList();
+    }
+
+    private static boolean isBrowserless(Object[] scenario) {
+        return ServiceScenarioExecutor.isBrowserless(((PickleWrapper) scenario[0]).getPickle().getTags());
+    }
+
+    /**
+     * Stops the browserless scenarios that are still running and finishes the Cucumber
+     * run, so that the report plugins write their output.
+     */
+    @AfterClass(alwaysRun = true)
+    public void tearDownClass() {
+        if (serviceScenarioExecutor != null) {
+            serviceScenarioExecutor.close();
+        }
+        if (testNGCucumberRunner != null) {
+            testNGCucumberRunner.finish();
+        }
+    }
+
+    /**
+     * Stops resizing the workers once the suite is finished, and keeps the durations
+     * and flake rates of the run for the next one and the reports of the shard, if any.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void stopWorkers() {
+        if (workerScheduler != null) {
+            workerScheduler.stop();
+        }
+        if (durationHistory != null) {
+            durationHistory.finish();
+        }
+        if (scenarioRetrier != null) {
+            scenarioRetrier.finish();
+        }
+        if (scenarioShard != null) {
+            scenarioShard.keepReports();
+        }
+    }
+
+}
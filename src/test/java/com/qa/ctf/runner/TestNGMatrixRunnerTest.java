@@ -0,0 +1,95 @@
+package com.qa.ctf.runner;
+
+import com.qa.ctf.execution.BrowserMatrix;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * The {@code TestNGMatrixRunnerTest} class runs the selected Cucumber scenarios
+ * against every browser of the {@code BrowserMatrix} system property in a single
+ * TestNG run.
+ *
+ * <p>
+ * Each scenario is expanded into one run per browser by the {@link BrowserMatrix},
+ * which runs the scenarios of each browser on workers of their own, up to the
+ * concurrency limit of the browser. The browser is the first parameter of every run,
+ * so that it appears in the TestNG reports, and it is logged to the scenario for the
+ * Cucumber reports.
+ * </p>
+ *
+ * <p>
+ * The Cucumber options, the scheduling, retry and shard support and the browserless
+ * scenarios are shared with {@link TestNGRunnerTest} through
+ * {@link CucumberRunnerBase}. The runner is selected with the {@code testNGMatrix.xml}
+ * suite.
+ * </p>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.2
+ */
+public class TestNGMatrixRunnerTest extends CucumberRunnerBase {
+
+    /** The browser matrix that schedules the scenarios across the browsers. */
+    private BrowserMatrix browserMatrix;
+
+    /**
+     * Reads the browser matrix of the run.
+     *
+     * @throws SkipException If no browser matrix is set for the test execution.
+     */
+    @BeforeClass(alwaysRun = true)
+    public void setUpMatrix() {
+        if (!BrowserMatrix.isEnabled()) {
+            throw new SkipException("No browser matrix set, run with -DBrowserMatrix=Chrome,Firefox,Edge");
+        }
+        browserMatrix = BrowserMatrix.fromSystemProperties();
+    }
+
+    /**
+     * Provides one run per scenario and browser with parallelism enabled, and starts
+     * the runs on the workers of their browser.
+     *
+     * @return An array of runs with the browser first, to be run in parallel.
+     */
+    @DataProvider(parallel = true)
+    public Object[][] scenarios() {
+        if (browserMatrix == null) {
+            return new Object[0][0];
+        }
+        Object[][] runs = browserMatrix.expand(browserScenarios());
+        browserMatrix.start(runs, this::runBrowserScenario);
+        return runs;
+    }
+
+    /**
+     * Waits for the run of a scenario with the given browser and reports its outcome.
+     *
+     * @param browser         The browser of the run.
+     * @param pickleWrapper   The scenario to run.
+     * @param featureWrapper  The feature of the scenario.
+     */
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios per browser", dataProvider = "scenarios")
+    public void runScenario(String browser, PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+        try {
+            browserMatrix.await(browser, pickleWrapper);
+        } finally {
+            scenarioRetrier.report(pickleWrapper.getPickle());
+        }
+    }
+
+    /**
+     * Stops the workers of the browser matrix.
+     */
+    @AfterClass(alwaysRun = true)
+    public void tearDownMatrix() {
+        if (browserMatrix != null) {
+            browserMatrix.close();
+        }
+    }
+
+}
@@ -1,8 +1,9 @@
 package com.qa.ctf.runner;
 
-import io.cucumber.testng.AbstractTestNGCucumberTests;
-import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
 import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
 
 /**
  * The {@code TestNGRunnerTest} class serves as the entry point for running
@@ -11,52 +12,40 @@ import org.testng.annotations.DataProvider;
  * generation, and parallel execution of scenarios.
  *
  * <p>
- * This class extends {@link AbstractTestNGCucumberTests} and utilizes the
- * {@link DataProvider} annotation to enable parallel execution of Cucumber
- * scenarios.
- * </p>
- *
- * <p>
- * The {@code @CucumberOptions} annotation configures the Cucumber test execution
- * environment, including feature file paths, tags, glue code locations, reporting
- * plugins, and other test settings like publishing results and generating various
- * report formats (HTML, JSON, JUnit, etc.).
+ * This class extends {@link CucumberRunnerBase}, which carries the
+ * {@code @CucumberOptions} and the scheduling, retry and shard support shared with
+ * {@link TestNGMatrixRunnerTest}, and utilizes the {@link DataProvider} annotation to
+ * enable parallel execution of the Cucumber scenarios with the configured browser.
  * </p>
  *
  * @author Jagatheshwaran N
- * @version 1.0
+ * @version 1.3
  */
-@CucumberOptions(
-        features = "src/test/resources/features/", // Path to the feature files
-        tags = "@service", // Tags to filter which tests to run
-        glue = {"com/qa/ctf"}, // Package where step definitions are located
-        plugin = { // Cucumber plugins for various reports
-                "pretty",
-                "html:target/cucumber/report/cucumber.html", // HTML report location
-                "json:target/cucumber/report/report.json", // JSON report location
-                "junit:target/cucumber/report/report.xml", // JUnit report location
-                "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:", // Extent Reports integration
-                "rerun:target/failedRerun.txt", // List of failed scenarios for rerun
-                "timeline:test-output-thread/" // Timeline report
-        },
-        publish = true, // Publish the results to the Cucumber cloud
-        monochrome = true // Ensures the output is readable in the console
-)
-public class TestNGRunnerTest extends AbstractTestNGCucumberTests {
+public class TestNGRunnerTest extends CucumberRunnerBase {
 
     /**
      * Provides the scenarios for execution with parallelism enabled.
      * <p>
-     * This method overrides the {@link AbstractTestNGCucumberTests#scenarios()} method
-     * and is annotated with {@link DataProvider} to allow for parallel execution of test
-     * scenarios.
+     * The scenarios are ordered longest first, and the browserless scenarios are left
+     * to {@link #runBrowserlessScenario}.
      * </p>
      *
      * @return An array of scenarios to be run in parallel.
      */
     @DataProvider(parallel = true)
     public Object[][] scenarios() {
-        return super.scenarios(); // Returns scenarios from the parent class
+        return browserScenarios();
+    }
+
+    /**
+     * Runs a scenario once a worker of the scheduler is free and records its duration.
+     *
+     * @param pickleWrapper  The scenario to run.
+     * @param featureWrapper The feature of the scenario.
+     */
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios")
+    public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+        runBrowserScenario(pickleWrapper);
     }
 
 }
@@ -0,0 +1,54 @@
+package com.qa.ctf.runner;
+
+import com.qa.ctf.execution.ServiceScenarioExecutor;
+import com.qa.ctf.factory.DriverFactory;
+import io.cucumber.testng.CucumberOptions;
+import org.testng.Assert;
+import org.testng.ITestContext;
+import org.testng.annotations.Test;
+
+import java.util.stream.Stream;
+
+/**
+ * The {@code TestNGServiceRunnerTest} class runs the Cucumber scenarios that never
+ * touch the UI, tagged {@code @browserless}, on the virtual threads of the
+ * {@link ServiceScenarioExecutor}.
+ *
+ * <p>
+ * The scenarios run with the concurrency limit of the {@code ServiceConcurrency}
+ * system property instead of the workers of the browser scenarios, and each of them
+ * is reported as its own test. Once they are finished, the runner checks that at
+ * least one scenario ran and that the run started no browser at all.
+ * </p>
+ *
+ * <p>
+ * The Cucumber options and the run path are shared with {@link TestNGRunnerTest}
+ * through {@link CucumberRunnerBase}; this runner only adds the {@code @browserless}
+ * tag. The runner is selected with the {@code testNGService.xml} suite.
+ * </p>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+@CucumberOptions(
+        tags = "@browserless" // Tags added to the ones of the base runner
+)
+public class TestNGServiceRunnerTest extends CucumberRunnerBase {
+
+    /**
+     * Verifies that browserless scenarios ran and that they started no browser.
+     *
+     * @param context The TestNG context of the current test.
+     */
+    @Test(groups = "cucumber", description = "Verifies that no browser was started",
+            dependsOnMethods = "runBrowserlessScenario", alwaysRun = true)
+    public void startsNoBrowser(ITestContext context) {
+        long ranScenarios = Stream.of(context.getPassedTests(), context.getFailedTests())
+                .flatMap(results -> results.getAllResults().stream())
+                .filter(result -> result.getMethod().getMethodName().equals("runBrowserlessScenario"))
+                .count();
+        Assert.assertTrue(ranScenarios > 0, "No browserless scenario was selected.");
+        Assert.assertEquals(DriverFactory.getStartedDriverCount(), 0, "Browsers started by browserless scenarios.");
+    }
+
+}
@@ -4,15 +4,13 @@ import com.qa.ctf.constant.Endpoint;
 import com.qa.ctf.context.AppContext;
 import com.qa.ctf.context.TestContext;
 import com.qa.ctf.domain.BillingDetails;
-import com.qa.ctf.domain.ExcelDataToDataTable;
+import com.qa.ctf.factory.DriverFactory;
 import com.qa.ctf.pages.StorePage;
-import io.cucumber.datatable.DataTable;
+import com.qa.ctf.util.ExceptionHub;
+import com.qa.ctf.util.RecordMapper;
+import com.qa.ctf.util.TestDataTable;
 import io.cucumber.java.en.Given;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-
 /**
  * The {@code CustomerSteps} class contains step definitions related to
  * customer actions, including guest user interactions and managing billing
@@ -24,7 +22,7 @@ import java.util.Map;
  * </p>
  *
  * @author Jagatheshwaran N
- * @version 1.1
+ * @version 1.4
  */
 public class CustomerSteps extends BaseSteps {
 
@@ -83,50 +81,43 @@ public class CustomerSteps extends BaseSteps {
     /**
      * Sets the billing details for the user taken from an Excel sheet.
      * <p>
-     * This step reads the billing details from the specified Excel sheet, converts
-     * them to a {@code DataTable},
-     * and stores them in the {@code AppContext}.
+     * This step reads the billing details from the specified Excel sheet, maps the
+     * last row straight to a {@code BillingDetails} record with the cached
+     * {@link RecordMapper} binding, and stores it in the {@code AppContext}. The
+     * other rows are not mapped, as only the last one would be kept.
      * </p>
      *
      * @param sheetName The name of the Excel sheet containing the billing details.
+     * @throws ExceptionHub.InvalidDataException If the sheet has no rows.
      */
     @Given("my billing details are taken from excel sheet {string}")
     public void my_billing_details_are_taken_from_excel_sheet(String sheetName) {
-        DataTable dataTable = ExcelDataToDataTable.convertToDataTable(sheetName);
-        List<BillingDetails> billingDetailsList = getBillingDetailsList(dataTable);
-        for (BillingDetails billingDetails : billingDetailsList) {
-            appContext.billingDetails = billingDetails;
+        TestDataTable table = DriverFactory.getTestDataTable(sheetName);
+        if (table.rowCount() == 0) {
+            throw new ExceptionHub.InvalidDataException("Billing details in the empty sheet '" + sheetName + "'");
         }
+        appContext.billingDetails = RecordMapper.of(BillingDetails.class).map(table, table.rowCount() - 1);
     }
 
     /**
-     * Converts the given {@code DataTable} into a list of {@code BillingDetails}
-     * objects.
+     * Sets the billing details of the given customer, taken from an Excel sheet.
      * <p>
-     * This method processes each row in the {@code DataTable} and creates a
-     * {@code BillingDetails} object for each row.
+     * This step looks up the row of the customer by the {@code email} column of
+     * the sheet. The lookup goes through the hash index of the cached sheet, so it
+     * does not scan the rows.
      * </p>
      *
-     * @param dataTable The {@code DataTable} containing billing details as rows
-     *                  of key-value pairs.
-     * @return A list of {@code BillingDetails} objects.
+     * @param email     The email of the customer.
+     * @param sheetName The name of the Excel sheet containing the billing details.
+     * @throws ExceptionHub.InvalidDataException If no row has the email.
      */
-    private static List<BillingDetails> getBillingDetailsList(DataTable dataTable) {
-        List<Map<String, String>> dataList = dataTable.asMaps(String.class, String.class);
-        List<BillingDetails> billingDetailsList = new ArrayList<>();
-        for (Map<String, String> row : dataList) {
-            BillingDetails billingDetails = new BillingDetails(
-                    row.get("firstname"),
-                    row.get("lastname"),
-                    row.get("address_line"),
-                    row.get("city"),
-                    row.get("state"),
-                    row.get("zipcode"),
-                    row.get("email")
-            );
-            billingDetailsList.add(billingDetails);
-        }
-        return billingDetailsList;
+    @Given("my billing details for {string} are taken from excel sheet {string}")
+    public void my_billing_details_for_are_taken_from_excel_sheet(String email, String sheetName) {
+        TestDataTable table = DriverFactory.getTestDataTable(sheetName);
+        TestDataTable.Row row = table.findRow("email", email)
+                .orElseThrow(() -> new ExceptionHub.InvalidDataException(
+                        "Billing details of '" + email + "' in sheet '" + sheetName + "'"));
+        appContext.billingDetails = RecordMapper.of(BillingDetails.class).map(table, row.index());
     }
 
 }
@@ -4,12 +4,10 @@ import com.qa.ctf.context.TestContext;
 import com.qa.ctf.factory.DriverFactory;
 import com.qa.ctf.pages.AccountPage;
 import com.qa.ctf.pages.LoginPage;
+import com.qa.ctf.util.TestDataTable;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 
-import java.util.List;
-import java.util.Map;
-
 /**
  * The {@code LoginSteps} class contains step definitions for actions related to
  * logging in to the application.
@@ -19,7 +17,7 @@ import java.util.Map;
  * </p>
  *
  * @author Jagatheshwaran N
- * @version 1.1
+ * @version 1.2
  */
 public class LoginSteps extends BaseSteps {
 
@@ -73,9 +71,9 @@ public class LoginSteps extends BaseSteps {
      */
     @When("I enter login details from given sheet {string} and row {int}")
     public void i_enter_login_details_from_given_sheet_and_row_number(String sheetName, Integer rowNumber) {
-        List<Map<String, String>> loginData = DriverFactory.excelReader.getData(sheetName);
-        String username = loginData.get(rowNumber).get("Username");
-        String password = loginData.get(rowNumber).get("Password");
+        TestDataTable loginData = DriverFactory.getTestDataTable(sheetName);
+        String username = loginData.get(rowNumber, "Username");
+        String password = loginData.get(rowNumber, "Password");
         loginPage.loginToStore(username, password);
     }
 
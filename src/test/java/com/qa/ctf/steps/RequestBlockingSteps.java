@@ -0,0 +1,103 @@
+package com.qa.ctf.steps;
+
+import com.qa.ctf.app.StandInServer;
+import com.qa.ctf.context.TestContext;
+import io.cucumber.java.After;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.testng.Assert;
+import org.testng.SkipException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.qa.ctf.constant.TestConstants.*;
+
+/**
+ * The {@code RequestBlockingSteps} class contains step definitions that verify
+ * the request blocking of the browser against a local stand-in Store page.
+ * <p>
+ * The deny list of the {@code @requestBlocking} tag is read from the configuration
+ * file. The steps are skipped unless the run enables request blocking with the
+ * {@code RequestBlocking} system property.
+ * </p>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class RequestBlockingSteps extends BaseSteps {
+
+    /** The paths of the stand-in page that are on the deny list. */
+    private static final List<String> DENIED_PATHS =
+            List.of("/assets/product.png", "/assets/font.woff2", "/analytics.js");
+
+    /** The paths of the stand-in page that are not on the deny list. */
+    private static final List<String> ALLOWED_PATHS = List.of("/store", "/assets/style.css");
+
+    /** The {@code TestContext} instance containing test-related information. */
+    private final TestContext testContext;
+
+    /** The local stand-in server serving the Store page. */
+    private StandInServer standInServer;
+
+    /**
+     * Constructs a {@code RequestBlockingSteps} instance with the given test context.
+     *
+     * @param testContext The test context containing information for managing the
+     *                    state of the test.
+     */
+    public RequestBlockingSteps(TestContext testContext) {
+        super(testContext);
+        this.testContext = testContext;
+    }
+
+    /**
+     * Starts the stand-in server and loads its Store page.
+     * <p>
+     * This step waits for the page and all of its resources to finish loading, so
+     * that every request the browser makes has reached the server.
+     * </p>
+     */
+    @Given("I'm on the stand-in Store page")
+    public void i_m_on_the_stand_in_store_page() {
+        if (!System.getProperty(REQUEST_BLOCKING, OPTION_NO).equalsIgnoreCase(OPTION_YES)) {
+            throw new SkipException("Request blocking is disabled, run with -DRequestBlocking=Yes");
+        }
+        standInServer = StandInServer.start();
+        testContext.getDriver().get(standInServer.url("/store"));
+        new WebDriverWait(testContext.getDriver(), Duration.ofSeconds(EXPLICIT_WAIT_TIME))
+                .until(driver -> "complete".equals(
+                        ((JavascriptExecutor) driver).executeScript("return document.readyState;")));
+    }
+
+    /**
+     * Verifies that the requests of the deny list never reached the stand-in server.
+     */
+    @Then("the denied requests should not reach the stand-in server")
+    public void the_denied_requests_should_not_reach_the_stand_in_server() {
+        DENIED_PATHS.forEach(path ->
+                Assert.assertFalse(standInServer.wasRequested(path), "Denied request was sent: " + path));
+    }
+
+    /**
+     * Verifies that the requests outside the deny list reached the stand-in server.
+     */
+    @Then("the allowed requests should reach the stand-in server")
+    public void the_allowed_requests_should_reach_the_stand_in_server() {
+        ALLOWED_PATHS.forEach(path ->
+                Assert.assertTrue(standInServer.wasRequested(path), "Allowed request was not sent: " + path));
+    }
+
+    /**
+     * Stops the stand-in server after the scenario.
+     */
+    @After("@standIn")
+    public void stopStandInServer() {
+        if (standInServer != null) {
+            standInServer.stop();
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.qa.ctf.steps;
+
+import com.qa.ctf.context.AppContext;
+import com.qa.ctf.service.CartService;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import org.testng.Assert;
+
+/**
+ * The {@code ServiceSteps} class contains step definitions for the scenarios that
+ * work with the store through its services only, without a browser.
+ * <p>
+ * This class does not extend {@code BaseSteps}, so that no page object is created,
+ * and keeps the session cookies in the {@code AppContext} instead of injecting them
+ * into a browser. Its steps can be used by the scenarios tagged {@code @browserless}.
+ * </p>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class ServiceSteps {
+
+    /** The name of the cookie the store sets once the cart holds a product. */
+    private static final String ITEMS_IN_CART_COOKIE = "woocommerce_items_in_cart";
+
+    /** The {@code AppContext} instance containing application context, such as cookies. */
+    private final AppContext appContext;
+
+    /**
+     * Constructs a {@code ServiceSteps} instance with the given application context.
+     *
+     * @param appContext The application context containing application-specific data,
+     *                   such as cookies.
+     */
+    public ServiceSteps(AppContext appContext) {
+        this.appContext = appContext;
+    }
+
+    /**
+     * Adds a product to the cart using the cart service, keeping the session cookies
+     * for the next steps.
+     *
+     * @param product The product ID to be added to the cart.
+     */
+    @When("I add a {int} to the cart via service")
+    public void i_add_a_product_to_the_cart_via_service(Integer product) {
+        CartService cartService = new CartService(appContext.cookies.getCookies());
+        cartService.addToCartUsingService(product, 1);
+        appContext.cookies.setCookies(cartService.getCookies());
+    }
+
+    /**
+     * Verifies that the session cookies returned by the store hold a cart with products.
+     */
+    @Then("the cart should not be empty via service")
+    public void the_cart_should_not_be_empty_via_service() {
+        Assert.assertTrue(appContext.cookies.getCookies().hasCookieWithName(ITEMS_IN_CART_COOKIE),
+                "The cart is empty.");
+    }
+
+}
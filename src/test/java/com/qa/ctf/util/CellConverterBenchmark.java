@@ -0,0 +1,162 @@
+package com.qa.ctf.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellValue;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code CellConverterBenchmark} class compares the conversion time of the cells of
+ * a generated sheet with the former cell conversion, measures the streaming reading of
+ * the same sheet, and logs the times.
+ * <p>
+ * The sheet has a header row, integral and decimal numbers, repeated strings, booleans
+ * and formula cells. Both conversions evaluate the formula cells, so that they do the
+ * same work, and every round gives each conversion a formula evaluator of its own, so
+ * that no conversion reads the formula results evaluated by an earlier one. The
+ * streaming rounds read the sheet from a file with the formula results cached, and each
+ * round converts the repeated strings once through the shared strings of its own reader.
+ * </p>
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.qa.ctf.util.CellConverterBenchmark -Dexec.args=20000
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class CellConverterBenchmark {
+
+    /** The logger of the benchmark results. */
+    private static final Logger log = LogManager.getLogger(CellConverterBenchmark.class);
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args The number of rows, 20000 by default.
+     * @throws IOException If the generated workbook cannot be written or closed.
+     */
+    public static void main(String[] args) throws IOException {
+        int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int rounds = 5;
+        int distinctProducts = 50;
+        Path workbookFile = Files.createTempFile("cell-converter", ".xlsx");
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Benchmark");
+            Row headerRow = sheet.createRow(0);
+            String[] headers = {"Id", "Price", "Product", "Active", "Total"};
+            for (int colNum = 0; colNum < headers.length; colNum++) {
+                headerRow.createCell(colNum).setCellValue(headers[colNum]);
+            }
+            for (int rowNum = 1; rowNum <= rowCount; rowNum++) {
+                Row row = sheet.createRow(rowNum);
+                row.createCell(0).setCellValue(100_000 + rowNum);
+                row.createCell(1).setCellValue(rowNum * 0.25);
+                row.createCell(2).setCellValue("Product " + rowNum % distinctProducts);
+                row.createCell(3).setCellValue(rowNum % 2 == 0);
+                row.createCell(4).setCellFormula("A" + (rowNum + 1) + "*B" + (rowNum + 1));
+            }
+            long legacyNanos = Long.MAX_VALUE;
+            long converterNanos = Long.MAX_VALUE;
+            long checksum = 0;
+            for (int round = 0; round < rounds; round++) {
+                FormulaEvaluator legacyEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
+                long startedAt = System.nanoTime();
+                for (Row row : sheet) {
+                    for (Cell cell : row) {
+                        checksum += legacyToText(cell, legacyEvaluator).length();
+                    }
+                }
+                legacyNanos = Math.min(legacyNanos, System.nanoTime() - startedAt);
+
+                FormulaEvaluator evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+                CellConverter converter = new CellConverter();
+                startedAt = System.nanoTime();
+                for (Row row : sheet) {
+                    for (Cell cell : row) {
+                        checksum += converter.toText(cell, cell.getColumnIndex(), () -> evaluator).length();
+                    }
+                }
+                converterNanos = Math.min(converterNanos, System.nanoTime() - startedAt);
+            }
+            long cellCount = (rowCount + 1) * 5L;
+            log.info("Former conversion: {} ms for {} cells, formula cells evaluated",
+                    TimeUnit.NANOSECONDS.toMillis(legacyNanos), cellCount);
+            log.info("CellConverter: {} ms for {} cells, formula cells evaluated (checksum {})",
+                    TimeUnit.NANOSECONDS.toMillis(converterNanos), cellCount, checksum);
+
+            workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            try (OutputStream outputStream = Files.newOutputStream(workbookFile)) {
+                workbook.write(outputStream);
+            }
+            XlsxSheetStreamer streamer = new XlsxSheetStreamer(workbookFile.toFile());
+            long streamingNanos = Long.MAX_VALUE;
+            for (int round = 0; round < rounds; round++) {
+                long startedAt = System.nanoTime();
+                TestDataTable table = streamer.readTable("Benchmark", 0);
+                streamingNanos = Math.min(streamingNanos, System.nanoTime() - startedAt);
+                checksum += table.rowCount();
+            }
+            log.info("Streaming reading: {} ms for {} cells, {} repeated strings converted once each, "
+                    + "formula cells read as their cached results (checksum {})",
+                    TimeUnit.NANOSECONDS.toMillis(streamingNanos), cellCount, distinctProducts, checksum);
+        } finally {
+            Files.deleteIfExists(workbookFile);
+        }
+    }
+
+    /**
+     * The cell conversion used before the CellConverter, with the formula cells
+     * evaluated like the CellConverter does, so that both conversions do the same work.
+     *
+     * @param cell      The cell to convert.
+     * @param evaluator The formula evaluator of the workbook.
+     * @return The string value of the cell, or empty string for null/blanks.
+     */
+    private static String legacyToText(Cell cell, FormulaEvaluator evaluator) {
+        if (cell == null) return "";
+        return switch (cell.getCellType()) {
+            case STRING -> cell.getStringCellValue();
+            case NUMERIC -> NumberToTextConverter.toText(cell.getNumericCellValue());
+            case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
+            case ERROR -> String.valueOf(cell.getErrorCellValue());
+            case FORMULA -> legacyToText(evaluator.evaluate(cell));
+            default -> "";
+        };
+    }
+
+    /**
+     * Converts the evaluated value of a formula cell as the former conversion converts
+     * a cell of the same type.
+     *
+     * @param value The evaluated value of the formula.
+     * @return The string value of the result, or empty string for blanks.
+     */
+    private static String legacyToText(CellValue value) {
+        if (value == null) return "";
+        return switch (value.getCellType()) {
+            case STRING -> value.getStringValue();
+            case NUMERIC -> NumberToTextConverter.toText(value.getNumberValue());
+            case BOOLEAN -> String.valueOf(value.getBooleanValue());
+            case ERROR -> String.valueOf(value.getErrorValue());
+            default -> "";
+        };
+    }
+
+}
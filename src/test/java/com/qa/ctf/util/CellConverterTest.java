@@ -0,0 +1,124 @@
+package com.qa.ctf.util;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.qa.ctf.constant.TestConstants.*;
+
+/**
+ * The {@code CellConverterTest} class verifies the conversion of the cells by column
+ * type, and that the workbook and the streaming reading convert a sheet the same way.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class CellConverterTest {
+
+    /** The directory of the workbooks of a test. */
+    private Path testDir;
+
+    @BeforeMethod
+    public void createTestDir() throws IOException {
+        testDir = Files.createTempDirectory("cell-converter");
+        System.setProperty(TEST_DATA_COLUMN_TYPES, "zipcode:TEXT,dob:DATE,active:BOOLEAN,quantity:NUMBER");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void removeTestDir() throws IOException {
+        System.clearProperty(TEST_DATA_COLUMN_TYPES);
+        FileUtils.deleteDirectory(testDir.toFile());
+    }
+
+    @Test(description = "Numbers are written as their shortest decimal text, as Excel writes them")
+    public void writesNumbersAsShortestText() {
+        Assert.assertEquals(CellConverter.numberToText(600001), "600001");
+        Assert.assertEquals(CellConverter.numberToText(-3), "-3");
+        Assert.assertEquals(CellConverter.numberToText(12.5), "12.5");
+        Assert.assertEquals(CellConverter.numberToText(0.1 + 0.2), "0.3");
+        Assert.assertEquals(CellConverter.numberToText(1e16), NumberToTextConverter.toText(1e16));
+        Assert.assertEquals(CellConverter.numberToText(1.5e-7), NumberToTextConverter.toText(1.5e-7));
+    }
+
+    @Test(description = "The configured column types convert the values of their columns")
+    public void convertsByColumnType() {
+        CellConverter converter = CellConverter.forHeaders(new String[]{"name", "dob", "active", "quantity"});
+
+        Assert.assertEquals(converter.type(0), ColumnType.AUTO);
+        Assert.assertEquals(converter.number(0, 42), "42");
+        Assert.assertEquals(converter.number(1, 45000), "2023-03-15");
+        Assert.assertEquals(converter.number(1, 45000.5), "2023-03-15T12:00");
+        Assert.assertEquals(converter.text(2, "Yes"), "true");
+        Assert.assertEquals(converter.number(2, 0), "false");
+        Assert.assertEquals(converter.text(3, " 7 "), "7");
+        Assert.assertEquals(converter.text(3, "many"), "many");
+        Assert.assertEquals(converter.bool(3, true), "1");
+        Assert.assertEquals(converter.bool(0, true), "true");
+    }
+
+    @Test(description = "An unknown column type is refused")
+    public void refusesAnUnknownColumnType() {
+        System.setProperty(TEST_DATA_COLUMN_TYPES, "zipcode:POSTAL");
+        Assert.assertThrows(ExceptionHub.ConfigTypeException.class, CellConverter::configuredTypes);
+    }
+
+    @Test(description = "The workbook and the streaming reading give the same values")
+    public void readsTheSameValuesInBothModes() throws IOException {
+        Path workbook = testDir.resolve("cells.xlsx");
+        try (XSSFWorkbook xssfWorkbook = new XSSFWorkbook(); OutputStream outputStream = Files.newOutputStream(workbook)) {
+            CellStyle zipcodeStyle = xssfWorkbook.createCellStyle();
+            zipcodeStyle.setDataFormat(xssfWorkbook.createDataFormat().getFormat("00000"));
+            Sheet sheet = xssfWorkbook.createSheet("Cells");
+            String[] headers = {"product", "price", "zipcode", "dob", "active", "quantity", "total"};
+            Row headerRow = sheet.createRow(0);
+            for (int colNum = 0; colNum < headers.length; colNum++) {
+                headerRow.createCell(colNum).setCellValue(headers[colNum]);
+            }
+            for (int rowNum = 1; rowNum <= 4; rowNum++) {
+                Row row = sheet.createRow(rowNum);
+                row.createCell(0).setCellValue("Product " + rowNum % 2);
+                row.createCell(1).setCellValue(rowNum * 2.5);
+                row.createCell(2).setCellValue(1230 + rowNum);
+                row.getCell(2).setCellStyle(zipcodeStyle);
+                row.createCell(3).setCellValue(45000 + rowNum);
+                row.createCell(4).setCellValue(rowNum % 2 == 0);
+                row.createCell(5).setCellValue(String.valueOf(rowNum * 10));
+                row.createCell(6).setCellFormula("B" + (rowNum + 1) + "*F" + (rowNum + 1));
+            }
+            xssfWorkbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            xssfWorkbook.write(outputStream);
+        }
+
+        TestDataTable workbookTable;
+        try (ExcelReader excelReader = new ExcelReader(workbook.toString())) {
+            workbookTable = excelReader.getTable("Cells");
+        }
+        TestDataTable streamingTable;
+        try (ExcelReader excelReader = new ExcelReader(workbook.toString(), true)) {
+            streamingTable = excelReader.getTable("Cells");
+        }
+
+        Assert.assertEquals(streamingTable.asMaps(), workbookTable.asMaps());
+        Assert.assertEquals(workbookTable.column("product"), List.of("Product 1", "Product 0", "Product 1", "Product 0"));
+        Assert.assertEquals(workbookTable.row(0).get("price"), "2.5");
+        Assert.assertEquals(workbookTable.row(0).get("zipcode"), "01231");
+        Assert.assertEquals(workbookTable.row(0).get("dob"), "2023-03-16");
+        Assert.assertEquals(workbookTable.row(0).get("active"), "false");
+        Assert.assertEquals(workbookTable.row(0).get("quantity"), "10");
+        Assert.assertEquals(workbookTable.row(3).get("total"), "400");
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.qa.ctf.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code JsonLinesDataSourceTest} class verifies that the JSON lines data source
+ * matches the members of many objects to their columns, with keys that first appear on
+ * later lines.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class JsonLinesDataSourceTest {
+
+    @Test(description = "Every member is read into the column of its key, in first-seen order")
+    public void matchesManyKeysToTheirColumns() throws IOException {
+        Path file = Files.createTempFile("wide", ".jsonl");
+        try {
+            List<String> lines = new ArrayList<>();
+            List<String> expectedHeaders = new ArrayList<>();
+            for (int rowNum = 0; rowNum < 10; rowNum++) {
+                StringBuilder line = new StringBuilder("{");
+                for (int keyNum = 0; keyNum <= 10 * rowNum + 9; keyNum += rowNum + 1) {
+                    line.append(line.length() > 1 ? ", " : "").append("\"key").append(keyNum).append("\": \"")
+                            .append(rowNum).append('-').append(keyNum).append('"');
+                    if (!expectedHeaders.contains("key" + keyNum)) {
+                        expectedHeaders.add("key" + keyNum);
+                    }
+                }
+                lines.add(line.append('}').toString());
+            }
+            Files.write(file, lines);
+            String sheetName = file.getFileName().toString().replace(".jsonl", "");
+
+            TestDataTable table = new JsonLinesDataSource(file).getTable(sheetName);
+
+            Assert.assertEquals(table.getHeaders(), expectedHeaders);
+            for (int rowNum = 0; rowNum < 10; rowNum++) {
+                for (String header : expectedHeaders) {
+                    int keyNum = Integer.parseInt(header.substring(3));
+                    boolean present = keyNum <= 10 * rowNum + 9 && keyNum % (rowNum + 1) == 0;
+                    Assert.assertEquals(table.get(rowNum, header), present ? rowNum + "-" + keyNum : "",
+                            "Row " + rowNum + ", " + header);
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}
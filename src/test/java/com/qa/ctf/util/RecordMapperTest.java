@@ -0,0 +1,69 @@
+package com.qa.ctf.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code RecordMapperTest} class verifies that the record mapper binds the columns
+ * of a table or a row map to the components of a record, and refuses the rows that
+ * miss a column.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class RecordMapperTest {
+
+    /** The record of the tests, with a component bound by annotation and one by name. */
+    record Customer(@DataColumn("e-mail") String email, String city) {
+    }
+
+    /** A record with a component that cannot be read from a cell. */
+    record Order(String id, int quantity) {
+    }
+
+    @Test(description = "The rows of a table are mapped by column header, whatever the column order")
+    public void mapsTheRowsOfATable() {
+        TestDataTable table = TestDataTable.builder("city", "zipcode", "e-mail")
+                .addRow("Chennai", "600001", "jane@test.com")
+                .addRow("Madurai", "625001", "john@test.com")
+                .build();
+        RecordMapper<Customer> recordMapper = RecordMapper.of(Customer.class);
+
+        Assert.assertEquals(recordMapper.getColumns(), List.of("e-mail", "city"));
+        Assert.assertEquals(recordMapper.map(table, 1), new Customer("john@test.com", "Madurai"));
+        Assert.assertEquals(recordMapper.mapAll(table),
+                List.of(new Customer("jane@test.com", "Chennai"), new Customer("john@test.com", "Madurai")));
+        Assert.assertSame(RecordMapper.of(Customer.class), recordMapper);
+    }
+
+    @Test(description = "A table without a column of the record is refused")
+    public void refusesATableWithoutAColumn() {
+        TestDataTable table = TestDataTable.builder("e-mail").addRow("jane@test.com").build();
+        Assert.assertThrows(ExceptionHub.InvalidDataException.class, () -> RecordMapper.of(Customer.class).map(table, 0));
+    }
+
+    @Test(description = "A row map is mapped like a table row and refused when it misses a column")
+    public void mapsARowMap() {
+        RecordMapper<Customer> recordMapper = RecordMapper.of(Customer.class);
+        Map<String, String> row = new HashMap<>(Map.of("e-mail", "jane@test.com", "city", "Chennai"));
+        Assert.assertEquals(recordMapper.map(row), new Customer("jane@test.com", "Chennai"));
+
+        row.put("city", null);
+        Assert.assertEquals(recordMapper.map(row), new Customer("jane@test.com", null));
+
+        row.remove("city");
+        ExceptionHub.InvalidDataException ex = Assert.expectThrows(ExceptionHub.InvalidDataException.class,
+                () -> recordMapper.map(row));
+        Assert.assertTrue(ex.getMessage().contains("city"), ex.getMessage());
+    }
+
+    @Test(description = "A record with a component that is not a String is refused")
+    public void refusesANonStringComponent() {
+        Assert.assertThrows(ExceptionHub.InvalidDataException.class, () -> RecordMapper.of(Order.class));
+    }
+
+}
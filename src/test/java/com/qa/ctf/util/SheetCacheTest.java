@@ -0,0 +1,223 @@
+package com.qa.ctf.util;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code SheetCacheTest} class verifies that the sheet cache loads each sheet once,
+ * even under parallel first access, reloads a changed file, evicts the least recently
+ * used sheet, and preloads through the loader of the cache, opening the file once per
+ * preload worker.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.5
+ */
+public class SheetCacheTest {
+
+    /** The directory of the test data files of a test. */
+    private Path testDir;
+
+    @BeforeMethod
+    public void createTestDir() throws IOException {
+        testDir = Files.createTempDirectory("sheet-cache");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void removeTestDir() throws IOException {
+        FileUtils.deleteDirectory(testDir.toFile());
+    }
+
+    @Test(description = "Threads asking for a sheet at the same time share a single load")
+    public void loadsOnceUnderParallelFirstAccess() throws Exception {
+        Path file = Files.writeString(testDir.resolve("data.csv"), "Key\nvalue\n");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SheetCache sheetCache = new SheetCache((path, sheetName) -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return TestDataTable.builder("Key").addRow("value").build();
+        }, 8);
+        int threadCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<TestDataTable>> tables = new ArrayList<>();
+            tables.add(executor.submit(() -> sheetCache.getTable(file, "Login")));
+            Assert.assertTrue(loading.await(10, TimeUnit.SECONDS), "The sheet is not loading.");
+            for (int threadNum = 1; threadNum < threadCount; threadNum++) {
+                tables.add(executor.submit(() -> sheetCache.getTable(file, "Login")));
+            }
+            release.countDown();
+
+            TestDataTable first = tables.getFirst().get(10, TimeUnit.SECONDS);
+            for (Future<TestDataTable> table : tables) {
+                Assert.assertSame(table.get(10, TimeUnit.SECONDS), first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(loads.get(), 1);
+        Assert.assertEquals(sheetCache.getMisses(), 1);
+        Assert.assertEquals(sheetCache.getHits(), threadCount - 1);
+    }
+
+    @Test(description = "A sheet is loaded again once its file has changed")
+    public void reloadsAChangedFile() throws IOException {
+        Path file = Files.writeString(testDir.resolve("data.csv"), "Key\nold\n");
+        SheetCache sheetCache = new SheetCache(TestDataSource::readTable, 8);
+        TestDataTable oldTable = sheetCache.getTable(file, "data");
+
+        Assert.assertSame(sheetCache.getTable(file, "data"), oldTable);
+        Files.writeString(file, "Key\nnewer\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        TestDataTable newTable = sheetCache.getTable(file, "data");
+
+        Assert.assertNotSame(newTable, oldTable);
+        Assert.assertEquals(newTable.get(0, "Key"), "newer");
+        Assert.assertEquals(sheetCache.getMisses(), 2);
+    }
+
+    @Test(description = "The least recently used sheet is evicted beyond the size limit")
+    public void evictsTheLeastRecentlyUsedSheet() throws IOException {
+        Path file = Files.writeString(testDir.resolve("data.csv"), "Key\nvalue\n");
+        List<String> loadedSheets = new ArrayList<>();
+        SheetCache sheetCache = new SheetCache((path, sheetName) -> {
+            loadedSheets.add(sheetName);
+            return TestDataTable.builder("Sheet").addRow(sheetName).build();
+        }, 2);
+
+        sheetCache.getTable(file, "A");
+        sheetCache.getTable(file, "B");
+        sheetCache.getTable(file, "A");
+        sheetCache.getTable(file, "C");
+        sheetCache.getTable(file, "A");
+        sheetCache.getTable(file, "B");
+
+        Assert.assertEquals(loadedSheets, List.of("A", "B", "C", "B"));
+    }
+
+    @Test(description = "A failed load is not cached, so the next call loads the sheet again")
+    public void retriesAFailedLoad() throws IOException {
+        Path file = Files.writeString(testDir.resolve("data.csv"), "Key\nvalue\n");
+        AtomicInteger loads = new AtomicInteger();
+        SheetCache sheetCache = new SheetCache((path, sheetName) -> {
+            if (loads.incrementAndGet() == 1) {
+                throw new ExceptionHub.ExcelException("The sheet is being written");
+            }
+            return TestDataTable.builder("Key").addRow("value").build();
+        }, 8);
+
+        Assert.assertThrows(ExceptionHub.ExcelException.class, () -> sheetCache.getTable(file, "Login"));
+        Assert.assertEquals(sheetCache.getTable(file, "Login").get(0, "Key"), "value");
+        Assert.assertEquals(loads.get(), 2);
+    }
+
+    @Test(description = "A missing file is refused")
+    public void refusesAMissingFile() {
+        SheetCache sheetCache = new SheetCache(TestDataSource::readTable, 8);
+        Assert.assertThrows(ExceptionHub.ConfigTypeException.class,
+                () -> sheetCache.getTable(testDir.resolve("missing.csv"), "missing"));
+    }
+
+    @Test(description = "The preload loads every distinct sheet once with the loader of the cache")
+    public void preloadsWithTheLoaderOfTheCache() throws IOException {
+        Path file = Files.writeString(testDir.resolve("data.csv"), "Key\nvalue\n");
+        Map<String, String> loadingThreads = new ConcurrentHashMap<>();
+        AtomicInteger loads = new AtomicInteger();
+        SheetCache sheetCache = new SheetCache((path, sheetName) -> {
+            loads.incrementAndGet();
+            loadingThreads.put(sheetName, Thread.currentThread().getName());
+            if (sheetName.equals("Broken")) {
+                throw new ExceptionHub.ExcelException("Sheet 'Broken' not found in workbook.");
+            }
+            return TestDataTable.builder("Sheet").addRow(sheetName).build();
+        }, 8);
+
+        SheetCache.PreloadReport report = sheetCache.preload(file, List.of("Login", "Billing", "Login", "Broken"));
+
+        Assert.assertEquals(report.sheets(), 3);
+        Assert.assertEquals(report.failures(), 1);
+        Assert.assertEquals(loads.get(), 3);
+        Assert.assertNotEquals(loadingThreads.get("Login"), Thread.currentThread().getName());
+        Assert.assertEquals(sheetCache.getTable(file, "Login").get(0, "Sheet"), "Login");
+        Assert.assertEquals(sheetCache.getTable(file, "Billing").get(0, "Sheet"), "Billing");
+        Assert.assertEquals(loads.get(), 3, "A preloaded sheet was loaded again.");
+        Assert.assertEquals(sheetCache.getHits(), 2);
+    }
+
+    @Test(description = "Each preload worker opens the workbook once and reads all of its sheets from it")
+    public void preloadOpensTheWorkbookOncePerWorker() throws IOException {
+        Path workbook = testDir.resolve("sheets.xlsx");
+        List<String> sheetNames = List.of("Login", "Billing", "Shipping", "Payment", "Orders", "Returns");
+        try (XSSFWorkbook xssfWorkbook = new XSSFWorkbook(); OutputStream outputStream = Files.newOutputStream(workbook)) {
+            for (String sheetName : sheetNames) {
+                Sheet sheet = xssfWorkbook.createSheet(sheetName);
+                sheet.createRow(0).createCell(0).setCellValue("Sheet");
+                sheet.createRow(1).createCell(0).setCellValue(sheetName);
+            }
+            xssfWorkbook.write(outputStream);
+        }
+        AtomicInteger opens = new AtomicInteger();
+        SheetCache sheetCache = new SheetCache(path -> {
+            opens.incrementAndGet();
+            return new ExcelDataSource(path, false);
+        }, 8);
+
+        SheetCache.PreloadReport report = sheetCache.preload(workbook, List.of("Login", "Billing", "Shipping",
+                "Payment", "Orders", "Returns", "Broken"));
+
+        Assert.assertEquals(report.failures(), 1);
+        Assert.assertTrue(opens.get() <= report.parallelism(),
+                opens.get() + " workbooks opened by " + report.parallelism() + " workers.");
+        for (String sheetName : sheetNames) {
+            Assert.assertEquals(sheetCache.getTable(workbook, sheetName).get(0, "Sheet"), sheetName);
+        }
+        Assert.assertEquals(sheetCache.getMisses(), sheetNames.size() + 1L);
+    }
+
+    @Test(description = "The preload of a workbook evaluates its formulas like the step that reads it")
+    public void preloadEvaluatesTheFormulas() throws IOException {
+        Path workbook = testDir.resolve("formulas.xlsx");
+        try (XSSFWorkbook xssfWorkbook = new XSSFWorkbook(); OutputStream outputStream = Files.newOutputStream(workbook)) {
+            Sheet sheet = xssfWorkbook.createSheet("Totals");
+            sheet.createRow(0).createCell(0).setCellValue("Total");
+            Row row = sheet.createRow(1);
+            row.createCell(0).setCellFormula("1+2");
+            xssfWorkbook.write(outputStream);
+        }
+        SheetCache sheetCache = new SheetCache(TestDataSource::readTable, 8);
+
+        sheetCache.preload(workbook, List.of("Totals"));
+
+        Assert.assertEquals(sheetCache.getTable(workbook, "Totals").get(0, "Total"), "3");
+        Assert.assertEquals(sheetCache.getMisses(), 1);
+    }
+
+}
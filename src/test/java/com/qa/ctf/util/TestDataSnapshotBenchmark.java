@@ -0,0 +1,168 @@
+package com.qa.ctf.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.qa.ctf.constant.TestConstants.*;
+
+/**
+ * The {@code TestDataSnapshotBenchmark} class compiles the snapshot of each workbook
+ * given on the command line and compares the time to load all of its sheets from the
+ * workbook and from the snapshot.
+ * <p>
+ * Each load runs in a fresh JVM, so that both times include the loading of their
+ * classes, as at the start of a run, and neither path profits from the other having
+ * warmed up the JVM. Every cell of the snapshot tables is read, as they are decoded
+ * on first use.
+ * </p>
+ *
+ * <p>Example:
+ * <pre>
+ * {@code
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.qa.ctf.util.TestDataSnapshotBenchmark
+ *     -Dexec.args=src/test/resources/data/testData.xlsx
+ * }
+ * </pre>
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class TestDataSnapshotBenchmark {
+
+    /** The logger of the benchmark results. */
+    private static final Logger log = LogManager.getLogger(TestDataSnapshotBenchmark.class);
+
+    /** The argument of the command line that loads one path and prints its time, in a fresh JVM. */
+    private static final String TIME_ARGUMENT = "--time";
+
+    /** The prefix of the printed time of a load in a fresh JVM. */
+    private static final String TIME_OUTPUT = "LoadMillis=";
+
+    /**
+     * Compiles the snapshot of each workbook and compares both load times.
+     *
+     * @param args The paths of the workbooks to compile, or {@code --time}, the path to
+     *             load ({@code workbook} or {@code snapshot}) and the workbook, as run
+     *             in the fresh JVM.
+     * @throws ExceptionHub.ExcelException If a workbook cannot be read or a load fails.
+     */
+    public static void main(String[] args) {
+        if (args.length == 3 && args[0].equals(TIME_ARGUMENT)) {
+            System.out.println(TIME_OUTPUT + loadMillis(args[1], Path.of(args[2])));
+            return;
+        }
+        Path snapshotDir = Path.of(CWD + TEST_DATA_SNAPSHOT_PATH);
+        for (String arg : args) {
+            Path workbook = Path.of(arg);
+            Path snapshotFile = TestDataSnapshot.snapshotFile(workbook, snapshotDir);
+            TestDataSnapshot.compile(workbook, snapshotFile);
+            long workbookMillis = loadMillisInFreshJvm("workbook", workbook);
+            long snapshotMillis = loadMillisInFreshJvm("snapshot", snapshotFile);
+            log.info("Loaded all sheets of '{}' in {} ms from the workbook and in {} ms from the snapshot, "
+                    + "each in a fresh JVM", workbook.getFileName(), workbookMillis, snapshotMillis);
+        }
+    }
+
+    /**
+     * Loads all the sheets of a workbook or a snapshot and returns the time taken.
+     *
+     * @param path The path to load, {@code workbook} or {@code snapshot}.
+     * @param file The workbook or snapshot file.
+     * @return The load time in milliseconds.
+     */
+    private static long loadMillis(String path, Path file) {
+        long startedAt = System.nanoTime();
+        if (path.equals("workbook")) {
+            try (ExcelReader excelReader = new ExcelReader(file.toString())) {
+                excelReader.getSheetNames().forEach(excelReader::getTable);
+            } catch (IOException ex) {
+                throw new ExceptionHub.ExcelException("Unable to read the workbook: " + file, ex);
+            }
+        } else {
+            TestDataSnapshot snapshot = TestDataSnapshot.open(file);
+            for (String sheetName : snapshot.getSheetNames()) {
+                TestDataTable table = snapshot.getTable(sheetName);
+                for (int rowNum = 0; rowNum < table.rowCount(); rowNum++) {
+                    for (int colNum = 0; colNum < table.columnCount(); colNum++) {
+                        table.get(rowNum, colNum);
+                    }
+                }
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+
+    /**
+     * Runs {@link #loadMillis(String, Path)} in a fresh JVM with the class path of this
+     * one, and reads the printed time.
+     *
+     * @param path The path to load, {@code workbook} or {@code snapshot}.
+     * @param file The workbook or snapshot file.
+     * @return The load time in milliseconds.
+     * @throws ExceptionHub.ExcelException If the JVM cannot be run or prints no time.
+     */
+    private static long loadMillisInFreshJvm(String path, Path file) {
+        ProcessBuilder processBuilder = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", classPath(),
+                TestDataSnapshotBenchmark.class.getName(), TIME_ARGUMENT, path, file.toString())
+                .redirectErrorStream(true);
+        try {
+            Process process = processBuilder.start();
+            List<String> output;
+            try (BufferedReader reader = process.inputReader(StandardCharsets.UTF_8)) {
+                output = reader.lines().toList();
+            }
+            if (process.waitFor() != 0) {
+                throw new ExceptionHub.ExcelException("Unable to load the " + path + " '" + file + "': "
+                        + String.join(System.lineSeparator(), output));
+            }
+            return output.stream()
+                    .filter(line -> line.startsWith(TIME_OUTPUT))
+                    .map(line -> Long.parseLong(line.substring(TIME_OUTPUT.length())))
+                    .findFirst()
+                    .orElseThrow(() -> new ExceptionHub.ExcelException("No load time printed for the " + path
+                            + " '" + file + "'"));
+        } catch (IOException ex) {
+            throw new ExceptionHub.ExcelException("Unable to run a JVM to load the " + path + " '" + file + "'", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ExceptionHub.ExcelException("Interrupted while loading the " + path + " '" + file + "'", ex);
+        }
+    }
+
+    /**
+     * Returns the class path of this class, also when it is loaded by the class loader
+     * of a build tool rather than from the class path of the JVM.
+     *
+     * @return The class path to run this class with.
+     */
+    private static String classPath() {
+        if (TestDataSnapshotBenchmark.class.getClassLoader() instanceof URLClassLoader classLoader) {
+            List<String> entries = new ArrayList<>();
+            for (URL url : classLoader.getURLs()) {
+                try {
+                    entries.add(Path.of(url.toURI()).toString());
+                } catch (URISyntaxException | IllegalArgumentException ex) {
+                    log.debug("Class path entry '{}' left out: {}", url, ex.getMessage());
+                }
+            }
+            return String.join(File.pathSeparator, entries);
+        }
+        return System.getProperty("java.class.path");
+    }
+
+}
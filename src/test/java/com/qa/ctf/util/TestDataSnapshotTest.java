@@ -0,0 +1,138 @@
+package com.qa.ctf.util;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code TestDataSnapshotTest} class verifies that the snapshot of a workbook reads
+ * back the sheets of the workbook, is kept apart from the snapshots of other workbooks
+ * with the same file name, and is rebuilt without replacing a mapped snapshot.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class TestDataSnapshotTest {
+
+    /** The directory of the workbooks and snapshots of a test. */
+    private Path testDir;
+
+    /** The directory of the snapshots of a test. */
+    private Path snapshotDir;
+
+    @BeforeMethod
+    public void createTestDir() throws IOException {
+        testDir = Files.createTempDirectory("test-data-snapshot");
+        snapshotDir = testDir.resolve("snapshots");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void removeTestDir() throws IOException {
+        FileUtils.deleteDirectory(testDir.toFile());
+    }
+
+    @Test(description = "The snapshot reads back every sheet of the workbook")
+    public void readsTheSheetsOfTheWorkbook() throws IOException {
+        Path workbook = writeWorkbook(testDir.resolve("testData.xlsx"), Map.of(
+                "Login", new String[][]{{"User", "Password"}, {"alice", "secret"}, {"bob", ""}},
+                "Billing", new String[][]{{"City", "Zip"}, {"Chennai", "600001"}, {"Chennai", "600002"}}));
+
+        TestDataSnapshot snapshot = TestDataSnapshot.load(workbook, snapshotDir);
+
+        try (ExcelReader excelReader = new ExcelReader(workbook.toString())) {
+            Assert.assertEquals(snapshot.getSheetNames(), excelReader.getSheetNames());
+            for (String sheetName : excelReader.getSheetNames()) {
+                Assert.assertEquals(snapshot.getTable(sheetName).asMaps(), excelReader.getTable(sheetName).asMaps(),
+                        "Sheet " + sheetName);
+            }
+        }
+        Assert.assertThrows(ExceptionHub.ExcelException.class, () -> snapshot.getTable("Missing"));
+    }
+
+    @Test(description = "Workbooks with the same file name in different folders get snapshots of their own")
+    public void keepsWorkbooksWithTheSameNameApart() throws IOException {
+        Path firstWorkbook = writeWorkbook(Files.createDirectories(testDir.resolve("first")).resolve("data.xlsx"),
+                Map.of("Login", new String[][]{{"User"}, {"alice"}}));
+        Path secondWorkbook = writeWorkbook(Files.createDirectories(testDir.resolve("second")).resolve("data.xlsx"),
+                Map.of("Login", new String[][]{{"User"}, {"bob"}}));
+        Files.setLastModifiedTime(secondWorkbook, Files.getLastModifiedTime(firstWorkbook));
+
+        TestDataSnapshot firstSnapshot = TestDataSnapshot.load(firstWorkbook, snapshotDir);
+        TestDataSnapshot secondSnapshot = TestDataSnapshot.load(secondWorkbook, snapshotDir);
+
+        Assert.assertNotEquals(TestDataSnapshot.snapshotFile(firstWorkbook, snapshotDir),
+                TestDataSnapshot.snapshotFile(secondWorkbook, snapshotDir));
+        Assert.assertEquals(firstSnapshot.getTable("Login").get(0, "User"), "alice");
+        Assert.assertEquals(secondSnapshot.getTable("Login").get(0, "User"), "bob");
+    }
+
+    @Test(description = "A changed workbook gets a new snapshot and the mapped one stays readable")
+    public void rebuildsWithoutReplacingTheMappedSnapshot() throws IOException {
+        Path workbook = writeWorkbook(testDir.resolve("testData.xlsx"),
+                Map.of("Login", new String[][]{{"User"}, {"alice"}}));
+        TestDataSnapshot oldSnapshot = TestDataSnapshot.load(workbook, snapshotDir);
+        TestDataTable oldTable = oldSnapshot.getTable("Login");
+        Path oldSnapshotFile = TestDataSnapshot.snapshotFile(workbook, snapshotDir);
+
+        rewriteWorkbook(workbook, Map.of("Login", new String[][]{{"User"}, {"bob"}, {"carol"}}));
+        TestDataSnapshot newSnapshot = TestDataSnapshot.load(workbook, snapshotDir);
+
+        Assert.assertNotSame(newSnapshot, oldSnapshot);
+        Assert.assertNotEquals(TestDataSnapshot.snapshotFile(workbook, snapshotDir), oldSnapshotFile);
+        Assert.assertTrue(Files.isRegularFile(oldSnapshotFile), "The mapped snapshot was replaced.");
+        Assert.assertEquals(newSnapshot.getTable("Login").column("User"), List.of("bob", "carol"));
+        Assert.assertEquals(oldTable.column("User"), List.of("alice"));
+        Assert.assertSame(TestDataSnapshot.load(workbook, snapshotDir), newSnapshot);
+    }
+
+    @Test(description = "The snapshots of older workbook versions are deleted when the run has not mapped them")
+    public void deletesTheSnapshotsOfOlderVersions() throws IOException {
+        Path workbook = writeWorkbook(testDir.resolve("testData.xlsx"),
+                Map.of("Login", new String[][]{{"User"}, {"alice"}}));
+        Path oldSnapshotFile = TestDataSnapshot.snapshotFile(workbook, snapshotDir);
+        TestDataSnapshot.compile(workbook, oldSnapshotFile);
+
+        rewriteWorkbook(workbook, Map.of("Login", new String[][]{{"User"}, {"bob"}}));
+        TestDataSnapshot snapshot = TestDataSnapshot.load(workbook, snapshotDir);
+
+        Assert.assertEquals(snapshot.getTable("Login").get(0, "User"), "bob");
+        Assert.assertFalse(Files.exists(oldSnapshotFile), "The snapshot of the older version was kept.");
+    }
+
+    private static void rewriteWorkbook(Path workbook, Map<String, String[][]> sheets) throws IOException {
+        FileTime modified = Files.getLastModifiedTime(workbook);
+        writeWorkbook(workbook, sheets);
+        Files.setLastModifiedTime(workbook, FileTime.fromMillis(modified.toMillis() + 2000));
+    }
+
+    private static Path writeWorkbook(Path workbook, Map<String, String[][]> sheets) throws IOException {
+        try (XSSFWorkbook xssfWorkbook = new XSSFWorkbook(); OutputStream outputStream = Files.newOutputStream(workbook)) {
+            sheets.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(sheetRows -> {
+                Sheet sheet = xssfWorkbook.createSheet(sheetRows.getKey());
+                String[][] rows = sheetRows.getValue();
+                for (int rowNum = 0; rowNum < rows.length; rowNum++) {
+                    Row row = sheet.createRow(rowNum);
+                    for (int colNum = 0; colNum < rows[rowNum].length; colNum++) {
+                        row.createCell(colNum).setCellValue(rows[rowNum][colNum]);
+                    }
+                }
+            });
+            xssfWorkbook.write(outputStream);
+        }
+        return workbook;
+    }
+
+}
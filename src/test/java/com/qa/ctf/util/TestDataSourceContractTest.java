@@ -0,0 +1,73 @@
+package com.qa.ctf.util;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The {@code TestDataSourceContractTest} class runs the same assertions against the
+ * {@link TestDataSource} of every supported format, on fixtures holding the same data:
+ * headers, blank lines and values, quotes and escapes, missing fields and an unknown
+ * sheet.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.0
+ */
+public class TestDataSourceContractTest {
+
+    /** The folder of the fixture files, each with a single sheet named {@code contract}. */
+    private static final Path FIXTURES = Path.of("src/test/resources/fixtures");
+
+    @DataProvider
+    public Object[][] dataSources() {
+        return new Object[][]{
+                {"xlsx workbook", FIXTURES.resolve("contract.xlsx"), false},
+                {"xlsx streaming", FIXTURES.resolve("contract.xlsx"), true},
+                {"csv", FIXTURES.resolve("contract.csv"), false},
+                {"jsonl", FIXTURES.resolve("contract.jsonl"), false}};
+    }
+
+    @Test(description = "The sheet is named after the file and the headers keep their order",
+            dataProvider = "dataSources")
+    public void readsTheSheetAndHeaders(String format, Path file, boolean streaming) {
+        try (TestDataSource dataSource = TestDataSource.of(file, streaming)) {
+            Assert.assertEquals(dataSource.getSheetNames(), List.of("contract"), format);
+            TestDataTable table = dataSource.getTable("contract");
+            Assert.assertEquals(table.getHeaders(), List.of("Name", "City", "Note", "Code"), format);
+            Assert.assertEquals(table.rowCount(), 2, format + ": the blank line is not skipped.");
+        }
+    }
+
+    @Test(description = "Quoted and escaped values are read as written", dataProvider = "dataSources")
+    public void readsQuotedAndEscapedValues(String format, Path file, boolean streaming) {
+        try (TestDataSource dataSource = TestDataSource.of(file, streaming)) {
+            TestDataTable table = dataSource.getTable("contract");
+            Assert.assertEquals(table.get(0, "Name"), "Zoë", format);
+            Assert.assertEquals(table.get(0, "City"), "Chennai", format);
+            Assert.assertEquals(table.get(0, "Note"), "Said \"hi\", then left", format);
+            Assert.assertEquals(table.get(0, "Code"), "007", format);
+            Assert.assertEquals(table.get(1, "Note"), "line1\nline2", format);
+        }
+    }
+
+    @Test(description = "Blank and missing values are read as empty values", dataProvider = "dataSources")
+    public void readsBlankAndMissingValuesAsEmpty(String format, Path file, boolean streaming) {
+        try (TestDataSource dataSource = TestDataSource.of(file, streaming)) {
+            TestDataTable table = dataSource.getTable("contract");
+            Assert.assertEquals(table.get(1, "Name"), "Bob", format);
+            Assert.assertEquals(table.get(1, "City"), "", format);
+            Assert.assertEquals(table.get(1, "Code"), "", format);
+        }
+    }
+
+    @Test(description = "An unknown sheet is refused", dataProvider = "dataSources")
+    public void refusesAnUnknownSheet(String format, Path file, boolean streaming) {
+        try (TestDataSource dataSource = TestDataSource.of(file, streaming)) {
+            Assert.assertThrows(ExceptionHub.ExcelException.class, () -> dataSource.getTable("Missing"));
+        }
+    }
+
+}
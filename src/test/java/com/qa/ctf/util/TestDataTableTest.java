@@ -0,0 +1,87 @@
+package com.qa.ctf.util;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code TestDataTableTest} class verifies the cell access of the test data table
+ * and its row lookups through the hash indexes of the key columns.
+ *
+ * @author Jagatheshwaran N
+ * @version 1.1
+ */
+public class TestDataTableTest {
+
+    /** The billing details of the tests, with two rows per city. */
+    private TestDataTable table;
+
+    @BeforeClass
+    public void buildTable() {
+        table = TestDataTable.builder("email", "city", "zipcode")
+                .addRow("jane@test.com", "Chennai", "600001")
+                .addRow("john@test.com", "Madurai", "625001")
+                .addRow("mary@test.com", "Chennai", "600002")
+                .addRow("mark@test.com", "Madurai", "625001")
+                .build();
+    }
+
+    @Test(description = "The cells are read by row and column index or header")
+    public void readsTheCells() {
+        Assert.assertEquals(table.rowCount(), 4);
+        Assert.assertEquals(table.columnCount(), 3);
+        Assert.assertEquals(table.getHeaders(), List.of("email", "city", "zipcode"));
+        Assert.assertEquals(table.get(1, 1), "Madurai");
+        Assert.assertEquals(table.get(2, "zipcode"), "600002");
+        Assert.assertEquals(table.column("city"), List.of("Chennai", "Madurai", "Chennai", "Madurai"));
+        Assert.assertEquals(table.asMaps().get(0),
+                Map.of("email", "jane@test.com", "city", "Chennai", "zipcode", "600001"));
+        Assert.assertEquals(table.row(3).index(), 3);
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> table.get(4, 0));
+        Assert.assertThrows(ExceptionHub.InvalidDataException.class, () -> table.get(0, "country"));
+    }
+
+    @Test(description = "A row is found by the value of its key column")
+    public void findsARowByKey() {
+        Assert.assertEquals(table.findRow("email", "mary@test.com").map(row -> row.get("zipcode")).orElse(null),
+                "600002");
+        Assert.assertEquals(table.findRow("city", "Madurai").map(TestDataTable.Row::index).orElse(-1), 1,
+                "The first matching row is not found.");
+        Assert.assertTrue(table.findRow("email", "nobody@test.com").isEmpty());
+        Assert.assertThrows(ExceptionHub.InvalidDataException.class, () -> table.findRow("country", "India"));
+    }
+
+    @Test(description = "The rows are found by the values of several key columns, in row order")
+    public void findsRowsByCompositeKey() {
+        List<TestDataTable.Row> rows = table.findRows(List.of("city", "zipcode"), List.of("Madurai", "625001"));
+        Assert.assertEquals(rows.stream().map(TestDataTable.Row::index).toList(), List.of(1, 3));
+        Assert.assertEquals(rows.get(1).get("email"), "mark@test.com");
+        Assert.assertTrue(table.findRows(List.of("city", "zipcode"), List.of("Chennai", "625001")).isEmpty());
+
+        Map<String, String> keys = new LinkedHashMap<>();
+        keys.put("zipcode", "600001");
+        keys.put("city", "Chennai");
+        Assert.assertEquals(table.findRow(keys).map(row -> row.get("email")).orElse(null), "jane@test.com");
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> table.findRows(List.of("city", "zipcode"), List.of("Chennai")));
+    }
+
+    @Test(description = "The rows matching a condition on a column are streamed in row order")
+    public void streamsTheMatchingRows() {
+        Assert.assertEquals(table.where("zipcode", zipcode -> zipcode.startsWith("600"))
+                .map(row -> row.get("email")).toList(), List.of("jane@test.com", "mary@test.com"));
+    }
+
+    @Test(description = "The last column of a repeated header is read by header, as in the row maps")
+    public void readsTheLastColumnOfARepeatedHeader() {
+        TestDataTable repeated = TestDataTable.builder("name", "name").addRow("first", "last").build();
+        Assert.assertEquals(repeated.get(0, "name"), "last");
+        Assert.assertEquals(repeated.asMaps().get(0).get("name"), "last");
+        Assert.assertEquals(repeated.findRow("name", "last").map(TestDataTable.Row::index).orElse(-1), 0);
+    }
+
+}
@@ -0,0 +1,10 @@
+@store
+Feature: Add To Cart By Service
+
+  @addToCart @api @service @browserless
+  Scenario Outline: Verify guest user able to add product to the cart via service.
+    When I add a <product_id> to the cart via service
+    Then the cart should not be empty via service
+    Examples:
+      | product_id |
+      | 1215       |
\ No newline at end of file
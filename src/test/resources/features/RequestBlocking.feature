@@ -0,0 +1,8 @@
+@requestBlocking
+Feature: Request Blocking
+
+  @standIn
+  Scenario: Verify the browser does not send the requests of the deny list.
+    Given I'm on the stand-in Store page
+    Then the denied requests should not reach the stand-in server
+    And the allowed requests should reach the stand-in server
@@ -0,0 +1,21 @@
+Feature: Sharding Fixture
+
+  Scenario: First scenario
+    Given a step
+    When a step
+    Then a step
+
+  Scenario: Second scenario
+    Given a step
+
+  Scenario: Third scenario
+    Given a step
+    Then a step
+
+  Scenario Outline: Outline scenario
+    Given a step with <value>
+    Examples:
+      | value |
+      | 1     |
+      | 2     |
+      | 3     |